@@ -0,0 +1,76 @@
+package benchmark;
+
+import main.CompactProblem;
+import main.GreedyHeuristic;
+import main.Preprocessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *	<p>Measures the greedy seeding of the search on the reduced instance: the greedy cover alone, and the greedy cover
+ *	followed by redundancy elimination and the swap local search of {@link GreedyHeuristic#solve()}.</p>
+ *
+ *  @author Pratik Gurung
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GreedyBenchmark {
+
+	/**
+	 *  The name of the instance (see {@link Instances#load(String)})
+	 */
+	@Param({"s-rg-63-25", "s-rg-118-30", "s-k-40-80", "gen-1000-2000-40", "gen-10000-50000-60"})
+	public String instance;
+
+	/**
+	 *  The number of elements of the reduced instance
+	 */
+	private int numOfElements;
+	/**
+	 *  The subsets of the reduced instance, in the order in which they are searched
+	 */
+	private int[][] subsets;
+
+	/**
+	 *  Creates and reduces the instance before the measurements
+	 */
+	@Setup
+	public void setup() {
+		CompactProblem remaining = Preprocessor.reduce(Instances.load(instance)).getProblem().sortByFewestOccurrences();
+		numOfElements = remaining.getNumOfElements();
+		subsets = remaining.toSubsetArrays();
+	}
+
+	/**
+	 *  @return The greedy cover
+	 */
+	@Benchmark
+	public boolean[] greedy() {
+		boolean[] solution = new boolean[subsets.length];
+		new GreedyHeuristic(numOfElements, subsets).complete(solution);
+		return solution;
+	}
+
+	/**
+	 *  @return The greedy cover after redundancy elimination and local search
+	 */
+	@Benchmark
+	public boolean[] greedyAndLocalSearch() {
+		return new GreedyHeuristic(numOfElements, subsets).solve();
+	}
+}
@@ -0,0 +1,152 @@
+package benchmark;
+
+import main.InstanceGenerator;
+import main.InstanceReader;
+import main.SetCoverProblem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ *	<p>Creates the instances that the benchmarks run on from the name given as their <code>instance</code> parameter.
+ *	A name is either the name of one of the test files (such as <code>s-k-40-80</code>), which are on the classpath of
+ *	the benchmarks, <code>gen-N-M-S</code> for an instance generated from a fixed seed with <code>N</code>
+ *	integers to cover and <code>M</code> subsets of at most <code>S</code> integers each, or
+ *	<code>FAMILY-N-M-S</code> for an instance of an {@link InstanceGenerator.Family} (<code>uniform</code>,
+ *	<code>zipf</code>, <code>planted</code> or <code>fixed-size</code>) with the same parameters. The same name
+ *	always gives the same instance, so results can be compared between runs.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class Instances {
+
+	/**
+	 *  The prefix of the names of generated instances
+	 */
+	private static final String GENERATED = "gen-";
+
+	/**
+	 *  The seed of every generated instance
+	 */
+	private static final long SEED = 0x5E7C0BEL;
+
+	/**
+	 *  Instances are only created by the static methods
+	 */
+	private Instances() {
+	}
+
+	/**
+	 *  Creates the instance with the given name
+	 *
+	 *  @param name    The name of a test file, <code>gen-N-M-S</code> or <code>FAMILY-N-M-S</code>
+	 *
+	 *  @return The instance
+	 */
+	public static SetCoverProblem load(String name) {
+		if(name.startsWith(GENERATED)) {
+			String[] parameters = name.substring(GENERATED.length()).split("-");
+			if(parameters.length != 3) {
+				throw new IllegalArgumentException("Generated instances are named gen-N-M-S, not " + name);
+			}
+			return generate(Integer.parseInt(parameters[0]), Integer.parseInt(parameters[1]),
+					Integer.parseInt(parameters[2]));
+		}
+		for(InstanceGenerator.Family family : InstanceGenerator.Family.values()) {
+			String prefix = family.name().toLowerCase().replace('_', '-') + "-";
+			if(name.startsWith(prefix)) {
+				String[] parameters = name.substring(prefix.length()).split("-");
+				if(parameters.length != 3) {
+					throw new IllegalArgumentException("Generated instances are named " + prefix + "N-M-S, not " + name);
+				}
+				int maxSubsetSize = Integer.parseInt(parameters[2]);
+				return new InstanceGenerator(family, Integer.parseInt(parameters[0]), Integer.parseInt(parameters[1]))
+						.setSubsetSize(Math.min(2, maxSubsetSize), maxSubsetSize).setSeed(SEED).generate();
+			}
+		}
+
+		return read(name);
+	}
+
+	/**
+	 *  Gives every subset of an instance a random weight between 1 and <code>maxWeight</code>, drawn from a fixed seed
+	 *
+	 *  @param problem    The instance
+	 *  @param maxWeight    The largest weight (<code>1</code> keeps every subset at the unit weight)
+	 *
+	 *  @return The instance with the same subsets and the random weights
+	 */
+	public static SetCoverProblem withRandomWeights(SetCoverProblem problem, int maxWeight) {
+		if(maxWeight < 1) {
+			throw new IllegalArgumentException("The largest weight must be positive, not " + maxWeight);
+		}
+
+		Random random = new Random(SEED);
+		int[][] subsets = new int[problem.getNumOfSubsets()][];
+		long[] weights = new long[subsets.length];
+		for(int i = 0; i < subsets.length; i++) {
+			subsets[i] = problem.getSubset(i);
+			weights[i] = 1 + random.nextInt(maxWeight);
+		}
+
+		return new SetCoverProblem(problem.getNumToCover(), subsets, weights);
+	}
+
+	/**
+	 *  Reads a test file from the classpath: the number of integers to cover, the number of subsets and then one subset
+	 *  per line
+	 *
+	 *  @param fileName    The name of the test file
+	 *
+	 *  @return The instance defined by the test file
+	 */
+	private static SetCoverProblem read(String fileName) {
+		InputStream stream = Instances.class.getClassLoader().getResourceAsStream(fileName);
+		if(stream == null) {
+			throw new IllegalArgumentException("There is no test file named " + fileName);
+		}
+
+		try(stream) {
+			return InstanceReader.read(stream);
+		} catch(IOException e) {
+			throw new UncheckedIOException("Could not read the test file " + fileName, e);
+		}
+	}
+
+	/**
+	 *  Generates an instance in which every subset has between 1 and <code>maxSubsetSize</code> random integers. Each
+	 *  integer that no subset contains afterwards is added to a random subset, so the instance always has a set cover.
+	 *
+	 *  @param numToCover    The number of integers to cover
+	 *  @param numOfSubsets    The number of subsets
+	 *  @param maxSubsetSize    The maximum number of integers in a subset before the uncovered integers are added
+	 *
+	 *  @return The instance
+	 */
+	private static SetCoverProblem generate(int numToCover, int numOfSubsets, int maxSubsetSize) {
+		Random random = new Random(SEED);
+		boolean[] covered = new boolean[numToCover + 1];
+		int[][] subsets = new int[numOfSubsets][];
+		for(int i = 0; i < numOfSubsets; i++) {
+			subsets[i] = new int[1 + random.nextInt(Math.min(maxSubsetSize, numToCover))];
+			for(int j = 0; j < subsets[i].length; j++) {
+				subsets[i][j] = 1 + random.nextInt(numToCover);
+				covered[subsets[i][j]] = true;
+			}
+		}
+
+		for(int value = 1; value <= numToCover; value++) {
+			if(!covered[value]) {
+				int i = random.nextInt(numOfSubsets);
+				subsets[i] = Arrays.copyOf(subsets[i], subsets[i].length + 1);
+				subsets[i][subsets[i].length - 1] = value;
+			}
+		}
+
+		//Duplicate integers are removed when the problem normalizes the subsets
+		return new SetCoverProblem(numToCover, subsets);
+	}
+}
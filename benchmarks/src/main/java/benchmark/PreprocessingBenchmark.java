@@ -0,0 +1,69 @@
+package benchmark;
+
+import main.CompactProblem;
+import main.Preprocessor;
+import main.Reduction;
+import main.SetCoverProblem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *	<p>Measures the preliminary pruning of the solver: reducing an instance with the {@link Preprocessor} and sorting
+ *	the remaining subsets according to the smallest occurrence of an element in each subset.</p>
+ *
+ *  @author Pratik Gurung
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreprocessingBenchmark {
+
+	/**
+	 *  The name of the instance (see {@link Instances#load(String)})
+	 */
+	@Param({"s-X-12-6", "s-rg-63-25", "s-rg-118-30", "s-k-40-80", "gen-1000-2000-40", "gen-10000-50000-60"})
+	public String instance;
+
+	/**
+	 *  The instance to reduce
+	 */
+	private SetCoverProblem problem;
+
+	/**
+	 *  Creates the instance before the measurements
+	 */
+	@Setup
+	public void setup() {
+		problem = Instances.load(instance);
+	}
+
+	/**
+	 *  @return The reduced instance
+	 */
+	@Benchmark
+	public Reduction reduce() {
+		return Preprocessor.reduce(problem);
+	}
+
+	/**
+	 *  @return The reduced instance with its subsets in the order in which they are searched
+	 */
+	@Benchmark
+	public CompactProblem reduceAndSort() {
+		return Preprocessor.reduce(problem).getProblem().sortByFewestOccurrences();
+	}
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import main.SearchStrategy;
+import main.SetCoverProblem;
+import main.SetCoverResult;
+import main.SetCoverSolver;
+import main.SolverOptions;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *	<p>Measures solving an instance to optimality with a {@link SetCoverSolver}, including the preprocessing and the
+ *	greedy seeding. Besides the solves per second, the number of nodes of the decision tree that the search visits is
+ *	reported as the secondary result <code>nodes</code> (in nodes per second), so a change that makes every node more
+ *	expensive can be told apart from a change that makes the search visit more nodes.</p>
+ *
+ *	<p>With <code>warmStart</code> turned off the search starts without the greedy cover, which shows how much of the
+ *	pruning is owed to the initial incumbent.</p>
+ *
+ *  @author Pratik Gurung
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+	/**
+	 *  The name of the instance (see {@link Instances#load(String)})
+	 */
+	@Param({"s-X-12-6", "s-rg-63-25", "s-rg-118-30", "s-k-30-55", "s-k-40-80", "gen-60-120-8"})
+	public String instance;
+
+	/**
+	 *  The search strategy of the solver
+	 */
+	@Param({"SUBSET_ORDER", "ELEMENT_BRANCHING"})
+	public SearchStrategy strategy;
+
+	/**
+	 *  Whether the search starts with the greedy cover as its incumbent
+	 */
+	@Param({"true", "false"})
+	public boolean warmStart;
+
+	/**
+	 *  The instance to solve
+	 */
+	private SetCoverProblem problem;
+	/**
+	 *  The solver with the options of the parameters
+	 */
+	private SetCoverSolver solver;
+
+	/**
+	 *  The number of nodes visited during an iteration, which JMH reports as a rate
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Nodes {
+
+		/**
+		 *  The number of nodes of the decision tree visited so far in the iteration
+		 */
+		public long nodes;
+
+		/**
+		 *  Resets the count before each iteration
+		 */
+		@Setup(Level.Iteration)
+		public void reset() {
+			nodes = 0;
+		}
+	}
+
+	/**
+	 *  Creates the instance and the solver before the measurements
+	 */
+	@Setup
+	public void setup() {
+		problem = Instances.load(instance);
+		solver = new SetCoverSolver(new SolverOptions().setSearchStrategy(strategy).setWarmStart(warmStart));
+	}
+
+	/**
+	 *  @param counters    Receives the number of nodes visited
+	 *
+	 *  @return The minimum set cover
+	 */
+	@Benchmark
+	public SetCoverResult solve(Nodes counters) {
+		SetCoverResult result = solver.solve(problem);
+		counters.nodes += result.getNumberOfBacktrackCalls();
+		return result;
+	}
+}
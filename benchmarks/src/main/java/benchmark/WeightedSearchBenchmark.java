@@ -0,0 +1,85 @@
+package benchmark;
+
+import main.SearchStrategy;
+import main.SetCoverProblem;
+import main.SetCoverResult;
+import main.SetCoverSolver;
+import main.SolverOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *	<p>Measures solving the instances of {@link SearchBenchmark} to optimality when their subsets have random weights.
+ *	With <code>maxWeight</code> set to <code>1</code> every subset keeps the unit weight, which is the baseline that
+ *	the weighted runs are compared with. Like {@link SearchBenchmark}, the number of nodes visited by the search is
+ *	reported as the secondary result <code>nodes</code>.</p>
+ *
+ *  @author Pratik Gurung
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeightedSearchBenchmark {
+
+	/**
+	 *  The name of the instance (see {@link Instances#load(String)})
+	 */
+	@Param({"s-X-12-6", "s-rg-63-25", "s-k-30-55", "gen-60-120-8"})
+	public String instance;
+
+	/**
+	 *  The largest random weight of a subset
+	 */
+	@Param({"1", "100"})
+	public int maxWeight;
+
+	/**
+	 *  The search strategy of the solver
+	 */
+	@Param({"SUBSET_ORDER", "ELEMENT_BRANCHING"})
+	public SearchStrategy strategy;
+
+	/**
+	 *  The weighted instance to solve
+	 */
+	private SetCoverProblem problem;
+	/**
+	 *  The solver with the strategy of the parameters
+	 */
+	private SetCoverSolver solver;
+
+	/**
+	 *  Creates the weighted instance and the solver before the measurements
+	 */
+	@Setup
+	public void setup() {
+		problem = Instances.withRandomWeights(Instances.load(instance), maxWeight);
+		solver = new SetCoverSolver(new SolverOptions().setSearchStrategy(strategy));
+	}
+
+	/**
+	 *  @param counters    Receives the number of nodes visited
+	 *
+	 *  @return The set cover with the smallest total weight
+	 */
+	@Benchmark
+	public SetCoverResult solve(SearchBenchmark.Nodes counters) {
+		SetCoverResult result = solver.solve(problem);
+		counters.nodes += result.getNumberOfBacktrackCalls();
+		return result;
+	}
+}
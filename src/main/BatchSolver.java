@@ -0,0 +1,380 @@
+package main;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ *	<p>Solves a batch of instance files with a single {@link SetCoverSolver} on a fixed pool of threads and writes one
+ *	line of JSON per instance. At most a given number of instances are read or solved at any time: the thread that
+ *	submits the files blocks until an instance is done before it submits the next one, so a directory or a stream of
+ *	any length is solved in bounded memory.</p>
+ *
+ *	<p>Results are cached by the {@link InstanceFingerprint} of their instance, so an instance that repeats an earlier
+ *	one (even with its subsets in a different order) gets the earlier result translated into its own subset indices
+ *	without being solved again, with no nodes and the time that it took to answer it from the cache. An instance that
+ *	repeats one that is still being solved waits for that solve. The cache keeps the results of the most recently used
+ *	fingerprints up to its size. Every instance of a batch is solved with the same options, so a result that was
+ *	stopped by a time or node limit is reused as well. A solve that fails is removed from the cache, so a later repeat
+ *	of its instance is solved again.</p>
+ *
+ *	<p>Every line is a JSON object with the position of the instance in the batch (<code>index</code>), its file
+ *	(<code>instance</code>) and either the result (<code>fingerprint</code>, <code>cached</code>, <code>size</code>,
+ *	<code>cost</code>, <code>lowerBound</code>, <code>optimal</code>, <code>nodes</code>,
+ *	<code>elapsedMillis</code> and the subset indices of the <code>cover</code>) or an <code>error</code>. The lines
+ *	are written in the order in which the instances are done. This class is thread-safe.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class BatchSolver implements AutoCloseable {
+
+	/**
+	 *  The number of results that the cache keeps by default
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 4096;
+
+	/**
+	 *  The solver shared by every thread
+	 */
+	private final SetCoverSolver solver;
+
+	/**
+	 *  The threads that read and solve the instances
+	 */
+	private final ExecutorService executor;
+	/**
+	 *  The largest number of instances that are read or solved at the same time
+	 */
+	private final int maxPending;
+	/**
+	 *  A permit for every instance that may still be submitted before one of the submitted instances is done
+	 */
+	private final Semaphore permits;
+
+	/**
+	 *  The number of results that the cache keeps
+	 */
+	private final int cacheSize;
+	/**
+	 *  The results (with the subsets in the canonical order of their fingerprint) of the most recently used
+	 *  fingerprints, in the order of their last use, which is guarded by its own lock
+	 */
+	private final Map<InstanceFingerprint, CompletableFuture<SetCoverResult>> cache;
+
+	/**
+	 *  The number of instances that were solved
+	 */
+	private final AtomicLong numberOfSolves = new AtomicLong();
+	/**
+	 *  The number of instances whose result was taken from the cache
+	 */
+	private final AtomicLong numberOfCacheHits = new AtomicLong();
+
+	/**
+	 *  Creates a batch solver with the default cache size that reads or solves up to twice as many instances at the
+	 *  same time as it has threads
+	 *
+	 *  @param options    The configuration of the solver, which is copied
+	 *  @param threads    The number of threads that solve instances
+	 */
+	public BatchSolver(SolverOptions options, int threads) {
+		this(options, threads, 2 * threads, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 *  Creates a batch solver
+	 *
+	 *  @param options    The configuration of the solver, which is copied
+	 *  @param threads    The number of threads that solve instances
+	 *  @param maxPending    The largest number of instances that are read or solved at the same time (at least
+	 *                       <code>threads</code>)
+	 *  @param cacheSize    The number of results that the cache keeps (<code>0</code> to solve every instance)
+	 *
+	 *  @throws IllegalArgumentException    If there is no thread, fewer pending instances than threads or a negative
+	 *                                      cache size
+	 */
+	public BatchSolver(SolverOptions options, int threads, int maxPending, int cacheSize) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive: " + threads);
+		}
+		if(maxPending < threads) {
+			throw new IllegalArgumentException("The number of pending instances (" + maxPending
+					+ ") must be at least the number of threads (" + threads + ")");
+		}
+		if(cacheSize < 0) {
+			throw new IllegalArgumentException("The cache size must not be negative: " + cacheSize);
+		}
+
+		this.solver = new SetCoverSolver(options);
+		this.executor = Executors.newFixedThreadPool(threads);
+		this.maxPending = maxPending;
+		this.permits = new Semaphore(maxPending);
+		this.cacheSize = cacheSize;
+		this.cache = new LinkedHashMap<InstanceFingerprint, CompletableFuture<SetCoverResult>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<InstanceFingerprint, CompletableFuture<SetCoverResult>> eldest) {
+				return size() > BatchSolver.this.cacheSize;
+			}
+		};
+	}
+
+	/**
+	 *  Finds a minimum set cover of an instance on the calling thread, or takes it from the cache if the instance
+	 *  repeats an earlier one
+	 *
+	 *  @param problem    The instance to solve
+	 *
+	 *  @return The result, with the subset indices of the given instance (and, if it was taken from the cache, with no
+	 *          nodes and the time of the cache hit)
+	 *
+	 *  @throws IllegalArgumentException    If no set cover of the instance exists
+	 */
+	public SetCoverResult solve(SetCoverProblem problem) {
+		return solve(problem, InstanceFingerprint.of(problem), null);
+	}
+
+	/**
+	 *  Solves an instance unless its result is in the cache
+	 *
+	 *  @param problem    The instance to solve
+	 *  @param fingerprint    The fingerprint of the instance
+	 *  @param cached    Receives whether the result was taken from the cache, or <code>null</code>
+	 *
+	 *  @return The result, with the subset indices of the given instance
+	 */
+	private SetCoverResult solve(SetCoverProblem problem, InstanceFingerprint fingerprint, boolean[] cached) {
+		CompletableFuture<SetCoverResult> future;
+		boolean hit;
+		synchronized(cache) {
+			future = cache.get(fingerprint);
+			hit = future != null;
+			if(!hit) {
+				future = new CompletableFuture<SetCoverResult>();
+				cache.put(fingerprint, future);
+			}
+		}
+		if(cached != null) {
+			cached[0] = hit;
+		}
+
+		long startTime = System.nanoTime();
+		if(hit) {
+			numberOfCacheHits.incrementAndGet();
+		} else {
+			numberOfSolves.incrementAndGet();
+			try {
+				SetCoverResult result = solver.solve(problem);
+				future.complete(translate(result, fingerprint.toCanonical(result.getCover())));
+			} catch(RuntimeException | Error e) {
+				//The instances that already wait for the solve get the error, and later repeats solve it again
+				synchronized(cache) {
+					cache.remove(fingerprint, future);
+				}
+				future.completeExceptionally(e);
+			}
+		}
+
+		try {
+			SetCoverResult canonical = future.join();
+			int[] cover = fingerprint.fromCanonical(canonical.getCover());
+			if(hit) {
+				//The search of the earlier solve is not repeated, so only the time of the cache hit is reported
+				return new SetCoverResult(cover, canonical.getCost(), canonical.getLowerBound(),
+						canonical.isOptimal(), 0, Collections.emptyMap(), System.nanoTime() - startTime);
+			}
+			return translate(canonical, cover);
+		} catch(CompletionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 *  @param result    A result
+	 *  @param cover    The same set cover with different subset indices
+	 *
+	 *  @return The result with the given subset indices
+	 */
+	private static SetCoverResult translate(SetCoverResult result, int[] cover) {
+		return new SetCoverResult(cover, result.getCost(), result.getLowerBound(), result.isOptimal(),
+				result.getNumberOfBacktrackCalls(), result.getPrunesByBound(), result.getElapsedNanos());
+	}
+
+	/**
+	 *  Solves every regular file of a directory, in the order of their names
+	 *
+	 *  @param directory    The directory
+	 *  @param orLibrary    <code>true</code> if the files are in the OR-Library SCP format, or <code>false</code> if
+	 *                      they are in the native format
+	 *  @param output    The writer that receives one line of JSON per file
+	 *
+	 *  @return The number of files
+	 *
+	 *  @throws IOException    If the directory cannot be listed or the output cannot be written
+	 *  @throws InterruptedException    If the thread is interrupted while waiting for the solves
+	 */
+	public long run(Path directory, boolean orLibrary, Writer output) throws IOException, InterruptedException {
+		List<Path> files;
+		try(Stream<Path> entries = Files.list(directory)) {
+			files = entries.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+		}
+
+		return run(files.iterator(), orLibrary, output);
+	}
+
+	/**
+	 *  Solves the given files, taking the next file only once fewer than the largest number of pending instances are
+	 *  read or solved, and waits until every file is done
+	 *
+	 *  @param files    The files, which may be produced lazily (for example from the lines of a stream)
+	 *  @param orLibrary    <code>true</code> if the files are in the OR-Library SCP format, or <code>false</code> if
+	 *                      they are in the native format
+	 *  @param output    The writer that receives one line of JSON per file
+	 *
+	 *  @return The number of files
+	 *
+	 *  @throws IOException    If the output cannot be written
+	 *  @throws InterruptedException    If the thread is interrupted while waiting for the solves
+	 */
+	public long run(Iterator<Path> files, boolean orLibrary, Writer output) throws IOException, InterruptedException {
+		AtomicReference<IOException> writeError = new AtomicReference<IOException>();
+		long index = 0;
+		try {
+			while(files.hasNext() && writeError.get() == null) {
+				Path file = files.next();
+				long position = index;
+				permits.acquire();
+				try {
+					executor.execute(() -> {
+						try {
+							String line = solveFile(position, file, orLibrary);
+							synchronized(output) {
+								output.write(line);
+								output.write('\n');
+								output.flush();
+							}
+						} catch(IOException e) {
+							writeError.compareAndSet(null, e);
+						} finally {
+							permits.release();
+						}
+					});
+				} catch(RejectedExecutionException e) {
+					permits.release();
+					throw e;
+				}
+				index++;
+			}
+		} finally {
+			//Every permit is back once every submitted file is done
+			permits.acquire(maxPending);
+			permits.release(maxPending);
+		}
+
+		if(writeError.get() != null) {
+			throw writeError.get();
+		}
+		return index;
+	}
+
+	/**
+	 *  Reads and solves a file and describes the result
+	 *
+	 *  @param index    The position of the file in the batch
+	 *  @param file    The file
+	 *  @param orLibrary    Whether the file is in the OR-Library SCP format
+	 *
+	 *  @return The line of JSON that describes the result or the error
+	 */
+	private String solveFile(long index, Path file, boolean orLibrary) {
+		StringBuilder line = new StringBuilder("{\"index\":").append(index).append(",\"instance\":");
+		appendString(line, file.toString());
+		try {
+			SetCoverProblem problem = orLibrary ? InstanceReader.readOrLibrary(file) : InstanceReader.read(file);
+			InstanceFingerprint fingerprint = InstanceFingerprint.of(problem);
+			boolean[] cached = new boolean[1];
+			SetCoverResult result = solve(problem, fingerprint, cached);
+
+			line.append(",\"fingerprint\":\"").append(fingerprint.getDigest()).append("\",\"cached\":")
+					.append(cached[0]).append(",\"size\":").append(result.getSize()).append(",\"cost\":")
+					.append(result.getCost()).append(",\"lowerBound\":").append(result.getLowerBound())
+					.append(",\"optimal\":").append(result.isOptimal()).append(",\"nodes\":")
+					.append(result.getNumberOfBacktrackCalls()).append(",\"elapsedMillis\":")
+					.append(result.getElapsedMillis()).append(",\"cover\":[");
+			int[] cover = result.getCover();
+			for(int i = 0; i < cover.length; i++) {
+				line.append(i == 0 ? "" : ",").append(cover[i]);
+			}
+			line.append("]}");
+		} catch(IOException | RuntimeException e) {
+			//Every instance gets its line, whatever went wrong with it
+			line.append(",\"error\":");
+			appendString(line, e.getMessage() == null ? e.toString() : e.getMessage());
+			line.append('}');
+		}
+
+		return line.toString();
+	}
+
+	/**
+	 *  Appends a string as a JSON string literal
+	 *
+	 *  @param builder    The builder to append to
+	 *  @param value    The string
+	 */
+	private static void appendString(StringBuilder builder, String value) {
+		builder.append('"');
+		for(int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if(c == '"' || c == '\\') {
+				builder.append('\\').append(c);
+			} else if(c < 0x20) {
+				builder.append(String.format("\\u%04x", (int) c));
+			} else {
+				builder.append(c);
+			}
+		}
+		builder.append('"');
+	}
+
+	/**
+	 *  @return The number of instances that were solved
+	 */
+	public long getNumberOfSolves() {
+		return numberOfSolves.get();
+	}
+
+	/**
+	 *  @return The number of instances whose result was taken from the cache
+	 */
+	public long getNumberOfCacheHits() {
+		return numberOfCacheHits.get();
+	}
+
+	/**
+	 *  Stops the threads once the instances that have been submitted are done
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+}
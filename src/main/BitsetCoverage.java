@@ -0,0 +1,358 @@
+package main;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ *	<p>This class keeps track of which elements are covered by the current solution of a set cover search. Each subset
+ *	is stored as a packed <code>long[]</code> bitmask (only the words that actually contain one of its elements are
+ *	kept) and the covered elements are stored as a single bitmask, so the number of new elements a subset would cover
+ *	is a popcount of <code>subset &amp; ~covered</code>.</p>
+ *
+ *	<p>Instead of copying the covered elements before every move, every word that is changed by {@link #include(int)}
+ *	is pushed onto a preallocated trail together with its previous value. A search records the trail position with
+ *	{@link #mark()} before a move and restores it with {@link #undo(int)} afterwards, so the search never allocates
+ *	while it is running.</p>
+ *
+ *	<p>Elements are identified by the integers <code>0</code> to <code>numOfElements - 1</code> and subsets by their
+ *	index in the array given to the constructor. The weight of every subset is kept alongside its bitmask, so searches
+ *	and lower bounds of the weighted problem read both from the same place.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class BitsetCoverage {
+
+	/**
+	 *  The number of elements that need to be covered
+	 */
+	private final int numOfElements;
+
+	/**
+	 *  The indices of the words of the bitmask that contain at least one element of each subset
+	 */
+	private final int[][] subsetWords;
+	/**
+	 *  The bits of each subset at the word with the same position in <code>subsetWords</code>
+	 */
+	private final long[][] subsetBits;
+	/**
+	 *  The weight of each subset
+	 */
+	private final long[] weights;
+
+	/**
+	 *  The bit at each position represents whether the corresponding element is covered in the current solution
+	 */
+	private final long[] covered;
+	/**
+	 *  The number of set bits in <code>covered</code> (the number of elements covered in the current solution)
+	 */
+	private int numOfElementsCovered;
+
+	/**
+	 *  The indices of the words of <code>covered</code> that have been changed, in the order they were changed
+	 */
+	private final int[] trailWords;
+	/**
+	 *  The values of the words of <code>covered</code> before they were changed
+	 */
+	private final long[] trailBits;
+	/**
+	 *  The number of entries currently on the trail
+	 */
+	private int trailSize;
+
+	/**
+	 *  Creates the coverage state for the given subsets with no element covered
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset (every element must be between <code>0</code> and
+	 *                    <code>numOfElements - 1</code>)
+	 */
+	public BitsetCoverage(int numOfElements, int[][] subsets) {
+		this(numOfElements, subsets, unitWeights(subsets.length));
+	}
+
+	/**
+	 *  Creates the coverage state for the given weighted subsets with no element covered
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset (every element must be between <code>0</code> and
+	 *                    <code>numOfElements - 1</code>)
+	 *  @param weights    The weight of each subset, which is not copied
+	 */
+	public BitsetCoverage(int numOfElements, int[][] subsets, long[] weights) {
+		if(weights.length != subsets.length) {
+			throw new IllegalArgumentException("Expected " + subsets.length + " weights but got " + weights.length);
+		}
+
+		this.numOfElements = numOfElements;
+		this.weights = weights;
+		this.subsetWords = new int[subsets.length][];
+		this.subsetBits = new long[subsets.length][];
+		this.covered = new long[wordsFor(numOfElements)];
+
+		//A subset can only be included once in a solution, so the trail never holds more entries than all subsets have
+		int trailCapacity = 0;
+		long[] mask = new long[covered.length];
+		for(int i = 0; i < subsets.length; i++) {
+			for(int element : subsets[i]) {
+				if(element < 0 || element >= numOfElements) {
+					throw new IllegalArgumentException("Subset " + i + " contains the element " + element
+							+ " which is not between 0 and " + (numOfElements - 1));
+				}
+				mask[element >>> 6] |= 1L << element;
+			}
+
+			int numOfWords = 0;
+			for(long word : mask) {
+				if(word != 0) {
+					numOfWords++;
+				}
+			}
+
+			subsetWords[i] = new int[numOfWords];
+			subsetBits[i] = new long[numOfWords];
+			int j = 0;
+			for(int w = 0; w < mask.length; w++) {
+				if(mask[w] != 0) {
+					subsetWords[i][j] = w;
+					subsetBits[i][j] = mask[w];
+					mask[w] = 0;
+					j++;
+				}
+			}
+			trailCapacity += numOfWords;
+		}
+
+		this.trailWords = new int[trailCapacity];
+		this.trailBits = new long[trailCapacity];
+	}
+
+	/**
+	 *  Creates a coverage state with no element covered that shares the subsets of another coverage state
+	 *
+	 *  @param other    The coverage state whose subsets are shared
+	 */
+	private BitsetCoverage(BitsetCoverage other) {
+		this.numOfElements = other.numOfElements;
+		this.subsetWords = other.subsetWords;
+		this.subsetBits = other.subsetBits;
+		this.weights = other.weights;
+		this.covered = new long[other.covered.length];
+		this.trailWords = new int[other.trailWords.length];
+		this.trailBits = new long[other.trailBits.length];
+	}
+
+	/**
+	 *  Creates a new coverage state for the same subsets with no element covered. The subsets are never modified, so
+	 *  they are shared instead of copied and each thread of a parallel search can cheaply get its own state.
+	 *
+	 *  @return The new coverage state
+	 */
+	public BitsetCoverage newState() {
+		return new BitsetCoverage(this);
+	}
+
+	/**
+	 *  Creates the coverage state for subsets in the representation used by <code>SetCover</code>, where the elements
+	 *  to cover are the integers from 1 to <code>numToCover</code>
+	 *
+	 *  @param numToCover    The number of integers to cover (the maximum integer to cover)
+	 *  @param input    The set of subsets
+	 *
+	 *  @return The coverage state in which integer <code>i</code> of <code>input</code> is element <code>i - 1</code>
+	 */
+	public static BitsetCoverage fromLists(int numToCover, List<List<Integer>> input) {
+		int[][] subsets = new int[input.size()][];
+		for(int i = 0; i < input.size(); i++) {
+			List<Integer> list = input.get(i);
+			subsets[i] = new int[list.size()];
+			for(int j = 0; j < list.size(); j++) {
+				subsets[i][j] = list.get(j) - 1;
+			}
+		}
+
+		return new BitsetCoverage(numToCover, subsets);
+	}
+
+	/**
+	 *  @param numOfSubsets    The number of subsets
+	 *
+	 *  @return The weight 1 for every subset
+	 */
+	public static long[] unitWeights(int numOfSubsets) {
+		long[] weights = new long[numOfSubsets];
+		Arrays.fill(weights, 1);
+		return weights;
+	}
+
+	/**
+	 *  Determines the number of <code>long</code> words needed to store a bitmask of the given number of bits
+	 *
+	 *  @param numOfBits    The number of bits
+	 *
+	 *  @return The number of words
+	 */
+	public static int wordsFor(int numOfBits) {
+		return (numOfBits + 63) >>> 6;
+	}
+
+	/**
+	 *  Determines the number of elements of the subset at index <code>k</code> that are not yet covered
+	 *
+	 *  @param k    The index of the subset
+	 *
+	 *  @return The number of elements that including the subset would newly cover
+	 */
+	public int gain(int k) {
+		int[] words = subsetWords[k];
+		long[] bits = subsetBits[k];
+		int gain = 0;
+		for(int i = 0; i < words.length; i++) {
+			gain += Long.bitCount(bits[i] & ~covered[words[i]]);
+		}
+
+		return gain;
+	}
+
+	/**
+	 *  Determines whether the subset at index <code>k</code> contains an element that is not yet covered
+	 *
+	 *  @param k    The index of the subset
+	 *
+	 *  @return <code>true</code> if including the subset would cover a new element, otherwise <code>false</code>
+	 */
+	public boolean coversUncovered(int k) {
+		int[] words = subsetWords[k];
+		long[] bits = subsetBits[k];
+		for(int i = 0; i < words.length; i++) {
+			if((bits[i] & ~covered[words[i]]) != 0) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 *  Returns the current position of the trail, which can later be given to {@link #undo(int)} to revert every
+	 *  inclusion made after this call
+	 *
+	 *  @return The current trail position
+	 */
+	public int mark() {
+		return trailSize;
+	}
+
+	/**
+	 *  Covers every element of the subset at index <code>k</code>, recording the changed words on the trail
+	 *
+	 *  @param k    The index of the subset
+	 */
+	public void include(int k) {
+		int[] words = subsetWords[k];
+		long[] bits = subsetBits[k];
+		for(int i = 0; i < words.length; i++) {
+			int w = words[i];
+			long old = covered[w];
+			long added = bits[i] & ~old;
+			if(added != 0) {
+				trailWords[trailSize] = w;
+				trailBits[trailSize] = old;
+				trailSize++;
+				covered[w] = old | added;
+				numOfElementsCovered += Long.bitCount(added);
+			}
+		}
+	}
+
+	/**
+	 *  Reverts every inclusion made since the trail was at position <code>mark</code>
+	 *
+	 *  @param mark    A trail position previously returned by {@link #mark()}
+	 */
+	public void undo(int mark) {
+		while(trailSize > mark) {
+			trailSize--;
+			int w = trailWords[trailSize];
+			long old = trailBits[trailSize];
+			numOfElementsCovered -= Long.bitCount(covered[w] & ~old);
+			covered[w] = old;
+		}
+	}
+
+	/**
+	 *  Determines whether the element at index <code>element</code> is covered in the current solution
+	 *
+	 *  @param element    The element
+	 *
+	 *  @return <code>true</code> if the element is covered, otherwise <code>false</code>
+	 */
+	public boolean isCovered(int element) {
+		return (covered[element >>> 6] & (1L << element)) != 0;
+	}
+
+	/**
+	 *  Determines whether every element is covered in the current solution
+	 *
+	 *  @return <code>true</code> if the current solution is a set cover, otherwise <code>false</code>
+	 */
+	public boolean isComplete() {
+		return numOfElementsCovered == numOfElements;
+	}
+
+	/**
+	 *  @return The number of <code>long</code> words of the bitmask of the covered elements
+	 */
+	public int getNumOfWords() {
+		return covered.length;
+	}
+
+	/**
+	 *  @param i    The index of the word
+	 *
+	 *  @return The word of the bitmask of the covered elements at index <code>i</code>, whose bit <code>j</code>
+	 *          represents whether the element <code>64 * i + j</code> is covered
+	 */
+	public long getCoveredWord(int i) {
+		return covered[i];
+	}
+
+	/**
+	 *  @return The number of elements covered in the current solution
+	 */
+	public int getNumOfElementsCovered() {
+		return numOfElementsCovered;
+	}
+
+	/**
+	 *  @return The number of elements that are not covered in the current solution
+	 */
+	public int getNumOfElementsUncovered() {
+		return numOfElements - numOfElementsCovered;
+	}
+
+	/**
+	 *  @return The number of elements that need to be covered
+	 */
+	public int getNumOfElements() {
+		return numOfElements;
+	}
+
+	/**
+	 *  @param k    The index of the subset
+	 *
+	 *  @return The weight of the subset
+	 */
+	public long getWeight(int k) {
+		return weights[k];
+	}
+
+	/**
+	 *  @return The number of subsets
+	 */
+	public int getNumOfSubsets() {
+		return subsetWords.length;
+	}
+}
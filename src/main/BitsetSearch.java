@@ -0,0 +1,705 @@
+package main;
+
+/**
+ *	<p>This class performs the same depth first traversal of the decision tree of inclusion of subsets as
+ *	<code>SetCover.backtrack()</code>, but keeps the covered elements in a {@link BitsetCoverage} instead of a
+ *	<code>boolean[]</code> that is copied at every node. Including a subset records the changed words on the trail of
+ *	the coverage and excluding it again simply rewinds the trail, so the search does not allocate while it runs.</p>
+ *
+ *	<p>The candidates of every node are the same as in <code>SetCover.constructCandidates()</code>: a necessary subset
+ *	is always included, a subset that does not cover a new integer is always excluded, and any other subset is first
+ *	included and then excluded.</p>
+ *
+ *	<p>In addition, the search can be given {@link LowerBound}s. Whenever the weight of the current solution plus one
+ *	of the lower bounds is at least the weight of the current optimal solution, the current branch is disregarded, and
+ *	the number of branches disregarded by each lower bound is counted. The weight of a solution is the total weight of
+ *	its subsets as given by the {@link BitsetCoverage}, which is its number of subsets for unweighted instances.</p>
+ *
+ *	<p>The decision tree is traversed without recursion. Only an included subset has to be returned to (to exclude it
+ *	again and possibly search on without it), so the traversal keeps a frame for every included subset on two
+ *	<code>int</code> stacks that are allocated once with one entry per subset: the index of the subset together with
+ *	whether its exclusion is still to be searched, and the trail position to rewind to. An excluded subset simply moves
+ *	on to the next subset. The depth of the decision tree is the number of subsets, so instances with any number of
+ *	subsets can be searched on a thread with the default stack size.</p>
+ *
+ *	<p>A search can be given a {@link TranspositionTable}. Before a node checks its lower bounds, it looks up the bound
+ *	proven for its subproblem (the index of the subset to decide and the uncovered elements), and once the subtree of
+ *	a node that included a subset has been searched completely, the bound proven for that subproblem is stored unless
+ *	the subtree was tiny. The frame of such a subset then stays on the stack while its exclusion is searched, so the
+ *	traversal knows when the whole subtree is done.</p>
+ *
+ *	<p>The current optimal solution is kept in an {@link Incumbent}, which several searches over different parts of the
+ *	decision tree can share (see {@link ParallelSearch}). A search itself must only be used by one thread.</p>
+ *
+ *	<p>A search can be given a {@link SearchBudget}, which it charges once every
+ *	{@link SearchBudget#CHECK_INTERVAL} nodes. Once the budget is exhausted, every remaining node ends its branch
+ *	immediately, so the search unwinds and the incumbent holds the best set cover found so far.</p>
+ *
+ *	<p>A search can also be given a {@link SearchStatistics.Recorder}, which counts every node by its depth (the number
+ *	of subsets determined so far) and every disregarded branch by its {@link PruneReason}. Without a recorder, nothing
+ *	but the number of nodes is counted.</p>
+ *
+ *	<p>Any thread can ask a running search to give part of its decision tree away (see
+ *	{@link #requestSplit(SplitReceiver)}). At its next check of the budget, the search hands the exclusion of the
+ *	first subset on its stack whose exclusion is still to be searched, which is the largest subtree left, to a
+ *	{@link SplitReceiver} and no longer searches it itself. Bounds are not stored for the subproblems that contain a
+ *	subtree given away, since they have not been searched completely.</p>
+ *
+ *	<p>A search can also report its frontier to a {@link FrontierListener} at regular intervals and when its budget
+ *	stops it (see {@link #setFrontierListener(FrontierListener, long)}). The frontier is the node being visited
+ *	together with the exclusions on the stack that are still to be searched, and searching the subtrees of those nodes
+ *	searches exactly the part of the decision tree that the search has not searched yet.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class BitsetSearch {
+
+	/**
+	 *  The candidate flag representing that the subset is included in the solution
+	 */
+	public static final int INCLUDE = 1;
+	/**
+	 *  The candidate flag representing that the subset is not included in the solution
+	 */
+	public static final int EXCLUDE = 2;
+
+	/**
+	 *  The coverage state of the current solution
+	 */
+	private final BitsetCoverage coverage;
+
+	/**
+	 *  An array of subsets that are essential to any set cover of the given data
+	 */
+	private final boolean[] necessarySubsets;
+
+	/**
+	 *  The lower bounds that are checked at every node
+	 */
+	private final LowerBound[] lowerBounds;
+	/**
+	 *  The number of branches disregarded by the lower bound at the same index
+	 */
+	private final long[] numberOfPrunes;
+
+	/**
+	 *  The boolean value at each index represents whether the corresponding subset is included in the current solution
+	 */
+	private final boolean[] solutionVector;
+
+	/**
+	 *  The frame flag representing that the exclusion of the subset is still to be searched
+	 */
+	private static final int EXCLUDE_PENDING = 1;
+	/**
+	 *  The frame flag representing that the subset has been excluded again and its exclusion is being searched
+	 */
+	private static final int EXCLUDING = 2;
+
+	/**
+	 *  The fewest nodes that the subtree of a node must have for its bound to be stored in the transposition table, since
+	 *  a smaller subtree is searched again faster than its bound is stored and looked up
+	 */
+	private static final int MIN_CACHED_SUBTREE = 16;
+
+	/**
+	 *  A frame for each subset that is included in the current solution by the traversal (or, with a transposition
+	 *  table, whose exclusion is being searched), in the order of inclusion: the index of the subset shifted left by
+	 *  two, combined with the frame flags {@link #EXCLUDE_PENDING} and {@link #EXCLUDING}
+	 */
+	private final int[] frameStack;
+	/**
+	 *  The trail position to rewind to when each included subset on the stack is excluded again
+	 */
+	private final int[] markStack;
+	/**
+	 *  The lowest 32 bits of the number of nodes visited before each subset on the stack was included, which give the
+	 *  size of its subtree once it is done (only with a transposition table)
+	 */
+	private final int[] nodeStack;
+	/**
+	 *  The number of frames on the stacks
+	 */
+	private int depth;
+
+	/**
+	 *  The total weight of the subsets in the current solution
+	 */
+	private long cost;
+
+	/**
+	 *  The current optimal solution, whose value is its total weight
+	 */
+	private final Incumbent incumbent;
+
+	/**
+	 *  The budget that the visited nodes are charged to
+	 */
+	private final SearchBudget budget;
+	/**
+	 *  Whether the budget was found exhausted, after which every node ends its branch
+	 */
+	private boolean stopped;
+
+	/**
+	 *  The recorder of the nodes and prunes, or <code>null</code> if they are not recorded
+	 */
+	private final SearchStatistics.Recorder recorder;
+
+	/**
+	 *  The bounds proven for subproblems that have been searched, or <code>null</code> if they are not cached
+	 */
+	private final TranspositionTable table;
+
+	/**
+	 *  The receiver that the search gives part of its decision tree to at its next check of the budget, or
+	 *  <code>null</code> if no split has been requested
+	 */
+	private volatile SplitReceiver splitReceiver;
+	/**
+	 *  The number of frames at the bottom of the stack whose subtrees contain a subtree that was given away
+	 */
+	private int incompleteDepth;
+
+	/**
+	 *  The listener that the frontier is reported to, or <code>null</code>
+	 */
+	private FrontierListener frontierListener;
+	/**
+	 *  The number of nanoseconds between two reports of the frontier
+	 */
+	private long frontierIntervalNanos;
+	/**
+	 *  The time after which the frontier is reported at the next check of the budget
+	 */
+	private long nextFrontierNanos;
+
+	/**
+	 *  The number of times that the backtrack() method was called
+	 */
+	private long numberOfBacktrackCalls;
+
+	/**
+	 *  Creates a search over the subsets of <code>coverage</code>, which must not have any element covered yet
+	 *
+	 *  @param coverage    The coverage state of the subsets
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 */
+	public BitsetSearch(BitsetCoverage coverage, boolean[] necessarySubsets) {
+		this(coverage, necessarySubsets, new LowerBound[0]);
+	}
+
+	/**
+	 *  Creates a search over the subsets of <code>coverage</code>, which must not have any element covered yet, that
+	 *  disregards branches using the given lower bounds
+	 *
+	 *  @param coverage    The coverage state of the subsets
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 */
+	public BitsetSearch(BitsetCoverage coverage, boolean[] necessarySubsets, LowerBound[] lowerBounds) {
+		this(coverage, necessarySubsets, lowerBounds, new Incumbent(totalWeight(coverage) + 1));
+	}
+
+	/**
+	 *  Creates a search over the subsets of <code>coverage</code>, which must not have any element covered yet, that
+	 *  disregards branches using the given lower bounds and reports set covers to the given incumbent
+	 *
+	 *  @param coverage    The coverage state of the subsets
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param incumbent    The current optimal solution, which may be shared with other searches
+	 */
+	public BitsetSearch(BitsetCoverage coverage, boolean[] necessarySubsets, LowerBound[] lowerBounds,
+			Incumbent incumbent) {
+		this(coverage, necessarySubsets, lowerBounds, incumbent, new SearchBudget());
+	}
+
+	/**
+	 *  Creates a search over the subsets of <code>coverage</code>, which must not have any element covered yet, that
+	 *  disregards branches using the given lower bounds, reports set covers to the given incumbent and stops once the
+	 *  given budget is exhausted
+	 *
+	 *  @param coverage    The coverage state of the subsets
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param incumbent    The current optimal solution, which may be shared with other searches
+	 *  @param budget    The budget that the visited nodes are charged to, which may be shared with other searches
+	 */
+	public BitsetSearch(BitsetCoverage coverage, boolean[] necessarySubsets, LowerBound[] lowerBounds,
+			Incumbent incumbent, SearchBudget budget) {
+		this(coverage, necessarySubsets, lowerBounds, incumbent, budget, null);
+	}
+
+	/**
+	 *  Creates a search over the subsets of <code>coverage</code>, which must not have any element covered yet, that
+	 *  disregards branches using the given lower bounds, reports set covers to the given incumbent, stops once the
+	 *  given budget is exhausted and counts its nodes and prunes with the given recorder
+	 *
+	 *  @param coverage    The coverage state of the subsets
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param incumbent    The current optimal solution, which may be shared with other searches
+	 *  @param budget    The budget that the visited nodes are charged to, which may be shared with other searches
+	 *  @param recorder    The recorder of the nodes and prunes (<code>null</code> to not record them), which must not
+	 *                     be shared with other searches
+	 */
+	public BitsetSearch(BitsetCoverage coverage, boolean[] necessarySubsets, LowerBound[] lowerBounds,
+			Incumbent incumbent, SearchBudget budget, SearchStatistics.Recorder recorder) {
+		this(coverage, necessarySubsets, lowerBounds, incumbent, budget, recorder, null);
+	}
+
+	/**
+	 *  Creates a search over the subsets of <code>coverage</code>, which must not have any element covered yet, that
+	 *  disregards branches using the given lower bounds and transposition table, reports set covers to the given
+	 *  incumbent, stops once the given budget is exhausted and counts its nodes and prunes with the given recorder
+	 *
+	 *  @param coverage    The coverage state of the subsets
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param incumbent    The current optimal solution, which may be shared with other searches
+	 *  @param budget    The budget that the visited nodes are charged to, which may be shared with other searches
+	 *  @param recorder    The recorder of the nodes and prunes (<code>null</code> to not record them), which must not
+	 *                     be shared with other searches
+	 *  @param table    The bounds proven for subproblems (<code>null</code> to not cache them), which may be shared with
+	 *                  later searches of the same subsets on the same thread
+	 */
+	public BitsetSearch(BitsetCoverage coverage, boolean[] necessarySubsets, LowerBound[] lowerBounds,
+			Incumbent incumbent, SearchBudget budget, SearchStatistics.Recorder recorder, TranspositionTable table) {
+		if(necessarySubsets.length != coverage.getNumOfSubsets()) {
+			throw new IllegalArgumentException("Expected " + coverage.getNumOfSubsets() + " necessary flags but got "
+					+ necessarySubsets.length);
+		}
+
+		this.coverage = coverage;
+		this.necessarySubsets = necessarySubsets;
+		this.lowerBounds = lowerBounds.clone();
+		this.numberOfPrunes = new long[lowerBounds.length];
+		this.solutionVector = new boolean[coverage.getNumOfSubsets()];
+		this.frameStack = new int[coverage.getNumOfSubsets()];
+		this.markStack = new int[coverage.getNumOfSubsets()];
+		this.nodeStack = table == null ? null : new int[coverage.getNumOfSubsets()];
+		this.incumbent = incumbent;
+		this.budget = budget;
+		this.recorder = recorder;
+		this.table = table;
+	}
+
+	/**
+	 *	Executes depth first traversal of the tree of all possible combinations of the subsets after index
+	 *	<code>k</code> to determine the optimal set of subsets which covers every element. The subsets are searched in
+	 *	the same order as a recursive traversal that includes a subset, searches on, excludes it again and then searches
+	 *	on without it.
+	 *
+	 *	@param k	The index of the last subset that has been determined for inclusion in the solution (<code>-1</code>
+	 *				to start the search)
+	 */
+	public void backtrack(int k) {
+		int base = depth;
+		int candidates = expand(k);
+		while(true) {
+			k = k + 1;
+
+			if((candidates & INCLUDE) != 0) {
+				//Only an included subset needs a frame, which remembers how to exclude it and whether to search on then
+				frameStack[depth] = k << 2 | (candidates & EXCLUDE) >>> 1;
+				markStack[depth] = makeMove(k);
+				if(table != null) {
+					nodeStack[depth] = (int) numberOfBacktrackCalls;
+				}
+				depth++;
+			} else if((candidates & EXCLUDE) == 0) {
+				k = rewind(base);
+				if(k < 0) {
+					return;
+				}
+			}
+			candidates = expand(k);
+		}
+	}
+
+	/**
+	 *  Excludes the included subsets on the stack again, starting with the last one, until one is reached whose
+	 *  exclusion is still to be searched. With a transposition table, the bound proven for the subproblem of every
+	 *  subset whose subtree is done is stored.
+	 *
+	 *  @param base    The depth of the stack at which the traversal started
+	 *
+	 *  @return The index of the subset whose exclusion is to be searched, or <code>-1</code> if the traversal is done
+	 */
+	private int rewind(int base) {
+		while(depth > base) {
+			int frame = frameStack[depth - 1];
+			int k = frame >>> 2;
+			if((frame & EXCLUDING) == 0) {
+				unmakeMove(k, markStack[depth - 1]);
+			}
+			if((frame & EXCLUDE_PENDING) != 0) {
+				if(table == null) {
+					depth--;
+				} else {
+					frameStack[depth - 1] = k << 2 | EXCLUDING;
+				}
+				return k;
+			}
+
+			depth--;
+			if(depth < incompleteDepth) {
+				//Part of the subtree has been given away, and so have the subtrees of the frames below
+				incompleteDepth = depth;
+			} else if(table != null && !stopped
+					&& (int) numberOfBacktrackCalls - nodeStack[depth] >= MIN_CACHED_SUBTREE) {
+				//No set cover below the node is lighter than the current optimal solution
+				table.store(k, coverage, incumbent.getValue() - cost);
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 *  Visits the node of the decision tree reached by the current solution: the node is counted, the current solution
+	 *  is processed if it is a set cover, and otherwise the candidates for the next subset are determined
+	 *
+	 *	@param k	The index of the last subset that has been determined for inclusion in the solution
+	 *
+	 *  @return The candidates for the subset at index <code>k + 1</code>, as a combination of {@link #INCLUDE} and
+	 *          {@link #EXCLUDE} (<code>0</code> if the branch ends at this node or the budget is exhausted)
+	 */
+	public int expand(int k) {
+		if(stopped) {
+			return 0;
+		}
+
+		numberOfBacktrackCalls++;
+		if((numberOfBacktrackCalls & (SearchBudget.CHECK_INTERVAL - 1)) == 0) {
+			if(budget.charge(SearchBudget.CHECK_INTERVAL)) {
+				stopped = true;
+				if(frontierListener != null) {
+					reportFrontier(k);
+				}
+				return 0;
+			}
+			if(splitReceiver != null) {
+				split();
+			}
+			if(frontierListener != null && System.nanoTime() - nextFrontierNanos >= 0) {
+				reportFrontier(k);
+				nextFrontierNanos = System.nanoTime() + frontierIntervalNanos;
+			}
+		}
+		if(recorder != null) {
+			recorder.node(k + 1);
+		}
+
+		if(isASolution()) {
+			processSolution();
+			return 0;
+		}
+
+		return constructCandidates(k + 1);
+	}
+
+	/**
+	 *	Determines whether the current solution is a set cover
+	 *
+	 *	@return <code>true</code> if every element is covered, otherwise <code>false</code>
+	 */
+	public boolean isASolution() {
+		return coverage.isComplete();
+	}
+
+	/**
+	 *	Determines the valid candidates for inclusion of the subset at index <code>k</code>
+	 *
+	 *	@param k	The index of the subset
+	 *
+	 *	@return Only {@link #INCLUDE} if the subset is necessary in any set cover, only {@link #EXCLUDE} if the subset
+	 *			does not cover a new element, both if the subset might be necessary given the current solution, and
+	 *			<code>0</code> if the current branch cannot lead to a better solution
+	 */
+	public int constructCandidates(int k) {
+		if(k >= solutionVector.length) {
+			return 0;
+		}
+
+		int candidates = INCLUDE | EXCLUDE;
+		if(necessarySubsets[k]) {
+			candidates = INCLUDE;
+		} else if(!coverage.coversUncovered(k)) {
+			candidates = EXCLUDE;
+		}
+
+		//Bounds are only stored for nodes that include their subset, so no other node is looked up
+		if(table != null && (candidates & INCLUDE) != 0 && cost < incumbent.getValue()
+				&& cost + table.lookup(k, coverage) >= incumbent.getValue()) {
+			if(recorder != null) {
+				recorder.prune(PruneReason.TRANSPOSITION);
+			}
+			return 0;
+		}
+		if(cost >= incumbent.getValue() || isBounded(k)) {
+			if(recorder != null) {
+				recorder.prune(PruneReason.BOUND);
+			}
+			return 0;
+		}
+
+		if(recorder != null && candidates != (INCLUDE | EXCLUDE)) {
+			recorder.prune(candidates == INCLUDE ? PruneReason.NECESSARY : PruneReason.NOT_INTERESTING);
+		}
+
+		return candidates;
+	}
+
+	/**
+	 *  Determines whether one of the lower bounds shows that the current solution cannot be extended to a set cover
+	 *  with a smaller weight than the current optimal solution
+	 *
+	 *	@param k	The index of the first subset that has not yet been determined for inclusion in the solution
+	 *
+	 *  @return <code>true</code> if the current branch can be disregarded, otherwise <code>false</code>
+	 */
+	private boolean isBounded(int k) {
+		for(int i = 0; i < lowerBounds.length; i++) {
+			if(cost + lowerBounds[i].estimate(coverage, k) >= incumbent.getValue()) {
+				numberOfPrunes[i]++;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 *  Offers the current solution to the incumbent as the optimal solution
+	 */
+	public void processSolution() {
+		incumbent.offer(cost, solutionVector);
+	}
+
+	/**
+	 *  Includes the subset at index <code>k</code> in the current solution
+	 *
+	 *	@param k	The index of the subset
+	 *
+	 *  @return The trail position to give to {@link #unmakeMove(int, int)} to exclude the subset again
+	 */
+	public int makeMove(int k) {
+		int mark = coverage.mark();
+		solutionVector[k] = true;
+		coverage.include(k);
+		cost += coverage.getWeight(k);
+		return mark;
+	}
+
+	/**
+	 *  Excludes the subset at index <code>k</code> from the current solution again
+	 *
+	 *	@param k	The index of the subset
+	 *  @param mark    The trail position returned by {@link #makeMove(int)}
+	 */
+	public void unmakeMove(int k, int mark) {
+		cost -= coverage.getWeight(k);
+		coverage.undo(mark);
+		solutionVector[k] = false;
+	}
+
+	/**
+	 *  Moves a search that has not determined any subset yet to the node of the decision tree reached by the given
+	 *  decisions for the subsets up to index <code>k</code>
+	 *
+	 *  @param prefix    The boolean value at each index represents whether the corresponding subset is included
+	 *  @param k    The index of the last subset to determine
+	 */
+	public void descend(boolean[] prefix, int k) {
+		for(int i = 0; i <= k; i++) {
+			if(prefix[i]) {
+				makeMove(i);
+			}
+		}
+	}
+
+	/**
+	 *  Asks the search to give part of its decision tree to the given receiver at its next check of the budget. This
+	 *  method may be called from any thread, but only one split should be requested at a time. A search that ends
+	 *  before its next check never calls the receiver.
+	 *
+	 *  @param receiver    The receiver of the subtree
+	 */
+	public void requestSplit(SplitReceiver receiver) {
+		splitReceiver = receiver;
+	}
+
+	/**
+	 *  Gives the exclusion of the first subset on the stack whose exclusion is still to be searched to the receiver of
+	 *  the requested split, or tells the receiver that there is none
+	 */
+	private void split() {
+		SplitReceiver receiver = splitReceiver;
+		splitReceiver = null;
+
+		for(int i = 0; i < depth; i++) {
+			int frame = frameStack[i];
+			if((frame & EXCLUDE_PENDING) != 0) {
+				int k = frame >>> 2;
+				frameStack[i] = frame & ~EXCLUDE_PENDING;
+				incompleteDepth = Math.max(incompleteDepth, i + 1);
+
+				//The decisions before the subset are those of the path to it, and the subset itself is excluded
+				boolean[] prefix = new boolean[solutionVector.length];
+				System.arraycopy(solutionVector, 0, prefix, 0, k);
+				receiver.receive(prefix, k);
+				return;
+			}
+		}
+
+		receiver.receive(null, -1);
+	}
+
+	/**
+	 *  Reports the frontier of the search to the given listener whenever the given interval has passed since the last
+	 *  report (at the next check of the budget) and when the budget stops the search
+	 *
+	 *  @param listener    The listener, which is called by the thread of the search (<code>null</code> for none)
+	 *  @param intervalNanos    The number of nanoseconds between two reports
+	 */
+	public void setFrontierListener(FrontierListener listener, long intervalNanos) {
+		if(intervalNanos <= 0) {
+			throw new IllegalArgumentException("The interval must be positive: " + intervalNanos);
+		}
+
+		this.frontierListener = listener;
+		this.frontierIntervalNanos = intervalNanos;
+		this.nextFrontierNanos = System.nanoTime() + intervalNanos;
+	}
+
+	/**
+	 *  Reports the node being visited, whose subtree has not been searched yet, and the exclusions on the stack that
+	 *  are still to be searched, from the last to the first, which is the order in which the search would search them
+	 *
+	 *  @param k    The index of the last subset that has been determined at the node being visited
+	 */
+	private void reportFrontier(int k) {
+		int count = 1;
+		for(int i = 0; i < depth; i++) {
+			if((frameStack[i] & EXCLUDE_PENDING) != 0) {
+				count++;
+			}
+		}
+
+		boolean[][] prefixes = new boolean[count][];
+		int[] indices = new int[count];
+		prefixes[0] = new boolean[solutionVector.length];
+		System.arraycopy(solutionVector, 0, prefixes[0], 0, k + 1);
+		indices[0] = k;
+		count = 1;
+		for(int i = depth - 1; i >= 0; i--) {
+			if((frameStack[i] & EXCLUDE_PENDING) != 0) {
+				indices[count] = frameStack[i] >>> 2;
+				prefixes[count] = new boolean[solutionVector.length];
+				System.arraycopy(solutionVector, 0, prefixes[count], 0, indices[count]);
+				count++;
+			}
+		}
+
+		frontierListener.frontier(prefixes, indices);
+	}
+
+	/**
+	 *  @return A copy of the current solution, where the boolean value at each index represents whether the
+	 *          corresponding subset is included
+	 */
+	public boolean[] getSolutionVector() {
+		return solutionVector.clone();
+	}
+
+	/**
+	 *  @param coverage    The coverage state of the subsets
+	 *
+	 *  @return The total weight of all subsets
+	 */
+	static long totalWeight(BitsetCoverage coverage) {
+		long weight = 0;
+		for(int k = 0; k < coverage.getNumOfSubsets(); k++) {
+			weight += coverage.getWeight(k);
+		}
+
+		return weight;
+	}
+
+	/**
+	 *  @return The weight (for unweighted instances the number of subsets) of the optimal solution, or the total weight
+	 *          of all subsets plus one if no set cover has been found
+	 */
+	public int getOpt() {
+		return (int) incumbent.getValue();
+	}
+
+	/**
+	 *  @return The boolean at each index represents whether the corresponding subset is included in the optimal
+	 *          solution, or <code>null</code> if no set cover has been found
+	 */
+	public boolean[] getFinalSolution() {
+		return incumbent.getSolution();
+	}
+
+	/**
+	 *  @return <code>true</code> if the search stopped because its budget was exhausted, otherwise <code>false</code>
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 *  @return The number of times that the backtrack() method was called
+	 */
+	public long getNumberOfBacktrackCalls() {
+		return numberOfBacktrackCalls;
+	}
+
+	/**
+	 *  @param i    The index of the lower bound, in the order given to the constructor
+	 *
+	 *  @return The number of branches disregarded by the lower bound
+	 */
+	public long getNumberOfPrunes(int i) {
+		return numberOfPrunes[i];
+	}
+
+	/**
+	 *	Receives the part of the decision tree that a search gives away after {@link #requestSplit(SplitReceiver)}
+	 */
+	@FunctionalInterface
+	public interface SplitReceiver {
+
+		/**
+		 *  Called by the thread of the search with the node whose subtree the search no longer searches itself. The
+		 *  subtree is searched by moving a new search to the node with {@link #descend(boolean[], int)} and calling
+		 *  {@link #backtrack(int)} with the same index.
+		 *
+		 *  @param prefix    The boolean value at each index up to <code>k</code> represents whether the corresponding
+		 *                   subset is included, or <code>null</code> if the search has nothing to give away
+		 *  @param k    The index of the last subset that is determined at the node
+		 */
+		void receive(boolean[] prefix, int k);
+	}
+
+	/**
+	 *	Receives the frontier of a search (see {@link #setFrontierListener(FrontierListener, long)})
+	 */
+	@FunctionalInterface
+	public interface FrontierListener {
+
+		/**
+		 *  Called by the thread of the search with the nodes whose subtrees the search has not searched yet. Each
+		 *  subtree is searched by moving a new search to its node with {@link #descend(boolean[], int)} and calling
+		 *  {@link #backtrack(int)} with the same index.
+		 *
+		 *  @param prefixes    For each node, the boolean value at each index up to the index of the node represents
+		 *                     whether the corresponding subset is included
+		 *  @param indices    For each node, the index of the last subset that is determined at the node
+		 */
+		void frontier(boolean[][] prefixes, int[] indices);
+	}
+}
@@ -0,0 +1,32 @@
+package main;
+
+/**
+ *	<p>Lets another thread ask a running {@link SetCoverSolver#solve(SetCoverProblem, CancellationToken)} to stop. The
+ *	search checks the token at the same points as its time and node budgets, so it stops shortly after
+ *	{@link #cancel()} and returns the best set cover found until then.</p>
+ *
+ *	<p>This class is thread-safe.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class CancellationToken {
+
+	/**
+	 *  Whether the solve has been asked to stop
+	 */
+	private volatile boolean cancelled;
+
+	/**
+	 *  Asks every solve that was given this token to stop. Cancelling a token more than once has no further effect.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 *  @return <code>true</code> if {@link #cancel()} has been called, otherwise <code>false</code>
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+}
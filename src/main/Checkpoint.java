@@ -0,0 +1,271 @@
+package main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ *	<p>A snapshot of a solve that a {@link SetCoverSolver} writes while it searches (see
+ *	{@link SolverOptions#setCheckpoint(Path, long)}) and resumes from after a restart. For every component of the
+ *	remaining instance, the snapshot holds whether the component has been searched completely, partly or not at all,
+ *	its current optimal solution, the nodes and prunes counted so far and, for a component that is being searched,
+ *	the frontier of the search: the nodes whose subtrees have not been searched yet (see
+ *	{@link BitsetSearch.FrontierListener}).</p>
+ *
+ *	<p>The file is written in the binary format of {@link DataOutputStream}: a magic number and a version, the digest of
+ *	the instance (see {@link InstanceFingerprint}) and then every component. A component starts with a hash of its
+ *	subsets in the order in which they are searched, which has to match when the snapshot is resumed, since the
+ *	solutions and the frontier are given by the indices of the subsets. Solutions and nodes are packed into bits, a
+ *	node with only the decisions up to its index. Every snapshot is written to a temporary file first, which then
+ *	replaces the previous snapshot, so a process that is killed while writing leaves the previous snapshot
+ *	intact.</p>
+ *
+ *  @author Pratik Gurung
+ */
+final class Checkpoint {
+
+	/**
+	 *  The first four bytes of every checkpoint file
+	 */
+	private static final int MAGIC = 0x53434b50;
+	/**
+	 *  The version of the format, which changes whenever the format changes
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 *  The state of a component that has not been searched yet
+	 */
+	static final byte NOT_STARTED = 0;
+	/**
+	 *  The state of a component that is being searched
+	 */
+	static final byte IN_PROGRESS = 1;
+	/**
+	 *  The state of a component whose current optimal solution is minimum
+	 */
+	static final byte DONE = 2;
+
+	/**
+	 *  The digest of the instance
+	 */
+	final String digest;
+	/**
+	 *  The snapshot of each component
+	 */
+	final Part[] parts;
+
+	/**
+	 *  Creates a snapshot
+	 *
+	 *  @param digest    The digest of the instance
+	 *  @param parts    The snapshot of each component
+	 */
+	Checkpoint(String digest, Part[] parts) {
+		this.digest = digest;
+		this.parts = parts;
+	}
+
+	/**
+	 *  Writes the snapshot, replacing the previous snapshot in the file only once it has been written completely
+	 *
+	 *  @param file    The file
+	 *
+	 *  @throws IOException    If the file cannot be written
+	 */
+	void write(Path file) throws IOException {
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeUTF(digest);
+			output.writeInt(parts.length);
+			for(Part part : parts) {
+				output.writeInt(part.hash);
+				output.writeByte(part.state);
+				output.writeLong(part.numberOfBacktrackCalls);
+				output.writeInt(part.prunesByBound.size());
+				for(Map.Entry<String, Long> entry : part.prunesByBound.entrySet()) {
+					output.writeUTF(entry.getKey());
+					output.writeLong(entry.getValue());
+				}
+
+				output.writeBoolean(part.solution != null);
+				if(part.solution != null) {
+					output.writeLong(part.value);
+					output.writeInt(part.solution.length);
+					writeBits(output, part.solution, part.solution.length);
+				}
+
+				if(part.state == IN_PROGRESS) {
+					output.writeInt(part.indices.length);
+					for(int i = 0; i < part.indices.length; i++) {
+						output.writeInt(part.indices[i]);
+						writeBits(output, part.prefixes[i], part.indices[i] + 1);
+					}
+				}
+			}
+		}
+
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 *  Reads a snapshot
+	 *
+	 *  @param file    The file
+	 *
+	 *  @return The snapshot, or <code>null</code> if the file does not exist
+	 *
+	 *  @throws IOException    If the file cannot be read or is not a checkpoint
+	 */
+	static Checkpoint read(Path file) throws IOException {
+		try(DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if(input.readInt() != MAGIC) {
+				throw new IOException(file + " is not a checkpoint");
+			}
+			int version = input.readInt();
+			if(version != VERSION) {
+				throw new IOException(file + " has version " + version + " instead of " + VERSION);
+			}
+
+			String digest = input.readUTF();
+			Part[] parts = new Part[input.readInt()];
+			for(int p = 0; p < parts.length; p++) {
+				Part part = new Part(input.readInt(), input.readByte());
+				part.numberOfBacktrackCalls = input.readLong();
+				int numOfBounds = input.readInt();
+				for(int i = 0; i < numOfBounds; i++) {
+					part.prunesByBound.put(input.readUTF(), input.readLong());
+				}
+
+				if(input.readBoolean()) {
+					part.value = input.readLong();
+					int length = input.readInt();
+					part.solution = readBits(input, length, length);
+				}
+
+				if(part.state == IN_PROGRESS) {
+					int numOfNodes = input.readInt();
+					part.prefixes = new boolean[numOfNodes][];
+					part.indices = new int[numOfNodes];
+					for(int i = 0; i < numOfNodes; i++) {
+						part.indices[i] = input.readInt();
+						part.prefixes[i] = readBits(input, part.indices[i] + 1, part.indices[i] + 1);
+					}
+				}
+				parts[p] = part;
+			}
+
+			return new Checkpoint(digest, parts);
+		} catch(NoSuchFileException e) {
+			return null;
+		}
+	}
+
+	/**
+	 *  Writes the first values of a boolean array as bits, 64 to a long
+	 *
+	 *  @param output    The output
+	 *  @param bits    The values
+	 *  @param length    The number of values to write
+	 *
+	 *  @throws IOException    If the output cannot be written
+	 */
+	private static void writeBits(DataOutputStream output, boolean[] bits, int length) throws IOException {
+		for(int start = 0; start < length; start += Long.SIZE) {
+			long word = 0;
+			for(int i = start; i < Math.min(length, start + Long.SIZE); i++) {
+				if(bits[i]) {
+					word |= 1L << (i - start);
+				}
+			}
+			output.writeLong(word);
+		}
+	}
+
+	/**
+	 *  Reads the values written by {@link #writeBits(DataOutputStream, boolean[], int)}
+	 *
+	 *  @param input    The input
+	 *  @param length    The number of values that were written
+	 *  @param arrayLength    The length of the array to read them into, which is at least the number of values
+	 *
+	 *  @return The values, followed by <code>false</code> up to the length of the array
+	 *
+	 *  @throws IOException    If the input cannot be read
+	 */
+	private static boolean[] readBits(DataInputStream input, int length, int arrayLength) throws IOException {
+		if(length < 0 || length > arrayLength) {
+			throw new IOException("Invalid number of bits: " + length);
+		}
+
+		boolean[] bits = new boolean[arrayLength];
+		for(int start = 0; start < length; start += Long.SIZE) {
+			long word = input.readLong();
+			for(int i = start; i < Math.min(length, start + Long.SIZE); i++) {
+				bits[i] = (word & 1L << (i - start)) != 0;
+			}
+		}
+
+		return bits;
+	}
+
+	/**
+	 *	The snapshot of a component
+	 */
+	static final class Part {
+
+		/**
+		 *  The hash of the subsets of the component in the order in which they are searched
+		 */
+		final int hash;
+		/**
+		 *  {@link #NOT_STARTED}, {@link #IN_PROGRESS} or {@link #DONE}
+		 */
+		final byte state;
+		/**
+		 *  The number of nodes of the decision tree visited so far
+		 */
+		long numberOfBacktrackCalls;
+		/**
+		 *  The number of branches disregarded by each lower bound so far, by the name of the bound
+		 */
+		final Map<String, Long> prunesByBound = new LinkedHashMap<String, Long>();
+		/**
+		 *  The weight of the current optimal solution
+		 */
+		long value;
+		/**
+		 *  The current optimal solution, or <code>null</code> if none has been found
+		 */
+		boolean[] solution;
+		/**
+		 *  For each node of the frontier, the decisions for the subsets up to its index
+		 */
+		boolean[][] prefixes;
+		/**
+		 *  For each node of the frontier, the index of the last subset that is determined at the node
+		 */
+		int[] indices;
+
+		/**
+		 *  Creates the snapshot of a component
+		 *
+		 *  @param hash    The hash of the subsets of the component in the order in which they are searched
+		 *  @param state    {@link #NOT_STARTED}, {@link #IN_PROGRESS} or {@link #DONE}
+		 */
+		Part(int hash, byte state) {
+			this.hash = hash;
+			this.state = state;
+		}
+	}
+}
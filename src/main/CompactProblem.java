@@ -0,0 +1,405 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ *	<p>The compact model of an instance that the solver works on after preprocessing. The elements of all subsets are
+ *	stored in a single array in compressed sparse row (CSR) form: the elements of subset <code>i</code> are at the
+ *	positions from {@link #getSubsetStart(int)} up to (but not including) {@link #getSubsetEnd(int)}. Everything else
+ *	that is known about a subset is kept in separate metadata arrays indexed by the subset:</p>
+ *
+ *	<ul>
+ *		<li>the fewest number of other subsets that contain one of its elements (<code>0</code> means that the subset is
+ *		necessary in any set cover), which decides the order in which the subsets are searched</li>
+ *		<li>its size (the length of its row)</li>
+ *		<li>its weight</li>
+ *		<li>its index in the {@link SetCoverProblem} it came from</li>
+ *	</ul>
+ *
+ *	<p>This replaces appending the fewest occurrence to the end of every subset as a fake element, sorting on it, and
+ *	removing it again: the subsets are never modified, no value is boxed, and reordering the subsets only permutes the
+ *	rows. Elements are identified by the integers <code>0</code> to <code>getNumOfElements() - 1</code>, and the
+ *	integer each of them stands for in the original instance is kept as well. Instances are immutable.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class CompactProblem {
+
+	/**
+	 *  The position in <code>elements</code> of the first element of each subset, followed by the length of
+	 *  <code>elements</code>
+	 */
+	private final int[] subsetStarts;
+	/**
+	 *  The sorted elements of each subset, one subset after the other
+	 */
+	private final int[] elements;
+
+	/**
+	 *  The fewest number of other subsets that contain an element of each subset
+	 */
+	private final int[] minOccurrences;
+	/**
+	 *  The weight of each subset
+	 */
+	private final long[] weights;
+	/**
+	 *  The index of each subset in the original instance
+	 */
+	private final int[] originalIndices;
+
+	/**
+	 *  The integer of each element in the original instance
+	 */
+	private final int[] elementValues;
+
+	/**
+	 *  Creates the model from its arrays, which are not copied
+	 *
+	 *  @param subsetStarts    The position of the first element of each subset, followed by the number of elements
+	 *  @param elements    The sorted elements of each subset, one subset after the other
+	 *  @param minOccurrences    The fewest number of other subsets that contain an element of each subset
+	 *  @param weights    The weight of each subset
+	 *  @param originalIndices    The index of each subset in the original instance
+	 *  @param elementValues    The integer of each element in the original instance
+	 */
+	private CompactProblem(int[] subsetStarts, int[] elements, int[] minOccurrences, long[] weights,
+			int[] originalIndices, int[] elementValues) {
+		this.subsetStarts = subsetStarts;
+		this.elements = elements;
+		this.minOccurrences = minOccurrences;
+		this.weights = weights;
+		this.originalIndices = originalIndices;
+		this.elementValues = elementValues;
+	}
+
+	/**
+	 *  Creates the model of the given subsets and computes the fewest occurrence of each of them
+	 *
+	 *  @param elementValues    The integer of each element in the original instance
+	 *  @param subsets    The sorted elements of each subset (between <code>0</code> and
+	 *                    <code>elementValues.length - 1</code>)
+	 *  @param weights    The weight of each subset
+	 *  @param originalIndices    The index of each subset in the original instance
+	 *
+	 *  @return The model
+	 */
+	public static CompactProblem of(int[] elementValues, int[][] subsets, long[] weights, int[] originalIndices) {
+		int[] subsetStarts = new int[subsets.length + 1];
+		for(int i = 0; i < subsets.length; i++) {
+			subsetStarts[i + 1] = subsetStarts[i] + subsets[i].length;
+		}
+
+		int[] elements = new int[subsetStarts[subsets.length]];
+		int[] occurrences = new int[elementValues.length];
+		for(int i = 0; i < subsets.length; i++) {
+			System.arraycopy(subsets[i], 0, elements, subsetStarts[i], subsets[i].length);
+			for(int element : subsets[i]) {
+				occurrences[element]++;
+			}
+		}
+
+		int[] minOccurrences = new int[subsets.length];
+		for(int i = 0; i < subsets.length; i++) {
+			int minCount = subsets.length;
+			for(int element : subsets[i]) {
+				minCount = Math.min(minCount, occurrences[element] - 1);
+			}
+			minOccurrences[i] = minCount;
+		}
+
+		return new CompactProblem(subsetStarts, elements, minOccurrences, weights, originalIndices, elementValues);
+	}
+
+	/**
+	 *  Creates a model with the same subsets in a different order
+	 *
+	 *  @param order    The position in this model of the subset at each position of the new model
+	 *
+	 *  @return The reordered model
+	 */
+	public CompactProblem permute(int[] order) {
+		int[] newStarts = new int[order.length + 1];
+		int[] newElements = new int[elements.length];
+		int[] newMinOccurrences = new int[order.length];
+		long[] newWeights = new long[order.length];
+		int[] newOriginalIndices = new int[order.length];
+		for(int i = 0; i < order.length; i++) {
+			int k = order[i];
+			int size = subsetStarts[k + 1] - subsetStarts[k];
+			System.arraycopy(elements, subsetStarts[k], newElements, newStarts[i], size);
+			newStarts[i + 1] = newStarts[i] + size;
+			newMinOccurrences[i] = minOccurrences[k];
+			newWeights[i] = weights[k];
+			newOriginalIndices[i] = originalIndices[k];
+		}
+
+		return new CompactProblem(newStarts, Arrays.copyOf(newElements, newStarts[order.length]), newMinOccurrences,
+				newWeights, newOriginalIndices, elementValues);
+	}
+
+	/**
+	 *  Preliminary Pruning: sorting the subsets according to the smallest occurrence of an element in each subset
+	 *
+	 *  @return The model with the subsets in the order in which they are searched
+	 */
+	public CompactProblem sortByFewestOccurrences() {
+		return permute(orderOf(SubsetOrder.FEWEST_OCCURRENCES, 0));
+	}
+
+	/**
+	 *  Determines an order of the subsets. Subsets that the order considers equal keep their order in this model.
+	 *
+	 *  @param subsetOrder    The order
+	 *  @param seed    The seed of a random order
+	 *
+	 *  @return The position in this model of the subset at each position of the order, as taken by
+	 *          {@link #permute(int[])}
+	 */
+	public int[] orderOf(SubsetOrder subsetOrder, long seed) {
+		int[] result = new int[minOccurrences.length];
+		if(subsetOrder == SubsetOrder.RANDOM) {
+			Random random = new Random(seed);
+			for(int i = 0; i < result.length; i++) {
+				int j = random.nextInt(i + 1);
+				result[i] = result[j];
+				result[j] = i;
+			}
+			return result;
+		}
+
+		Integer[] order = new Integer[minOccurrences.length];
+		for(int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		if(subsetOrder == SubsetOrder.FEWEST_OCCURRENCES) {
+			Arrays.sort(order, (i1, i2) -> minOccurrences[i1] - minOccurrences[i2]);
+		} else {
+			//Comparing size1 / weight1 with size2 / weight2 without division
+			Arrays.sort(order, (i1, i2) -> Long.compare((long) getSubsetSize(i2) * weights[i1],
+					(long) getSubsetSize(i1) * weights[i2]));
+		}
+
+		for(int i = 0; i < order.length; i++) {
+			result[i] = order[i];
+		}
+
+		return result;
+	}
+
+	/**
+	 *  Splits the model into the connected components of its incidence graph, in which every element is joined to the
+	 *  subsets that contain it. No subset contains elements of two components, so a minimum set cover of the model
+	 *  consists of a minimum set cover of each component, and the components can be solved independently. The
+	 *  components are found with a union-find over the elements, and subsets without any element, which no minimum set
+	 *  cover needs, are left out of them.
+	 *
+	 *  @return The components, each with its elements renumbered from <code>0</code> in their original order and its
+	 *          subsets in their order in this model, or only this model if it has at most one component
+	 */
+	public List<CompactProblem> splitComponents() {
+		int numOfElements = getNumOfElements();
+		int[] parents = new int[numOfElements];
+		for(int element = 0; element < numOfElements; element++) {
+			parents[element] = element;
+		}
+		for(int i = 0; i < getNumOfSubsets(); i++) {
+			for(int position = subsetStarts[i] + 1; position < subsetStarts[i + 1]; position++) {
+				int root1 = findRoot(parents, elements[subsetStarts[i]]);
+				int root2 = findRoot(parents, elements[position]);
+				parents[Math.max(root1, root2)] = Math.min(root1, root2);
+			}
+		}
+
+		//Every root is the smallest element of its component, so the components are numbered in the order of their
+		//first elements and every element is numbered within its component in its original order
+		int numOfComponents = 0;
+		int[] components = new int[numOfElements];
+		int[] localElements = new int[numOfElements];
+		int[] componentSizes = new int[numOfElements];
+		for(int element = 0; element < numOfElements; element++) {
+			int root = findRoot(parents, element);
+			if(root == element) {
+				components[element] = numOfComponents;
+				numOfComponents++;
+			} else {
+				components[element] = components[root];
+			}
+			localElements[element] = componentSizes[components[element]];
+			componentSizes[components[element]]++;
+		}
+		if(numOfComponents <= 1) {
+			return List.of(this);
+		}
+
+		int[][] componentValues = new int[numOfComponents][];
+		for(int component = 0; component < numOfComponents; component++) {
+			componentValues[component] = new int[componentSizes[component]];
+		}
+		for(int element = 0; element < numOfElements; element++) {
+			componentValues[components[element]][localElements[element]] = elementValues[element];
+		}
+
+		int[] componentSubsetCounts = new int[numOfComponents];
+		for(int i = 0; i < getNumOfSubsets(); i++) {
+			if(getSubsetSize(i) > 0) {
+				componentSubsetCounts[components[elements[subsetStarts[i]]]]++;
+			}
+		}
+		int[][][] componentSubsets = new int[numOfComponents][][];
+		long[][] componentWeights = new long[numOfComponents][];
+		int[][] componentIndices = new int[numOfComponents][];
+		for(int component = 0; component < numOfComponents; component++) {
+			componentSubsets[component] = new int[componentSubsetCounts[component]][];
+			componentWeights[component] = new long[componentSubsetCounts[component]];
+			componentIndices[component] = new int[componentSubsetCounts[component]];
+			componentSubsetCounts[component] = 0;
+		}
+		for(int i = 0; i < getNumOfSubsets(); i++) {
+			if(getSubsetSize(i) == 0) {
+				continue;
+			}
+
+			int component = components[elements[subsetStarts[i]]];
+			int[] subset = new int[getSubsetSize(i)];
+			for(int j = 0; j < subset.length; j++) {
+				subset[j] = localElements[elements[subsetStarts[i] + j]];
+			}
+			int position = componentSubsetCounts[component];
+			componentSubsets[component][position] = subset;
+			componentWeights[component][position] = weights[i];
+			componentIndices[component][position] = originalIndices[i];
+			componentSubsetCounts[component]++;
+		}
+
+		List<CompactProblem> result = new ArrayList<CompactProblem>(numOfComponents);
+		for(int component = 0; component < numOfComponents; component++) {
+			result.add(of(componentValues[component], componentSubsets[component], componentWeights[component],
+					componentIndices[component]));
+		}
+
+		return result;
+	}
+
+	/**
+	 *  Finds the root of the tree of an element in a union-find forest, halving the path on the way
+	 *
+	 *  @param parents    The parent of each element, which is the element itself at a root
+	 *  @param element    The element
+	 *
+	 *  @return The root
+	 */
+	private static int findRoot(int[] parents, int element) {
+		while(parents[element] != element) {
+			parents[element] = parents[parents[element]];
+			element = parents[element];
+		}
+
+		return element;
+	}
+
+	/**
+	 *  Copies the rows into one array per subset, which is the form the search engines are built from
+	 *
+	 *  @return The sorted elements of each subset
+	 */
+	public int[][] toSubsetArrays() {
+		int[][] subsets = new int[getNumOfSubsets()][];
+		for(int i = 0; i < subsets.length; i++) {
+			subsets[i] = Arrays.copyOfRange(elements, subsetStarts[i], subsetStarts[i + 1]);
+		}
+
+		return subsets;
+	}
+
+	/**
+	 *  @return The number of subsets
+	 */
+	public int getNumOfSubsets() {
+		return minOccurrences.length;
+	}
+
+	/**
+	 *  @return The number of elements
+	 */
+	public int getNumOfElements() {
+		return elementValues.length;
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The position of the first element of the subset
+	 */
+	public int getSubsetStart(int i) {
+		return subsetStarts[i];
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The position after the last element of the subset
+	 */
+	public int getSubsetEnd(int i) {
+		return subsetStarts[i + 1];
+	}
+
+	/**
+	 *  @param position    A position between <code>getSubsetStart(i)</code> and <code>getSubsetEnd(i)</code> of some
+	 *                     subset <code>i</code>
+	 *
+	 *  @return The element at that position
+	 */
+	public int getElement(int position) {
+		return elements[position];
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The number of elements of the subset
+	 */
+	public int getSubsetSize(int i) {
+		return subsetStarts[i + 1] - subsetStarts[i];
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The fewest number of other subsets that contain an element of the subset (<code>0</code> if the subset is
+	 *          necessary in any set cover)
+	 */
+	public int getMinOccurrence(int i) {
+		return minOccurrences[i];
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The weight of the subset
+	 */
+	public long getWeight(int i) {
+		return weights[i];
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The index of the subset in the original instance
+	 */
+	public int getOriginalIndex(int i) {
+		return originalIndices[i];
+	}
+
+	/**
+	 *  @param element    The element
+	 *
+	 *  @return The integer of the element in the original instance
+	 */
+	public int getElementValue(int element) {
+		return elementValues[element];
+	}
+}
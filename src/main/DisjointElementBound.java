@@ -0,0 +1,157 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ *	<p>Bounds the number of subsets that are still needed by the size of a set of uncovered elements of which no two
+ *	are contained in the same remaining subset. Each of those elements needs a different subset, so at least that many
+ *	subsets have to be added. With weights, each of those subsets costs at least the smallest weight of a subset that
+ *	contains its element, so the bound is the sum of those smallest weights (the size of the set when every weight is
+ *	1).</p>
+ *
+ *	<p>The set of elements is chosen greedily, starting with the elements that are contained in the fewest subsets. For
+ *	every element, the subsets that contain it are kept in decreasing order in compressed sparse row form (as in
+ *	{@link ElementIndex}), so the bound takes memory in proportion to the size of the instance and checking whether an
+ *	element shares a remaining subset with the elements chosen so far only visits the remaining subsets of that
+ *	element, which come first. The subsets used by the chosen elements are marked with the number of the estimate, so
+ *	they never have to be cleared.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class DisjointElementBound implements LowerBound {
+
+	/**
+	 *  The position in <code>elementSubsets</code> of the first subset of each element, followed by the length of
+	 *  <code>elementSubsets</code>
+	 */
+	private final int[] elementStarts;
+	/**
+	 *  The subsets that contain each element in decreasing order, one element after the other
+	 */
+	private final int[] elementSubsets;
+
+	/**
+	 *  The elements in the order in which they are considered (increasing number of subsets that contain them)
+	 */
+	private final int[] elementOrder;
+
+	/**
+	 *  The smallest weight of a subset that contains each element
+	 */
+	private final long[] elementWeights;
+
+	/**
+	 *  The number of the estimate in which each subset was last used by a chosen element
+	 */
+	private final int[] used;
+	/**
+	 *  The number of the current estimate
+	 */
+	private int epoch;
+
+	/**
+	 *  Creates the bound for the given subsets
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset
+	 */
+	public DisjointElementBound(int numOfElements, int[][] subsets) {
+		this(numOfElements, subsets, BitsetCoverage.unitWeights(subsets.length));
+	}
+
+	/**
+	 *  Creates the bound for the given weighted subsets
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset
+	 *  @param weights    The weight of each subset
+	 */
+	public DisjointElementBound(int numOfElements, int[][] subsets, long[] weights) {
+		this.elementWeights = new long[numOfElements];
+		this.used = new int[subsets.length];
+
+		Arrays.fill(elementWeights, Long.MAX_VALUE);
+		int[] occurrences = new int[numOfElements];
+		for(int i = 0; i < subsets.length; i++) {
+			for(int element : subsets[i]) {
+				elementWeights[element] = Math.min(elementWeights[element], weights[i]);
+				occurrences[element]++;
+			}
+		}
+
+		//The subsets are added in decreasing order, so the remaining subsets of every element come first
+		this.elementStarts = new int[numOfElements + 1];
+		for(int element = 0; element < numOfElements; element++) {
+			elementStarts[element + 1] = elementStarts[element] + occurrences[element];
+		}
+		this.elementSubsets = new int[elementStarts[numOfElements]];
+		int[] next = Arrays.copyOf(elementStarts, numOfElements);
+		for(int i = subsets.length - 1; i >= 0; i--) {
+			for(int element : subsets[i]) {
+				elementSubsets[next[element]] = i;
+				next[element]++;
+			}
+		}
+
+		//Counting sort of the elements by their number of occurrences
+		int[] start = new int[subsets.length + 2];
+		for(int count : occurrences) {
+			start[count + 1]++;
+		}
+		for(int i = 1; i < start.length; i++) {
+			start[i] += start[i - 1];
+		}
+		this.elementOrder = new int[numOfElements];
+		for(int element = 0; element < numOfElements; element++) {
+			elementOrder[start[occurrences[element]]] = element;
+			start[occurrences[element]]++;
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "disjoint-elements";
+	}
+
+	@Override
+	public long estimate(BitsetCoverage coverage, int k) {
+		if(epoch == Integer.MAX_VALUE) {
+			Arrays.fill(used, 0);
+			epoch = 0;
+		}
+		epoch++;
+
+		long weight = 0;
+		for(int element : elementOrder) {
+			if(coverage.isCovered(element)) {
+				continue;
+			}
+
+			//Only the subsets from index k on remain, which are the first subsets of the element
+			int start = elementStarts[element];
+			int last = elementStarts[element + 1];
+			if(start == last || elementSubsets[start] < k) {
+				return INFEASIBLE;
+			}
+
+			int end = start;
+			boolean disjoint = true;
+			while(end < last && elementSubsets[end] >= k) {
+				if(used[elementSubsets[end]] == epoch) {
+					disjoint = false;
+					break;
+				}
+				end++;
+			}
+
+			if(disjoint) {
+				for(int p = start; p < end; p++) {
+					used[elementSubsets[p]] = epoch;
+				}
+				weight += elementWeights[element];
+			}
+		}
+
+		return weight;
+	}
+}
@@ -0,0 +1,358 @@
+package main;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *	<p>Explores the same decision tree as {@link BitsetSearch} with the {@link SearchWorker}s of a
+ *	{@link SearchCoordinator}. The tree is split into jobs, each of which is a node of the tree given by the decisions
+ *	for the subsets up to an index (a prefix of the solution vector), and a worker searches the whole subtree of every
+ *	job that it is sent. The search starts with the root as the only job. Whenever a worker is idle and no job is left,
+ *	a busy worker is asked to split its job, and its search gives the largest subtree that it has not started yet
+ *	away as a new job, so the jobs are split exactly as far as the workers need them.</p>
+ *
+ *	<p>Every set cover that a worker finds is offered to the {@link Incumbent} of the search, and the weight of every
+ *	improvement is sent to all workers, so each worker prunes with the best set cover that any worker has found.</p>
+ *
+ *	<p>The search checks its {@link SearchBudget} whenever a message arrives and at least every
+ *	{@link #POLL_MILLIS} milliseconds, and charges the nodes of every job when the job ends. Once the budget is
+ *	exhausted, the jobs that are running are cancelled and no more jobs are sent. A worker whose connection fails is
+ *	dropped, and its job is searched again by another worker, so the search only fails if every worker is gone.</p>
+ *
+ *	<p>The workers recreate the lower bounds from their names, so only the bounds of this package can be used (see
+ *	{@link LowerBound#getName()}), and the nodes of the workers are not recorded by depth.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class DistributedSearch {
+
+	/**
+	 *  The largest number of milliseconds between two checks of the budget
+	 */
+	static final long POLL_MILLIS = 10;
+
+	/**
+	 *  The number of elements to cover
+	 */
+	private final int numOfElements;
+	/**
+	 *  The elements of each subset, in the order in which the search determines them
+	 */
+	private final int[][] subsets;
+	/**
+	 *  The weight of each subset
+	 */
+	private final long[] weights;
+	/**
+	 *  An array of subsets that are essential to any set cover of the given data
+	 */
+	private final boolean[] necessarySubsets;
+	/**
+	 *  The names of the lower bounds that the workers check at every node, in order
+	 */
+	private final List<String> lowerBounds;
+
+	/**
+	 *  The current optimal solution
+	 */
+	private final Incumbent incumbent;
+	/**
+	 *  The budget that the nodes of every job are charged to
+	 */
+	private final SearchBudget budget;
+	/**
+	 *  The number of bytes that the transposition table of each worker may take up (<code>0</code> for none)
+	 */
+	private final long cacheBytes;
+
+	/**
+	 *  The number of nodes of the decision tree visited by all jobs
+	 */
+	private long numberOfBacktrackCalls;
+	/**
+	 *  The number of branches disregarded by the lower bound at the same index in all jobs
+	 */
+	private final long[] numberOfPrunes;
+	/**
+	 *  Whether the search was stopped before the whole decision tree was searched
+	 */
+	private boolean stopped;
+
+	/**
+	 *  Creates a distributed search
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset, in the order in which the search determines them
+	 *  @param weights    The weight of each subset
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The names of the lower bounds that are checked at every node, in order
+	 *  @param incumbent    The current optimal solution
+	 *  @param budget    The budget that the nodes visited by every job are charged to
+	 *  @param cacheBytes    The number of bytes that the transposition table of each worker may take up
+	 *                       (<code>0</code> to not cache any bound)
+	 *
+	 *  @throws IllegalArgumentException    If a worker cannot recreate one of the lower bounds
+	 */
+	public DistributedSearch(int numOfElements, int[][] subsets, long[] weights, boolean[] necessarySubsets,
+			List<String> lowerBounds, Incumbent incumbent, SearchBudget budget, long cacheBytes) {
+		if(cacheBytes < 0) {
+			throw new IllegalArgumentException("The cache size must not be negative: " + cacheBytes);
+		}
+		for(String name : lowerBounds) {
+			SearchProtocol.boundFactory(name);
+		}
+
+		this.numOfElements = numOfElements;
+		this.subsets = subsets;
+		this.weights = weights;
+		this.necessarySubsets = necessarySubsets;
+		this.lowerBounds = List.copyOf(lowerBounds);
+		this.incumbent = incumbent;
+		this.budget = budget;
+		this.cacheBytes = cacheBytes;
+		this.numberOfPrunes = new long[lowerBounds.size()];
+	}
+
+	/**
+	 *  Searches the whole decision tree with the workers of the given coordinator and waits until it is done
+	 *
+	 *  @param coordinator    The coordinator, which must have at least one worker
+	 *
+	 *  @throws IllegalStateException    If no worker is connected or every worker is gone before the search is done
+	 */
+	public void run(SearchCoordinator coordinator) {
+		coordinator.run(this);
+	}
+
+	/**
+	 *  Sends the instance to the workers and the jobs to the idle workers until every job has been searched
+	 *
+	 *  @param connections    The connections to the workers
+	 *  @param messages    The queue that the messages of the workers are read into
+	 *
+	 *  @return The number of jobs that were sent
+	 */
+	long run(List<SearchCoordinator.Connection> connections, BlockingQueue<SearchCoordinator.Message> messages) {
+		long upperBound = incumbent.getValue();
+		for(SearchCoordinator.Connection connection : connections) {
+			connection.send(output -> {
+				output.writeByte(SearchProtocol.INSTANCE);
+				output.writeInt(numOfElements);
+				output.writeInt(subsets.length);
+				for(int i = 0; i < subsets.length; i++) {
+					output.writeLong(weights[i]);
+					output.writeBoolean(necessarySubsets[i]);
+					output.writeInt(subsets[i].length);
+					for(int element : subsets[i]) {
+						output.writeInt(element);
+					}
+				}
+				output.writeInt(lowerBounds.size());
+				for(String name : lowerBounds) {
+					output.writeUTF(name);
+				}
+				output.writeLong(cacheBytes);
+				output.writeLong(upperBound);
+			});
+		}
+
+		Deque<Job> jobs = new ArrayDeque<Job>();
+		jobs.add(new Job(new boolean[subsets.length], -1));
+		long numberOfJobs = 0;
+		boolean interrupted = false;
+		stopped = budget.isExhausted();
+		while(true) {
+			int idle = 0;
+			int busy = 0;
+			for(SearchCoordinator.Connection connection : connections) {
+				if(connection.closed) {
+					//The job of a failed connection is returned to the queue once its reader reports the failure
+					if(connection.job != null) {
+						busy++;
+					}
+					continue;
+				}
+				if(connection.job == null && !stopped && !jobs.isEmpty()) {
+					Job job = jobs.poll();
+					job.id = numberOfJobs++;
+					connection.job = job;
+					//If the connection fails, its reader reports it, and the job is returned to the queue then
+					connection.send(output -> {
+						output.writeByte(SearchProtocol.JOB);
+						output.writeLong(job.id);
+						output.writeInt(job.k);
+						SearchProtocol.writeSubsets(output, job.prefix, job.k);
+					});
+				}
+
+				if(connection.job == null) {
+					idle++;
+				} else {
+					busy++;
+				}
+			}
+			if(busy == 0) {
+				if(interrupted) {
+					Thread.currentThread().interrupt();
+				}
+				if(!stopped && !jobs.isEmpty()) {
+					throw new IllegalStateException("Every worker is gone before the search is done");
+				}
+				return numberOfJobs;
+			}
+
+			//Every idle worker gets a job from a split of a busy worker
+			if(!stopped) {
+				for(SearchCoordinator.Connection connection : connections) {
+					if(idle == 0) {
+						break;
+					}
+					if(connection.job != null && !connection.closed && !connection.splitPending) {
+						connection.splitPending = connection.send(output -> output.writeByte(SearchProtocol.SPLIT));
+						idle--;
+					}
+				}
+			}
+
+			SearchCoordinator.Message message;
+			try {
+				message = messages.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch(InterruptedException e) {
+				//The jobs that are running are cancelled, and the interruption is restored once they have ended
+				message = null;
+				interrupted = true;
+				stopped = true;
+			}
+			if(!stopped && budget.charge(0)) {
+				stopped = true;
+			}
+			if(stopped) {
+				for(SearchCoordinator.Connection connection : connections) {
+					if(connection.job != null && !connection.job.cancelled) {
+						connection.job.cancelled = true;
+						connection.send(output -> output.writeByte(SearchProtocol.CANCEL));
+					}
+				}
+			}
+			if(message != null) {
+				handle(message, connections, jobs);
+			}
+		}
+	}
+
+	/**
+	 *  Handles a message of a worker
+	 *
+	 *  @param message    The message
+	 *  @param connections    The connections to the workers
+	 *  @param jobs    The jobs that have not been sent yet
+	 */
+	private void handle(SearchCoordinator.Message message, List<SearchCoordinator.Connection> connections,
+			Deque<Job> jobs) {
+		SearchCoordinator.Connection from = message.connection;
+		if(message.type == SearchProtocol.SOLUTION) {
+			boolean[] solution = new boolean[subsets.length];
+			for(int i : message.subsets) {
+				solution[i] = true;
+			}
+			if(incumbent.offer(message.value, solution)) {
+				long value = incumbent.getValue();
+				for(SearchCoordinator.Connection connection : connections) {
+					connection.send(output -> {
+						output.writeByte(SearchProtocol.INCUMBENT);
+						output.writeLong(value);
+					});
+				}
+			}
+		} else if(message.type == SearchProtocol.DONATED) {
+			Job job = new Job(new boolean[subsets.length], message.k);
+			for(int i : message.subsets) {
+				job.prefix[i] = true;
+			}
+			jobs.add(job);
+			from.splitPending = false;
+		} else if(message.type == SearchProtocol.NO_SPLIT) {
+			from.splitPending = false;
+		} else if(message.type == SearchProtocol.DONE) {
+			if(from.job != null && from.job.id == message.value) {
+				from.job = null;
+			}
+			budget.charge(message.nodes);
+			numberOfBacktrackCalls += message.nodes;
+			for(int i = 0; i < numberOfPrunes.length && i < message.prunes.length; i++) {
+				numberOfPrunes[i] += message.prunes[i];
+			}
+		} else {
+			//The connection has failed, so its job is searched again by another worker
+			if(from.job != null) {
+				if(!from.job.cancelled) {
+					jobs.addFirst(new Job(from.job.prefix, from.job.k));
+				}
+				from.job = null;
+			}
+			from.splitPending = false;
+		}
+	}
+
+	/**
+	 *  @return <code>true</code> if the search stopped because its budget was exhausted or its thread was interrupted,
+	 *          otherwise <code>false</code>
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 *  @return The number of nodes of the decision tree visited by all jobs
+	 */
+	public long getNumberOfBacktrackCalls() {
+		return numberOfBacktrackCalls;
+	}
+
+	/**
+	 *  @param i    The index of the lower bound
+	 *
+	 *  @return The number of branches disregarded by the lower bound in all jobs
+	 */
+	public long getNumberOfPrunes(int i) {
+		return numberOfPrunes[i];
+	}
+
+	/**
+	 *	A node of the decision tree whose subtree a worker searches
+	 */
+	static final class Job {
+
+		/**
+		 *  The boolean value at each index up to <code>k</code> represents whether the corresponding subset is included
+		 */
+		final boolean[] prefix;
+		/**
+		 *  The index of the last subset that is determined at the node
+		 */
+		final int k;
+		/**
+		 *  The identifier of the job, which is set when the job is sent
+		 */
+		long id;
+		/**
+		 *  Whether the worker of the job has been asked to stop it
+		 */
+		boolean cancelled;
+
+		/**
+		 *  Creates a job
+		 *
+		 *  @param prefix    The boolean value at each index up to <code>k</code> represents whether the corresponding
+		 *                   subset is included
+		 *  @param k    The index of the last subset that is determined at the node
+		 */
+		Job(boolean[] prefix, int k) {
+			this.prefix = prefix;
+			this.k = k;
+		}
+	}
+}
@@ -0,0 +1,303 @@
+package main;
+
+/**
+ *	<p>An alternative to the subset order of {@link BitsetSearch}: instead of deciding the subsets one after the other,
+ *	every node of the decision tree picks the uncovered element that is contained in the fewest undecided subsets and
+ *	branches on which of those subsets covers it. Once the branch that includes a subset has been searched, the subset
+ *	is excluded for the remaining branches of the node, so no set cover is visited twice.</p>
+ *
+ *	<p>The number of undecided subsets of every element is kept up to date by an {@link ElementIndex} as subsets are
+ *	included and excluded, and the covered elements are kept in a {@link BitsetCoverage}. Since a subset that has been
+ *	decided may still be used by a {@link LowerBound} that considers every subset, the lower bounds are given the index
+ *	<code>0</code>, which keeps them admissible.</p>
+ *
+ *	<p>With weights, the current branch ends as soon as even the lightest subset would make the current solution at
+ *	least as heavy as the current optimal solution, and a subset whose own weight would do so is skipped.</p>
+ *
+ *	<p>Like {@link BitsetSearch}, the search charges its {@link SearchBudget} once every
+ *	{@link SearchBudget#CHECK_INTERVAL} nodes and unwinds as soon as the budget is exhausted, and it can count its
+ *	nodes by their depth (the number of branchings above them) and its disregarded branches with a
+ *	{@link SearchStatistics.Recorder}.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class ElementBranchingSearch {
+
+	/**
+	 *  The coverage state of the current solution
+	 */
+	private final BitsetCoverage coverage;
+
+	/**
+	 *  The subsets that contain each element and the number of them that are still undecided
+	 */
+	private final ElementIndex index;
+
+	/**
+	 *  An array of subsets that are essential to any set cover of the given data
+	 */
+	private final boolean[] necessarySubsets;
+
+	/**
+	 *  The lower bounds that are checked at every node
+	 */
+	private final LowerBound[] lowerBounds;
+	/**
+	 *  The number of branches disregarded by the lower bound at the same index
+	 */
+	private final long[] numberOfPrunes;
+
+	/**
+	 *  The boolean value at each index represents whether the corresponding subset is included in the current solution
+	 */
+	private final boolean[] solutionVector;
+
+	/**
+	 *  The total weight of the subsets in the current solution
+	 */
+	private long cost;
+	/**
+	 *  The smallest weight of any subset
+	 */
+	private final long minWeight;
+
+	/**
+	 *  The current optimal solution, whose value is its total weight
+	 */
+	private final Incumbent incumbent;
+
+	/**
+	 *  The budget that the visited nodes are charged to
+	 */
+	private final SearchBudget budget;
+	/**
+	 *  Whether the budget was found exhausted, after which every node ends its branch
+	 */
+	private boolean stopped;
+
+	/**
+	 *  The recorder of the nodes and prunes, or <code>null</code> if they are not recorded
+	 */
+	private final SearchStatistics.Recorder recorder;
+	/**
+	 *  The number of branchings above the current node
+	 */
+	private int depth;
+
+	/**
+	 *  The number of times that the backtrack() method was called
+	 */
+	private long numberOfBacktrackCalls;
+
+	/**
+	 *  Creates a search over the given subsets with no subset decided yet
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset
+	 *  @param weights    The weight of each subset
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param incumbent    The current optimal solution
+	 */
+	public ElementBranchingSearch(int numOfElements, int[][] subsets, long[] weights, boolean[] necessarySubsets,
+			LowerBound[] lowerBounds, Incumbent incumbent) {
+		this(numOfElements, subsets, weights, necessarySubsets, lowerBounds, incumbent, new SearchBudget());
+	}
+
+	/**
+	 *  Creates a search over the given subsets with no subset decided yet that stops once the given budget is exhausted
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset
+	 *  @param weights    The weight of each subset
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param incumbent    The current optimal solution
+	 *  @param budget    The budget that the visited nodes are charged to
+	 */
+	public ElementBranchingSearch(int numOfElements, int[][] subsets, long[] weights, boolean[] necessarySubsets,
+			LowerBound[] lowerBounds, Incumbent incumbent, SearchBudget budget) {
+		this(numOfElements, subsets, weights, necessarySubsets, lowerBounds, incumbent, budget, null);
+	}
+
+	/**
+	 *  Creates a search over the given subsets with no subset decided yet that stops once the given budget is exhausted
+	 *  and counts its nodes and prunes with the given recorder
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset
+	 *  @param weights    The weight of each subset
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param incumbent    The current optimal solution
+	 *  @param budget    The budget that the visited nodes are charged to
+	 *  @param recorder    The recorder of the nodes and prunes (<code>null</code> to not record them)
+	 */
+	public ElementBranchingSearch(int numOfElements, int[][] subsets, long[] weights, boolean[] necessarySubsets,
+			LowerBound[] lowerBounds, Incumbent incumbent, SearchBudget budget, SearchStatistics.Recorder recorder) {
+		this.coverage = new BitsetCoverage(numOfElements, subsets, weights);
+		long lightest = Long.MAX_VALUE;
+		for(long weight : weights) {
+			lightest = Math.min(lightest, weight);
+		}
+		this.minWeight = lightest;
+		this.index = new ElementIndex(numOfElements, subsets);
+		this.necessarySubsets = necessarySubsets;
+		this.lowerBounds = lowerBounds.clone();
+		this.numberOfPrunes = new long[lowerBounds.length];
+		this.solutionVector = new boolean[subsets.length];
+		this.incumbent = incumbent;
+		this.budget = budget;
+		this.recorder = recorder;
+	}
+
+	/**
+	 *  Includes every necessary subset and then searches the whole decision tree
+	 */
+	public void run() {
+		for(int k = 0; k < solutionVector.length; k++) {
+			if(necessarySubsets[k]) {
+				include(k);
+			}
+		}
+
+		backtrack();
+	}
+
+	/**
+	 *  Searches every set cover that extends the current solution by branching on the uncovered element that is
+	 *  contained in the fewest undecided subsets
+	 */
+	public void backtrack() {
+		if(stopped) {
+			return;
+		}
+
+		numberOfBacktrackCalls++;
+		if((numberOfBacktrackCalls & (SearchBudget.CHECK_INTERVAL - 1)) == 0
+				&& budget.charge(SearchBudget.CHECK_INTERVAL)) {
+			stopped = true;
+			return;
+		}
+		if(recorder != null) {
+			recorder.node(depth);
+		}
+
+		if(coverage.isComplete()) {
+			incumbent.offer(cost, solutionVector);
+			return;
+		}
+
+		//At least one more subset is needed, so the branch must be able to end with a smaller weight than opt
+		if(cost + minWeight >= incumbent.getValue() || isBounded()) {
+			if(recorder != null) {
+				recorder.prune(PruneReason.BOUND);
+			}
+			return;
+		}
+
+		int element = rarestUncoveredElement();
+		if(index.getCount(element) == 0) {
+			return;
+		}
+
+		int indexMark = index.mark();
+		for(int i = index.getStart(element); i < index.getEnd(element); i++) {
+			int k = index.getSubset(i);
+			if(index.isRemoved(k)) {
+				continue;
+			}
+			if(cost + coverage.getWeight(k) >= incumbent.getValue()) {
+				if(recorder != null) {
+					recorder.prune(PruneReason.BOUND);
+				}
+				continue;
+			}
+
+			//The subset stays decided after its branch, which excludes it from the remaining branches of this node
+			int coverageMark = coverage.mark();
+			include(k);
+			depth++;
+			backtrack();
+			depth--;
+			cost -= coverage.getWeight(k);
+			solutionVector[k] = false;
+			coverage.undo(coverageMark);
+
+			if(stopped || cost + minWeight >= incumbent.getValue()) {
+				break;
+			}
+		}
+		index.undo(indexMark);
+	}
+
+	/**
+	 *  Includes the subset at index <code>k</code> in the current solution and marks it as decided
+	 *
+	 *  @param k    The index of the subset
+	 */
+	private void include(int k) {
+		index.remove(k);
+		coverage.include(k);
+		solutionVector[k] = true;
+		cost += coverage.getWeight(k);
+	}
+
+	/**
+	 *  Determines the uncovered element that is contained in the fewest undecided subsets
+	 *
+	 *  @return The element (ties are broken by the smallest element)
+	 */
+	private int rarestUncoveredElement() {
+		int best = -1;
+		int bestCount = Integer.MAX_VALUE;
+		for(int element = 0; element < coverage.getNumOfElements() && bestCount > 0; element++) {
+			if(!coverage.isCovered(element) && index.getCount(element) < bestCount) {
+				best = element;
+				bestCount = index.getCount(element);
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 *  Determines whether one of the lower bounds shows that the current solution cannot be extended to a set cover
+	 *  with a smaller weight than the current optimal solution
+	 *
+	 *  @return <code>true</code> if the current branch can be disregarded, otherwise <code>false</code>
+	 */
+	private boolean isBounded() {
+		for(int i = 0; i < lowerBounds.length; i++) {
+			if(cost + lowerBounds[i].estimate(coverage, 0) >= incumbent.getValue()) {
+				numberOfPrunes[i]++;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 *  @return <code>true</code> if the search stopped because its budget was exhausted, otherwise <code>false</code>
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 *  @return The number of times that the backtrack() method was called
+	 */
+	public long getNumberOfBacktrackCalls() {
+		return numberOfBacktrackCalls;
+	}
+
+	/**
+	 *  @param i    The index of the lower bound, in the order given to the constructor
+	 *
+	 *  @return The number of branches disregarded by the lower bound
+	 */
+	public long getNumberOfPrunes(int i) {
+		return numberOfPrunes[i];
+	}
+}
@@ -0,0 +1,167 @@
+package main;
+
+/**
+ *	<p>An index from every element to the subsets that contain it, together with the number of those subsets that are
+ *	still undecided (neither included in nor excluded from the current solution). Deciding a subset with
+ *	{@link #remove(int)} decrements the count of each of its elements and pushes the subset onto a stack, and
+ *	{@link #undo(int)} pops the stack back to an earlier position, so the counts always match the current node of the
+ *	search without being recomputed.</p>
+ *
+ *	<p>The subsets of all elements are stored in a single array in compressed sparse row form: the subsets that
+ *	contain element <code>e</code> are at the positions from {@link #getStart(int)} up to (but not including)
+ *	{@link #getEnd(int)}.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class ElementIndex {
+
+	/**
+	 *  The position in <code>elementSubsets</code> of the first subset of each element, followed by the length of
+	 *  <code>elementSubsets</code>
+	 */
+	private final int[] elementStarts;
+	/**
+	 *  The subsets that contain each element, one element after the other
+	 */
+	private final int[] elementSubsets;
+
+	/**
+	 *  The elements of each subset
+	 */
+	private final int[][] subsets;
+
+	/**
+	 *  The number of undecided subsets that contain each element
+	 */
+	private final int[] counts;
+
+	/**
+	 *  The boolean at each index represents whether the corresponding subset has been decided
+	 */
+	private final boolean[] removed;
+	/**
+	 *  The decided subsets, in the order in which they were decided
+	 */
+	private final int[] removedStack;
+	/**
+	 *  The number of decided subsets
+	 */
+	private int numOfRemoved;
+
+	/**
+	 *  Creates the index with every subset undecided
+	 *
+	 *  @param numOfElements    The number of elements
+	 *  @param subsets    The elements of each subset
+	 */
+	public ElementIndex(int numOfElements, int[][] subsets) {
+		this.subsets = subsets;
+		this.counts = new int[numOfElements];
+		this.removed = new boolean[subsets.length];
+		this.removedStack = new int[subsets.length];
+
+		for(int[] subset : subsets) {
+			for(int element : subset) {
+				counts[element]++;
+			}
+		}
+
+		this.elementStarts = new int[numOfElements + 1];
+		for(int element = 0; element < numOfElements; element++) {
+			elementStarts[element + 1] = elementStarts[element] + counts[element];
+		}
+
+		this.elementSubsets = new int[elementStarts[numOfElements]];
+		int[] next = new int[numOfElements];
+		System.arraycopy(elementStarts, 0, next, 0, numOfElements);
+		for(int i = 0; i < subsets.length; i++) {
+			for(int element : subsets[i]) {
+				elementSubsets[next[element]] = i;
+				next[element]++;
+			}
+		}
+	}
+
+	/**
+	 *  @param element    The element
+	 *
+	 *  @return The number of undecided subsets that contain the element
+	 */
+	public int getCount(int element) {
+		return counts[element];
+	}
+
+	/**
+	 *  @param element    The element
+	 *
+	 *  @return The position of the first subset that contains the element
+	 */
+	public int getStart(int element) {
+		return elementStarts[element];
+	}
+
+	/**
+	 *  @param element    The element
+	 *
+	 *  @return The position after the last subset that contains the element
+	 */
+	public int getEnd(int element) {
+		return elementStarts[element + 1];
+	}
+
+	/**
+	 *  @param position    A position between <code>getStart(e)</code> and <code>getEnd(e)</code> of some element
+	 *                     <code>e</code>
+	 *
+	 *  @return The subset at that position
+	 */
+	public int getSubset(int position) {
+		return elementSubsets[position];
+	}
+
+	/**
+	 *  @param k    The index of the subset
+	 *
+	 *  @return <code>true</code> if the subset has been decided, otherwise <code>false</code>
+	 */
+	public boolean isRemoved(int k) {
+		return removed[k];
+	}
+
+	/**
+	 *  @return The current position of the stack of decided subsets, which can later be given to {@link #undo(int)}
+	 */
+	public int mark() {
+		return numOfRemoved;
+	}
+
+	/**
+	 *  Marks the subset at index <code>k</code> as decided and decrements the count of each of its elements
+	 *
+	 *  @param k    The index of an undecided subset
+	 */
+	public void remove(int k) {
+		removed[k] = true;
+		removedStack[numOfRemoved] = k;
+		numOfRemoved++;
+		for(int element : subsets[k]) {
+			counts[element]--;
+		}
+	}
+
+	/**
+	 *  Marks every subset decided since the stack was at position <code>mark</code> as undecided again
+	 *
+	 *  @param mark    A stack position previously returned by {@link #mark()}
+	 */
+	public void undo(int mark) {
+		while(numOfRemoved > mark) {
+			numOfRemoved--;
+			int k = removedStack[numOfRemoved];
+			removed[k] = false;
+			for(int element : subsets[k]) {
+				counts[element]++;
+			}
+		}
+	}
+}
@@ -0,0 +1,510 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ *	<p>Finds small (but not necessarily minimum) set covers quickly, so that a search can start with a good current
+ *	optimal solution instead of <code>opt = input.size() + 1</code>.</p>
+ *
+ *	<p>A cover is built greedily by repeatedly including the subset that covers the most uncovered elements per unit
+ *	of weight (with unit weights, simply the most uncovered elements). The gains are kept in a max-heap and only
+ *	recomputed lazily: a gain can only shrink as more elements get covered, so the top of the heap is only included once
+ *	its recomputed gain is still at least the stored gain of the next subset. Afterwards, redundant subsets (whose
+ *	elements are all covered by other subsets of the cover) are removed, and a swap-based local search includes a
+ *	subset that is not in the cover whenever the subsets of the cover that it makes redundant weigh more than it does
+ *	(with unit weights, whenever it makes at least two subsets redundant).</p>
+ *
+ *	<p>With a time budget, {@link #solve(long, long)} repeatedly perturbs the best cover by removing a few random
+ *	subsets, repairs it greedily, and improves it again with the local search.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class GreedyHeuristic {
+
+	/**
+	 *  The number of elements to cover
+	 */
+	private final int numOfElements;
+
+	/**
+	 *  The elements of each subset
+	 */
+	private final int[][] subsets;
+	/**
+	 *  The weight of each subset
+	 */
+	private final long[] weights;
+	/**
+	 *  Whether every subset has the weight 1
+	 */
+	private final boolean unitWeights;
+
+	/**
+	 *  Scratch space holding the number of subsets of the current cover that contain each element
+	 */
+	private final int[] coverCounts;
+
+	/**
+	 *  Creates the heuristic for the given subsets
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset (together they must contain every element)
+	 */
+	public GreedyHeuristic(int numOfElements, int[][] subsets) {
+		this(numOfElements, subsets, BitsetCoverage.unitWeights(subsets.length));
+	}
+
+	/**
+	 *  Creates the heuristic for the given weighted subsets
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset (together they must contain every element)
+	 *  @param weights    The weight of each subset
+	 */
+	public GreedyHeuristic(int numOfElements, int[][] subsets, long[] weights) {
+		this.numOfElements = numOfElements;
+		this.subsets = subsets;
+		this.weights = weights;
+		this.coverCounts = new int[numOfElements];
+
+		boolean unit = true;
+		for(long weight : weights) {
+			unit &= weight == 1;
+		}
+		this.unitWeights = unit;
+	}
+
+	/**
+	 *  Builds a set cover greedily, removes its redundant subsets, and improves it with the local search
+	 *
+	 *  @return The boolean at each index represents whether the corresponding subset is included in the cover
+	 */
+	public boolean[] solve() {
+		boolean[] solution = new boolean[subsets.length];
+		complete(solution);
+		improve(solution);
+		return solution;
+	}
+
+	/**
+	 *  Builds a set cover with {@link #solve()} and then perturbs and improves it until the time budget is used up
+	 *
+	 *  @param timeBudgetNanos    The number of nanoseconds to spend perturbing the cover (<code>0</code> to only call
+	 *                            {@link #solve()})
+	 *  @param seed    The seed of the random choices of the perturbations
+	 *
+	 *  @return The boolean at each index represents whether the corresponding subset is included in the lightest cover
+	 *          that was found
+	 */
+	public boolean[] solve(long timeBudgetNanos, long seed) {
+		long deadline = System.nanoTime() + timeBudgetNanos;
+		boolean[] best = solve();
+		long bestCost = cost(best);
+		if(bestCost == 0) {
+			return best;
+		}
+
+		Random random = new Random(seed);
+		int[] chosen = new int[subsets.length];
+		while(System.nanoTime() - deadline < 0) {
+			boolean[] solution = Arrays.copyOf(best, best.length);
+
+			//Removing up to a third of the subsets of the cover, but at least one
+			int numOfChosen = 0;
+			for(int i = 0; i < solution.length; i++) {
+				if(solution[i]) {
+					chosen[numOfChosen] = i;
+					numOfChosen++;
+				}
+			}
+			int numToRemove = 1 + random.nextInt(Math.max(1, numOfChosen / 3));
+			for(int i = 0; i < numToRemove; i++) {
+				int j = i + random.nextInt(numOfChosen - i);
+				int k = chosen[j];
+				chosen[j] = chosen[i];
+				chosen[i] = k;
+				solution[k] = false;
+			}
+
+			complete(solution);
+			improve(solution);
+
+			long cost = cost(solution);
+			if(cost <= bestCost) {
+				best = solution;
+				bestCost = cost;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 *  Includes subsets in the given solution greedily until it is a set cover, each time including the subset that
+	 *  covers the most uncovered elements per unit of weight
+	 *
+	 *  @param solution    The boolean at each index represents whether the corresponding subset is included (it is
+	 *                     modified)
+	 */
+	public void complete(boolean[] solution) {
+		boolean[] covered = new boolean[numOfElements];
+		int numOfCovered = 0;
+		for(int i = 0; i < subsets.length; i++) {
+			if(solution[i]) {
+				numOfCovered += cover(subsets[i], covered);
+			}
+		}
+
+		//The heap holds the gain per weight of each subset in the upper and the complement of its index in the lower bits
+		long[] heap = new long[subsets.length];
+		int heapSize = 0;
+		for(int i = 0; i < subsets.length; i++) {
+			if(!solution[i]) {
+				int gain = gain(subsets[i], covered);
+				if(gain > 0) {
+					heapSize = push(heap, heapSize, key(gain, weights[i], i));
+				}
+			}
+		}
+
+		while(numOfCovered < numOfElements && heapSize > 0) {
+			long top = heap[0];
+			heapSize = pop(heap, heapSize);
+			int k = ~(int) top;
+			int gain = gain(subsets[k], covered);
+
+			if(gain == 0) {
+				continue;
+			}
+			if(heapSize > 0 && key(gain, weights[k], k) < heap[0]) {
+				heapSize = push(heap, heapSize, key(gain, weights[k], k));
+				continue;
+			}
+
+			solution[k] = true;
+			numOfCovered += cover(subsets[k], covered);
+		}
+
+		if(numOfCovered < numOfElements) {
+			throw new IllegalArgumentException("The subsets do not contain every element");
+		}
+	}
+
+	/**
+	 *  Removes subsets from the given set cover whose elements are all contained in other subsets of the cover,
+	 *  starting with the heaviest and then the smallest subsets
+	 *
+	 *  @param solution    The boolean at each index represents whether the corresponding subset is included in the
+	 *                     cover (it is modified)
+	 *
+	 *  @return The number of subsets that were removed
+	 */
+	public int removeRedundant(boolean[] solution) {
+		countCover(solution);
+
+		Integer[] order = new Integer[size(solution)];
+		int n = 0;
+		for(int i = 0; i < solution.length; i++) {
+			if(solution[i]) {
+				order[n] = i;
+				n++;
+			}
+		}
+		Arrays.sort(order, (i1, i2) -> weights[i1] != weights[i2] ? Long.compare(weights[i2], weights[i1])
+				: subsets[i1].length - subsets[i2].length);
+
+		int numOfRemoved = 0;
+		for(int k : order) {
+			if(isRedundant(k)) {
+				solution[k] = false;
+				uncount(k);
+				numOfRemoved++;
+			}
+		}
+
+		return numOfRemoved;
+	}
+
+	/**
+	 *  Swap-based local search: after removing the redundant subsets of the given set cover, includes a subset that is
+	 *  not in the cover whenever the subsets of the cover that it makes redundant weigh more than it does (with unit
+	 *  weights, whenever it makes at least two subsets redundant), and removes those subsets, until no such subset is
+	 *  left. Every subset of the cover contains an element that no other subset of the cover contains, so a subset can
+	 *  only make two subsets redundant if it contains at least two such elements, and only the subsets of the cover that
+	 *  share an element with it are checked (through an index from every element to the subsets of the cover that is
+	 *  rebuilt after every improvement).
+	 *
+	 *  @param solution    The boolean at each index represents whether the corresponding subset is included in the
+	 *                     cover (it is modified)
+	 *
+	 *  @return <code>true</code> if the cover was made lighter, otherwise <code>false</code>
+	 */
+	public boolean improve(boolean[] solution) {
+		boolean improved = removeRedundant(solution) > 0;
+
+		//Without weights a swap has to remove two subsets, while a lighter subset can already replace a single one
+		int minUniquelyCovered = unitWeights ? 2 : 1;
+
+		int[] redundant = new int[subsets.length];
+		int[] checked = new int[subsets.length];
+		int stamp = 0;
+		boolean changed = true;
+		while(changed) {
+			changed = false;
+
+			//An index from every element to the subsets of the cover that contain it
+			int[] coverStarts = new int[numOfElements + 1];
+			for(int element = 0; element < numOfElements; element++) {
+				coverStarts[element + 1] = coverStarts[element] + coverCounts[element];
+			}
+			int[] coverSubsets = new int[coverStarts[numOfElements]];
+			int[] next = Arrays.copyOf(coverStarts, numOfElements);
+			for(int k = 0; k < solution.length; k++) {
+				if(solution[k]) {
+					for(int element : subsets[k]) {
+						coverSubsets[next[element]] = k;
+						next[element]++;
+					}
+				}
+			}
+
+			for(int s = 0; s < subsets.length && !changed; s++) {
+				if(solution[s] || countUniquelyCovered(subsets[s]) < minUniquelyCovered) {
+					continue;
+				}
+
+				for(int element : subsets[s]) {
+					coverCounts[element]++;
+				}
+
+				//Removing the subsets of the cover that become redundant, one at a time so that they stay a cover
+				stamp++;
+				int numOfRedundant = 0;
+				long redundantWeight = 0;
+				for(int element : subsets[s]) {
+					for(int i = coverStarts[element]; i < coverStarts[element + 1]; i++) {
+						int k = coverSubsets[i];
+						if(checked[k] != stamp) {
+							checked[k] = stamp;
+							if(isRedundant(k)) {
+								redundant[numOfRedundant] = k;
+								numOfRedundant++;
+								redundantWeight += weights[k];
+								uncount(k);
+							}
+						}
+					}
+				}
+
+				if(redundantWeight > weights[s]) {
+					solution[s] = true;
+					for(int i = 0; i < numOfRedundant; i++) {
+						solution[redundant[i]] = false;
+					}
+					improved = true;
+					changed = true;
+				} else {
+					for(int i = 0; i < numOfRedundant; i++) {
+						for(int element : subsets[redundant[i]]) {
+							coverCounts[element]++;
+						}
+					}
+					uncount(s);
+				}
+			}
+		}
+
+		return improved;
+	}
+
+	/**
+	 *  @param subset    The elements of a subset
+	 *
+	 *  @return The number of elements of the subset that are contained in exactly one subset of the counted solution
+	 */
+	private int countUniquelyCovered(int[] subset) {
+		int count = 0;
+		for(int element : subset) {
+			if(coverCounts[element] == 1) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 *  Counts the number of subsets of the given solution that contain each element
+	 *
+	 *  @param solution    The boolean at each index represents whether the corresponding subset is included
+	 */
+	private void countCover(boolean[] solution) {
+		Arrays.fill(coverCounts, 0);
+		for(int i = 0; i < solution.length; i++) {
+			if(solution[i]) {
+				for(int element : subsets[i]) {
+					coverCounts[element]++;
+				}
+			}
+		}
+	}
+
+	/**
+	 *  Decrements the number of subsets that contain each element of the subset at index <code>k</code>
+	 *
+	 *  @param k    The index of the subset
+	 */
+	private void uncount(int k) {
+		for(int element : subsets[k]) {
+			coverCounts[element]--;
+		}
+	}
+
+	/**
+	 *  Determines whether every element of the subset at index <code>k</code> is contained in another subset
+	 *
+	 *  @param k    The index of a subset of the counted solution
+	 *
+	 *  @return <code>true</code> if the subset can be removed from the solution, otherwise <code>false</code>
+	 */
+	private boolean isRedundant(int k) {
+		for(int element : subsets[k]) {
+			if(coverCounts[element] < 2) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 *  @param solution    The boolean at each index represents whether the corresponding subset is included
+	 *
+	 *  @return The number of subsets in the solution
+	 */
+	public static int size(boolean[] solution) {
+		int size = 0;
+		for(boolean included : solution) {
+			if(included) {
+				size++;
+			}
+		}
+
+		return size;
+	}
+
+	/**
+	 *  @param solution    The boolean at each index represents whether the corresponding subset is included
+	 *
+	 *  @return The total weight of the subsets in the solution
+	 */
+	public long cost(boolean[] solution) {
+		long cost = 0;
+		for(int i = 0; i < solution.length; i++) {
+			if(solution[i]) {
+				cost += weights[i];
+			}
+		}
+
+		return cost;
+	}
+
+	/**
+	 *  Marks the elements of a subset as covered
+	 *
+	 *  @param subset    The elements of the subset
+	 *  @param covered    The boolean at each index represents whether the corresponding element is covered
+	 *
+	 *  @return The number of elements that were not covered before
+	 */
+	private static int cover(int[] subset, boolean[] covered) {
+		int gain = 0;
+		for(int element : subset) {
+			if(!covered[element]) {
+				covered[element] = true;
+				gain++;
+			}
+		}
+
+		return gain;
+	}
+
+	/**
+	 *  @param subset    The elements of the subset
+	 *  @param covered    The boolean at each index represents whether the corresponding element is covered
+	 *
+	 *  @return The number of elements of the subset that are not covered
+	 */
+	private static int gain(int[] subset, boolean[] covered) {
+		int gain = 0;
+		for(int element : subset) {
+			if(!covered[element]) {
+				gain++;
+			}
+		}
+
+		return gain;
+	}
+
+	/**
+	 *  @param gain    The gain of a subset
+	 *  @param weight    The weight of the subset
+	 *  @param k    The index of the subset
+	 *
+	 *  @return The heap key, which orders subsets by decreasing gain per weight and then by increasing index. The bits
+	 *          of a positive <code>float</code> are ordered like its value, and every gain of less than 2^24 elements
+	 *          is exact when the weight is 1.
+	 */
+	private static long key(int gain, long weight, int k) {
+		return ((long) Float.floatToIntBits((float) gain / weight) << 32) | (~k & 0xFFFFFFFFL);
+	}
+
+	/**
+	 *  Adds a key to a binary max-heap
+	 *
+	 *  @param heap    The heap
+	 *  @param size    The number of keys in the heap
+	 *  @param key    The key to add
+	 *
+	 *  @return The new number of keys in the heap
+	 */
+	private static int push(long[] heap, int size, long key) {
+		int i = size;
+		while(i > 0 && heap[(i - 1) / 2] < key) {
+			heap[i] = heap[(i - 1) / 2];
+			i = (i - 1) / 2;
+		}
+		heap[i] = key;
+
+		return size + 1;
+	}
+
+	/**
+	 *  Removes the largest key from a binary max-heap
+	 *
+	 *  @param heap    The heap
+	 *  @param size    The number of keys in the heap
+	 *
+	 *  @return The new number of keys in the heap
+	 */
+	private static int pop(long[] heap, int size) {
+		size--;
+		long key = heap[size];
+		int i = 0;
+		while(2 * i + 1 < size) {
+			int child = 2 * i + 1;
+			if(child + 1 < size && heap[child + 1] > heap[child]) {
+				child++;
+			}
+			if(heap[child] <= key) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = key;
+
+		return size;
+	}
+}
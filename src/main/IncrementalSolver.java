@@ -0,0 +1,368 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ *	<p>Solves an instance whose subsets change a few at a time. Subsets can be added, removed or modified between
+ *	solves, and every solve starts from what the previous solve found instead of from scratch:</p>
+ *
+ *	<ul>
+ *		<li>The previous set cover, with the indices of its subsets kept up to date by every change, is the initial
+ *		optimal solution of the search. Subsets that were removed or lost integers leave some integers uncovered,
+ *		which the lightest subset of each of them covers again.</li>
+ *		<li>As long as every change only makes the instance harder to cover (removing a subset, or modifying it into
+ *		a subset of its integers with at least its weight), no set cover can be lighter than the lower bound of the
+ *		previous solve, so the search can stop as soon as it reaches that bound. If the previous set cover is still a
+ *		set cover, for example because a removed subset was not in it, it is returned without any search.</li>
+ *	</ul>
+ *
+ *	<p>The number of subsets that contain each integer is updated in place by every change, so an instance in which
+ *	some integer is not contained in any subset is rejected before anything is built. The essential and dominated
+ *	subsets and elements are not maintained in place: every solve copies the current subsets into a new instance and
+ *	runs the whole {@link Preprocessor} on it, which repeats its reductions until none of them changes the instance.
+ *	Every round sorts the subsets by size and compares each subset with the other subsets that contain its rarest
+ *	integer, which is quadratic in the number of subsets in the worst case. The preprocessing of a solve after a small
+ *	change therefore costs as much as that of a solve from scratch, and only the search starts from the previous
+ *	solve. This class is not thread-safe.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class IncrementalSolver {
+
+	/**
+	 *  The solver of every solve
+	 */
+	private final SetCoverSolver solver;
+
+	/**
+	 *  The number of integers to cover (the maximum integer to cover)
+	 */
+	private final int numToCover;
+
+	/**
+	 *  The sorted integers of each subset
+	 */
+	private final List<int[]> subsets = new ArrayList<int[]>();
+	/**
+	 *  The weight of each subset
+	 */
+	private long[] weights = new long[16];
+
+	/**
+	 *  The number of subsets that contain each integer (at the index of the integer)
+	 */
+	private final int[] occurrences;
+	/**
+	 *  The number of integers that no subset contains
+	 */
+	private int numOfUncoveredElements;
+
+	/**
+	 *  The indices of the subsets of the set cover found by the previous solve, or <code>null</code> before the first
+	 *  solve
+	 */
+	private int[] cover;
+	/**
+	 *  A total weight that no set cover of the current subsets can be lighter than
+	 */
+	private long lowerBound;
+
+	/**
+	 *  Creates an incremental solver of the given instance with the default options
+	 *
+	 *  @param problem    The instance, whose subsets are copied
+	 */
+	public IncrementalSolver(SetCoverProblem problem) {
+		this(problem, new SolverOptions());
+	}
+
+	/**
+	 *  Creates an incremental solver of the given instance
+	 *
+	 *  @param problem    The instance, whose subsets are copied
+	 *  @param options    The configuration of the solver, which is copied
+	 */
+	public IncrementalSolver(SetCoverProblem problem, SolverOptions options) {
+		this.solver = new SetCoverSolver(options);
+		this.numToCover = problem.getNumToCover();
+		this.occurrences = new int[numToCover + 1];
+		this.numOfUncoveredElements = numToCover;
+		for(int i = 0; i < problem.getNumOfSubsets(); i++) {
+			addSubset(problem.getSubset(i), problem.getWeight(i));
+		}
+	}
+
+	/**
+	 *  Adds a subset after the last subset
+	 *
+	 *  @param subset    The integers of the subset (every integer must be between 1 and <code>numToCover</code>)
+	 *  @param weight    The weight of the subset (which must be positive)
+	 *
+	 *  @return The index of the subset
+	 *
+	 *  @throws IllegalArgumentException    If an integer is out of range or the weight is not positive
+	 */
+	public int addSubset(int[] subset, long weight) {
+		int[] normalized = normalize(subset, weight);
+		if(weights.length == subsets.size()) {
+			weights = Arrays.copyOf(weights, 2 * weights.length);
+		}
+		weights[subsets.size()] = weight;
+		subsets.add(normalized);
+		count(normalized, 1);
+
+		//A new subset can only make a lighter set cover possible
+		lowerBound = 0;
+		return subsets.size() - 1;
+	}
+
+	/**
+	 *  Removes a subset, so that every later subset moves to the index before its own
+	 *
+	 *  @param index    The index of the subset
+	 *
+	 *  @throws IndexOutOfBoundsException    If there is no subset at the index
+	 */
+	public void removeSubset(int index) {
+		count(subsets.remove(index), -1);
+		System.arraycopy(weights, index + 1, weights, index, subsets.size() - index);
+
+		//Removing a subset can only make the instance harder to cover, so the lower bound still holds
+		if(cover != null) {
+			int size = 0;
+			for(int i : cover) {
+				if(i != index) {
+					cover[size] = i > index ? i - 1 : i;
+					size++;
+				}
+			}
+			cover = Arrays.copyOf(cover, size);
+		}
+	}
+
+	/**
+	 *  Replaces the integers and the weight of a subset
+	 *
+	 *  @param index    The index of the subset
+	 *  @param subset    The new integers of the subset (every integer must be between 1 and <code>numToCover</code>)
+	 *  @param weight    The new weight of the subset (which must be positive)
+	 *
+	 *  @throws IllegalArgumentException    If an integer is out of range or the weight is not positive
+	 *  @throws IndexOutOfBoundsException    If there is no subset at the index
+	 */
+	public void modifySubset(int index, int[] subset, long weight) {
+		int[] normalized = normalize(subset, weight);
+		int[] previous = subsets.set(index, normalized);
+		count(previous, -1);
+		count(normalized, 1);
+
+		//A subset that only lost integers or became heavier cannot make a lighter set cover possible
+		if(weight < weights[index] || !Preprocessor.containsAll(previous, normalized)) {
+			lowerBound = 0;
+		}
+		weights[index] = weight;
+	}
+
+	/**
+	 *  Finds a set cover of the current subsets with the smallest total weight, starting from the set cover and the
+	 *  lower bound of the previous solve
+	 *
+	 *  @return The subsets of a minimum set cover, its total weight and information about the search
+	 *
+	 *  @throws IllegalArgumentException    If some integer between 1 and <code>numToCover</code> is not contained in any
+	 *                                      subset, so that no set cover exists
+	 */
+	public SetCoverResult solve() {
+		return solve(new CancellationToken());
+	}
+
+	/**
+	 *  Finds a set cover of the current subsets with the smallest total weight as described by {@link #solve()},
+	 *  unless the limits of the options are reached or the given token is cancelled first
+	 *
+	 *  @param cancellation    The token through which another thread can stop the search
+	 *
+	 *  @return The subsets of the best set cover found, its total weight, the lower bound that its optimality gap is
+	 *          measured against and information about the search
+	 *
+	 *  @throws IllegalArgumentException    If some integer between 1 and <code>numToCover</code> is not contained in any
+	 *                                      subset, so that no set cover exists
+	 */
+	public SetCoverResult solve(CancellationToken cancellation) {
+		if(numOfUncoveredElements > 0) {
+			throw new IllegalArgumentException(numOfUncoveredElements + " of the integers from 1 to " + numToCover
+					+ " are not contained in any subset");
+		}
+
+		SetCoverProblem problem = getProblem();
+		SetCoverResult result = solver.solve(problem, cover == null ? null : repair(cover), lowerBound, cancellation);
+		cover = result.getCover();
+		lowerBound = result.getLowerBound();
+		return result;
+	}
+
+	/**
+	 *  Completes the previous set cover with the lightest subset of every integer that it leaves uncovered, and then
+	 *  leaves out its heaviest subsets whose integers the other subsets cover as well
+	 *
+	 *  @param previous    The indices of the subsets of the previous set cover
+	 *
+	 *  @return The indices of the subsets of a set cover of the current subsets
+	 */
+	private int[] repair(int[] previous) {
+		int[] coverCounts = new int[numToCover + 1];
+		boolean[] inCover = new boolean[subsets.size()];
+		for(int i : previous) {
+			inCover[i] = true;
+			count(subsets.get(i), coverCounts, 1);
+		}
+
+		int[] lightestSubsets = new int[numToCover + 1];
+		Arrays.fill(lightestSubsets, -1);
+		for(int i = 0; i < subsets.size(); i++) {
+			for(int element : subsets.get(i)) {
+				if(coverCounts[element] == 0 && (lightestSubsets[element] < 0
+						|| weights[i] < weights[lightestSubsets[element]])) {
+					lightestSubsets[element] = i;
+				}
+			}
+		}
+		for(int element = 1; element <= numToCover; element++) {
+			if(coverCounts[element] == 0) {
+				inCover[lightestSubsets[element]] = true;
+				count(subsets.get(lightestSubsets[element]), coverCounts, 1);
+			}
+		}
+
+		//Only the few subsets of the cover are sorted, the heaviest first and those of equal weight by their index
+		int size = 0;
+		for(boolean included : inCover) {
+			if(included) {
+				size++;
+			}
+		}
+		int[] members = new int[size];
+		size = 0;
+		for(int i = 0; i < inCover.length; i++) {
+			if(inCover[i]) {
+				members[size] = i;
+				size++;
+			}
+		}
+		members = Arrays.stream(members).boxed().sorted((i1, i2) -> Long.compare(weights[i2], weights[i1]))
+				.mapToInt(Integer::intValue).toArray();
+
+		size = 0;
+		for(int i : members) {
+			boolean redundant = true;
+			for(int element : subsets.get(i)) {
+				redundant &= coverCounts[element] > 1;
+			}
+			if(redundant) {
+				inCover[i] = false;
+				count(subsets.get(i), coverCounts, -1);
+			} else {
+				size++;
+			}
+		}
+
+		int[] repaired = new int[size];
+		size = 0;
+		for(int i = 0; i < inCover.length; i++) {
+			if(inCover[i]) {
+				repaired[size] = i;
+				size++;
+			}
+		}
+
+		return repaired;
+	}
+
+	/**
+	 *  Sorts the integers of a subset, removes duplicates and checks the subset
+	 *
+	 *  @param subset    The integers of the subset
+	 *  @param weight    The weight of the subset
+	 *
+	 *  @return The sorted integers without duplicates
+	 *
+	 *  @throws IllegalArgumentException    If an integer is out of range or the weight is not positive
+	 */
+	private int[] normalize(int[] subset, long weight) {
+		if(weight < 1) {
+			throw new IllegalArgumentException("The weight " + weight + " is not positive");
+		}
+
+		int[] normalized = Arrays.stream(subset).sorted().distinct().toArray();
+		if(normalized.length > 0 && (normalized[0] < 1 || normalized[normalized.length - 1] > numToCover)) {
+			throw new IllegalArgumentException("The subset " + Arrays.toString(subset)
+					+ " contains an integer that is not between 1 and " + numToCover);
+		}
+
+		return normalized;
+	}
+
+	/**
+	 *  Adds a subset to the occurrences of its integers or removes it from them
+	 *
+	 *  @param subset    The sorted integers of the subset
+	 *  @param change    <code>1</code> to add the subset, or <code>-1</code> to remove it
+	 */
+	private void count(int[] subset, int change) {
+		for(int element : subset) {
+			if(occurrences[element] == 0) {
+				numOfUncoveredElements--;
+			}
+			occurrences[element] += change;
+			if(occurrences[element] == 0) {
+				numOfUncoveredElements++;
+			}
+		}
+	}
+
+	/**
+	 *  Adds a subset to the given counts of its integers or removes it from them
+	 *
+	 *  @param subset    The sorted integers of the subset
+	 *  @param counts    The count of each integer
+	 *  @param change    <code>1</code> to add the subset, or <code>-1</code> to remove it
+	 */
+	private static void count(int[] subset, int[] counts, int change) {
+		for(int element : subset) {
+			counts[element] += change;
+		}
+	}
+
+	/**
+	 *  @return The current subsets as an instance
+	 */
+	public SetCoverProblem getProblem() {
+		return new SetCoverProblem(numToCover, subsets.toArray(new int[0][]), Arrays.copyOf(weights, subsets.size()));
+	}
+
+	/**
+	 *  @return The number of subsets
+	 */
+	public int getNumOfSubsets() {
+		return subsets.size();
+	}
+
+	/**
+	 *  @param element    An integer between 1 and <code>numToCover</code>
+	 *
+	 *  @return The number of subsets that contain the integer
+	 */
+	public int getOccurrences(int element) {
+		return occurrences[element];
+	}
+
+	/**
+	 *  @return A total weight that no set cover of the current subsets can be lighter than, as far as the previous
+	 *          solves and the changes since then tell
+	 */
+	public long getLowerBound() {
+		return lowerBound;
+	}
+}
@@ -0,0 +1,106 @@
+package main;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *	<p>The best solution found so far by one or more searches. The value of the solution (for example the number of
+ *	subsets in it) is kept in an atomic variable, so every search sees an improvement made by another search the next
+ *	time it checks whether a branch can still lead to a better solution.</p>
+ *
+ *	<p>An optional {@link Listener} is told about every improvement while the lock of the incumbent is held, so it sees
+ *	the improvements in order.</p>
+ *
+ *	<p>This class is thread-safe.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class Incumbent {
+
+	/**
+	 *  The value of the best solution found so far (or the initial value if none has been found)
+	 */
+	private final AtomicLong value;
+
+	/**
+	 *  The boolean represents whether the corresponding subset is included in the best solution, or <code>null</code>
+	 *  if no solution has been found
+	 */
+	private boolean[] solution;
+
+	/**
+	 *  The listener that is told about every improvement, or <code>null</code>
+	 */
+	private final Listener listener;
+
+	/**
+	 *  Creates an incumbent without a solution
+	 *
+	 *  @param initialValue    A value that is larger than the value of any solution that should be accepted
+	 */
+	public Incumbent(long initialValue) {
+		this(initialValue, null);
+	}
+
+	/**
+	 *  Creates an incumbent without a solution that tells the given listener about every improvement
+	 *
+	 *  @param initialValue    A value that is larger than the value of any solution that should be accepted
+	 *  @param listener    The listener, or <code>null</code> for none
+	 */
+	public Incumbent(long initialValue, Listener listener) {
+		this.value = new AtomicLong(initialValue);
+		this.listener = listener;
+	}
+
+	/**
+	 *  @return The value of the best solution found so far, or the initial value if none has been found
+	 */
+	public long getValue() {
+		return value.get();
+	}
+
+	/**
+	 *  Replaces the best solution with the given solution if the given solution has a smaller value
+	 *
+	 *  @param newValue    The value of the solution
+	 *  @param newSolution    The boolean represents whether the corresponding subset is included in the solution (it is
+	 *                        copied)
+	 *
+	 *  @return <code>true</code> if the solution was better than the best solution, otherwise <code>false</code>
+	 */
+	public synchronized boolean offer(long newValue, boolean[] newSolution) {
+		if(newValue >= value.get()) {
+			return false;
+		}
+
+		solution = Arrays.copyOf(newSolution, newSolution.length);
+		value.set(newValue);
+		if(listener != null) {
+			listener.improved(newValue, Arrays.copyOf(solution, solution.length));
+		}
+		return true;
+	}
+
+	/**
+	 *  @return A copy of the best solution found so far, or <code>null</code> if none has been found
+	 */
+	public synchronized boolean[] getSolution() {
+		return solution == null ? null : Arrays.copyOf(solution, solution.length);
+	}
+
+	/**
+	 *	Receives every solution that is better than the best solution before it
+	 */
+	@FunctionalInterface
+	public interface Listener {
+
+		/**
+		 *  Called after the best solution has been replaced
+		 *
+		 *  @param value    The value of the new best solution
+		 *  @param solution    A copy of the new best solution
+		 */
+		void improved(long value, boolean[] solution);
+	}
+}
@@ -0,0 +1,193 @@
+package main;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ *	<p>The canonical hash of a {@link SetCoverProblem}, which is the same for every instance that only differs in the
+ *	order of its subsets. The subsets (whose integers are already sorted and without duplicates) are put into a
+ *	canonical order, lexicographically by their integers and then by their weight, and the SHA-256 digest is taken of
+ *	the number of integers to cover followed by the size, the integers and the weight of every subset in that order.
+ *	Two instances with the same digest therefore have the same minimum set covers up to the order of their
+ *	subsets.</p>
+ *
+ *	<p>The fingerprint also keeps the canonical order, so that a set cover of one instance can be translated into the
+ *	indices of another instance with the same digest through {@link #toCanonical(int[])} and
+ *	{@link #fromCanonical(int[])}. Fingerprints are immutable.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class InstanceFingerprint {
+
+	/**
+	 *  The hexadecimal SHA-256 digest of the canonical form of the instance
+	 */
+	private final String digest;
+
+	/**
+	 *  The index in the instance of the subset at each position of the canonical order
+	 */
+	private final int[] order;
+	/**
+	 *  The position in the canonical order of each subset of the instance
+	 */
+	private final int[] positions;
+
+	/**
+	 *  Creates a fingerprint from its digest and canonical order
+	 *
+	 *  @param digest    The hexadecimal digest of the canonical form of the instance
+	 *  @param order    The index in the instance of the subset at each position of the canonical order
+	 */
+	private InstanceFingerprint(String digest, int[] order) {
+		this.digest = digest;
+		this.order = order;
+		this.positions = new int[order.length];
+		for(int i = 0; i < order.length; i++) {
+			positions[order[i]] = i;
+		}
+	}
+
+	/**
+	 *  Determines the fingerprint of an instance
+	 *
+	 *  @param problem    The instance
+	 *
+	 *  @return The fingerprint
+	 */
+	public static InstanceFingerprint of(SetCoverProblem problem) {
+		Integer[] boxedOrder = new Integer[problem.getNumOfSubsets()];
+		for(int i = 0; i < boxedOrder.length; i++) {
+			boxedOrder[i] = i;
+		}
+		Arrays.sort(boxedOrder, (i1, i2) -> compareSubsets(problem, i1, i2));
+
+		MessageDigest sha256;
+		try {
+			sha256 = MessageDigest.getInstance("SHA-256");
+		} catch(NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Every Java platform must support SHA-256", e);
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(1 << 13);
+		buffer.putInt(problem.getNumToCover()).putInt(problem.getNumOfSubsets());
+
+		int[] order = new int[boxedOrder.length];
+		for(int i = 0; i < order.length; i++) {
+			order[i] = boxedOrder[i];
+			putInt(sha256, buffer, problem.getSubsetSize(order[i]));
+			for(int position = problem.getSubsetStart(order[i]); position < problem.getSubsetEnd(order[i]); position++) {
+				putInt(sha256, buffer, problem.getElement(position));
+			}
+			if(buffer.remaining() < Long.BYTES) {
+				sha256.update(buffer.flip());
+				buffer.clear();
+			}
+			buffer.putLong(problem.getWeight(order[i]));
+		}
+		sha256.update(buffer.flip());
+
+		StringBuilder digest = new StringBuilder();
+		for(byte b : sha256.digest()) {
+			digest.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+
+		return new InstanceFingerprint(digest.toString(), order);
+	}
+
+	/**
+	 *  Adds an integer to the buffer of a digest, passing the buffer to the digest first if it is full
+	 *
+	 *  @param sha256    The digest
+	 *  @param buffer    The buffer in which the bytes are gathered
+	 *  @param value    The integer
+	 */
+	private static void putInt(MessageDigest sha256, ByteBuffer buffer, int value) {
+		if(buffer.remaining() < Integer.BYTES) {
+			sha256.update(buffer.flip());
+			buffer.clear();
+		}
+		buffer.putInt(value);
+	}
+
+	/**
+	 *  Compares two subsets lexicographically by their integers and then by their weight
+	 *
+	 *  @param problem    The instance
+	 *  @param i1    The index of the first subset
+	 *  @param i2    The index of the second subset
+	 *
+	 *  @return A negative number, zero or a positive number if the first subset comes before, together with or after
+	 *          the second subset in the canonical order
+	 */
+	private static int compareSubsets(SetCoverProblem problem, int i1, int i2) {
+		int position1 = problem.getSubsetStart(i1);
+		int position2 = problem.getSubsetStart(i2);
+		while(position1 < problem.getSubsetEnd(i1) && position2 < problem.getSubsetEnd(i2)) {
+			int comparison = Integer.compare(problem.getElement(position1), problem.getElement(position2));
+			if(comparison != 0) {
+				return comparison;
+			}
+			position1++;
+			position2++;
+		}
+
+		int comparison = Integer.compare(problem.getSubsetSize(i1), problem.getSubsetSize(i2));
+		return comparison != 0 ? comparison : Long.compare(problem.getWeight(i1), problem.getWeight(i2));
+	}
+
+	/**
+	 *  Translates a set cover of the instance into positions of the canonical order
+	 *
+	 *  @param cover    The indices of the subsets of the set cover in the instance
+	 *
+	 *  @return The positions of the subsets in the canonical order
+	 */
+	public int[] toCanonical(int[] cover) {
+		int[] result = new int[cover.length];
+		for(int i = 0; i < cover.length; i++) {
+			result[i] = positions[cover[i]];
+		}
+
+		return result;
+	}
+
+	/**
+	 *  Translates positions of the canonical order into a set cover of the instance
+	 *
+	 *  @param canonicalCover    The positions of the subsets of the set cover in the canonical order
+	 *
+	 *  @return The indices of the subsets in the instance
+	 */
+	public int[] fromCanonical(int[] canonicalCover) {
+		int[] result = new int[canonicalCover.length];
+		for(int i = 0; i < canonicalCover.length; i++) {
+			result[i] = order[canonicalCover[i]];
+		}
+
+		return result;
+	}
+
+	/**
+	 *  @return The hexadecimal SHA-256 digest of the canonical form of the instance
+	 */
+	public String getDigest() {
+		return digest;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof InstanceFingerprint && digest.equals(((InstanceFingerprint) other).digest);
+	}
+
+	@Override
+	public int hashCode() {
+		return digest.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return digest;
+	}
+}
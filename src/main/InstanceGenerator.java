@@ -0,0 +1,433 @@
+package main;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ *	<p>Generates random instances of the minimum set cover problem from a seed, so that the same generator settings
+ *	always give the same instance. The subsets are produced one at a time and can be written straight to a file in the
+ *	format of the test files (see {@link InstanceReader}), so an instance with millions of integers never has to be
+ *	held in memory as a whole. Every instance has a set cover, and the following families are supported:</p>
+ *
+ *	<ul>
+ *		<li><b>{@link Family#UNIFORM}:</b> every subset has a random size between the smallest and the largest subset
+ *		size and random integers. Every integer is assigned to one subset in a random order beforehand, so every
+ *		integer is contained in at least one subset.</li>
+ *		<li><b>{@link Family#ZIPF}:</b> like the uniform family, but the random integers follow a Zipf distribution, so
+ *		that integer <code>r</code> is drawn with a probability proportional to <code>1 / r^exponent</code>. A few
+ *		integers are then contained in many subsets and most integers in only a few.</li>
+ *		<li><b>{@link Family#PLANTED}:</b> the integers are split in a random order into blocks of the largest subset
+ *		size, which become subsets at random positions among the other subsets. No subset has more integers than the
+ *		largest subset size, so no set cover has fewer subsets than there are blocks, and the minimum set cover is
+ *		known in advance (see {@link #getKnownOptimum()}).</li>
+ *		<li><b>{@link Family#FIXED_SIZE}:</b> like the s-k test files, every subset has exactly the largest subset size
+ *		and random integers, and the last <code>numToCover</code> subsets are the single integers from 1 to
+ *		<code>numToCover</code>.</li>
+ *	</ul>
+ *
+ *	<p>The generator keeps one integer per integer to cover (and with the Zipf family one <code>double</code>) besides
+ *	the subset being generated. Every subset is drawn without duplicates by marking its integers in a single array
+ *	with the number of the subset, so no array is cleared or allocated between subsets. Every weight is 1.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class InstanceGenerator {
+
+	/**
+	 *	The families of random instances
+	 */
+	public enum Family {
+
+		/**
+		 *  Subsets of random sizes with uniformly random integers
+		 */
+		UNIFORM,
+
+		/**
+		 *  Subsets of random sizes with integers of Zipf-distributed frequencies
+		 */
+		ZIPF,
+
+		/**
+		 *  Random subsets together with a planted minimum set cover
+		 */
+		PLANTED,
+
+		/**
+		 *  Subsets of a fixed size followed by every single integer, like the s-k test files
+		 */
+		FIXED_SIZE
+	}
+
+	/**
+	 *	Receives the subsets of an instance one at a time
+	 */
+	@FunctionalInterface
+	private interface SubsetSink {
+
+		/**
+		 *  Receives the next subset
+		 *
+		 *  @param subset    The sorted integers of the subset, followed by integers that are no longer used
+		 *  @param size    The number of integers of the subset
+		 *
+		 *  @throws IOException    If the subset cannot be written
+		 */
+		void accept(int[] subset, int size) throws IOException;
+	}
+
+	/**
+	 *  The family of the instances
+	 */
+	private final Family family;
+
+	/**
+	 *  The number of integers to cover (the maximum integer to cover)
+	 */
+	private final int numToCover;
+
+	/**
+	 *  The number of subsets
+	 */
+	private final int numOfSubsets;
+
+	/**
+	 *  The seed of every random choice
+	 */
+	private long seed = 0;
+
+	/**
+	 *  The smallest number of random integers in a subset
+	 */
+	private int minSubsetSize;
+
+	/**
+	 *  The largest number of random integers in a subset
+	 */
+	private int maxSubsetSize;
+
+	/**
+	 *  The exponent of the Zipf distribution of the integers
+	 */
+	private double zipfExponent = 1;
+
+	/**
+	 *  Creates a generator of instances of the given family, with subsets of between 2 and 10 random integers (at most
+	 *  <code>numToCover</code>) and the seed 0
+	 *
+	 *  @param family    The family of the instances
+	 *  @param numToCover    The number of integers to cover (the maximum integer to cover)
+	 *  @param numOfSubsets    The number of subsets
+	 *
+	 *  @throws IllegalArgumentException    If either number is not positive, or the family needs more subsets (a
+	 *                                      fixed-size instance has a subset for every single integer)
+	 */
+	public InstanceGenerator(Family family, int numToCover, int numOfSubsets) {
+		if(numToCover < 1 || numOfSubsets < 1) {
+			throw new IllegalArgumentException("The number of integers and subsets must be positive: " + numToCover
+					+ ", " + numOfSubsets);
+		}
+		if(family == Family.FIXED_SIZE && numOfSubsets < numToCover) {
+			throw new IllegalArgumentException("A fixed-size instance needs at least one subset per integer: "
+					+ numOfSubsets + " < " + numToCover);
+		}
+
+		this.family = family;
+		this.numToCover = numToCover;
+		this.numOfSubsets = numOfSubsets;
+		this.minSubsetSize = Math.min(2, numToCover);
+		this.maxSubsetSize = Math.min(10, numToCover);
+		checkPlantedCover(maxSubsetSize);
+	}
+
+	/**
+	 *  Sets the seed of every random choice
+	 *
+	 *  @param seed    The seed
+	 *
+	 *  @return This generator
+	 */
+	public InstanceGenerator setSeed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 *  Sets the range of the number of random integers in a subset. Uniform and Zipf subsets also contain the integers
+	 *  that were assigned to them to make sure that every integer is covered, fixed-size subsets all have the largest
+	 *  size, and the largest size is the size of the blocks of a planted set cover.
+	 *
+	 *  @param minSubsetSize    The smallest number of random integers in a subset
+	 *  @param maxSubsetSize    The largest number of random integers in a subset
+	 *
+	 *  @return This generator
+	 *
+	 *  @throws IllegalArgumentException    If the smallest size is not positive, is larger than the largest size, or
+	 *                                      the largest size is larger than <code>numToCover</code>, or if a planted set
+	 *                                      cover would need more subsets than there are
+	 */
+	public InstanceGenerator setSubsetSize(int minSubsetSize, int maxSubsetSize) {
+		if(minSubsetSize < 1 || minSubsetSize > maxSubsetSize || maxSubsetSize > numToCover) {
+			throw new IllegalArgumentException("The subset sizes must satisfy 1 <= " + minSubsetSize + " <= "
+					+ maxSubsetSize + " <= " + numToCover);
+		}
+
+		checkPlantedCover(maxSubsetSize);
+
+		this.minSubsetSize = minSubsetSize;
+		this.maxSubsetSize = maxSubsetSize;
+		return this;
+	}
+
+	/**
+	 *  Sets the exponent of the Zipf distribution of the integers of the Zipf family
+	 *
+	 *  @param zipfExponent    The exponent (<code>0</code> for uniformly random integers)
+	 *
+	 *  @return This generator
+	 *
+	 *  @throws IllegalArgumentException    If the exponent is negative or not a number
+	 */
+	public InstanceGenerator setZipfExponent(double zipfExponent) {
+		if(!(zipfExponent >= 0)) {
+			throw new IllegalArgumentException("The Zipf exponent must not be negative: " + zipfExponent);
+		}
+
+		this.zipfExponent = zipfExponent;
+		return this;
+	}
+
+	/**
+	 *  @param maxSubsetSize    The size of the blocks of a planted set cover
+	 *
+	 *  @throws IllegalArgumentException    If a planted set cover would need more subsets than there are
+	 */
+	private void checkPlantedCover(int maxSubsetSize) {
+		int numOfBlocks = (numToCover + maxSubsetSize - 1) / maxSubsetSize;
+		if(family == Family.PLANTED && numOfBlocks > numOfSubsets) {
+			throw new IllegalArgumentException("A planted set cover of subsets of " + maxSubsetSize + " integers needs "
+					+ numOfBlocks + " subsets, but there are only " + numOfSubsets);
+		}
+	}
+
+	/**
+	 *  @return The number of subsets of a planted set cover
+	 */
+	private int getNumOfBlocks() {
+		return (numToCover + maxSubsetSize - 1) / maxSubsetSize;
+	}
+
+	/**
+	 *  @return The number of subsets of a minimum set cover if the family plants one, otherwise <code>-1</code>
+	 */
+	public long getKnownOptimum() {
+		return family == Family.PLANTED ? getNumOfBlocks() : -1;
+	}
+
+	/**
+	 *  Generates the instance in memory
+	 *
+	 *  @return The instance
+	 */
+	public SetCoverProblem generate() {
+		int[] subsetStarts = new int[numOfSubsets + 1];
+		int[][] elements = {new int[Math.max(16, numOfSubsets)]};
+		int[] numOfSubsetsGenerated = {0};
+		try {
+			generate((subset, size) -> {
+				int start = subsetStarts[numOfSubsetsGenerated[0]];
+				if(start + size > elements[0].length) {
+					elements[0] = Arrays.copyOf(elements[0], Math.max(2 * elements[0].length, start + size));
+				}
+				System.arraycopy(subset, 0, elements[0], start, size);
+				numOfSubsetsGenerated[0]++;
+				subsetStarts[numOfSubsetsGenerated[0]] = start + size;
+			});
+		} catch(IOException e) {
+			throw new AssertionError("Generating in memory does not write anything", e);
+		}
+
+		return new SetCoverProblem(numToCover, subsetStarts,
+				Arrays.copyOf(elements[0], subsetStarts[numOfSubsets]), null);
+	}
+
+	/**
+	 *  Writes the instance to a file in the format of the test files, one subset at a time
+	 *
+	 *  @param file    The file, which is replaced if it exists
+	 *
+	 *  @throws IOException    If the file cannot be written
+	 */
+	public void write(Path file) throws IOException {
+		try(Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			write(writer);
+		}
+	}
+
+	/**
+	 *  Writes the instance in the format of the test files, one subset at a time
+	 *
+	 *  @param writer    The writer, which is flushed but not closed
+	 *
+	 *  @throws IOException    If the instance cannot be written
+	 */
+	public void write(Writer writer) throws IOException {
+		Writer output = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, 1 << 16);
+		StringBuilder line = new StringBuilder();
+		output.write(numToCover + "\n" + numOfSubsets + "\n");
+		generate((subset, size) -> {
+			line.setLength(0);
+			for(int i = 0; i < size; i++) {
+				line.append(subset[i]).append(i == size - 1 ? '\n' : ' ');
+			}
+			if(size == 0) {
+				line.append('\n');
+			}
+			output.append(line);
+		});
+		output.flush();
+	}
+
+	/**
+	 *  Generates the subsets of the instance in order and passes each of them to the sink
+	 *
+	 *  @param sink    The sink of the subsets
+	 *
+	 *  @throws IOException    If the sink cannot write a subset
+	 */
+	private void generate(SubsetSink sink) throws IOException {
+		Random random = new Random(seed);
+
+		//The subset that each integer is assigned to, or the block of a planted set cover that it is in
+		int[] order = null;
+		if(family != Family.FIXED_SIZE) {
+			order = new int[numToCover];
+			for(int i = 0; i < numToCover; i++) {
+				int j = random.nextInt(i + 1);
+				order[i] = order[j];
+				order[j] = i + 1;
+			}
+		}
+
+		double[] cumulative = family == Family.ZIPF ? zipfDistribution() : null;
+		int[] marks = new int[numToCover + 1];
+		int[] subset = new int[Math.max(maxSubsetSize, (numToCover + numOfSubsets - 1) / numOfSubsets) + maxSubsetSize];
+		int numOfBlocks = family == Family.PLANTED ? getNumOfBlocks() : 0;
+		int numOfRandomSubsets = family == Family.FIXED_SIZE ? numOfSubsets - numToCover : numOfSubsets;
+
+		for(int i = 0; i < numOfSubsets; i++) {
+			int size = 0;
+			if(i >= numOfRandomSubsets) {
+				subset[size] = i - numOfRandomSubsets + 1;
+				size++;
+			} else if(numOfBlocks > 0 && random.nextInt(numOfSubsets - i) < numOfBlocks) {
+				//Selection sampling places the blocks at uniformly random positions among the subsets
+				int block = getNumOfBlocks() - numOfBlocks;
+				for(int j = block * maxSubsetSize; j < Math.min(numToCover, (block + 1) * maxSubsetSize); j++) {
+					subset[size] = order[j];
+					size++;
+				}
+				numOfBlocks--;
+			} else {
+				int target = family == Family.FIXED_SIZE ? maxSubsetSize
+						: minSubsetSize + random.nextInt(maxSubsetSize - minSubsetSize + 1);
+				if(family == Family.UNIFORM || family == Family.ZIPF) {
+					for(int j = i; j < numToCover; j += numOfSubsets) {
+						subset[size] = order[j];
+						marks[order[j]] = i + 1;
+						size++;
+					}
+					target += size;
+				}
+
+				//Random integers are drawn until the subset has its size, skipping those that it already contains
+				int attempts = 0;
+				while(size < target && size < numToCover) {
+					int element;
+					if(cumulative != null && attempts < 8 * target) {
+						element = zipfElement(cumulative, random.nextDouble());
+						attempts++;
+					} else {
+						element = 1 + random.nextInt(numToCover);
+					}
+					if(marks[element] != i + 1) {
+						marks[element] = i + 1;
+						subset[size] = element;
+						size++;
+					}
+				}
+			}
+
+			Arrays.sort(subset, 0, size);
+			sink.accept(subset, size);
+		}
+	}
+
+	/**
+	 *  @return The probability that the Zipf distribution gives each integer or a smaller integer (at the index of the
+	 *          integer minus 1)
+	 */
+	private double[] zipfDistribution() {
+		double[] cumulative = new double[numToCover];
+		double sum = 0;
+		for(int rank = 1; rank <= numToCover; rank++) {
+			sum += Math.pow(rank, -zipfExponent);
+			cumulative[rank - 1] = sum;
+		}
+		for(int i = 0; i < numToCover; i++) {
+			cumulative[i] /= sum;
+		}
+
+		return cumulative;
+	}
+
+	/**
+	 *  Finds the integer that a uniformly random number falls on in the Zipf distribution
+	 *
+	 *  @param cumulative    The cumulative probabilities of the distribution
+	 *  @param uniform    A random number between 0 (inclusive) and 1 (exclusive)
+	 *
+	 *  @return The smallest integer whose cumulative probability is larger than the number
+	 */
+	private static int zipfElement(double[] cumulative, double uniform) {
+		int low = 0;
+		int high = cumulative.length - 1;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(cumulative[middle] > uniform) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+
+		return low + 1;
+	}
+
+	/**
+	 *  @return The family of the instances
+	 */
+	public Family getFamily() {
+		return family;
+	}
+
+	/**
+	 *  @return The number of integers to cover
+	 */
+	public int getNumToCover() {
+		return numToCover;
+	}
+
+	/**
+	 *  @return The number of subsets
+	 */
+	public int getNumOfSubsets() {
+		return numOfSubsets;
+	}
+}
@@ -0,0 +1,380 @@
+package main;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ *	<p>Reads instances of the minimum set cover problem from files or streams in the following formats:</p>
+ *
+ *	<ul>
+ *		<li><b>Native:</b> the number of integers to cover on the first line, the number of subsets on the second line,
+ *		and then the integers of one subset per line (the format of the test files)</li>
+ *		<li><b>OR-Library:</b> the SCP format of the OR-Library benchmark instances, which is the number of rows and
+ *		the number of columns, the cost of every column, and then for every row the number of columns that cover it
+ *		followed by those columns. Columns become the subsets (weighted by their cost) and rows become the integers to
+ *		cover, both numbered from 1 in the file.</li>
+ *	</ul>
+ *
+ *	<p>The input is read through a single reusable buffer and the digits are parsed directly into growing primitive
+ *	arrays that become the compressed sparse row form of the {@link SetCoverProblem}, so no line or number is ever
+ *	turned into a <code>String</code> or an <code>Integer</code>. Files of several gigabytes therefore need little
+ *	more memory than the resulting instance itself.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class InstanceReader {
+
+	/**
+	 *  The size of the buffer that the input is read through
+	 */
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	/**
+	 *  The largest length of an array that every virtual machine can allocate
+	 */
+	private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+	/**
+	 *  The input being read
+	 */
+	private final ReadableByteChannel channel;
+	/**
+	 *  The buffer that the input is read through, whose array the bytes are parsed from
+	 */
+	private final ByteBuffer buffer;
+	/**
+	 *  The array of <code>buffer</code>
+	 */
+	private final byte[] bytes;
+	/**
+	 *  The position in <code>bytes</code> of the next byte to parse
+	 */
+	private int position;
+	/**
+	 *  The number of bytes in <code>bytes</code> that have been read
+	 */
+	private int limit;
+	/**
+	 *  The number of bytes of the input before the current content of <code>bytes</code>, for error messages
+	 */
+	private long offset;
+
+	/**
+	 *  Creates a reader of the given input
+	 *
+	 *  @param channel    The input to read
+	 */
+	private InstanceReader(ReadableByteChannel channel) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		this.bytes = buffer.array();
+	}
+
+	/**
+	 *  Reads an instance in the native format from a file
+	 *
+	 *  @param file    The file to read
+	 *
+	 *  @return The instance
+	 *
+	 *  @throws IOException    If the file cannot be read or is not in the native format
+	 */
+	public static SetCoverProblem read(Path file) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new InstanceReader(channel).readNative();
+		}
+	}
+
+	/**
+	 *  Reads an instance in the native format from a stream, which is not closed
+	 *
+	 *  @param input    The stream to read
+	 *
+	 *  @return The instance
+	 *
+	 *  @throws IOException    If the stream cannot be read or is not in the native format
+	 */
+	public static SetCoverProblem read(InputStream input) throws IOException {
+		return new InstanceReader(Channels.newChannel(input)).readNative();
+	}
+
+	/**
+	 *  Reads an instance in the OR-Library SCP format from a file
+	 *
+	 *  @param file    The file to read
+	 *
+	 *  @return The instance
+	 *
+	 *  @throws IOException    If the file cannot be read or is not in the OR-Library format
+	 */
+	public static SetCoverProblem readOrLibrary(Path file) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new InstanceReader(channel).readOrLibrary();
+		}
+	}
+
+	/**
+	 *  Reads an instance in the OR-Library SCP format from a stream, which is not closed
+	 *
+	 *  @param input    The stream to read
+	 *
+	 *  @return The instance
+	 *
+	 *  @throws IOException    If the stream cannot be read or is not in the OR-Library format
+	 */
+	public static SetCoverProblem readOrLibrary(InputStream input) throws IOException {
+		return new InstanceReader(Channels.newChannel(input)).readOrLibrary();
+	}
+
+	/**
+	 *  Reads the number of integers to cover, the number of subsets and one subset per line
+	 *
+	 *  @return The instance
+	 *
+	 *  @throws IOException    If the input cannot be read or is not in the native format
+	 */
+	private SetCoverProblem readNative() throws IOException {
+		int numToCover = nextCount("number of integers to cover");
+		int numOfSubsets = nextCount("number of subsets");
+		skipLine();
+
+		int[] subsetStarts = new int[numOfSubsets + 1];
+		int[] elements = new int[Math.max(16, numOfSubsets)];
+		int size = 0;
+		for(int i = 0; i < numOfSubsets; i++) {
+			if(!fill()) {
+				throw new EOFException("The input ends after " + i + " of " + numOfSubsets + " subsets");
+			}
+			while(hasIntOnLine()) {
+				if(size == elements.length) {
+					elements = grow(elements);
+				}
+				elements[size] = nextInt();
+				if(elements[size] < 1 || elements[size] > numToCover) {
+					throw new IOException("Subset " + (i + 1) + " contains the integer " + elements[size]
+							+ " which is not between 1 and " + numToCover);
+				}
+				size++;
+			}
+			subsetStarts[i + 1] = size;
+		}
+
+		return new SetCoverProblem(numToCover, subsetStarts, Arrays.copyOf(elements, size), null);
+	}
+
+	/**
+	 *  Reads the number of rows and columns, the cost of every column and the columns that cover every row, and
+	 *  transposes the rows into the subsets, whose weights are the costs of the columns
+	 *
+	 *  @return The instance
+	 *
+	 *  @throws IOException    If the input cannot be read or is not in the OR-Library format
+	 */
+	private SetCoverProblem readOrLibrary() throws IOException {
+		int numOfRows = nextCount("number of rows");
+		int numOfColumns = nextCount("number of columns");
+		long[] costs = new long[numOfColumns];
+		for(int j = 0; j < numOfColumns; j++) {
+			costs[j] = nextInt();
+			if(costs[j] < 1) {
+				throw new IOException("The cost of column " + (j + 1) + " must be positive: " + costs[j]);
+			}
+		}
+
+		//The columns that cover each row, one row after the other
+		int[] rowStarts = new int[numOfRows + 1];
+		int[] rowColumns = new int[Math.max(16, numOfRows)];
+		int[] columnSizes = new int[numOfColumns + 1];
+		for(int i = 0; i < numOfRows; i++) {
+			int count = nextInt();
+			if(count < 0 || count > MAX_ARRAY_LENGTH - rowStarts[i]) {
+				throw new IOException("Row " + (i + 1) + " cannot be covered by " + count + " columns");
+			}
+			rowStarts[i + 1] = rowStarts[i] + count;
+			while(rowColumns.length < rowStarts[i + 1]) {
+				rowColumns = grow(rowColumns);
+			}
+			for(int p = rowStarts[i]; p < rowStarts[i + 1]; p++) {
+				int column = nextInt();
+				if(column < 1 || column > numOfColumns) {
+					throw new IOException("Row " + (i + 1) + " is covered by the column " + column
+							+ " which is not between 1 and " + numOfColumns);
+				}
+				rowColumns[p] = column;
+				columnSizes[column]++;
+			}
+		}
+
+		//Transposing: the integers of each subset are the rows that its column covers, which come out sorted
+		int[] subsetStarts = new int[numOfColumns + 1];
+		for(int j = 0; j < numOfColumns; j++) {
+			subsetStarts[j + 1] = subsetStarts[j] + columnSizes[j + 1];
+		}
+		int[] positions = Arrays.copyOf(subsetStarts, numOfColumns);
+		int[] elements = new int[rowStarts[numOfRows]];
+		for(int i = 0; i < numOfRows; i++) {
+			for(int p = rowStarts[i]; p < rowStarts[i + 1]; p++) {
+				int j = rowColumns[p] - 1;
+				elements[positions[j]] = i + 1;
+				positions[j]++;
+			}
+		}
+
+		return new SetCoverProblem(numOfRows, subsetStarts, elements, costs);
+	}
+
+	/**
+	 *  Makes sure that the buffer holds at least one unparsed byte, unless the input has ended
+	 *
+	 *  @return <code>true</code> if there is an unparsed byte, or <code>false</code> at the end of the input
+	 *
+	 *  @throws IOException    If the input cannot be read
+	 */
+	private boolean fill() throws IOException {
+		while(position == limit) {
+			offset += limit;
+			buffer.clear();
+			int read = channel.read(buffer);
+			if(read < 0) {
+				position = 0;
+				limit = 0;
+				return false;
+			}
+			position = 0;
+			limit = read;
+		}
+
+		return true;
+	}
+
+	/**
+	 *  Skips the spaces before the next integer on the current line. At the end of the line, the line break is skipped
+	 *  as well.
+	 *
+	 *  @return <code>true</code> if an integer follows on the current line, otherwise <code>false</code>
+	 *
+	 *  @throws IOException    If the input cannot be read
+	 */
+	private boolean hasIntOnLine() throws IOException {
+		while(fill()) {
+			byte b = bytes[position];
+			if(b == '\n') {
+				position++;
+				return false;
+			} else if(b == ' ' || b == '\t' || b == '\r') {
+				position++;
+			} else {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 *  Skips everything up to and including the next line break
+	 *
+	 *  @throws IOException    If the input cannot be read
+	 */
+	private void skipLine() throws IOException {
+		while(fill()) {
+			if(bytes[position++] == '\n') {
+				return;
+			}
+		}
+	}
+
+	/**
+	 *  Skips any whitespace (including line breaks) and parses the next integer. The digits are parsed straight from
+	 *  the array of the buffer, which is only refilled when they run past its end.
+	 *
+	 *  @return The integer
+	 *
+	 *  @throws IOException    If the input cannot be read, ends, or does not continue with an integer
+	 */
+	private int nextInt() throws IOException {
+		byte b;
+		do {
+			if(!fill()) {
+				throw new EOFException("The input ends where an integer was expected");
+			}
+			b = bytes[position++];
+		} while(b == ' ' || b == '\t' || b == '\r' || b == '\n');
+
+		boolean negative = b == '-';
+		if(negative) {
+			if(!fill()) {
+				throw new EOFException("The input ends where an integer was expected");
+			}
+			b = bytes[position++];
+		}
+		if(b < '0' || b > '9') {
+			throw new IOException("Expected an integer at byte " + (offset + position - 1) + " but found '"
+					+ (char) b + "'");
+		}
+
+		long value = b - '0';
+		while(position < limit || fill()) {
+			b = bytes[position];
+			if(b < '0' || b > '9') {
+				break;
+			}
+			position++;
+			value = value * 10 + (b - '0');
+			if(value > Integer.MAX_VALUE + 1L) {
+				throw new IOException("The integer ending at byte " + (offset + position) + " does not fit into an int");
+			}
+		}
+
+		value = negative ? -value : value;
+		if(value > Integer.MAX_VALUE) {
+			throw new IOException("The integer ending at byte " + (offset + position) + " does not fit into an int");
+		}
+
+		return (int) value;
+	}
+
+	/**
+	 *  Parses the next integer, which is a count of the instance and therefore the length of an array
+	 *
+	 *  @param name    The name of the count, for the message of the exception
+	 *
+	 *  @return The count
+	 *
+	 *  @throws IOException    If the input cannot be read, ends, or does not continue with a count between
+	 *                         <code>0</code> and the largest length of an array
+	 */
+	private int nextCount(String name) throws IOException {
+		int count = nextInt();
+		if(count < 0 || count >= MAX_ARRAY_LENGTH) {
+			throw new IOException("The " + name + " must be between 0 and " + (MAX_ARRAY_LENGTH - 1) + ": " + count);
+		}
+
+		return count;
+	}
+
+	/**
+	 *  Copies an array into one of about twice the length
+	 *
+	 *  @param array    The full array
+	 *
+	 *  @return The larger array
+	 *
+	 *  @throws IOException    If the array cannot grow any further
+	 */
+	private static int[] grow(int[] array) throws IOException {
+		if(array.length == MAX_ARRAY_LENGTH) {
+			throw new IOException("The instance has more than " + MAX_ARRAY_LENGTH + " integers in its subsets");
+		}
+
+		return Arrays.copyOf(array, (int) Math.min(MAX_ARRAY_LENGTH, 2L * array.length));
+	}
+}
@@ -0,0 +1,148 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ *	<p>Bounds the total weight of the subsets that are still needed by the {@link LagrangianRelaxation} of the
+ *	remaining instance. The multipliers are optimized once for the whole instance and then restricted to every node:
+ *	relaxing only the uncovered elements with their multipliers from the root and choosing the remaining subsets by
+ *	their reduced cost over those elements gives
+ *	<code>sum(u[e] for uncovered e) + sum(min(0, c[j] - sum(u[e] for uncovered e in subset j)) for j &gt;= k)</code>,
+ *	which is an admissible bound for any multipliers. At the root it is the optimized value of the relaxation, and it
+ *	only grows as subsets are included (their elements no longer count) or excluded (their negative reduced costs no
+ *	longer count).</p>
+ *
+ *	<p>Optimizing the multipliers takes a few hundred passes over the instance, so whoever creates many bounds for the
+ *	same subsets optimizes the relaxation once and passes it to each of them: the solver passes the relaxation of every
+ *	component, which reduced-cost fixing uses as well, to the bounds of all its searches and tasks, and a
+ *	{@link SearchWorker} passes the relaxation of its instance to the bounds of all its jobs. A bound created without a
+ *	relaxation optimizes its own the first time it estimates.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class LagrangianBound implements LowerBound {
+
+	/**
+	 *  The elements of each subset
+	 */
+	private final int[][] subsets;
+	/**
+	 *  The weight of each subset
+	 */
+	private final long[] weights;
+
+	/**
+	 *  The multiplier of each element
+	 */
+	private final double[] multipliers;
+	/**
+	 *  The largest index of a subset that contains each element, or <code>-1</code> if no subset contains it
+	 */
+	private final int[] lastSubsets;
+	/**
+	 *  Whether the multipliers are still to be optimized, which the first estimate does
+	 */
+	private boolean pending;
+
+	/**
+	 *  Creates the bound for the given weighted subsets, whose relaxation it optimizes against the weight of a cover
+	 *  found by the {@link GreedyHeuristic} the first time it estimates
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset
+	 *  @param weights    The weight of each subset
+	 */
+	public LagrangianBound(int numOfElements, int[][] subsets, long[] weights) {
+		this(numOfElements, subsets, weights, null);
+		this.pending = true;
+	}
+
+	/**
+	 *  Creates the bound for the given weighted subsets with the multipliers of an optimized relaxation
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset
+	 *  @param weights    The weight of each subset
+	 *  @param relaxation    The relaxation of the same subsets, or <code>null</code> if some element is not contained in
+	 *                       any subset
+	 */
+	public LagrangianBound(int numOfElements, int[][] subsets, long[] weights, LagrangianRelaxation relaxation) {
+		this.subsets = subsets;
+		this.weights = weights;
+		this.multipliers = new double[numOfElements];
+		this.lastSubsets = new int[numOfElements];
+
+		Arrays.fill(lastSubsets, -1);
+		for(int i = 0; i < subsets.length; i++) {
+			for(int element : subsets[i]) {
+				lastSubsets[element] = i;
+			}
+		}
+		if(relaxation != null) {
+			for(int element = 0; element < numOfElements; element++) {
+				multipliers[element] = relaxation.getMultiplier(element);
+			}
+		}
+	}
+
+	/**
+	 *  Optimizes the relaxation of the given weighted subsets against the weight of a cover found by the
+	 *  {@link GreedyHeuristic}
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset
+	 *  @param weights    The weight of each subset
+	 *
+	 *  @return The relaxation, or <code>null</code> if some element is not contained in any subset
+	 */
+	static LagrangianRelaxation optimize(int numOfElements, int[][] subsets, long[] weights) {
+		try {
+			GreedyHeuristic heuristic = new GreedyHeuristic(numOfElements, subsets, weights);
+			return LagrangianRelaxation.optimize(numOfElements, subsets, weights, heuristic.cost(heuristic.solve()));
+		} catch(IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "lagrangian";
+	}
+
+	@Override
+	public long estimate(BitsetCoverage coverage, int k) {
+		if(pending) {
+			pending = false;
+			LagrangianRelaxation relaxation = optimize(multipliers.length, subsets, weights);
+			if(relaxation != null) {
+				for(int element = 0; element < multipliers.length; element++) {
+					multipliers[element] = relaxation.getMultiplier(element);
+				}
+			}
+		}
+
+		double value = 0;
+		for(int element = 0; element < multipliers.length; element++) {
+			if(!coverage.isCovered(element)) {
+				if(lastSubsets[element] < k) {
+					return INFEASIBLE;
+				}
+				value += multipliers[element];
+			}
+		}
+
+		for(int i = k; i < subsets.length; i++) {
+			double reducedCost = weights[i];
+			for(int element : subsets[i]) {
+				if(!coverage.isCovered(element)) {
+					reducedCost -= multipliers[element];
+				}
+			}
+			if(reducedCost < 0) {
+				value += reducedCost;
+			}
+		}
+
+		return Math.max(0, LagrangianRelaxation.roundUp(value));
+	}
+}
@@ -0,0 +1,284 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ *	<p>The Lagrangian relaxation of an instance, optimized by subgradient steps. Relaxing the constraint that every
+ *	element is covered with a multiplier <code>u[e] &gt;= 0</code> per element leaves the problem of choosing subsets by
+ *	their reduced cost <code>c[j] - sum(u[e] for e in subset j)</code>, whose optimum is
+ *	<code>L(u) = sum(u) + sum(min(0, reduced cost))</code>. Every set cover weighs at least <code>L(u)</code> for any
+ *	multipliers, so <code>L(u)</code> rounded up is a lower bound, and the subgradient method searches for the
+ *	multipliers that make it as large as possible (at most the bound of the linear programming relaxation).</p>
+ *
+ *	<p>The multipliers start at the smallest weight per element of any subset that contains the element. Every step
+ *	moves them along the subgradient <code>1 - (number of chosen subsets that contain e)</code>, by a step size that is
+ *	proportional to the gap between an upper bound and the current value, and that is halved whenever the value has
+ *	not improved for a number of steps. The method stops when the step size is negligible, the bound reaches the upper
+ *	bound or the chosen subsets form a set cover (then no multipliers can do better).</p>
+ *
+ *	<p>The reduced costs of the best multipliers also fix subsets: a set cover that includes subset <code>j</code>
+ *	weighs at least <code>L(u) + max(0, reduced cost)</code>, and one that excludes it at least
+ *	<code>L(u) - min(0, reduced cost)</code>, so if either reaches the weight of the best set cover known, every
+ *	lighter set cover excludes or includes the subset (see {@link #isExcluded(int, long)} and
+ *	{@link #isIncluded(int, long)}). Relaxations are immutable.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class LagrangianRelaxation {
+
+	/**
+	 *  The largest number of subgradient steps
+	 */
+	public static final int MAX_ITERATIONS = 1000;
+
+	/**
+	 *  The smallest tolerance for the rounding errors of the floating point sums before a value is rounded up
+	 */
+	static final double EPSILON = 1e-6;
+	/**
+	 *  The tolerance for the rounding errors of the floating point sums relative to the magnitude of the value, which
+	 *  takes over from {@link #EPSILON} for large weights
+	 */
+	static final double RELATIVE_EPSILON = 1e-9;
+
+	/**
+	 *  The number of steps without improvement after which the step size is halved
+	 */
+	private static final int PATIENCE = 20;
+
+	/**
+	 *  The factor of the step size below which the method stops
+	 */
+	private static final double MIN_STEP_FACTOR = 0.005;
+
+	/**
+	 *  The multiplier of each element with the largest value
+	 */
+	private final double[] multipliers;
+	/**
+	 *  The reduced cost of each subset under those multipliers
+	 */
+	private final double[] reducedCosts;
+	/**
+	 *  The value of the relaxation under those multipliers
+	 */
+	private final double value;
+	/**
+	 *  The number of subgradient steps taken
+	 */
+	private final int numberOfIterations;
+
+	/**
+	 *  Creates a relaxation from its optimized multipliers
+	 *
+	 *  @param multipliers    The multiplier of each element
+	 *  @param reducedCosts    The reduced cost of each subset under the multipliers
+	 *  @param value    The value of the relaxation under the multipliers
+	 *  @param numberOfIterations    The number of subgradient steps taken
+	 */
+	private LagrangianRelaxation(double[] multipliers, double[] reducedCosts, double value, int numberOfIterations) {
+		this.multipliers = multipliers;
+		this.reducedCosts = reducedCosts;
+		this.value = value;
+		this.numberOfIterations = numberOfIterations;
+	}
+
+	/**
+	 *  Optimizes the multipliers of the relaxation of an instance with up to {@link #MAX_ITERATIONS} steps
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset
+	 *  @param weights    The weight of each subset
+	 *  @param upperBound    The weight of a set cover (or any larger weight), which the step sizes aim at
+	 *
+	 *  @return The relaxation with the best multipliers found
+	 *
+	 *  @throws IllegalArgumentException    If some element is not contained in any subset
+	 */
+	public static LagrangianRelaxation optimize(int numOfElements, int[][] subsets, long[] weights,
+			long upperBound) {
+		double[] multipliers = new double[numOfElements];
+		Arrays.fill(multipliers, Double.POSITIVE_INFINITY);
+		for(int i = 0; i < subsets.length; i++) {
+			for(int element : subsets[i]) {
+				multipliers[element] = Math.min(multipliers[element], (double) weights[i] / subsets[i].length);
+			}
+		}
+		for(int element = 0; element < numOfElements; element++) {
+			if(multipliers[element] == Double.POSITIVE_INFINITY) {
+				throw new IllegalArgumentException("Element " + element + " is not contained in any subset");
+			}
+		}
+
+		double[] reducedCosts = new double[subsets.length];
+		double[] bestMultipliers = multipliers.clone();
+		double bestValue = Double.NEGATIVE_INFINITY;
+		int[] coverCounts = new int[numOfElements];
+		double[] subgradient = new double[numOfElements];
+		double stepFactor = 2;
+		int stepsWithoutImprovement = 0;
+		int iteration = 0;
+		while(iteration < MAX_ITERATIONS) {
+			iteration++;
+
+			//The subsets with a negative reduced cost are chosen, which gives the value of the relaxation
+			double value = evaluate(multipliers, subsets, weights, reducedCosts);
+			if(value > bestValue + tolerance(value)) {
+				bestValue = value;
+				System.arraycopy(multipliers, 0, bestMultipliers, 0, numOfElements);
+				stepsWithoutImprovement = 0;
+			} else if(++stepsWithoutImprovement == PATIENCE) {
+				stepFactor /= 2;
+				stepsWithoutImprovement = 0;
+			}
+			if(stepFactor < MIN_STEP_FACTOR || roundUp(bestValue) >= upperBound) {
+				break;
+			}
+
+			Arrays.fill(coverCounts, 0);
+			for(int i = 0; i < subsets.length; i++) {
+				if(reducedCosts[i] < 0) {
+					for(int element : subsets[i]) {
+						coverCounts[element]++;
+					}
+				}
+			}
+			double norm = 0;
+			for(int element = 0; element < numOfElements; element++) {
+				subgradient[element] = 1 - coverCounts[element];
+				if(multipliers[element] <= 0 && subgradient[element] < 0) {
+					subgradient[element] = 0;
+				}
+				norm += subgradient[element] * subgradient[element];
+			}
+
+			//Every element is covered exactly once by the chosen subsets, which are then a minimum set cover
+			if(norm == 0) {
+				break;
+			}
+
+			double step = stepFactor * (upperBound - value) / norm;
+			for(int element = 0; element < numOfElements; element++) {
+				multipliers[element] = Math.max(0, multipliers[element] + step * subgradient[element]);
+			}
+		}
+
+		double value = evaluate(bestMultipliers, subsets, weights, reducedCosts);
+		return new LagrangianRelaxation(bestMultipliers, reducedCosts, value, iteration);
+	}
+
+	/**
+	 *  Determines the reduced costs and the value of the relaxation under the given multipliers
+	 *
+	 *  @param multipliers    The multiplier of each element
+	 *  @param subsets    The elements of each subset
+	 *  @param weights    The weight of each subset
+	 *  @param reducedCosts    Receives the reduced cost of each subset
+	 *
+	 *  @return The value of the relaxation
+	 */
+	private static double evaluate(double[] multipliers, int[][] subsets, long[] weights, double[] reducedCosts) {
+		double value = 0;
+		for(double multiplier : multipliers) {
+			value += multiplier;
+		}
+		for(int i = 0; i < subsets.length; i++) {
+			double reducedCost = weights[i];
+			for(int element : subsets[i]) {
+				reducedCost -= multipliers[element];
+			}
+			reducedCosts[i] = reducedCost;
+			if(reducedCost < 0) {
+				value += reducedCost;
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 *  @param value    A floating point sum of weights and multipliers
+	 *
+	 *  @return The tolerance for the rounding errors of the sum, which grows with its magnitude
+	 */
+	static double tolerance(double value) {
+		return Math.max(EPSILON, RELATIVE_EPSILON * Math.abs(value));
+	}
+
+	/**
+	 *  Rounds a floating point sum of weights and multipliers up to the next integer, unless it is above an integer
+	 *  by no more than its rounding errors
+	 *
+	 *  @param value    The sum
+	 *
+	 *  @return The sum rounded up
+	 */
+	static long roundUp(double value) {
+		return (long) Math.ceil(value - tolerance(value));
+	}
+
+	/**
+	 *  @return The value of the relaxation rounded up, which no set cover is lighter than
+	 */
+	public long getLowerBound() {
+		return Math.max(0, roundUp(value));
+	}
+
+	/**
+	 *  Determines whether every set cover that is lighter than the given weight excludes a subset
+	 *
+	 *  @param i    The index of the subset
+	 *  @param upperBound    The weight of the best set cover known
+	 *
+	 *  @return <code>true</code> if every set cover that includes the subset weighs at least the upper bound,
+	 *          otherwise <code>false</code>
+	 */
+	public boolean isExcluded(int i, long upperBound) {
+		return roundUp(value + Math.max(0, reducedCosts[i])) >= upperBound;
+	}
+
+	/**
+	 *  Determines whether every set cover that is lighter than the given weight includes a subset
+	 *
+	 *  @param i    The index of the subset
+	 *  @param upperBound    The weight of the best set cover known
+	 *
+	 *  @return <code>true</code> if every set cover that excludes the subset weighs at least the upper bound,
+	 *          otherwise <code>false</code>
+	 */
+	public boolean isIncluded(int i, long upperBound) {
+		return roundUp(value - Math.min(0, reducedCosts[i])) >= upperBound;
+	}
+
+	/**
+	 *  @param element    The element
+	 *
+	 *  @return The multiplier of the element
+	 */
+	public double getMultiplier(int element) {
+		return multipliers[element];
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The reduced cost of the subset
+	 */
+	public double getReducedCost(int i) {
+		return reducedCosts[i];
+	}
+
+	/**
+	 *  @return The value of the relaxation under the best multipliers
+	 */
+	public double getValue() {
+		return value;
+	}
+
+	/**
+	 *  @return The number of subgradient steps taken
+	 */
+	public int getNumberOfIterations() {
+		return numberOfIterations;
+	}
+}
@@ -0,0 +1,55 @@
+package main;
+
+/**
+ *	<p>An admissible lower bound on the total weight of the subsets that still have to be added to the current solution
+ *	of a {@link BitsetSearch} (with unit weights, the number of those subsets). The search disregards the current branch
+ *	of the decision tree as soon as the weight of the current solution plus the lower bound is at least the weight of
+ *	the current optimal solution, because such a branch can never lead to a better set cover.</p>
+ *
+ *	<p>A lower bound may keep scratch space between calls, so every search creates its own instances through a
+ *	{@link Factory}.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public interface LowerBound {
+
+	/**
+	 *  The value returned when the uncovered elements cannot be covered by the remaining subsets at all
+	 */
+	long INFEASIBLE = Long.MAX_VALUE / 4;
+
+	/**
+	 *  @return A short name for the bound, used to report how many branches it disregarded
+	 */
+	String getName();
+
+	/**
+	 *  Estimates the total weight of the subsets with an index of at least <code>k</code> that are needed to cover
+	 *  every element that is not covered in the current solution. The estimate must never be larger than the actual
+	 *  weight.
+	 *
+	 *  @param coverage    The coverage state of the current solution
+	 *  @param k    The index of the first subset that has not yet been determined for inclusion in the solution
+	 *
+	 *  @return The lower bound, or {@link #INFEASIBLE} if the remaining subsets cannot cover every element
+	 */
+	long estimate(BitsetCoverage coverage, int k);
+
+	/**
+	 *	Creates the lower bound used by a single search
+	 */
+	@FunctionalInterface
+	interface Factory {
+
+		/**
+		 *  Creates a lower bound for the given subsets
+		 *
+		 *  @param numOfElements    The number of elements to cover
+		 *  @param subsets    The elements of each subset, in the order in which the search determines them
+		 *  @param weights    The weight of each subset
+		 *
+		 *  @return The lower bound
+		 */
+		LowerBound create(int numOfElements, int[][] subsets, long[] weights);
+	}
+}
@@ -0,0 +1,44 @@
+package main;
+
+/**
+ *	<p>Bounds the number of subsets that are still needed by the number of uncovered elements divided by the largest
+ *	number of uncovered elements that any single remaining subset contains (rounded up). With weights, every uncovered
+ *	element costs at least the smallest weight per uncovered element of any remaining subset, so the bound is the
+ *	number of uncovered elements times that ratio (rounded up), which is the same bound when every weight is 1. The
+ *	subsets are read from the coverage state at every call, so the bound does not keep any state of its own.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class MaxCoverageBound implements LowerBound {
+
+	@Override
+	public String getName() {
+		return "max-coverage";
+	}
+
+	@Override
+	public long estimate(BitsetCoverage coverage, int k) {
+		int uncovered = coverage.getNumOfElementsUncovered();
+		if(uncovered == 0) {
+			return 0;
+		}
+
+		//The smallest weight per uncovered element as the fraction bestWeight / bestGain
+		long bestWeight = 1;
+		long bestGain = 0;
+		for(int i = k; i < coverage.getNumOfSubsets() && bestWeight * uncovered > bestGain; i++) {
+			int gain = coverage.gain(i);
+			long weight = coverage.getWeight(i);
+			if(gain > 0 && (bestGain == 0 || weight * bestGain < bestWeight * gain)) {
+				bestWeight = weight;
+				bestGain = gain;
+			}
+		}
+
+		if(bestGain == 0) {
+			return INFEASIBLE;
+		}
+
+		return (uncovered * bestWeight + bestGain - 1) / bestGain;
+	}
+}
@@ -0,0 +1,346 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *	<p>Explores the same decision tree as {@link BitsetSearch} with the tasks of a {@link ForkJoinPool}. Starting at the
+ *	root, every node at which the subset can be both included and excluded is split into two tasks, one for each
+ *	candidate, until a path has been split <code>splitDepth</code> times. Each task below that depth searches its whole
+ *	subtree with its own {@link BitsetSearch}, and idle workers steal the tasks that have not started yet.</p>
+ *
+ *	<p>All searches share a single {@link Incumbent}, so a set cover found by one worker immediately tightens the
+ *	pruning of every other worker.</p>
+ *
+ *	<p>All searches also share a single {@link SearchBudget}. A task that starts after the budget is exhausted returns
+ *	immediately, and each task charges the nodes it visited since its last check when it ends, so that many small
+ *	tasks still use up the budget.</p>
+ *
+ *	<p>If the search is given {@link SearchStatistics}, every task counts its nodes and prunes with a
+ *	{@link SearchStatistics.Recorder} of its own, which it flushes when it ends.</p>
+ *
+ *	<p>With a byte budget for a {@link TranspositionTable}, every thread that runs tasks (the workers of the pool and
+ *	possibly the thread that waits for the search) gets a table of its own with an equal share of the budget, which all
+ *	tasks that run on that thread use. If a share does not fit a single bucket, the tasks search without tables. A
+ *	bound proven by one task holds for every other task, since they all search the same subsets against the same
+ *	incumbent.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class ParallelSearch {
+
+	/**
+	 *  The coverage state from which every task creates its own state
+	 */
+	private final BitsetCoverage coverage;
+
+	/**
+	 *  The elements of each subset, in the order in which the search determines them
+	 */
+	private final int[][] subsets;
+	/**
+	 *  The weight of each subset
+	 */
+	private final long[] weights;
+
+	/**
+	 *  An array of subsets that are essential to any set cover of the given data
+	 */
+	private final boolean[] necessarySubsets;
+
+	/**
+	 *  The lower bounds that each task creates for its search
+	 */
+	private final List<LowerBound.Factory> lowerBounds;
+
+	/**
+	 *  The number of times that a path of the decision tree is split into tasks
+	 */
+	private final int splitDepth;
+
+	/**
+	 *  The optimal solution shared by every task
+	 */
+	private final Incumbent incumbent;
+
+	/**
+	 *  The budget shared by every task
+	 */
+	private final SearchBudget budget;
+
+	/**
+	 *  The statistics that every task records its nodes and prunes in, or <code>null</code> if they are not recorded
+	 */
+	private final SearchStatistics statistics;
+
+	/**
+	 *  The number of bytes that the transposition tables of all workers may take up (<code>0</code> for none)
+	 */
+	private final long cacheBytes;
+	/**
+	 *  The transposition table of each worker thread that has run a task
+	 */
+	private final Map<Thread, TranspositionTable> tables = new ConcurrentHashMap<Thread, TranspositionTable>();
+	/**
+	 *  The number of bytes that the transposition table of each thread may take up, which is set by
+	 *  {@link #run(ForkJoinPool)}
+	 */
+	private long tableBytes;
+
+	/**
+	 *  The number of nodes of the decision tree visited by all tasks
+	 */
+	private final LongAdder numberOfBacktrackCalls = new LongAdder();
+	/**
+	 *  The number of branches disregarded by the lower bound at the same index in all tasks
+	 */
+	private final LongAdder[] numberOfPrunes;
+
+	/**
+	 *  Creates a parallel search
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset, in the order in which the search determines them
+	 *  @param weights    The weight of each subset
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param splitDepth    The number of times that a path of the decision tree is split into tasks
+	 *  @param incumbent    The current optimal solution
+	 */
+	public ParallelSearch(int numOfElements, int[][] subsets, long[] weights, boolean[] necessarySubsets,
+			List<LowerBound.Factory> lowerBounds, int splitDepth, Incumbent incumbent) {
+		this(numOfElements, subsets, weights, necessarySubsets, lowerBounds, splitDepth, incumbent, new SearchBudget());
+	}
+
+	/**
+	 *  Creates a parallel search that stops once the given budget is exhausted
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset, in the order in which the search determines them
+	 *  @param weights    The weight of each subset
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param splitDepth    The number of times that a path of the decision tree is split into tasks
+	 *  @param incumbent    The current optimal solution
+	 *  @param budget    The budget that the nodes visited by every task are charged to
+	 */
+	public ParallelSearch(int numOfElements, int[][] subsets, long[] weights, boolean[] necessarySubsets,
+			List<LowerBound.Factory> lowerBounds, int splitDepth, Incumbent incumbent, SearchBudget budget) {
+		this(numOfElements, subsets, weights, necessarySubsets, lowerBounds, splitDepth, incumbent, budget, null);
+	}
+
+	/**
+	 *  Creates a parallel search that stops once the given budget is exhausted and records its nodes and prunes in the
+	 *  given statistics
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset, in the order in which the search determines them
+	 *  @param weights    The weight of each subset
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param splitDepth    The number of times that a path of the decision tree is split into tasks
+	 *  @param incumbent    The current optimal solution
+	 *  @param budget    The budget that the nodes visited by every task are charged to
+	 *  @param statistics    The statistics of the nodes and prunes (<code>null</code> to not record them)
+	 */
+	public ParallelSearch(int numOfElements, int[][] subsets, long[] weights, boolean[] necessarySubsets,
+			List<LowerBound.Factory> lowerBounds, int splitDepth, Incumbent incumbent, SearchBudget budget,
+			SearchStatistics statistics) {
+		this(numOfElements, subsets, weights, necessarySubsets, lowerBounds, splitDepth, incumbent, budget, statistics,
+				0);
+	}
+
+	/**
+	 *  Creates a parallel search that stops once the given budget is exhausted, records its nodes and prunes in the
+	 *  given statistics and caches the bounds proven for subproblems in a transposition table per worker
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset, in the order in which the search determines them
+	 *  @param weights    The weight of each subset
+	 *  @param necessarySubsets    The subsets that are essential to any set cover of the given data
+	 *  @param lowerBounds    The lower bounds that are checked at every node, in order
+	 *  @param splitDepth    The number of times that a path of the decision tree is split into tasks
+	 *  @param incumbent    The current optimal solution
+	 *  @param budget    The budget that the nodes visited by every task are charged to
+	 *  @param statistics    The statistics of the nodes and prunes (<code>null</code> to not record them)
+	 *  @param cacheBytes    The number of bytes that the transposition tables of all workers may take up
+	 *                       (<code>0</code> to not cache any bound)
+	 */
+	public ParallelSearch(int numOfElements, int[][] subsets, long[] weights, boolean[] necessarySubsets,
+			List<LowerBound.Factory> lowerBounds, int splitDepth, Incumbent incumbent, SearchBudget budget,
+			SearchStatistics statistics, long cacheBytes) {
+		if(cacheBytes < 0) {
+			throw new IllegalArgumentException("The cache size must not be negative: " + cacheBytes);
+		}
+		if(splitDepth < 0) {
+			throw new IllegalArgumentException("The split depth must not be negative: " + splitDepth);
+		}
+
+		this.coverage = new BitsetCoverage(numOfElements, subsets, weights);
+		this.subsets = subsets;
+		this.weights = weights;
+		this.necessarySubsets = necessarySubsets;
+		this.lowerBounds = List.copyOf(lowerBounds);
+		this.splitDepth = splitDepth;
+		this.incumbent = incumbent;
+		this.budget = budget;
+		this.statistics = statistics;
+		this.cacheBytes = cacheBytes;
+		this.numberOfPrunes = new LongAdder[lowerBounds.size()];
+		for(int i = 0; i < numberOfPrunes.length; i++) {
+			numberOfPrunes[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 *  Searches the whole decision tree with the given pool and waits until it is done
+	 *
+	 *  @param pool    The pool that runs the tasks
+	 */
+	public void run(ForkJoinPool pool) {
+		tableBytes = cacheBytes / (pool.getParallelism() + 1);
+		pool.invoke(new SubtreeTask(new boolean[subsets.length], -1, 0));
+	}
+
+	/**
+	 *  Creates a search with its own coverage state and lower bounds
+	 *
+	 *  @param recorder    The recorder of the nodes and prunes of the search, or <code>null</code>
+	 *
+	 *  @return The search, which has not determined any subset yet
+	 */
+	private BitsetSearch newSearch(SearchStatistics.Recorder recorder) {
+		LowerBound[] bounds = new LowerBound[lowerBounds.size()];
+		for(int i = 0; i < bounds.length; i++) {
+			bounds[i] = lowerBounds.get(i).create(coverage.getNumOfElements(), subsets, weights);
+		}
+
+		TranspositionTable table = tableBytes < TranspositionTable.minimumBytes(coverage.getNumOfElements()) ? null
+				: tables.computeIfAbsent(Thread.currentThread(),
+						thread -> new TranspositionTable(coverage.getNumOfElements(), subsets.length, tableBytes));
+
+		return new BitsetSearch(coverage.newState(), necessarySubsets, bounds, incumbent, budget, recorder, table);
+	}
+
+	/**
+	 *  @return The transposition tables of the workers that have run a task (none without a byte budget for them)
+	 */
+	public List<TranspositionTable> getTranspositionTables() {
+		return new ArrayList<TranspositionTable>(tables.values());
+	}
+
+	/**
+	 *  @return The number of nodes of the decision tree visited by all tasks
+	 */
+	public long getNumberOfBacktrackCalls() {
+		return numberOfBacktrackCalls.sum();
+	}
+
+	/**
+	 *  @param i    The index of the lower bound
+	 *
+	 *  @return The number of branches disregarded by the lower bound in all tasks
+	 */
+	public long getNumberOfPrunes(int i) {
+		return numberOfPrunes[i].sum();
+	}
+
+	/**
+	 *	The task that searches the subtree below a node of the decision tree
+	 */
+	private class SubtreeTask extends RecursiveAction {
+
+		/**
+		 *  The version of the serialized form, which is never used since the tasks are not serialized
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 *  The boolean value at each index up to <code>k</code> represents whether the corresponding subset is included
+		 */
+		private final boolean[] prefix;
+
+		/**
+		 *  The index of the last subset that has been determined for inclusion in the solution
+		 */
+		private final int k;
+
+		/**
+		 *  The number of times that the path to the node has been split into tasks
+		 */
+		private final int numOfSplits;
+
+		/**
+		 *  Creates the task for the node reached by the given decisions
+		 *
+		 *  @param prefix    The boolean value at each index up to <code>k</code> represents whether the corresponding
+		 *                   subset is included
+		 *  @param k    The index of the last subset that has been determined for inclusion in the solution
+		 *  @param numOfSplits    The number of times that the path to the node has been split into tasks
+		 */
+		SubtreeTask(boolean[] prefix, int k, int numOfSplits) {
+			this.prefix = prefix;
+			this.k = k;
+			this.numOfSplits = numOfSplits;
+		}
+
+		@Override
+		protected void compute() {
+			if(budget.isExhausted()) {
+				return;
+			}
+
+			SearchStatistics.Recorder recorder = statistics == null ? null : statistics.newRecorder();
+			BitsetSearch search = newSearch(recorder);
+			search.descend(prefix, k);
+
+			if(numOfSplits >= splitDepth) {
+				search.backtrack(k);
+			} else {
+				split(search);
+			}
+
+			//The nodes since the last check of the search have not been charged yet
+			budget.charge(search.getNumberOfBacktrackCalls() & (SearchBudget.CHECK_INTERVAL - 1));
+			numberOfBacktrackCalls.add(search.getNumberOfBacktrackCalls());
+			for(int i = 0; i < numberOfPrunes.length; i++) {
+				numberOfPrunes[i].add(search.getNumberOfPrunes(i));
+			}
+			if(recorder != null) {
+				recorder.flush();
+			}
+		}
+
+		/**
+		 *  Follows the path of single candidates below the node until a node with two candidates is reached, whose
+		 *  subtrees are then searched by two new tasks
+		 *
+		 *  @param search    The search at the node of this task
+		 */
+		private void split(BitsetSearch search) {
+			int i = k;
+			while(true) {
+				int candidates = search.expand(i);
+				i = i + 1;
+
+				if(candidates == (BitsetSearch.INCLUDE | BitsetSearch.EXCLUDE)) {
+					boolean[] included = search.getSolutionVector();
+					included[i] = true;
+					boolean[] excluded = search.getSolutionVector();
+					invokeAll(new SubtreeTask(included, i, numOfSplits + 1),
+							new SubtreeTask(excluded, i, numOfSplits + 1));
+					return;
+				} else if(candidates == BitsetSearch.INCLUDE) {
+					search.makeMove(i);
+				} else if(candidates != BitsetSearch.EXCLUDE) {
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,362 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ *	<p>Preliminary Pruning: reduces a {@link SetCoverProblem} before it is searched by applying the following
+ *	reductions until none of them changes the instance any more:</p>
+ *
+ *	<ul>
+ *		<li><b>Essential subsets:</b> a subset that is the only remaining subset containing some element is in every set
+ *		cover, so it is fixed and its elements are removed</li>
+ *		<li><b>Dominated subsets:</b> a subset whose remaining elements are all contained in another remaining subset
+ *		that weighs no more is never needed in a minimum set cover, so it is removed (of several equal subsets of equal
+ *		weight only the first is kept). A lighter subset is kept even if a heavier subset contains it.</li>
+ *		<li><b>Dominated elements:</b> if every subset that contains element <code>e</code> also contains element
+ *		<code>f</code>, then covering <code>e</code> covers <code>f</code>, so <code>f</code> is removed</li>
+ *	</ul>
+ *
+ *	<p>Instead of comparing every pair of subsets, each round builds an inverted index from every element to the
+ *	subsets that contain it. A subset can only be contained in the subsets that contain its rarest element and are at
+ *	least as large, so only those are compared. Each comparison is first filtered with a 64-bit signature of both
+ *	subsets (a subset cannot contain another subset whose signature has a bit that its own signature does not), and
+ *	only then checked element by element. Dominated elements are found the same way on the transposed instance.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class Preprocessor {
+
+	/**
+	 *  The instance being reduced
+	 */
+	private final SetCoverProblem problem;
+
+	/**
+	 *  The boolean at each index represents whether the corresponding subset has neither been fixed nor removed
+	 */
+	private final boolean[] subsetAlive;
+	/**
+	 *  The boolean at each integer represents whether it has neither been covered by a fixed subset nor removed
+	 */
+	private final boolean[] elementAlive;
+
+	/**
+	 *  The indices of the fixed subsets, in the order in which they were fixed
+	 */
+	private final int[] fixedSubsets;
+	/**
+	 *  The number of fixed subsets
+	 */
+	private int numOfFixedSubsets;
+
+	/**
+	 *  The number of subsets removed because another subset contains them
+	 */
+	private int numOfDominatedSubsets;
+	/**
+	 *  The number of elements removed because another element implies them
+	 */
+	private int numOfDominatedElements;
+
+	/**
+	 *  The indices of the remaining subsets in the current round
+	 */
+	private int[] subsetIndices;
+	/**
+	 *  The integers of the remaining elements in the current round
+	 */
+	private int[] elementValues;
+	/**
+	 *  The remaining elements of each remaining subset in the current round
+	 */
+	private int[][] subsets;
+	/**
+	 *  The remaining subsets that contain each remaining element in the current round
+	 */
+	private int[][] elementSubsets;
+
+	/**
+	 *  Creates a preprocessor for the given instance
+	 *
+	 *  @param problem    The instance to reduce
+	 */
+	private Preprocessor(SetCoverProblem problem) {
+		this.problem = problem;
+		this.subsetAlive = new boolean[problem.getNumOfSubsets()];
+		this.elementAlive = new boolean[problem.getNumToCover() + 1];
+		this.fixedSubsets = new int[problem.getNumOfSubsets()];
+		Arrays.fill(subsetAlive, true);
+		Arrays.fill(elementAlive, 1, elementAlive.length, true);
+	}
+
+	/**
+	 *  Reduces the given instance until none of the reductions changes it
+	 *
+	 *  @param problem    The instance to reduce
+	 *
+	 *  @return The fixed subsets and the remaining instance
+	 *
+	 *  @throws IllegalArgumentException    If some integer between 1 and <code>numToCover</code> is not contained in any
+	 *                                      subset, so that no set cover exists
+	 */
+	public static Reduction reduce(SetCoverProblem problem) {
+		Preprocessor preprocessor = new Preprocessor(problem);
+
+		int numOfRounds = 0;
+		boolean changed = true;
+		while(changed) {
+			numOfRounds++;
+			preprocessor.buildIndex();
+			changed = preprocessor.fixEssentialSubsets() || preprocessor.removeDominatedSubsets()
+					|| preprocessor.removeDominatedElements();
+		}
+
+		long[] weights = new long[preprocessor.subsets.length];
+		for(int i = 0; i < weights.length; i++) {
+			weights[i] = problem.getWeight(preprocessor.subsetIndices[i]);
+		}
+		CompactProblem remaining = CompactProblem.of(preprocessor.elementValues, preprocessor.subsets, weights,
+				preprocessor.subsetIndices);
+
+		return new Reduction(Arrays.copyOf(preprocessor.fixedSubsets, preprocessor.numOfFixedSubsets), remaining,
+				preprocessor.numOfDominatedSubsets, preprocessor.numOfDominatedElements, numOfRounds);
+	}
+
+	/**
+	 *  Builds the remaining subsets restricted to the remaining elements and the inverted index from every remaining
+	 *  element to the remaining subsets that contain it. Subsets without any remaining element are removed.
+	 *
+	 *  @throws IllegalArgumentException    If a remaining element is not contained in any remaining subset
+	 */
+	private void buildIndex() {
+		int[] elementIds = new int[elementAlive.length];
+		int numOfElements = 0;
+		for(int value = 1; value < elementAlive.length; value++) {
+			if(elementAlive[value]) {
+				elementIds[value] = numOfElements;
+				numOfElements++;
+			}
+		}
+		elementValues = new int[numOfElements];
+		for(int value = 1; value < elementAlive.length; value++) {
+			if(elementAlive[value]) {
+				elementValues[elementIds[value]] = value;
+			}
+		}
+
+		int numOfSubsets = 0;
+		int[] indices = new int[subsetAlive.length];
+		int[][] restricted = new int[subsetAlive.length][];
+		int[] buffer = new int[elementAlive.length];
+		int[] counts = new int[numOfElements];
+		for(int i = 0; i < subsetAlive.length; i++) {
+			if(!subsetAlive[i]) {
+				continue;
+			}
+
+			int size = 0;
+			for(int p = problem.getSubsetStart(i); p < problem.getSubsetEnd(i); p++) {
+				int value = problem.getElement(p);
+				if(elementAlive[value]) {
+					buffer[size] = elementIds[value];
+					counts[buffer[size]]++;
+					size++;
+				}
+			}
+
+			if(size == 0) {
+				subsetAlive[i] = false;
+				numOfDominatedSubsets++;
+			} else {
+				indices[numOfSubsets] = i;
+				restricted[numOfSubsets] = Arrays.copyOf(buffer, size);
+				numOfSubsets++;
+			}
+		}
+		subsetIndices = Arrays.copyOf(indices, numOfSubsets);
+		subsets = Arrays.copyOf(restricted, numOfSubsets);
+
+		elementSubsets = new int[numOfElements][];
+		for(int element = 0; element < numOfElements; element++) {
+			if(counts[element] == 0) {
+				throw new IllegalArgumentException("The integer " + elementValues[element]
+						+ " is not contained in any subset");
+			}
+			elementSubsets[element] = new int[counts[element]];
+			counts[element] = 0;
+		}
+		for(int i = 0; i < numOfSubsets; i++) {
+			for(int element : subsets[i]) {
+				elementSubsets[element][counts[element]] = i;
+				counts[element]++;
+			}
+		}
+	}
+
+	/**
+	 *  Fixes every remaining subset that is the only remaining subset containing some remaining element
+	 *
+	 *  @return <code>true</code> if a subset was fixed, otherwise <code>false</code>
+	 */
+	private boolean fixEssentialSubsets() {
+		boolean changed = false;
+		for(int element = 0; element < elementSubsets.length; element++) {
+			if(elementSubsets[element].length == 1) {
+				int i = subsetIndices[elementSubsets[element][0]];
+				if(subsetAlive[i]) {
+					subsetAlive[i] = false;
+					fixedSubsets[numOfFixedSubsets] = i;
+					numOfFixedSubsets++;
+					for(int covered : subsets[elementSubsets[element][0]]) {
+						elementAlive[elementValues[covered]] = false;
+					}
+					changed = true;
+				}
+			}
+		}
+
+		return changed;
+	}
+
+	/**
+	 *  Removes every remaining subset whose remaining elements are all contained in another remaining subset that
+	 *  weighs no more
+	 *
+	 *  @return <code>true</code> if a subset was removed, otherwise <code>false</code>
+	 */
+	private boolean removeDominatedSubsets() {
+		long[] weights = new long[subsets.length];
+		for(int i = 0; i < weights.length; i++) {
+			weights[i] = problem.getWeight(subsetIndices[i]);
+		}
+		boolean[] dominated = findDominated(subsets, elementSubsets, weights, true);
+
+		boolean changed = false;
+		for(int i = 0; i < dominated.length; i++) {
+			if(dominated[i]) {
+				subsetAlive[subsetIndices[i]] = false;
+				numOfDominatedSubsets++;
+				changed = true;
+			}
+		}
+
+		return changed;
+	}
+
+	/**
+	 *  Removes every remaining element <code>f</code> for which there is another remaining element <code>e</code>
+	 *  such that every subset that contains <code>e</code> also contains <code>f</code>
+	 *
+	 *  @return <code>true</code> if an element was removed, otherwise <code>false</code>
+	 */
+	private boolean removeDominatedElements() {
+		boolean[] dominated = findDominated(elementSubsets, subsets, null, false);
+
+		boolean changed = false;
+		for(int element = 0; element < dominated.length; element++) {
+			if(dominated[element]) {
+				elementAlive[elementValues[element]] = false;
+				numOfDominatedElements++;
+				changed = true;
+			}
+		}
+
+		return changed;
+	}
+
+	/**
+	 *  Finds the sets of a family that are contained in, or that contain, another set of the family. Of several equal
+	 *  sets, all but the one with the smallest index are reported. With weights, a set is only reported as contained
+	 *  in a set that weighs no more, and of several equal sets all but the lightest one with the smallest index are
+	 *  reported.
+	 *
+	 *  @param sets    The sorted items of each set
+	 *  @param itemSets    The sorted sets that contain each item
+	 *  @param weights    The weight of each set, or <code>null</code> if every set counts the same (only used to report
+	 *                    the sets that are contained in another set)
+	 *  @param contained    <code>true</code> to report the sets that are contained in another set, or
+	 *                      <code>false</code> to report the sets that contain another set
+	 *
+	 *  @return The boolean at each index represents whether the corresponding set is reported
+	 */
+	private static boolean[] findDominated(int[][] sets, int[][] itemSets, long[] weights, boolean contained) {
+		long[] signatures = new long[sets.length];
+		for(int x = 0; x < sets.length; x++) {
+			for(int item : sets[x]) {
+				signatures[x] |= 1L << item;
+			}
+		}
+
+		//Size-sorted processing: a set is compared only with the sets that contain its rarest item and are not smaller
+		Integer[] order = new Integer[sets.length];
+		for(int x = 0; x < sets.length; x++) {
+			order[x] = x;
+		}
+		Arrays.sort(order, (x1, x2) -> sets[x1].length - sets[x2].length);
+
+		boolean[] dominated = new boolean[sets.length];
+		for(int x : order) {
+			if(dominated[x] && !contained) {
+				continue;
+			}
+
+			int rarest = sets[x][0];
+			for(int item : sets[x]) {
+				if(itemSets[item].length < itemSets[rarest].length) {
+					rarest = item;
+				}
+			}
+
+			for(int y : itemSets[rarest]) {
+				if(y == x || dominated[y] || sets[y].length < sets[x].length
+						|| (signatures[x] & ~signatures[y]) != 0
+						|| (contained && weights != null && weights[y] > weights[x])) {
+					continue;
+				}
+
+				//Equal sets of equal weight only count as dominated by a set with a smaller index
+				boolean equal = sets[y].length == sets[x].length
+						&& (weights == null || weights[y] == weights[x]);
+				if(!containsAll(sets[y], sets[x])) {
+					continue;
+				}
+
+				if(contained) {
+					if(!equal || y < x) {
+						dominated[x] = true;
+						break;
+					}
+				} else if(!equal || y > x) {
+					dominated[y] = true;
+				}
+			}
+		}
+
+		return dominated;
+	}
+
+	/**
+	 *  Determines whether the sorted array <code>superset</code> contains every value of the sorted array
+	 *  <code>subset</code>
+	 *
+	 *  @param superset    The sorted values of the possible superset
+	 *  @param subset    The sorted values of the possible subset
+	 *
+	 *  @return <code>true</code> if every value of <code>subset</code> is in <code>superset</code>, otherwise
+	 *          <code>false</code>
+	 */
+	static boolean containsAll(int[] superset, int[] subset) {
+		int i = 0;
+		for(int value : subset) {
+			while(i < superset.length && superset[i] < value) {
+				i++;
+			}
+			if(i == superset.length || superset[i] != value) {
+				return false;
+			}
+			i++;
+		}
+
+		return true;
+	}
+}
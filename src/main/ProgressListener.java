@@ -0,0 +1,24 @@
+package main;
+
+/**
+ *	<p>Receives every set cover that improves the best set cover found so far while a {@link SetCoverSolver} is
+ *	solving, including the cover found by the {@link GreedyHeuristic}. Each result holds the subsets of the new cover,
+ *	its total weight, the lower bound that the optimality gap is measured against, and the number of nodes visited
+ *	so far, so a caller can decide to cancel the solve as soon as the cover is good enough.</p>
+ *
+ *	<p>The listener is called on the thread that found the cover (with parallel searches, any worker of the pool) while
+ *	the other searches wait to report their covers, so it should return quickly. The covers it receives have strictly
+ *	decreasing total weights.</p>
+ *
+ *  @author Pratik Gurung
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+	/**
+	 *  Called whenever the solver finds a better set cover
+	 *
+	 *  @param result    The new set cover, which is never marked as optimal
+	 */
+	void improved(SetCoverResult result);
+}
@@ -0,0 +1,32 @@
+package main;
+
+/**
+ *	<p>The reasons for which a search disregards a branch of the decision tree, as counted by
+ *	{@link SearchStatistics}.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public enum PruneReason {
+
+	/**
+	 *  The weight of the current solution, alone or together with the estimate of a {@link LowerBound}, is at least
+	 *  the weight of the current optimal solution, so no branch below the node can improve it
+	 */
+	BOUND,
+
+	/**
+	 *  The subset does not cover any element that is still uncovered, so only its exclusion is searched
+	 */
+	NOT_INTERESTING,
+
+	/**
+	 *  The subset is necessary in any set cover, so only its inclusion is searched
+	 */
+	NECESSARY,
+
+	/**
+	 *  The {@link TranspositionTable} holds a bound for the subproblem of the node that, together with the weight of the
+	 *  current solution, is at least the weight of the current optimal solution
+	 */
+	TRANSPOSITION
+}
@@ -0,0 +1,134 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ *	<p>The instance that is left to search after a {@link Preprocessor} has reduced a {@link SetCoverProblem}: the
+ *	subsets that are in every minimum set cover found by the reduction (the fixed subsets) and the remaining subsets,
+ *	restricted to the remaining elements. A minimum set cover of the original instance consists of the fixed subsets
+ *	and a minimum set cover of the remaining instance.</p>
+ *
+ *	<p>The remaining instance is a {@link CompactProblem}, in which the remaining elements are identified by the integers
+ *	<code>0</code> to <code>getNumOfElements() - 1</code> and the remaining subsets by their row. Instances are
+ *	immutable.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class Reduction {
+
+	/**
+	 *  The indices (in the original instance) of the subsets that are included in the cover by the reduction
+	 */
+	private final int[] fixedSubsets;
+
+	/**
+	 *  The remaining subsets restricted to the remaining elements
+	 */
+	private final CompactProblem problem;
+
+	/**
+	 *  The number of subsets removed because another subset contains all of their remaining elements
+	 */
+	private final int numOfDominatedSubsets;
+	/**
+	 *  The number of elements removed because every subset that contains another element also contains them
+	 */
+	private final int numOfDominatedElements;
+	/**
+	 *  The number of times that the reductions were applied until none of them changed the instance
+	 */
+	private final int numOfRounds;
+
+	/**
+	 *  Creates a reduction
+	 *
+	 *  @param fixedSubsets    The indices of the subsets that are included in the cover by the reduction
+	 *  @param problem    The remaining subsets restricted to the remaining elements
+	 *  @param numOfDominatedSubsets    The number of subsets removed because another subset contains them
+	 *  @param numOfDominatedElements    The number of elements removed because another element implies them
+	 *  @param numOfRounds    The number of times that the reductions were applied
+	 */
+	Reduction(int[] fixedSubsets, CompactProblem problem, int numOfDominatedSubsets, int numOfDominatedElements,
+			int numOfRounds) {
+		this.fixedSubsets = fixedSubsets;
+		this.problem = problem;
+		this.numOfDominatedSubsets = numOfDominatedSubsets;
+		this.numOfDominatedElements = numOfDominatedElements;
+		this.numOfRounds = numOfRounds;
+	}
+
+	/**
+	 *  @return A copy of the indices (in the original instance) of the subsets that are included in the cover by the
+	 *          reduction
+	 */
+	public int[] getFixedSubsets() {
+		return Arrays.copyOf(fixedSubsets, fixedSubsets.length);
+	}
+
+	/**
+	 *  @return The number of subsets that are included in the cover by the reduction (the essential subsets)
+	 */
+	public int getNumOfFixedSubsets() {
+		return fixedSubsets.length;
+	}
+
+	/**
+	 *  @param i    The position of a remaining subset
+	 *
+	 *  @return The index of the subset in the original instance
+	 */
+	public int getSubsetIndex(int i) {
+		return problem.getOriginalIndex(i);
+	}
+
+	/**
+	 *  @param element    A remaining element
+	 *
+	 *  @return The integer of the element in the original instance
+	 */
+	public int getElementValue(int element) {
+		return problem.getElementValue(element);
+	}
+
+	/**
+	 *  @return The number of remaining elements
+	 */
+	public int getNumOfElements() {
+		return problem.getNumOfElements();
+	}
+
+	/**
+	 *  @return The number of remaining subsets
+	 */
+	public int getNumOfSubsets() {
+		return problem.getNumOfSubsets();
+	}
+
+	/**
+	 *  @return The remaining subsets restricted to the remaining elements
+	 */
+	public CompactProblem getProblem() {
+		return problem;
+	}
+
+	/**
+	 *  @return The number of subsets removed because another subset contains all of their remaining elements
+	 */
+	public int getNumOfDominatedSubsets() {
+		return numOfDominatedSubsets;
+	}
+
+	/**
+	 *  @return The number of elements removed because every subset that contains another element also contains them
+	 */
+	public int getNumOfDominatedElements() {
+		return numOfDominatedElements;
+	}
+
+	/**
+	 *  @return The number of times that the reductions were applied until none of them changed the instance
+	 */
+	public int getNumOfRounds() {
+		return numOfRounds;
+	}
+}
@@ -0,0 +1,157 @@
+package main;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *	<p>Limits how long one or more searches may run: by a deadline, by a number of nodes of the decision tree, and by a
+ *	{@link CancellationToken}. Checking the clock at every node would cost more than many nodes themselves, so a search
+ *	only calls {@link #charge(long)} once every {@link #CHECK_INTERVAL} nodes, and in between only reads a flag of its
+ *	own. A search may therefore run up to <code>CHECK_INTERVAL</code> nodes past the budget before it notices.</p>
+ *
+ *	<p>Once the budget is exhausted it stays exhausted, and every search that shares it stops at its next check. This
+ *	class is thread-safe.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class SearchBudget {
+
+	/**
+	 *  The number of nodes that a search visits between two checks of the budget (a power of two)
+	 */
+	public static final int CHECK_INTERVAL = 1024;
+
+	/**
+	 *  Whether the budget has a deadline
+	 */
+	private final boolean timeLimited;
+	/**
+	 *  The value of <code>System.nanoTime()</code> at which the budget ends
+	 */
+	private final long deadline;
+
+	/**
+	 *  The number of nodes after which the budget ends, or <code>0</code> if it has no node limit
+	 */
+	private final long nodeLimit;
+
+	/**
+	 *  The token through which the searches can be cancelled
+	 */
+	private final CancellationToken cancellation;
+
+	/**
+	 *  The budget that every node is charged to as well and that ends this budget, or <code>null</code>
+	 */
+	private final SearchBudget parent;
+
+	/**
+	 *  The number of nodes charged to the budget so far
+	 */
+	private final AtomicLong numberOfNodes = new AtomicLong();
+
+	/**
+	 *  Whether the deadline or the node limit has been reached or the token has been cancelled
+	 */
+	private volatile boolean exhausted;
+
+	/**
+	 *  Creates a budget without any limit
+	 */
+	public SearchBudget() {
+		this(0, 0, new CancellationToken());
+	}
+
+	/**
+	 *  Creates a budget that starts now
+	 *
+	 *  @param timeLimitNanos    The number of nanoseconds after which the budget ends (<code>0</code> for no limit)
+	 *  @param nodeLimit    The number of nodes after which the budget ends (<code>0</code> for no limit)
+	 *  @param cancellation    The token through which the searches can be cancelled
+	 */
+	public SearchBudget(long timeLimitNanos, long nodeLimit, CancellationToken cancellation) {
+		if(timeLimitNanos < 0) {
+			throw new IllegalArgumentException("The time limit must not be negative: " + timeLimitNanos);
+		}
+		if(nodeLimit < 0) {
+			throw new IllegalArgumentException("The node limit must not be negative: " + nodeLimit);
+		}
+		if(cancellation == null) {
+			throw new IllegalArgumentException("The cancellation token must not be null");
+		}
+
+		this.timeLimited = timeLimitNanos > 0;
+		this.deadline = System.nanoTime() + timeLimitNanos;
+		this.nodeLimit = nodeLimit;
+		this.cancellation = cancellation;
+		this.parent = null;
+	}
+
+	/**
+	 *  Creates a budget within another budget, which ends when the other budget ends or the given token is cancelled
+	 *  and charges every node to the other budget as well. Searches that race each other share such a budget, so that
+	 *  the first of them to finish can stop the others without ending the budget of the whole solve.
+	 *
+	 *  @param parent    The other budget
+	 *  @param cancellation    The token through which the searches of this budget can be stopped
+	 */
+	public SearchBudget(SearchBudget parent, CancellationToken cancellation) {
+		if(parent == null || cancellation == null) {
+			throw new IllegalArgumentException("The parent budget and the cancellation token must not be null");
+		}
+
+		this.timeLimited = false;
+		this.deadline = 0;
+		this.nodeLimit = 0;
+		this.cancellation = cancellation;
+		this.parent = parent;
+	}
+
+	/**
+	 *  Adds the nodes that a search has visited since its last check and determines whether the search has to stop
+	 *
+	 *  @param nodes    The number of nodes visited since the last check (<code>0</code> to only check)
+	 *
+	 *  @return <code>true</code> if the budget is exhausted, otherwise <code>false</code>
+	 */
+	public boolean charge(long nodes) {
+		if(exhausted) {
+			return true;
+		}
+
+		long total = numberOfNodes.addAndGet(nodes);
+		boolean parentExhausted = parent != null && parent.charge(nodes);
+		if(parentExhausted || cancellation.isCancelled() || (nodeLimit > 0 && total >= nodeLimit)
+				|| (timeLimited && System.nanoTime() - deadline >= 0)) {
+			exhausted = true;
+		}
+
+		return exhausted;
+	}
+
+	/**
+	 *  @return <code>true</code> if a call to {@link #charge(long)} has found the budget exhausted, otherwise
+	 *          <code>false</code>
+	 */
+	public boolean isExhausted() {
+		return exhausted;
+	}
+
+	/**
+	 *  @return The number of nodes charged to the budget so far
+	 */
+	public long getNumberOfNodes() {
+		return numberOfNodes.get();
+	}
+
+	/**
+	 *  @return The number of nanoseconds until the deadline of this budget or the budget it is within (<code>0</code>
+	 *          once it has passed), or <code>Long.MAX_VALUE</code> if the budget has no deadline
+	 */
+	public long getRemainingNanos() {
+		if(parent != null) {
+			return parent.getRemainingNanos();
+		}
+
+		return timeLimited ? Math.max(0, deadline - System.nanoTime()) : Long.MAX_VALUE;
+	}
+}
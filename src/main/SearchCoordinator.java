@@ -0,0 +1,391 @@
+package main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *	<p>Distributes the decision trees of {@link DistributedSearch}es over {@link SearchWorker}s in other processes,
+ *	which connect to a server socket of the coordinator on the loopback address. The workers can be started by the
+ *	coordinator itself ({@link #startLocalWorkers(int)}) or separately with <code>SetCover --worker host port</code>
+ *	and then accepted ({@link #acceptWorkers(int, long)}). They stay connected for every search that the coordinator
+ *	runs, until it is closed.</p>
+ *
+ *	<p>A thread per connection reads the messages of its worker into a single queue, from which the search that is
+ *	running handles them on its own thread. The coordinator runs one search at a time.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class SearchCoordinator implements AutoCloseable {
+
+	/**
+	 *  The number of milliseconds that a closed coordinator waits for each worker process that it started to exit
+	 *  before destroying it
+	 */
+	private static final long EXIT_TIMEOUT_MILLIS = 1000;
+
+	/**
+	 *  The socket that the workers connect to
+	 */
+	private final ServerSocket server;
+
+	/**
+	 *  The workers that are connected
+	 */
+	private final List<Connection> connections = new ArrayList<Connection>();
+	/**
+	 *  The processes of the workers that the coordinator has started
+	 */
+	private final List<Process> processes = new ArrayList<Process>();
+	/**
+	 *  The messages of all workers, in the order in which they were read
+	 */
+	private final BlockingQueue<Message> messages = new LinkedBlockingQueue<Message>();
+
+	/**
+	 *  The number of jobs that have been sent to the workers
+	 */
+	private long numberOfJobs;
+
+	/**
+	 *  Creates a coordinator that listens on a port of the loopback address
+	 *
+	 *  @param port    The port (<code>0</code> for any free port)
+	 *
+	 *  @throws IOException    If the port cannot be bound
+	 */
+	public SearchCoordinator(int port) throws IOException {
+		this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+	}
+
+	/**
+	 *  @return The port that the workers connect to
+	 */
+	public int getPort() {
+		return server.getLocalPort();
+	}
+
+	/**
+	 *  Starts worker processes with the same Java runtime and class path as this process and waits until they have
+	 *  connected
+	 *
+	 *  @param count    The number of workers
+	 *
+	 *  @throws IOException    If a process cannot be started or does not connect within a minute
+	 */
+	public synchronized void startLocalWorkers(int count) throws IOException {
+		if(count < 1) {
+			throw new IllegalArgumentException("The number of workers must be positive: " + count);
+		}
+
+		String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+		for(int i = 0; i < count; i++) {
+			processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), SetCover.class.getName(),
+					"--worker", server.getInetAddress().getHostAddress(), Integer.toString(getPort()))
+					.redirectOutput(ProcessBuilder.Redirect.DISCARD).redirectError(ProcessBuilder.Redirect.INHERIT)
+					.start());
+		}
+		acceptWorkers(count, TimeUnit.MINUTES.toMillis(1));
+	}
+
+	/**
+	 *  Waits until the given number of workers have connected
+	 *
+	 *  @param count    The number of workers
+	 *  @param timeoutMillis    The number of milliseconds to wait for each worker (<code>0</code> to wait forever)
+	 *
+	 *  @throws IOException    If a worker does not connect in time or sends the wrong protocol version
+	 */
+	public synchronized void acceptWorkers(int count, long timeoutMillis) throws IOException {
+		if(timeoutMillis < 0) {
+			throw new IllegalArgumentException("The timeout must not be negative: " + timeoutMillis);
+		}
+
+		server.setSoTimeout((int) Math.min(Integer.MAX_VALUE, timeoutMillis));
+		for(int i = 0; i < count; i++) {
+			Socket socket = server.accept();
+			Connection connection = new Connection(socket);
+			socket.setSoTimeout(server.getSoTimeout());
+			int version = connection.input.readInt();
+			if(version != SearchProtocol.VERSION) {
+				socket.close();
+				throw new IOException("Worker speaks protocol version " + version + " instead of "
+						+ SearchProtocol.VERSION);
+			}
+			socket.setSoTimeout(0);
+
+			Thread reader = new Thread(connection::read, "search-coordinator-" + socket.getPort());
+			reader.setDaemon(true);
+			reader.start();
+			connections.add(connection);
+		}
+	}
+
+	/**
+	 *  @return The number of workers that are connected
+	 */
+	public synchronized int getNumberOfWorkers() {
+		return connections.size();
+	}
+
+	/**
+	 *  @return The number of jobs that have been sent to the workers by all searches
+	 */
+	public synchronized long getNumberOfJobs() {
+		return numberOfJobs;
+	}
+
+	/**
+	 *  Runs a search on the workers and waits until it is done
+	 *
+	 *  @param search    The search
+	 */
+	synchronized void run(DistributedSearch search) {
+		if(connections.isEmpty()) {
+			throw new IllegalStateException("No worker is connected");
+		}
+
+		//The previous search has ended with every worker idle, so at most unanswered splits are left, whose answers
+		//may already have been read and are dropped here
+		messages.clear();
+		for(Connection connection : connections) {
+			connection.splitPending = false;
+		}
+		numberOfJobs += search.run(connections, messages);
+		connections.removeIf(connection -> connection.closed);
+	}
+
+	/**
+	 *  Tells every worker to disconnect, closes the server socket and waits for the processes that the coordinator
+	 *  started to exit
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		for(Connection connection : connections) {
+			connection.send(output -> output.writeByte(SearchProtocol.CLOSE));
+			connection.close();
+		}
+		connections.clear();
+		server.close();
+
+		for(Process process : processes) {
+			try {
+				if(!process.waitFor(EXIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+					process.destroyForcibly();
+				}
+			} catch(InterruptedException e) {
+				process.destroyForcibly();
+				Thread.currentThread().interrupt();
+			}
+		}
+		processes.clear();
+	}
+
+	/**
+	 *	The connection to a worker, with the job that the worker is searching
+	 */
+	final class Connection {
+
+		/**
+		 *  The socket of the connection
+		 */
+		private final Socket socket;
+		/**
+		 *  The messages of the worker
+		 */
+		private final DataInputStream input;
+		/**
+		 *  The messages to the worker (guarded by itself)
+		 */
+		private final DataOutputStream output;
+
+		/**
+		 *  The job that the worker is searching, or <code>null</code> if it is idle (only used by the search)
+		 */
+		DistributedSearch.Job job;
+		/**
+		 *  Whether the worker has been asked for a split that it has not answered yet (only used by the search)
+		 */
+		boolean splitPending;
+		/**
+		 *  Whether the connection has failed or been closed
+		 */
+		volatile boolean closed;
+
+		/**
+		 *  Opens the streams of a connection
+		 *
+		 *  @param socket    The socket of the connection
+		 *
+		 *  @throws IOException    If the streams cannot be opened
+		 */
+		private Connection(Socket socket) throws IOException {
+			this.socket = socket;
+			this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		}
+
+		/**
+		 *  Reads the messages of the worker into the queue of the coordinator until the connection fails, after which
+		 *  a message of type <code>0</code> tells the search that the worker is gone
+		 */
+		private void read() {
+			try {
+				while(true) {
+					Message message = new Message(this, input.readByte());
+					if(message.type == SearchProtocol.SOLUTION) {
+						message.value = input.readLong();
+						message.subsets = readIndices();
+					} else if(message.type == SearchProtocol.DONATED) {
+						message.k = input.readInt();
+						message.subsets = readIndices();
+					} else if(message.type == SearchProtocol.DONE) {
+						message.value = input.readLong();
+						message.nodes = input.readLong();
+						message.stopped = input.readBoolean();
+						message.prunes = new long[input.readInt()];
+						for(int i = 0; i < message.prunes.length; i++) {
+							message.prunes[i] = input.readLong();
+						}
+					} else if(message.type != SearchProtocol.NO_SPLIT) {
+						throw new IOException("Unknown message type: " + message.type);
+					}
+					messages.add(message);
+				}
+			} catch(IOException e) {
+				close();
+				messages.add(new Message(this, (byte) 0));
+			}
+		}
+
+		/**
+		 *  Reads the indices of the included subsets of a message
+		 *
+		 *  @return The indices
+		 *
+		 *  @throws IOException    If the indices cannot be read
+		 */
+		private int[] readIndices() throws IOException {
+			int[] indices = new int[input.readInt()];
+			for(int i = 0; i < indices.length; i++) {
+				indices[i] = input.readInt();
+			}
+
+			return indices;
+		}
+
+		/**
+		 *  Sends a message to the worker, or closes the connection if that fails
+		 *
+		 *  @param writer    Writes the message
+		 *
+		 *  @return <code>true</code> if the message was sent, otherwise <code>false</code>
+		 */
+		boolean send(MessageWriter writer) {
+			if(closed) {
+				return false;
+			}
+
+			try {
+				synchronized(output) {
+					writer.write(output);
+					output.flush();
+				}
+				return true;
+			} catch(IOException e) {
+				close();
+				return false;
+			}
+		}
+
+		/**
+		 *  Closes the socket of the connection
+		 */
+		void close() {
+			closed = true;
+			try {
+				socket.close();
+			} catch(IOException e) {
+				//The connection is closed either way
+			}
+		}
+	}
+
+	/**
+	 *	Writes a message to a worker
+	 */
+	@FunctionalInterface
+	interface MessageWriter {
+
+		/**
+		 *  Writes the message
+		 *
+		 *  @param output    The output of the connection
+		 *
+		 *  @throws IOException    If the message cannot be written
+		 */
+		void write(DataOutputStream output) throws IOException;
+	}
+
+	/**
+	 *	A message of a worker (see {@link SearchProtocol}), whose fields are set as far as its type has them
+	 */
+	static final class Message {
+
+		/**
+		 *  The connection of the worker
+		 */
+		final Connection connection;
+		/**
+		 *  The type of the message, or <code>0</code> if the connection has failed
+		 */
+		final byte type;
+
+		/**
+		 *  The weight of a set cover, or the identifier of a job that has ended
+		 */
+		long value;
+		/**
+		 *  The index of the last subset that is determined at a node given away
+		 */
+		int k;
+		/**
+		 *  The indices of the subsets of a set cover, or of the included subsets of a node given away
+		 */
+		int[] subsets;
+		/**
+		 *  The number of nodes of a job that has ended
+		 */
+		long nodes;
+		/**
+		 *  Whether a job that has ended was stopped
+		 */
+		boolean stopped;
+		/**
+		 *  The number of branches disregarded by each lower bound in a job that has ended
+		 */
+		long[] prunes;
+
+		/**
+		 *  Creates a message without fields
+		 *
+		 *  @param connection    The connection of the worker
+		 *  @param type    The type of the message, or <code>0</code> if the connection has failed
+		 */
+		private Message(Connection connection, byte type) {
+			this.connection = connection;
+			this.type = type;
+		}
+	}
+}
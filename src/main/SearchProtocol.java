@@ -0,0 +1,161 @@
+package main;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ *	<p>The messages that a {@link SearchCoordinator} and its {@link SearchWorker}s exchange over their sockets. Every
+ *	message is a type byte followed by its fields in the binary format of {@link DataOutputStream}. A node of the
+ *	decision tree is sent as the index of the last subset that is determined at the node and the indices of the
+ *	subsets up to it that are included, and a set cover as the indices of its subsets.</p>
+ *
+ *	<p>The coordinator sends:</p>
+ *	<ul>
+ *		<li>{@link #INSTANCE}: the number of elements, the number of subsets, the weight, the necessary flag and the
+ *		elements of each subset, the names of the lower bounds, the cache size and the weight of the current optimal
+ *		solution</li>
+ *		<li>{@link #JOB}: the identifier of a job and its node</li>
+ *		<li>{@link #INCUMBENT}: the weight of a better set cover that another worker has found</li>
+ *		<li>{@link #SPLIT}: a request to give part of the current job away</li>
+ *		<li>{@link #CANCEL}: a request to stop the current job</li>
+ *		<li>{@link #CLOSE}: a request to disconnect</li>
+ *	</ul>
+ *
+ *	<p>A worker sends the protocol version once it has connected, and then:</p>
+ *	<ul>
+ *		<li>{@link #SOLUTION}: the weight and the subsets of a better set cover</li>
+ *		<li>{@link #DONATED}: the node whose subtree the current job gives away</li>
+ *		<li>{@link #NO_SPLIT}: the answer to a split that gave nothing away</li>
+ *		<li>{@link #DONE}: the identifier of a job that has ended, its number of nodes, whether it was stopped and
+ *		the number of branches disregarded by each lower bound</li>
+ *	</ul>
+ *
+ *  @author Pratik Gurung
+ */
+final class SearchProtocol {
+
+	/**
+	 *  The version that a worker sends first, which changes whenever the messages change
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 *  The message type of an instance
+	 */
+	static final byte INSTANCE = 1;
+	/**
+	 *  The message type of a job
+	 */
+	static final byte JOB = 2;
+	/**
+	 *  The message type of the weight of a better set cover
+	 */
+	static final byte INCUMBENT = 3;
+	/**
+	 *  The message type of a request to split the current job
+	 */
+	static final byte SPLIT = 4;
+	/**
+	 *  The message type of a request to stop the current job
+	 */
+	static final byte CANCEL = 5;
+	/**
+	 *  The message type of a request to disconnect
+	 */
+	static final byte CLOSE = 6;
+
+	/**
+	 *  The message type of a better set cover
+	 */
+	static final byte SOLUTION = 11;
+	/**
+	 *  The message type of a node given away by a split
+	 */
+	static final byte DONATED = 12;
+	/**
+	 *  The message type of a split that gave nothing away
+	 */
+	static final byte NO_SPLIT = 13;
+	/**
+	 *  The message type of a job that has ended
+	 */
+	static final byte DONE = 14;
+
+	/**
+	 *  Prevents instantiation
+	 */
+	private SearchProtocol() {
+	}
+
+	/**
+	 *  Writes the included subsets up to an index
+	 *
+	 *  @param output    The output
+	 *  @param prefix    The boolean value at each index represents whether the corresponding subset is included
+	 *  @param k    The index of the last subset to write (<code>-1</code> for none)
+	 *
+	 *  @throws IOException    If the output cannot be written
+	 */
+	static void writeSubsets(DataOutputStream output, boolean[] prefix, int k) throws IOException {
+		int count = 0;
+		for(int i = 0; i <= k; i++) {
+			if(prefix[i]) {
+				count++;
+			}
+		}
+
+		output.writeInt(count);
+		for(int i = 0; i <= k; i++) {
+			if(prefix[i]) {
+				output.writeInt(i);
+			}
+		}
+	}
+
+	/**
+	 *  Reads the included subsets written by {@link #writeSubsets(DataOutputStream, boolean[], int)}
+	 *
+	 *  @param input    The input
+	 *  @param numOfSubsets    The number of subsets of the instance
+	 *
+	 *  @return The boolean value at each index represents whether the corresponding subset is included
+	 *
+	 *  @throws IOException    If the input cannot be read or contains an index that is out of range
+	 */
+	static boolean[] readSubsets(DataInputStream input, int numOfSubsets) throws IOException {
+		boolean[] subsets = new boolean[numOfSubsets];
+		int count = input.readInt();
+		for(int i = 0; i < count; i++) {
+			int index = input.readInt();
+			if(index < 0 || index >= numOfSubsets) {
+				throw new IOException("Subset index out of range: " + index);
+			}
+			subsets[index] = true;
+		}
+
+		return subsets;
+	}
+
+	/**
+	 *  Creates the factory of a lower bound that a worker can recreate from its name
+	 *
+	 *  @param name    The name of the lower bound (see {@link LowerBound#getName()})
+	 *
+	 *  @return The factory of the lower bound
+	 *
+	 *  @throws IllegalArgumentException    If no lower bound with that name is known
+	 */
+	static LowerBound.Factory boundFactory(String name) {
+		switch(name) {
+			case "max-coverage":
+				return (numOfElements, subsets, weights) -> new MaxCoverageBound();
+			case "disjoint-elements":
+				return DisjointElementBound::new;
+			case "lagrangian":
+				return LagrangianBound::new;
+			default:
+				throw new IllegalArgumentException("Lower bound " + name + " cannot be used by a worker");
+		}
+	}
+}
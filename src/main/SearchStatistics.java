@@ -0,0 +1,451 @@
+package main;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.ConstructorParameters;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ *	<p>Collects statistics about the solves of one or more {@link SetCoverSolver}s that are given these statistics in
+ *	their {@link SolverOptions}: the number of nodes visited at each depth of the decision tree, the number of
+ *	branches disregarded for each {@link PruneReason}, the reductions made by the preprocessing, the number of
+ *	connected components that were searched, and the time and weight of every improvement of the best set cover.
+ *	Without statistics in the options, nothing is counted. Solves with a {@link TranspositionTable} also add its
+ *	lookups, hits and evictions.</p>
+ *
+ *	<p>Counting a node must cost next to nothing, so a search never touches these statistics directly. It counts into
+ *	a {@link Recorder} of its own, which adds its counts to the statistics once every
+ *	{@link SearchBudget#CHECK_INTERVAL} nodes and when the search ends, so a solve that is still running can be watched
+ *	as well.</p>
+ *
+ *	<p>The statistics can be registered with the platform MBean server through {@link #register(String)} and then read
+ *	over JMX as a {@link SearchStatisticsMXBean}. This class is thread-safe.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class SearchStatistics implements SearchStatisticsMXBean {
+
+	/**
+	 *  The number of improvements that the timeline keeps before it forgets the oldest ones
+	 */
+	public static final int MAX_TIMELINE_LENGTH = 1024;
+
+	/**
+	 *  The number of solves that have started
+	 */
+	private long numberOfSolves;
+	/**
+	 *  The number of solves that have started but not ended yet, which a reset does not change
+	 */
+	private final AtomicLong numberOfActiveSolves = new AtomicLong();
+
+	/**
+	 *  The number of nodes visited at each depth of the decision tree
+	 */
+	private long[] nodesByDepth = new long[0];
+	/**
+	 *  The number of nodes visited at any depth
+	 */
+	private long numberOfNodes;
+
+	/**
+	 *  The number of branches disregarded for each reason, indexed by its ordinal
+	 */
+	private final long[] numberOfPrunes = new long[PruneReason.values().length];
+
+	/**
+	 *  The number of subproblems looked up in the transposition tables
+	 */
+	private long numberOfCacheLookups;
+	/**
+	 *  The number of lookups that found the subproblem in the transposition tables
+	 */
+	private long numberOfCacheHits;
+	/**
+	 *  The number of entries of the transposition tables that were replaced by another subproblem
+	 */
+	private long numberOfCacheEvictions;
+
+	/**
+	 *  The number of subsets that the preprocessing included in the cover
+	 */
+	private long numberOfFixedSubsets;
+	/**
+	 *  The number of subsets that the preprocessing removed because another subset dominates them
+	 */
+	private long numberOfDominatedSubsets;
+	/**
+	 *  The number of elements that the preprocessing removed because another element implies them
+	 */
+	private long numberOfDominatedElements;
+	/**
+	 *  The number of connected components that the remaining instances were searched in
+	 */
+	private long numberOfComponents;
+
+	/**
+	 *  The most recent improvements of the best set cover, oldest first
+	 */
+	private final ArrayDeque<Improvement> timeline = new ArrayDeque<Improvement>();
+
+	/**
+	 *  Called by a solver when it starts to solve an instance
+	 *
+	 *  @return The number of the solve, which identifies its improvements in the timeline
+	 */
+	synchronized long startSolve() {
+		numberOfActiveSolves.incrementAndGet();
+		numberOfSolves++;
+		return numberOfSolves;
+	}
+
+	/**
+	 *  Called by a solver when it is done with an instance, whether or not it found a set cover
+	 */
+	void endSolve() {
+		numberOfActiveSolves.decrementAndGet();
+	}
+
+	/**
+	 *  Adds the reductions made by the preprocessing of a solve
+	 *
+	 *  @param reduction    The reduction of the instance
+	 */
+	synchronized void addReduction(Reduction reduction) {
+		numberOfFixedSubsets += reduction.getNumOfFixedSubsets();
+		numberOfDominatedSubsets += reduction.getNumOfDominatedSubsets();
+		numberOfDominatedElements += reduction.getNumOfDominatedElements();
+	}
+
+	/**
+	 *  Adds the number of connected components that the remaining instance of a solve is searched in
+	 *
+	 *  @param components    The number of components (<code>1</code> if the instance is searched as a whole)
+	 */
+	synchronized void addComponents(int components) {
+		numberOfComponents += components;
+	}
+
+	/**
+	 *  Adds the lookups, hits and evictions of a transposition table that a search is done with
+	 *
+	 *  @param table    The transposition table
+	 */
+	synchronized void addTable(TranspositionTable table) {
+		numberOfCacheLookups += table.getNumberOfLookups();
+		numberOfCacheHits += table.getNumberOfHits();
+		numberOfCacheEvictions += table.getNumberOfEvictions();
+	}
+
+	/**
+	 *  Adds an improvement of the best set cover of a solve to the timeline
+	 *
+	 *  @param solve    The number of the solve
+	 *  @param elapsedNanos    The number of nanoseconds since the solve started
+	 *  @param cost    The total weight of the new best set cover
+	 */
+	synchronized void addImprovement(long solve, long elapsedNanos, long cost) {
+		if(timeline.size() == MAX_TIMELINE_LENGTH) {
+			timeline.removeFirst();
+		}
+		timeline.addLast(new Improvement(solve, elapsedNanos, cost));
+	}
+
+	/**
+	 *  Adds the counts of a recorder
+	 *
+	 *  @param recorder    The recorder, whose counts are not changed
+	 */
+	private synchronized void add(Recorder recorder) {
+		if(nodesByDepth.length <= recorder.maxDepth) {
+			nodesByDepth = Arrays.copyOf(nodesByDepth, recorder.maxDepth + 1);
+		}
+		for(int depth = 0; depth <= recorder.maxDepth; depth++) {
+			nodesByDepth[depth] += recorder.nodesByDepth[depth];
+		}
+		numberOfNodes += recorder.numberOfNodes;
+		for(int i = 0; i < numberOfPrunes.length; i++) {
+			numberOfPrunes[i] += recorder.numberOfPrunes[i];
+		}
+	}
+
+	/**
+	 *  Creates a recorder for a single search that adds its counts to these statistics
+	 *
+	 *  @return The recorder
+	 */
+	public Recorder newRecorder() {
+		return new Recorder();
+	}
+
+	/**
+	 *  Registers these statistics with the platform MBean server under the name
+	 *  <code>main:type=SearchStatistics,name=</code> followed by the given name
+	 *
+	 *  @param name    The name that distinguishes these statistics from other registered statistics
+	 *
+	 *  @return The name of the registered MBean
+	 *
+	 *  @throws JMException    If the name is invalid or already registered
+	 */
+	public ObjectName register(String name) throws JMException {
+		ObjectName objectName = new ObjectName("main:type=SearchStatistics,name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		return objectName;
+	}
+
+	@Override
+	public synchronized long getNumberOfSolves() {
+		return numberOfSolves;
+	}
+
+	@Override
+	public long getNumberOfActiveSolves() {
+		return numberOfActiveSolves.get();
+	}
+
+	@Override
+	public synchronized long getNumberOfNodes() {
+		return numberOfNodes;
+	}
+
+	@Override
+	public synchronized long[] getNodesByDepth() {
+		return nodesByDepth.clone();
+	}
+
+	/**
+	 *  @param reason    The reason
+	 *
+	 *  @return The number of branches disregarded for the reason
+	 */
+	public synchronized long getNumberOfPrunes(PruneReason reason) {
+		return numberOfPrunes[reason.ordinal()];
+	}
+
+	@Override
+	public long getBoundPrunes() {
+		return getNumberOfPrunes(PruneReason.BOUND);
+	}
+
+	@Override
+	public long getNotInterestingPrunes() {
+		return getNumberOfPrunes(PruneReason.NOT_INTERESTING);
+	}
+
+	@Override
+	public long getNecessaryPrunes() {
+		return getNumberOfPrunes(PruneReason.NECESSARY);
+	}
+
+	@Override
+	public long getTranspositionPrunes() {
+		return getNumberOfPrunes(PruneReason.TRANSPOSITION);
+	}
+
+	@Override
+	public synchronized long getCacheLookups() {
+		return numberOfCacheLookups;
+	}
+
+	@Override
+	public synchronized long getCacheHits() {
+		return numberOfCacheHits;
+	}
+
+	@Override
+	public synchronized double getCacheHitRate() {
+		return numberOfCacheLookups == 0 ? 0 : (double) numberOfCacheHits / numberOfCacheLookups;
+	}
+
+	@Override
+	public synchronized long getCacheEvictions() {
+		return numberOfCacheEvictions;
+	}
+
+	@Override
+	public synchronized long getNumberOfFixedSubsets() {
+		return numberOfFixedSubsets;
+	}
+
+	@Override
+	public synchronized long getNumberOfDominatedSubsets() {
+		return numberOfDominatedSubsets;
+	}
+
+	@Override
+	public synchronized long getNumberOfDominatedElements() {
+		return numberOfDominatedElements;
+	}
+
+	@Override
+	public synchronized long getNumberOfComponents() {
+		return numberOfComponents;
+	}
+
+	@Override
+	public synchronized List<Improvement> getIncumbentTimeline() {
+		return new ArrayList<Improvement>(timeline);
+	}
+
+	@Override
+	public synchronized void reset() {
+		numberOfSolves = 0;
+		nodesByDepth = new long[0];
+		numberOfNodes = 0;
+		Arrays.fill(numberOfPrunes, 0);
+		numberOfCacheLookups = 0;
+		numberOfCacheHits = 0;
+		numberOfCacheEvictions = 0;
+		numberOfFixedSubsets = 0;
+		numberOfDominatedSubsets = 0;
+		numberOfDominatedElements = 0;
+		numberOfComponents = 0;
+		timeline.clear();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "SearchStatistics[solves=" + numberOfSolves + ", nodes=" + numberOfNodes + ", nodesByDepth="
+				+ Arrays.toString(nodesByDepth) + ", prunes=" + Arrays.toString(numberOfPrunes) + ", cacheLookups="
+				+ numberOfCacheLookups + ", cacheHits=" + numberOfCacheHits + ", fixedSubsets="
+				+ numberOfFixedSubsets + ", dominatedSubsets=" + numberOfDominatedSubsets + ", dominatedElements="
+				+ numberOfDominatedElements + ", components=" + numberOfComponents + ", timeline=" + timeline + "]";
+	}
+
+	/**
+	 *	Counts the nodes and prunes of a single search in plain fields and adds them to the statistics once every
+	 *	{@link SearchBudget#CHECK_INTERVAL} nodes and when {@link #flush()} is called. A recorder must only be used by
+	 *	one thread.
+	 */
+	public final class Recorder {
+
+		/**
+		 *  The number of nodes visited at each depth since the last flush
+		 */
+		private long[] nodesByDepth = new long[64];
+		/**
+		 *  The largest depth with a node since the last flush (<code>-1</code> if there is none)
+		 */
+		private int maxDepth = -1;
+		/**
+		 *  The number of nodes visited since the last flush
+		 */
+		private long numberOfNodes;
+
+		/**
+		 *  The number of branches disregarded for each reason since the last flush
+		 */
+		private final long[] numberOfPrunes = new long[PruneReason.values().length];
+
+		/**
+		 *  Only the statistics create recorders
+		 */
+		private Recorder() {
+		}
+
+		/**
+		 *  Counts a node of the decision tree
+		 *
+		 *  @param depth    The depth of the node (<code>0</code> at the root)
+		 */
+		public void node(int depth) {
+			if(depth >= nodesByDepth.length) {
+				nodesByDepth = Arrays.copyOf(nodesByDepth, Math.max(depth + 1, 2 * nodesByDepth.length));
+			}
+			nodesByDepth[depth]++;
+			maxDepth = Math.max(maxDepth, depth);
+
+			numberOfNodes++;
+			if((numberOfNodes & (SearchBudget.CHECK_INTERVAL - 1)) == 0) {
+				flush();
+			}
+		}
+
+		/**
+		 *  Counts a disregarded branch of the decision tree
+		 *
+		 *  @param reason    The reason for which it was disregarded
+		 */
+		public void prune(PruneReason reason) {
+			numberOfPrunes[reason.ordinal()]++;
+		}
+
+		/**
+		 *  Adds the counts since the last flush to the statistics and starts counting from <code>0</code> again
+		 */
+		public void flush() {
+			add(this);
+			Arrays.fill(nodesByDepth, 0, maxDepth + 1, 0);
+			maxDepth = -1;
+			numberOfNodes = 0;
+			Arrays.fill(numberOfPrunes, 0);
+		}
+	}
+
+	/**
+	 *	An improvement of the best set cover of a solve
+	 */
+	public static final class Improvement {
+
+		/**
+		 *  The number of the solve
+		 */
+		private final long solve;
+
+		/**
+		 *  The number of nanoseconds since the solve started
+		 */
+		private final long elapsedNanos;
+
+		/**
+		 *  The total weight of the new best set cover
+		 */
+		private final long cost;
+
+		/**
+		 *  Creates an improvement
+		 *
+		 *  @param solve    The number of the solve
+		 *  @param elapsedNanos    The number of nanoseconds since the solve started
+		 *  @param cost    The total weight of the new best set cover
+		 */
+		@ConstructorParameters({"solve", "elapsedNanos", "cost"})
+		public Improvement(long solve, long elapsedNanos, long cost) {
+			this.solve = solve;
+			this.elapsedNanos = elapsedNanos;
+			this.cost = cost;
+		}
+
+		/**
+		 *  @return The number of the solve, counted from <code>1</code> by the statistics
+		 */
+		public long getSolve() {
+			return solve;
+		}
+
+		/**
+		 *  @return The number of nanoseconds since the solve started
+		 */
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		/**
+		 *  @return The total weight of the new best set cover
+		 */
+		public long getCost() {
+			return cost;
+		}
+
+		@Override
+		public String toString() {
+			return "Improvement[solve=" + solve + ", elapsedNanos=" + elapsedNanos + ", cost=" + cost + "]";
+		}
+	}
+}
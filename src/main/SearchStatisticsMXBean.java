@@ -0,0 +1,106 @@
+package main;
+
+import java.util.List;
+
+/**
+ *	<p>The management interface through which a registered {@link SearchStatistics} is read over JMX, for example with
+ *	JConsole or any other JMX client connected to a running solver. Every attribute covers all solves since the
+ *	statistics were created or last reset.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public interface SearchStatisticsMXBean {
+
+	/**
+	 *  @return The number of solves that have started
+	 */
+	long getNumberOfSolves();
+
+	/**
+	 *  @return The number of solves that have started but not ended yet
+	 */
+	long getNumberOfActiveSolves();
+
+	/**
+	 *  @return The number of nodes of the decision tree visited by all searches
+	 */
+	long getNumberOfNodes();
+
+	/**
+	 *  @return The number of nodes visited at each depth of the decision tree, starting with the root at depth
+	 *          <code>0</code> (one for every component that was searched)
+	 */
+	long[] getNodesByDepth();
+
+	/**
+	 *  @return The number of branches disregarded because of the weight of the current solution or a lower bound
+	 */
+	long getBoundPrunes();
+
+	/**
+	 *  @return The number of branches disregarded because the subset does not cover an uncovered element
+	 */
+	long getNotInterestingPrunes();
+
+	/**
+	 *  @return The number of branches disregarded because the subset is necessary in any set cover
+	 */
+	long getNecessaryPrunes();
+
+	/**
+	 *  @return The number of branches disregarded because of a bound in the transposition table
+	 */
+	long getTranspositionPrunes();
+
+	/**
+	 *  @return The number of subproblems looked up in the transposition tables
+	 */
+	long getCacheLookups();
+
+	/**
+	 *  @return The number of lookups that found the subproblem in the transposition tables
+	 */
+	long getCacheHits();
+
+	/**
+	 *  @return The fraction of lookups that found the subproblem in the transposition tables
+	 */
+	double getCacheHitRate();
+
+	/**
+	 *  @return The number of entries of the transposition tables that were replaced by another subproblem
+	 */
+	long getCacheEvictions();
+
+	/**
+	 *  @return The number of subsets that the preprocessing included in the cover
+	 */
+	long getNumberOfFixedSubsets();
+
+	/**
+	 *  @return The number of subsets that the preprocessing removed because another subset dominates them
+	 */
+	long getNumberOfDominatedSubsets();
+
+	/**
+	 *  @return The number of elements that the preprocessing removed because another element implies them
+	 */
+	long getNumberOfDominatedElements();
+
+	/**
+	 *  @return The number of connected components that the remaining instances were searched in, which is the number
+	 *          of solves that searched if no instance was split
+	 */
+	long getNumberOfComponents();
+
+	/**
+	 *  @return The most recent improvements of the best set cover of any solve, oldest first
+	 */
+	List<SearchStatistics.Improvement> getIncumbentTimeline();
+
+	/**
+	 *  Sets every count back to <code>0</code> and forgets the timeline. Solves that are still running keep adding to
+	 *  the counts.
+	 */
+	void reset();
+}
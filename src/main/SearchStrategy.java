@@ -0,0 +1,21 @@
+package main;
+
+/**
+ *	<p>The ways in which a {@link SetCoverSolver} can search the decision tree.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public enum SearchStrategy {
+
+	/**
+	 *  Decides the subsets one after the other in the order determined by the preliminary pruning
+	 *  ({@link BitsetSearch} or, with more than one thread, {@link ParallelSearch})
+	 */
+	SUBSET_ORDER,
+
+	/**
+	 *  Branches on which subset covers the uncovered element that is contained in the fewest undecided subsets
+	 *  ({@link ElementBranchingSearch})
+	 */
+	ELEMENT_BRANCHING
+}
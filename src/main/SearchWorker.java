@@ -0,0 +1,363 @@
+package main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ *	<p>Searches the jobs that a {@link SearchCoordinator} sends over a socket, usually in a JVM of its own (see
+ *	<code>SetCover --worker</code>). A job is a node of the decision tree of the last instance that the coordinator
+ *	sent, and the worker searches its subtree with a {@link BitsetSearch} and reports the nodes and prunes when it
+ *	ends.</p>
+ *
+ *	<p>Every set cover that is better than the best one the worker knows of is sent to the coordinator, which sends the
+ *	weight of every improvement back to all workers, so each worker prunes with the best set cover that any worker has
+ *	found. When another worker runs idle, the coordinator asks the worker to split its job, and the search gives its
+ *	largest open subtree away (see {@link BitsetSearch#requestSplit(BitsetSearch.SplitReceiver)}).</p>
+ *
+ *	<p>The thread that calls {@link #run()} reads the messages of the coordinator and a second thread searches the
+ *	jobs one after the other. Both write messages, so every message is written while the lock of the output is
+ *	held.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class SearchWorker {
+
+	/**
+	 *  The connection to the coordinator
+	 */
+	private final Socket socket;
+	/**
+	 *  The messages of the coordinator
+	 */
+	private final DataInputStream input;
+	/**
+	 *  The messages to the coordinator (guarded by itself)
+	 */
+	private final DataOutputStream output;
+
+	/**
+	 *  The coverage state from which every job creates its own state
+	 */
+	private BitsetCoverage coverage;
+	/**
+	 *  The elements of each subset of the instance
+	 */
+	private int[][] subsets;
+	/**
+	 *  The weight of each subset of the instance
+	 */
+	private long[] weights;
+	/**
+	 *  The subsets that every lighter set cover of the instance includes
+	 */
+	private boolean[] necessarySubsets;
+	/**
+	 *  The lower bounds that every job creates for its search
+	 */
+	private List<LowerBound.Factory> lowerBounds;
+	/**
+	 *  The bounds proven for subproblems of the instance, which all jobs of the instance share, or <code>null</code>
+	 */
+	private TranspositionTable table;
+	/**
+	 *  The best set cover of the instance that the worker knows of
+	 */
+	private RemoteIncumbent incumbent;
+
+	/**
+	 *  The search of the current job, or <code>null</code> if no job is running
+	 */
+	private volatile BitsetSearch search;
+	/**
+	 *  The token that stops the current job
+	 */
+	private volatile CancellationToken cancellation = new CancellationToken();
+	/**
+	 *  Whether the coordinator has asked for a split that has not been answered yet
+	 */
+	private final AtomicBoolean splitPending = new AtomicBoolean();
+
+	/**
+	 *  Creates a worker for a connection to a coordinator
+	 *
+	 *  @param socket    The connection
+	 *
+	 *  @throws IOException    If the streams of the connection cannot be opened
+	 */
+	public SearchWorker(Socket socket) throws IOException {
+		this.socket = socket;
+		this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+	}
+
+	/**
+	 *  Sends the protocol version and then searches the jobs of the coordinator until it closes the connection
+	 *
+	 *  @throws IOException    If the connection fails or the coordinator sends an invalid message
+	 */
+	public void run() throws IOException {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			synchronized(output) {
+				output.writeInt(SearchProtocol.VERSION);
+				output.flush();
+			}
+
+			while(true) {
+				byte type;
+				try {
+					type = input.readByte();
+				} catch(EOFException e) {
+					return;
+				}
+
+				if(type == SearchProtocol.INSTANCE) {
+					readInstance();
+				} else if(type == SearchProtocol.JOB) {
+					long id = input.readLong();
+					int k = input.readInt();
+					boolean[] prefix = SearchProtocol.readSubsets(input, subsets.length);
+					cancellation = new CancellationToken();
+					CancellationToken jobCancellation = cancellation;
+					executor.execute(() -> runJob(id, prefix, k, jobCancellation));
+				} else if(type == SearchProtocol.INCUMBENT) {
+					incumbent.tighten(input.readLong());
+				} else if(type == SearchProtocol.SPLIT) {
+					splitPending.set(true);
+					BitsetSearch current = search;
+					if(current != null) {
+						current.requestSplit(this::donate);
+					} else {
+						try {
+							answerSplit();
+						} catch(IOException e) {
+							//A coordinator that has closed the connection may have sent a close after the split, and
+							//otherwise the next read fails as well
+						}
+					}
+				} else if(type == SearchProtocol.CANCEL) {
+					cancellation.cancel();
+				} else if(type == SearchProtocol.CLOSE) {
+					return;
+				} else {
+					throw new IOException("Unknown message type: " + type);
+				}
+			}
+		} finally {
+			cancellation.cancel();
+			executor.shutdownNow();
+			socket.close();
+		}
+	}
+
+	/**
+	 *  Reads a new instance, whose jobs replace those of the previous instance
+	 *
+	 *  @throws IOException    If the message cannot be read or names an unknown lower bound
+	 */
+	private void readInstance() throws IOException {
+		int numOfElements = input.readInt();
+		int numOfSubsets = input.readInt();
+		subsets = new int[numOfSubsets][];
+		weights = new long[numOfSubsets];
+		necessarySubsets = new boolean[numOfSubsets];
+		for(int i = 0; i < numOfSubsets; i++) {
+			weights[i] = input.readLong();
+			necessarySubsets[i] = input.readBoolean();
+			subsets[i] = new int[input.readInt()];
+			for(int j = 0; j < subsets[i].length; j++) {
+				subsets[i][j] = input.readInt();
+				if(subsets[i][j] < 0 || subsets[i][j] >= numOfElements) {
+					throw new IOException("Element out of range: " + subsets[i][j]);
+				}
+			}
+		}
+
+		int numOfBounds = input.readInt();
+		lowerBounds = new ArrayList<LowerBound.Factory>();
+		for(int i = 0; i < numOfBounds; i++) {
+			String name = input.readUTF();
+			if(name.equals("lagrangian")) {
+				//Every job of the instance gets a bound with the same relaxation, which is only optimized once
+				LagrangianRelaxation relaxation = LagrangianBound.optimize(numOfElements, subsets, weights);
+				lowerBounds.add((elements, jobSubsets, jobWeights) -> new LagrangianBound(elements, jobSubsets,
+						jobWeights, relaxation));
+			} else {
+				try {
+					lowerBounds.add(SearchProtocol.boundFactory(name));
+				} catch(IllegalArgumentException e) {
+					throw new IOException(e.getMessage(), e);
+				}
+			}
+		}
+		long cacheBytes = input.readLong();
+		long upperBound = input.readLong();
+
+		coverage = new BitsetCoverage(numOfElements, subsets, weights);
+		table = cacheBytes < TranspositionTable.minimumBytes(numOfElements) ? null
+				: new TranspositionTable(numOfElements, numOfSubsets, cacheBytes);
+		incumbent = new RemoteIncumbent(upperBound);
+	}
+
+	/**
+	 *  Searches the subtree of a job and reports it to the coordinator when it ends
+	 *
+	 *  @param id    The identifier of the job
+	 *  @param prefix    The boolean value at each index up to <code>k</code> represents whether the corresponding subset
+	 *                   is included at the node of the job
+	 *  @param k    The index of the last subset that is determined at the node of the job
+	 *  @param jobCancellation    The token that stops the job
+	 */
+	private void runJob(long id, boolean[] prefix, int k, CancellationToken jobCancellation) {
+		LowerBound[] bounds = new LowerBound[lowerBounds.size()];
+		for(int i = 0; i < bounds.length; i++) {
+			bounds[i] = lowerBounds.get(i).create(coverage.getNumOfElements(), subsets, weights);
+		}
+
+		BitsetSearch current = new BitsetSearch(coverage.newState(), necessarySubsets, bounds, incumbent,
+				new SearchBudget(0, 0, jobCancellation), null, table);
+		current.descend(prefix, k);
+		search = current;
+		current.backtrack(k);
+		search = null;
+
+		try {
+			//A split that arrived too late for the search is answered before the job ends
+			answerSplit();
+			synchronized(output) {
+				output.writeByte(SearchProtocol.DONE);
+				output.writeLong(id);
+				output.writeLong(current.getNumberOfBacktrackCalls());
+				output.writeBoolean(current.isStopped());
+				output.writeInt(bounds.length);
+				for(int i = 0; i < bounds.length; i++) {
+					output.writeLong(current.getNumberOfPrunes(i));
+				}
+				output.flush();
+			}
+		} catch(IOException e) {
+			closeQuietly();
+		}
+	}
+
+	/**
+	 *  Sends the node that the search of the current job gives away, or that it has nothing to give away
+	 *
+	 *  @param prefix    The boolean value at each index up to <code>k</code> represents whether the corresponding subset
+	 *                   is included, or <code>null</code> if the search gives nothing away
+	 *  @param k    The index of the last subset that is determined at the node
+	 */
+	private void donate(boolean[] prefix, int k) {
+		if(!splitPending.compareAndSet(true, false)) {
+			return;
+		}
+
+		try {
+			synchronized(output) {
+				if(prefix == null) {
+					output.writeByte(SearchProtocol.NO_SPLIT);
+				} else {
+					output.writeByte(SearchProtocol.DONATED);
+					output.writeInt(k);
+					SearchProtocol.writeSubsets(output, prefix, k);
+				}
+				output.flush();
+			}
+		} catch(IOException e) {
+			closeQuietly();
+		}
+	}
+
+	/**
+	 *  Tells the coordinator that a pending split gives nothing away
+	 *
+	 *  @throws IOException    If the message cannot be sent
+	 */
+	private void answerSplit() throws IOException {
+		if(splitPending.compareAndSet(true, false)) {
+			synchronized(output) {
+				output.writeByte(SearchProtocol.NO_SPLIT);
+				output.flush();
+			}
+		}
+	}
+
+	/**
+	 *  Closes the connection after it has failed, which ends the thread that reads the messages
+	 */
+	private void closeQuietly() {
+		try {
+			socket.close();
+		} catch(IOException e) {
+			//The connection has already failed
+		}
+	}
+
+	/**
+	 *	The best set cover that the worker knows of: the set covers that its own jobs find, bounded by the weight of
+	 *	the best set cover of any worker, which the coordinator sends. Every set cover that is better than both is sent
+	 *	to the coordinator.
+	 */
+	private final class RemoteIncumbent extends Incumbent {
+
+		/**
+		 *  The weight of the best set cover that the coordinator knows of
+		 */
+		private volatile long bound;
+
+		/**
+		 *  Creates the incumbent of an instance
+		 *
+		 *  @param upperBound    The weight of the best set cover that the coordinator knows of
+		 */
+		private RemoteIncumbent(long upperBound) {
+			super(upperBound);
+			this.bound = upperBound;
+		}
+
+		/**
+		 *  Lowers the weight that the set covers of the jobs must be lighter than
+		 *
+		 *  @param value    The weight of a set cover found by any worker
+		 */
+		private void tighten(long value) {
+			if(value < bound) {
+				bound = value;
+			}
+		}
+
+		@Override
+		public long getValue() {
+			return Math.min(bound, super.getValue());
+		}
+
+		@Override
+		public synchronized boolean offer(long newValue, boolean[] newSolution) {
+			if(newValue >= bound || !super.offer(newValue, newSolution)) {
+				return false;
+			}
+
+			try {
+				synchronized(output) {
+					output.writeByte(SearchProtocol.SOLUTION);
+					output.writeLong(newValue);
+					SearchProtocol.writeSubsets(output, newSolution, newSolution.length - 1);
+					output.flush();
+				}
+			} catch(IOException e) {
+				closeQuietly();
+			}
+			return true;
+		}
+	}
+}
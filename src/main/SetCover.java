@@ -1,10 +1,20 @@
 package main;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 /**
  *	<p>This class defines the functionality for solving the minimum set cover problem. In this case, the input is some
@@ -17,6 +27,10 @@ import java.util.List;
  *	techniques to disregard certain combinations of subsets, however, the practical running time of this algorithm is
  *	significantly improved (despite the still inefficient asymptotic running time).</p>
  *
+ *	<p>The static methods and fields of this class hold the state of a single search, so only one search can use them
+ *	at a time. {@link SetCoverSolver} solves a {@link SetCoverProblem} without any static state and is what
+ *	{@link #runProgram()} uses.</p>
+ *
  *  @author Pratik Gurung
  */
 public class SetCover {
@@ -226,55 +240,163 @@ public class SetCover {
 	 *  Runs the program
 	 */
 	public static void runProgram() {
-		List<List<Integer>> input = generateInput();;
+		printResult(generateInput());
+	}
 
-		//Used to display how long the algorithm took to execute
-		long startTime = System.currentTimeMillis();
-		long endTime;
+	/**
+	 *  Runs the program on an instance read from a file instead of a randomly generated instance
+	 *
+	 *  @param file    The file that defines the instance
+	 *  @param orLibrary    <code>true</code> if the file is in the OR-Library SCP format, or <code>false</code> if it is
+	 *                      in the format of the test files
+	 *
+	 *  @throws IOException    If the file cannot be read or is not in the given format
+	 */
+	public static void runProgram(Path file, boolean orLibrary) throws IOException {
+		System.out.println("Reading " + file + "...");
+		SetCoverProblem problem = orLibrary ? InstanceReader.readOrLibrary(file) : InstanceReader.read(file);
+		System.out.println(problem.getNumOfSubsets() + " subsets of the integers from 1 to " + problem.getNumToCover()
+				+ " read!\nFinding a minimum set cover...");
+		printResult(problem);
+	}
 
-		removeUnnecessarySubsets(input);
-		initializeNecessarySubsets(input);
+	/**
+	 *  Runs the program on an instance file whose decision tree is searched by worker processes on this machine
+	 *
+	 *  @param file    The path of the file
+	 *  @param orLibrary    <code>true</code> if the file is in the OR-Library SCP format, or <code>false</code> if it is
+	 *                      in the format of the test files
+	 *  @param workers    The number of worker processes
+	 *
+	 *  @throws IOException    If the file cannot be read or the workers cannot be started
+	 */
+	public static void runDistributed(Path file, boolean orLibrary, int workers) throws IOException {
+		System.out.println("Reading " + file + "...");
+		SetCoverProblem problem = orLibrary ? InstanceReader.readOrLibrary(file) : InstanceReader.read(file);
+		try(SearchCoordinator coordinator = new SearchCoordinator(0)) {
+			System.out.println("Starting " + workers + " workers on port " + coordinator.getPort() + "...");
+			coordinator.startLocalWorkers(workers);
+			System.out.println(problem.getNumOfSubsets() + " subsets of the integers from 1 to "
+					+ problem.getNumToCover() + " read!\nFinding a minimum set cover...");
+			printResult(problem, new SetCoverSolver(new SolverOptions().setCoordinator(coordinator)));
+			System.out.println("Jobs: " + coordinator.getNumberOfJobs());
+		}
+	}
 
-		//Initializing class variables
-		opt = input.size() + 1;
-		numOfTrues = 0;
-		intsCovered = new boolean[numToCover + 1];
-		Arrays.fill(intsCovered, false);
-		boolean[] solutionVector = new boolean[input.size()];
-		Arrays.fill(solutionVector, false);
+	/**
+	 *  Runs the program on an instance file, writing a checkpoint of the search every five seconds, and resumes from
+	 *  the checkpoint if it exists, for example after the process was killed
+	 *
+	 *  @param file    The path of the file
+	 *  @param orLibrary    <code>true</code> if the file is in the OR-Library SCP format, or <code>false</code> if it is
+	 *                      in the format of the test files
+	 *  @param checkpointFile    The path of the checkpoint
+	 *
+	 *  @throws IOException    If the file cannot be read
+	 */
+	public static void runCheckpointed(Path file, boolean orLibrary, Path checkpointFile) throws IOException {
+		System.out.println("Reading " + file + "...");
+		SetCoverProblem problem = orLibrary ? InstanceReader.readOrLibrary(file) : InstanceReader.read(file);
+		System.out.println(problem.getNumOfSubsets() + " subsets of the integers from 1 to " + problem.getNumToCover()
+				+ " read!\nFinding a minimum set cover...");
+		printResult(problem, new SetCoverSolver(new SolverOptions().setCheckpoint(checkpointFile, 5000)));
+	}
 
-		//Actual execution of the backtracking algorithm
-		backtrack(solutionVector, -1, input);
+	/**
+	 *  Runs a worker that searches the jobs of a coordinator until the coordinator disconnects
+	 *
+	 *  @param host    The host of the coordinator
+	 *  @param port    The port of the coordinator
+	 *
+	 *  @throws IOException    If the connection fails
+	 */
+	public static void runWorker(String host, int port) throws IOException {
+		new SearchWorker(new Socket(host, port)).run();
+	}
+
+	/**
+	 *  Runs the program on a batch of instance files, which are solved on a pool of threads, and prints one line of
+	 *  JSON per instance
+	 *
+	 *  @param input    The directory whose files are solved, or <code>null</code> to solve the files whose paths are
+	 *                  read from standard input, one per line
+	 *  @param orLibrary    <code>true</code> if the files are in the OR-Library SCP format, or <code>false</code> if they
+	 *                      are in the format of the test files
+	 *  @param threads    The number of threads that solve instances
+	 *
+	 *  @throws IOException    If the directory or standard input cannot be read
+	 *  @throws InterruptedException    If the thread is interrupted while waiting for the solves
+	 */
+	public static void runBatch(Path input, boolean orLibrary, int threads) throws IOException, InterruptedException {
+		Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+		try(BatchSolver batch = new BatchSolver(new SolverOptions(), threads)) {
+			if(input != null) {
+				batch.run(input, orLibrary, output);
+			} else {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+				Iterator<Path> files = reader.lines().map(String::trim).filter(line -> !line.isEmpty())
+						.map(line -> Paths.get(line)).iterator();
+				batch.run(files, orLibrary, output);
+			}
+		}
+	}
+
+	/**
+	 *  Solves an instance and prints the minimum set cover and information about the running time
+	 *
+	 *  @param problem    The instance
+	 */
+	private static void printResult(SetCoverProblem problem) {
+		printResult(problem, new SetCoverSolver());
+	}
+
+	/**
+	 *  Solves an instance with the given solver and prints the minimum set cover and information about the running
+	 *  time
+	 *
+	 *  @param problem    The instance
+	 *  @param solver    The solver
+	 */
+	private static void printResult(SetCoverProblem problem, SetCoverSolver solver) {
+		SetCoverResult result = solver.solve(problem);
 
 		//Printing the solution
-		System.out.println("\nMinimum Number of Subsets: " + opt);
+		if(problem.hasUnitWeights()) {
+			System.out.println("\nMinimum Number of Subsets: " + result.getSize());
+		} else {
+			System.out.println("\nMinimum Total Weight: " + result.getCost() + " (" + result.getSize() + " subsets)");
+		}
 		System.out.print("Minimum Set Cover: ");
-		for(int i = 0; i < input.size(); i++) {
-			if(finalSolution[i]) {
-				System.out.print("[");
-				for(int j = 0; j < input.get(i).size(); j++) {
-					System.out.print(input.get(i).get(j));
-					if(!(j == input.get(i).size() - 1)) {
-						System.out.print(", ");
-					}
+		for(int i : result.getCover()) {
+			int[] subset = problem.getSubset(i);
+			System.out.print("[");
+			for(int j = 0; j < subset.length; j++) {
+				System.out.print(subset[j]);
+				if(!(j == subset.length - 1)) {
+					System.out.print(", ");
 				}
-				System.out.print("] ");
 			}
+			System.out.print("] ");
 		}
 
 		//Printing information about running time
-		endTime = System.currentTimeMillis();
-		System.out.println("\n\nNumber of Seconds Elapsed: " + ((endTime - startTime) / 1000));
-		System.out.println("Number of Backtrack Calls: " + numberOfBacktrackCalls  + "\n");
+		System.out.println("\n\nNumber of Seconds Elapsed: " + (result.getElapsedMillis() / 1000));
+		System.out.println("Number of Backtrack Calls: " + result.getNumberOfBacktrackCalls()  + "\n");
 	}
 
+	/**
+	 *  The largest number of subsets of a generated instance that are printed
+	 */
+	private static final int MAX_SUBSETS_PRINTED = 100;
+
 	/**
 	 * 	Generates a random set of subsets that contains a viable set cover using a user-specified maximum integer and
-	 * 	a user-specified number of subsets
+	 * 	a user-specified number of subsets. The seed of the {@link InstanceGenerator} is printed, so the same instance
+	 * 	can be generated again with <code>--generate uniform</code>.
 	 *
 	 *  @return    A random set of subsets
 	 */
-	public static List<List<Integer>> generateInput() {
+	public static SetCoverProblem generateInput() {
 		try {
 			System.out.print("Choose the number of integers to be covered (must be greater than 0): ");
 			BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
@@ -290,29 +412,20 @@ public class SetCover {
 				maxSubsetSize = Math.min(numToCover, ((numToCover / numOfSubsets) + 1) * 2);
 			}
 
-		/*
-			The boolean value at index i represents whether or not integer i+1 is included in a subset. This array
-			is used to ensure that a set cover exists
-		*/
-			boolean[] intsCovered = new boolean[numToCover];
-
-			System.out.println("\nGenerating a random set of subsets...\n");
-			List<List<Integer>> input = generateRandomSubsets(numToCover, numOfSubsets, maxSubsetSize, intsCovered);
+			long seed = new Random().nextLong();
+			System.out.println("\nGenerating a random set of subsets with the seed " + seed + "...\n");
+			SetCoverProblem input = new InstanceGenerator(InstanceGenerator.Family.UNIFORM, numToCover, numOfSubsets)
+					.setSubsetSize(1, maxSubsetSize).setSeed(seed).generate();
 
-			//If the set of subsets does not form a set cover then add the unaccounted-for integers to random subsets
-			for(int i = 0; i < intsCovered.length; i++) {
-				if(!intsCovered[i]) {
-					int index = (int) (Math.random() * ((double) (numOfSubsets)));
-					input.get(index).add(i + 1);
-				}
-			}
-
-			for(int i = 0; i < input.size(); i++) {
-				for(int j = 0; j < input.get(i).size(); j++) {
-					System.out.print(input.get(i).get(j) + " ");
+			for(int i = 0; i < Math.min(input.getNumOfSubsets(), MAX_SUBSETS_PRINTED); i++) {
+				for(int element : input.getSubset(i)) {
+					System.out.print(element + " ");
 				}
 				System.out.println();
 			}
+			if(input.getNumOfSubsets() > MAX_SUBSETS_PRINTED) {
+				System.out.println("... (" + (input.getNumOfSubsets() - MAX_SUBSETS_PRINTED) + " more subsets)");
+			}
 
 			System.out.println("\nRandom set of subsets generated!" +
 					"\nFinding a minimum set cover...");
@@ -325,47 +438,19 @@ public class SetCover {
 	}
 
 	/**
-	 *  Generates a random set of subsets of integers between one and <code>numToCover</code>
+	 *  Generates an instance of the given family from a seed and writes it in the format of the test files
 	 *
-	 * @param numToCover    The number of integers to be covered (the maximum integer)
-	 * @param numOfSubsets    The number of subsets to be generated
-	 * @param maxSubsetSize    The maximum size of a subset (created to prevent getting very small and fast solutions)
-	 * @param intsCovered    The boolean value at index i represents whether or not integer i+1 is included in a subset
+	 *  @param generator    The generator of the instance
+	 *  @param output    The file to write the instance to, or <code>null</code> to write it to standard output
 	 *
-	 * @return    A random set of subsets
+	 *  @throws IOException    If the instance cannot be written
 	 */
-	public static List<List<Integer>> generateRandomSubsets(int numToCover, int numOfSubsets, int maxSubsetSize, boolean[] intsCovered) {
-		List<List<Integer>> input = new ArrayList<List<Integer>>();
-		for (int i = 0; i < numOfSubsets; i++) {
-			List<Integer> subset = new ArrayList<Integer>();
-			/*
-				The size of the subset must be less than or equal to the maximum integer because a set does not contain
-				any duplicates
-			 */
-			int size = (int) (Math.random() * ((double) (maxSubsetSize)));
-
-			/*
-				The boolean value at index i represents whether integer i+1 is included in the subset or not. This array
-				is used to ensure that there are no duplicates in any subsets
-			 */
-			boolean[] isInSubset = new boolean[numToCover];
-			for (int j = 0; j < size; j++) {
-				int value = (int) (Math.random() * ((double) (numToCover + 1)));
-				while ((value < 1) || (value > numToCover) || (isInSubset[value - 1])) {
-					value = (int) (Math.random() * ((double) (numToCover + 1)));
-				}
-				isInSubset[value - 1] = true;
-				subset.add(value);
-
-				if (!intsCovered[value - 1]) {
-					intsCovered[value - 1] = true;
-				}
-			}
-
-			input.add(subset);
+	public static void runGenerator(InstanceGenerator generator, Path output) throws IOException {
+		if(output != null) {
+			generator.write(output);
+		} else {
+			generator.write(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
 		}
-
-		return input;
 	}
 
 	/**
@@ -404,67 +489,181 @@ public class SetCover {
 	 *  @param input    The set of subsets
 	 */
 	public static void initializeNecessarySubsets(List<List<Integer>> input) {
-		trackFewestOccurrences(input);
+		int[] minOccurrences = trackFewestOccurrences(input);
 
 		//Preliminary Pruning: sorting the subsets according to the smallest occurrence of an integer in each subset
-		input.sort((l1, l2) -> l1.get(l1.size() - 1) - l2.get(l2.size() - 1));
+		Integer[] order = new Integer[input.size()];
+		for(int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (i1, i2) -> minOccurrences[i1] - minOccurrences[i2]);
 
+		List<List<Integer>> sorted = new ArrayList<List<Integer>>(input.size());
 		necessarySubsets = new boolean[input.size()];
-		Arrays.fill(necessarySubsets, false);
-		for(int i = 0; i < input.size(); i++) {
-			List<Integer> list = input.get(i);
-			if(list.get(list.size() - 1) == 0) {
-				necessarySubsets[i] = true;
-			}
-
-			/*
-				Removing the last integer of each subset because it was only a tracker of the smallest occurrence of an
-				integer in that subset and not an actual value in the subset
-			 */
-			list.remove(list.size() - 1);
+		for(int i = 0; i < order.length; i++) {
+			sorted.add(input.get(order[i]));
+			necessarySubsets[i] = minOccurrences[order[i]] == 0;
 		}
+		input.clear();
+		input.addAll(sorted);
 	}
 
 	/**
-	 *  Determining the fewest occurrence of an integer in each subset and keeping track of that value at the end of
-	 *  each subset
+	 *  Determining the fewest occurrence of an integer in each subset, that is the fewest number of other subsets that
+	 *  contain one of its integers. The subsets themselves are not modified.
 	 *
 	 *  @param input    The set of subsets
+	 *
+	 *  @return The fewest occurrence of an integer of the subset at each index
 	 */
-	public static void trackFewestOccurrences(List<List<Integer>> input) {
+	public static int[] trackFewestOccurrences(List<List<Integer>> input) {
+		int maxValue = 0;
+		for(List<Integer> list : input) {
+			for(int value : list) {
+				maxValue = Math.max(maxValue, value);
+			}
+		}
+
+		//Counting every subset once per integer, even if the integer appears in it more than once
+		int[] occurrences = new int[maxValue + 1];
+		int[] lastSubset = new int[maxValue + 1];
+		Arrays.fill(lastSubset, -1);
 		for(int i = 0; i < input.size(); i++) {
-			List<Integer> list1 = input.get(i);
-			int minCount = input.size();
+			for(int value : input.get(i)) {
+				if(lastSubset[value] != i) {
+					lastSubset[value] = i;
+					occurrences[value]++;
+				}
+			}
+		}
 
-			for(int j = 0; j < list1.size(); j++) {
-				int toFind = list1.get(j);
-				int count = 0;
+		int[] minOccurrences = new int[input.size()];
+		for(int i = 0; i < input.size(); i++) {
+			int minCount = input.size();
+			for(int value : input.get(i)) {
+				minCount = Math.min(minCount, occurrences[value] - 1);
+			}
+			minOccurrences[i] = minCount;
+		}
 
-				for(int k = 0; k < input.size(); k++) {
-					if(k != i) {
-						List<Integer> list2 = input.get(k);
+		return minOccurrences;
+	}
 
-						if(list2.contains(toFind)) {
-							count++;
-						}
+	/**
+	 *	Where the application is actually run. Without arguments a random instance is generated; otherwise the instance
+	 *	is read from the file given as the last argument, which is in the OR-Library SCP format if it is preceded by
+	 *	<code>--or-library</code>. With <code>--batch</code>, every file of the directory given as the last argument
+	 *	(or of the paths read from standard input if it is <code>-</code>) is solved on <code>--threads</code>
+	 *	threads. With <code>--generate</code>, an instance of the given {@link InstanceGenerator.Family} is generated
+	 *	from <code>--seed</code> and written to the file given as the last argument (or to standard output if it is
+	 *	<code>-</code>). With <code>--checkpoint</code>, the search of the instance writes a checkpoint to the given
+	 *	file and resumes from it.
+	 *
+	 *  @param args    Arguments
+	 *
+	 *  @throws IOException    If the file cannot be read or written
+	 *  @throws InterruptedException    If the thread is interrupted while waiting for a batch
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if(args.length == 0) {
+			runProgram();
+		} else if(args[0].equals("--batch")) {
+			boolean orLibrary = false;
+			int threads = Runtime.getRuntime().availableProcessors();
+			int i = 1;
+			while(i < args.length - 1) {
+				if(args[i].equals("--or-library")) {
+					orLibrary = true;
+					i++;
+				} else if(args[i].equals("--threads") && i + 2 < args.length) {
+					try {
+						threads = Integer.parseInt(args[i + 1]);
+					} catch(IllegalArgumentException e) {
+						System.out.println(e.getMessage());
+						printUsage();
+						return;
 					}
+					i += 2;
+				} else {
+					break;
 				}
-
-				if(count < minCount) {
-					minCount = count;
+			}
+			if(i == args.length - 1) {
+				runBatch(args[i].equals("-") ? null : Paths.get(args[i]), orLibrary, threads);
+			} else {
+				printUsage();
+			}
+		} else if(args[0].equals("--generate") && args.length >= 5) {
+			InstanceGenerator generator;
+			try {
+				generator = new InstanceGenerator(InstanceGenerator.Family.valueOf(args[1].toUpperCase().replace('-', '_')),
+						Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+				int i = 4;
+				while(i < args.length - 1) {
+					if(args[i].equals("--seed") && i + 2 < args.length) {
+						generator.setSeed(Long.parseLong(args[i + 1]));
+						i += 2;
+					} else if(args[i].equals("--subset-size") && i + 3 < args.length) {
+						generator.setSubsetSize(Integer.parseInt(args[i + 1]), Integer.parseInt(args[i + 2]));
+						i += 3;
+					} else if(args[i].equals("--zipf-exponent") && i + 2 < args.length) {
+						generator.setZipfExponent(Double.parseDouble(args[i + 1]));
+						i += 2;
+					} else {
+						break;
+					}
+				}
+				if(i != args.length - 1) {
+					printUsage();
+					return;
 				}
+			} catch(IllegalArgumentException e) {
+				System.out.println(e.getMessage());
+				printUsage();
+				return;
 			}
-
-			list1.add(minCount);
+			runGenerator(generator, args[args.length - 1].equals("-") ? null : Paths.get(args[args.length - 1]));
+		} else if(args[0].equals("--worker") && args.length == 3) {
+			int port;
+			try {
+				port = Integer.parseInt(args[2]);
+			} catch(IllegalArgumentException e) {
+				System.out.println(e.getMessage());
+				printUsage();
+				return;
+			}
+			runWorker(args[1], port);
+		} else if(args[0].equals("--workers") && (args.length == 3
+				|| (args.length == 4 && args[2].equals("--or-library")))) {
+			int workers;
+			try {
+				workers = Integer.parseInt(args[1]);
+			} catch(IllegalArgumentException e) {
+				System.out.println(e.getMessage());
+				printUsage();
+				return;
+			}
+			runDistributed(Paths.get(args[args.length - 1]), args.length == 4, workers);
+		} else if(args[0].equals("--checkpoint") && (args.length == 3
+				|| (args.length == 4 && args[2].equals("--or-library")))) {
+			runCheckpointed(Paths.get(args[args.length - 1]), args.length == 4, Paths.get(args[1]));
+		} else if(args.length == 1 || (args.length == 2 && args[0].equals("--or-library"))) {
+			runProgram(Paths.get(args[args.length - 1]), args.length == 2);
+		} else {
+			printUsage();
 		}
 	}
 
 	/**
-	 *	Where the application is actually run
-	 *
-	 *  @param args    Arguments
+	 *  Prints the arguments that the program accepts
 	 */
-	public static void main(String[] args) {
-		runProgram();
+	private static void printUsage() {
+		System.out.println("Usage: SetCover [[--or-library] file]");
+		System.out.println("       SetCover --batch [--or-library] [--threads n] directory|-");
+		System.out.println("       SetCover --workers n [--or-library] file");
+		System.out.println("       SetCover --checkpoint checkpointFile [--or-library] file");
+		System.out.println("       SetCover --worker host port");
+		System.out.println("       SetCover --generate uniform|zipf|planted|fixed-size numToCover numOfSubsets [--seed s]"
+				+ " [--subset-size min max] [--zipf-exponent e] file|-");
 	}
 }
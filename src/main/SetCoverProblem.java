@@ -0,0 +1,352 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ *	<p>An immutable instance of the minimum set cover problem: the integers from 1 to <code>numToCover</code> and a set
+ *	of subsets of those integers, each with a positive weight (its cost). A minimum set cover is a set cover with the
+ *	smallest total weight; when every weight is 1, which is the default, that is the set cover with the fewest
+ *	subsets. The elements of every subset are stored sorted and without duplicates, and subsets
+ *	are identified by their index in the order they were given. The elements of all subsets are kept in a single array
+ *	in compressed sparse row (CSR) form, so an instance with millions of subsets is a few primitive arrays rather than
+ *	an array per subset.</p>
+ *
+ *	<p>Because an instance can never change after it is created, it can be shared freely between threads and solved by
+ *	any number of {@link SetCoverSolver}s at the same time.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class SetCoverProblem {
+
+	/**
+	 *  The number of elements to cover (the maximum integer to cover)
+	 */
+	private final int numToCover;
+
+	/**
+	 *  The position in <code>elements</code> of the first integer of each subset, followed by the length of
+	 *  <code>elements</code>
+	 */
+	private final int[] subsetStarts;
+	/**
+	 *  The sorted integers of each subset, one subset after the other
+	 */
+	private final int[] elements;
+
+	/**
+	 *  The weight of each subset
+	 */
+	private final long[] weights;
+	/**
+	 *  Whether every subset has the weight 1
+	 */
+	private final boolean unitWeights;
+
+	/**
+	 *  Creates an instance from the given subsets, which are copied
+	 *
+	 *  @param numToCover    The number of integers to cover (the maximum integer to cover)
+	 *  @param subsets    The integers of each subset (every integer must be between 1 and <code>numToCover</code>)
+	 */
+	public SetCoverProblem(int numToCover, int[][] subsets) {
+		this(numToCover, startsOf(subsets), concatenate(subsets), null);
+	}
+
+	/**
+	 *  Creates an instance of the weighted problem from the given subsets and weights, which are copied
+	 *
+	 *  @param numToCover    The number of integers to cover (the maximum integer to cover)
+	 *  @param subsets    The integers of each subset (every integer must be between 1 and <code>numToCover</code>)
+	 *  @param weights    The weight of each subset (every weight must be positive)
+	 */
+	public SetCoverProblem(int numToCover, int[][] subsets, long[] weights) {
+		this(numToCover, startsOf(subsets), concatenate(subsets), weights.clone());
+	}
+
+	/**
+	 *  Creates an instance from subsets that are already in compressed sparse row form. The arrays are not copied but
+	 *  normalized in place, so they must not be used by the caller afterwards.
+	 *
+	 *  @param numToCover    The number of integers to cover (the maximum integer to cover)
+	 *  @param subsetStarts    The position in <code>elements</code> of the first integer of each subset, followed by the
+	 *                         number of integers of all subsets
+	 *  @param elements    The integers of each subset, one subset after the other (every integer must be between 1 and
+	 *                     <code>numToCover</code>)
+	 *  @param weights    The weight of each subset (every weight must be positive), or <code>null</code> if every
+	 *                    subset has the weight 1
+	 */
+	SetCoverProblem(int numToCover, int[] subsetStarts, int[] elements, long[] weights) {
+		if(numToCover < 0) {
+			throw new IllegalArgumentException("The number of integers to cover must not be negative: " + numToCover);
+		}
+
+		this.numToCover = numToCover;
+		this.subsetStarts = subsetStarts;
+		int length = normalize(subsetStarts, elements);
+		this.elements = length == elements.length ? elements : Arrays.copyOf(elements, length);
+
+		int numOfSubsets = subsetStarts.length - 1;
+		if(weights == null) {
+			weights = new long[numOfSubsets];
+			Arrays.fill(weights, 1);
+		} else if(weights.length != numOfSubsets) {
+			throw new IllegalArgumentException("Expected " + numOfSubsets + " weights but got " + weights.length);
+		}
+		boolean unit = true;
+		for(int i = 0; i < numOfSubsets; i++) {
+			if(weights[i] < 1) {
+				throw new IllegalArgumentException("Subset " + i + " has the weight " + weights[i]
+						+ " which is not positive");
+			}
+			unit &= weights[i] == 1;
+		}
+		this.weights = weights;
+		this.unitWeights = unit;
+	}
+
+	/**
+	 *  Creates an instance from subsets in the representation used by <code>SetCover</code>
+	 *
+	 *  @param numToCover    The number of integers to cover (the maximum integer to cover)
+	 *  @param input    The set of subsets
+	 *
+	 *  @return The instance
+	 */
+	public static SetCoverProblem fromLists(int numToCover, List<List<Integer>> input) {
+		int[][] subsets = new int[input.size()][];
+		for(int i = 0; i < input.size(); i++) {
+			List<Integer> list = input.get(i);
+			subsets[i] = new int[list.size()];
+			for(int j = 0; j < list.size(); j++) {
+				subsets[i][j] = list.get(j);
+			}
+		}
+
+		return new SetCoverProblem(numToCover, subsets);
+	}
+
+	/**
+	 *  Sorts the integers of every subset, removes duplicates by moving the remaining integers towards the front, and
+	 *  checks that they are between 1 and <code>numToCover</code>
+	 *
+	 *  @param subsetStarts    The position of the first integer of each subset, which is updated
+	 *  @param elements    The integers of each subset, which are sorted and moved in place
+	 *
+	 *  @return The number of integers of all subsets without duplicates
+	 */
+	private int normalize(int[] subsetStarts, int[] elements) {
+		int size = 0;
+		int start = subsetStarts[0];
+		for(int index = 0; index < subsetStarts.length - 1; index++) {
+			int end = subsetStarts[index + 1];
+			if(!isSorted(elements, start, end)) {
+				Arrays.sort(elements, start, end);
+			}
+
+			subsetStarts[index] = size;
+			for(int i = start; i < end; i++) {
+				if(elements[i] < 1 || elements[i] > numToCover) {
+					throw new IllegalArgumentException("Subset " + index + " contains the integer " + elements[i]
+							+ " which is not between 1 and " + numToCover);
+				}
+				if(size == subsetStarts[index] || elements[size - 1] != elements[i]) {
+					elements[size] = elements[i];
+					size++;
+				}
+			}
+			start = end;
+		}
+		subsetStarts[subsetStarts.length - 1] = size;
+
+		return size;
+	}
+
+	/**
+	 *  @param elements    The integers
+	 *  @param start    The position of the first integer to check
+	 *  @param end    The position after the last integer to check
+	 *
+	 *  @return <code>true</code> if the integers between the positions are in ascending order, otherwise
+	 *          <code>false</code>
+	 */
+	private static boolean isSorted(int[] elements, int start, int end) {
+		for(int i = start + 1; i < end; i++) {
+			if(elements[i - 1] > elements[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 *  @param subsets    The integers of each subset
+	 *
+	 *  @return The position of the first integer of each subset when they are concatenated, followed by the number of
+	 *          integers of all subsets
+	 */
+	private static int[] startsOf(int[][] subsets) {
+		int[] starts = new int[subsets.length + 1];
+		for(int i = 0; i < subsets.length; i++) {
+			starts[i + 1] = starts[i] + subsets[i].length;
+		}
+
+		return starts;
+	}
+
+	/**
+	 *  @param subsets    The integers of each subset
+	 *
+	 *  @return The integers of each subset, one subset after the other
+	 */
+	private static int[] concatenate(int[][] subsets) {
+		int length = 0;
+		for(int[] subset : subsets) {
+			length += subset.length;
+		}
+
+		int[] elements = new int[length];
+		int position = 0;
+		for(int[] subset : subsets) {
+			System.arraycopy(subset, 0, elements, position, subset.length);
+			position += subset.length;
+		}
+
+		return elements;
+	}
+
+	/**
+	 *  @return The number of integers to cover (the maximum integer to cover)
+	 */
+	public int getNumToCover() {
+		return numToCover;
+	}
+
+	/**
+	 *  @return The number of subsets
+	 */
+	public int getNumOfSubsets() {
+		return subsetStarts.length - 1;
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The number of integers in the subset at index <code>i</code>
+	 */
+	public int getSubsetSize(int i) {
+		return subsetStarts[i + 1] - subsetStarts[i];
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return A copy of the sorted integers of the subset at index <code>i</code>
+	 */
+	public int[] getSubset(int i) {
+		return Arrays.copyOfRange(elements, subsetStarts[i], subsetStarts[i + 1]);
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The weight of the subset at index <code>i</code>
+	 */
+	public long getWeight(int i) {
+		return weights[i];
+	}
+
+	/**
+	 *  @return <code>true</code> if every subset has the weight 1, so that a minimum set cover is one with the fewest
+	 *          subsets, otherwise <code>false</code>
+	 */
+	public boolean hasUnitWeights() {
+		return unitWeights;
+	}
+
+	/**
+	 *  @param cover    The indices of the subsets
+	 *
+	 *  @return The total weight of the subsets at the given indices
+	 */
+	public long getCost(int[] cover) {
+		long cost = 0;
+		for(int i : cover) {
+			cost += weights[i];
+		}
+
+		return cost;
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The position of the first integer of the subset
+	 */
+	public int getSubsetStart(int i) {
+		return subsetStarts[i];
+	}
+
+	/**
+	 *  @param i    The index of the subset
+	 *
+	 *  @return The position after the last integer of the subset
+	 */
+	public int getSubsetEnd(int i) {
+		return subsetStarts[i + 1];
+	}
+
+	/**
+	 *  @param position    A position between <code>getSubsetStart(i)</code> and <code>getSubsetEnd(i)</code> of some
+	 *                     subset <code>i</code>
+	 *
+	 *  @return The integer at that position
+	 */
+	public int getElement(int position) {
+		return elements[position];
+	}
+
+	/**
+	 *  Determines whether the subsets at the given indices contain every integer between 1 and
+	 *  <code>numToCover</code>
+	 *
+	 *  @param cover    The indices of the subsets
+	 *
+	 *  @return <code>true</code> if the subsets form a set cover, otherwise <code>false</code>
+	 */
+	public boolean isCover(int[] cover) {
+		boolean[] intsCovered = new boolean[numToCover + 1];
+		int numOfIntsCovered = 0;
+		for(int i : cover) {
+			for(int p = subsetStarts[i]; p < subsetStarts[i + 1]; p++) {
+				int value = elements[p];
+				if(!intsCovered[value]) {
+					intsCovered[value] = true;
+					numOfIntsCovered++;
+				}
+			}
+		}
+
+		return numOfIntsCovered == numToCover;
+	}
+
+	/**
+	 *  Converts the instance to the representation used by <code>SetCover</code>
+	 *
+	 *  @return A new, modifiable set of subsets
+	 */
+	public List<List<Integer>> toLists() {
+		List<List<Integer>> input = new ArrayList<List<Integer>>();
+		for(int i = 0; i < getNumOfSubsets(); i++) {
+			List<Integer> list = new ArrayList<Integer>();
+			for(int p = subsetStarts[i]; p < subsetStarts[i + 1]; p++) {
+				list.add(elements[p]);
+			}
+			input.add(list);
+		}
+
+		return input;
+	}
+}
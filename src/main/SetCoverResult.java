@@ -0,0 +1,185 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ *	<p>The outcome of solving a {@link SetCoverProblem}: the subsets of a set cover (a minimum set cover unless the
+ *	solver only ran a heuristic or was stopped early, see {@link #isOptimal()}) together with information about how the
+ *	solution was found. A result that is not optimal carries a lower bound on the total weight of any set cover, so
+ *	{@link #getGap()} tells how far from a minimum set cover it can be at most. Instances are immutable.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class SetCoverResult {
+
+	/**
+	 *  The sorted indices (in the solved problem) of the subsets in the set cover
+	 */
+	private final int[] cover;
+
+	/**
+	 *  The total weight of the subsets in the set cover
+	 */
+	private final long cost;
+
+	/**
+	 *  A total weight that no set cover can be lighter than
+	 */
+	private final long lowerBound;
+
+	/**
+	 *  Whether the search proved that no set cover has a smaller total weight
+	 */
+	private final boolean optimal;
+
+	/**
+	 *  The number of times that the search visited a node of the decision tree
+	 */
+	private final long numberOfBacktrackCalls;
+
+	/**
+	 *  The number of branches of the decision tree disregarded by each lower bound, keyed by the name of the bound
+	 */
+	private final Map<String, Long> prunesByBound;
+
+	/**
+	 *  The number of nanoseconds that solving the problem took
+	 */
+	private final long elapsedNanos;
+
+	/**
+	 *  Creates the result of a search that proved the cover to be minimum
+	 *
+	 *  @param cover    The indices of the subsets in the minimum set cover
+	 *  @param numberOfBacktrackCalls    The number of times that the search visited a node of the decision tree
+	 *  @param elapsedNanos    The number of nanoseconds that solving the problem took
+	 */
+	public SetCoverResult(int[] cover, long numberOfBacktrackCalls, long elapsedNanos) {
+		this(cover, cover.length, true, numberOfBacktrackCalls, Collections.emptyMap(), elapsedNanos);
+	}
+
+	/**
+	 *  Creates a result
+	 *
+	 *  @param cover    The indices of the subsets in the set cover
+	 *  @param cost    The total weight of the subsets in the set cover
+	 *  @param optimal    Whether the search proved that no set cover has a smaller total weight
+	 *  @param numberOfBacktrackCalls    The number of times that the search visited a node of the decision tree
+	 *  @param prunesByBound    The number of branches disregarded by each lower bound, keyed by the name of the bound
+	 *  @param elapsedNanos    The number of nanoseconds that solving the problem took
+	 */
+	public SetCoverResult(int[] cover, long cost, boolean optimal, long numberOfBacktrackCalls,
+			Map<String, Long> prunesByBound, long elapsedNanos) {
+		this(cover, cost, optimal ? cost : 0, optimal, numberOfBacktrackCalls, prunesByBound, elapsedNanos);
+	}
+
+	/**
+	 *  Creates a result with a lower bound on the total weight of any set cover
+	 *
+	 *  @param cover    The indices of the subsets in the set cover
+	 *  @param cost    The total weight of the subsets in the set cover
+	 *  @param lowerBound    A total weight that no set cover can be lighter than (at most <code>cost</code>)
+	 *  @param optimal    Whether the search proved that no set cover has a smaller total weight
+	 *  @param numberOfBacktrackCalls    The number of times that the search visited a node of the decision tree
+	 *  @param prunesByBound    The number of branches disregarded by each lower bound, keyed by the name of the bound
+	 *  @param elapsedNanos    The number of nanoseconds that solving the problem took
+	 */
+	public SetCoverResult(int[] cover, long cost, long lowerBound, boolean optimal, long numberOfBacktrackCalls,
+			Map<String, Long> prunesByBound, long elapsedNanos) {
+		if(lowerBound > cost) {
+			throw new IllegalArgumentException("The lower bound " + lowerBound + " is larger than the cost " + cost);
+		}
+
+		this.cover = Arrays.copyOf(cover, cover.length);
+		Arrays.sort(this.cover);
+		this.cost = cost;
+		this.lowerBound = lowerBound;
+		this.optimal = optimal;
+		this.numberOfBacktrackCalls = numberOfBacktrackCalls;
+		this.prunesByBound = Collections.unmodifiableMap(new LinkedHashMap<String, Long>(prunesByBound));
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 *  @return A copy of the sorted indices of the subsets in the set cover
+	 */
+	public int[] getCover() {
+		return Arrays.copyOf(cover, cover.length);
+	}
+
+	/**
+	 *  @return The number of subsets in the set cover
+	 */
+	public int getSize() {
+		return cover.length;
+	}
+
+	/**
+	 *  @return The total weight of the subsets in the set cover (the number of subsets if every weight is 1)
+	 */
+	public long getCost() {
+		return cost;
+	}
+
+	/**
+	 *  @return A total weight that no set cover can be lighter than, which is the cost of the cover if it is optimal
+	 */
+	public long getLowerBound() {
+		return lowerBound;
+	}
+
+	/**
+	 *  @return The relative optimality gap <code>(cost - lowerBound) / cost</code>, which is <code>0</code> for an
+	 *          optimal cover and at most <code>1</code>
+	 */
+	public double getGap() {
+		return cost == 0 ? 0 : (double) (cost - lowerBound) / cost;
+	}
+
+	/**
+	 *  @return <code>true</code> if the search proved that no set cover has a smaller total weight, or
+	 *          <code>false</code> if the cover was only found by a heuristic or the search was stopped early
+	 */
+	public boolean isOptimal() {
+		return optimal;
+	}
+
+	/**
+	 *  @return The number of times that the search visited a node of the decision tree
+	 */
+	public long getNumberOfBacktrackCalls() {
+		return numberOfBacktrackCalls;
+	}
+
+	/**
+	 *  @return The number of branches of the decision tree disregarded by each lower bound, keyed by the name of the
+	 *          bound, in the order in which the bounds were checked
+	 */
+	public Map<String, Long> getPrunesByBound() {
+		return prunesByBound;
+	}
+
+	/**
+	 *  @return The number of nanoseconds that solving the problem took
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 *  @return The number of milliseconds that solving the problem took
+	 */
+	public long getElapsedMillis() {
+		return elapsedNanos / 1_000_000;
+	}
+
+	@Override
+	public String toString() {
+		return "SetCoverResult[size=" + cover.length + ", cost=" + cost + ", lowerBound=" + lowerBound + ", optimal="
+				+ optimal + ", cover=" + Arrays.toString(cover) + ", backtrackCalls=" + numberOfBacktrackCalls
+				+ ", prunesByBound=" + prunesByBound + ", elapsedMillis=" + getElapsedMillis() + "]";
+	}
+}
@@ -0,0 +1,1217 @@
+package main;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+
+/**
+ *	<p>Solves instances of the minimum set cover problem with the same preliminary pruning and depth first search as
+ *	<code>SetCover</code>, but without any static state: every call to {@link #solve(SetCoverProblem)} keeps its state
+ *	in objects that are local to that call. A single solver can therefore be shared by any number of threads, each
+ *	solving a different {@link SetCoverProblem} at the same time.</p>
+ *
+ *	<p>Before searching, the instance is reduced by a {@link Preprocessor} (which fixes the essential subsets and
+ *	removes the dominated subsets and elements) and, unless the options turn it off, the remaining instance is split
+ *	into its connected components, which are solved independently (at the same time if the options ask for more than
+ *	one thread) and whose covers are merged. The subsets of every component are sorted in the {@link SubsetOrder} of
+ *	the options, by default according to the smallest occurrence of an element in each subset. The search itself is a
+ *	{@link BitsetSearch} that disregards branches using the lower bounds of its {@link SolverOptions}, a
+ *	{@link ParallelSearch} on a pool of the solve if the options ask for more than one thread, or an
+ *	{@link ElementBranchingSearch} if the options ask for the {@link SearchStrategy#ELEMENT_BRANCHING} strategy. Unless
+ *	the options turn it off, the cover found by a {@link GreedyHeuristic} is the initial optimal solution of the
+ *	search, and in heuristic-only mode that cover is the result. A set cover and a lower bound that are already known,
+ *	for example to an {@link IncrementalSolver} from before its subsets changed, can be given to the solve as well.
+ *	With a cache size in the options, the search keeps the bounds it proves for subproblems in a
+ *	{@link TranspositionTable}. With a portfolio of variants in the options, the variants race each other on every
+ *	component on threads of their own, sharing its current optimal solution, until one of them has searched its
+ *	whole decision tree. With a {@link SearchCoordinator} in the options, the worker processes of the coordinator
+ *	search every component instead (see {@link DistributedSearch}).</p>
+ *
+ *	<p>With a checkpoint file in the options, the components are searched one after the other and the solve writes a
+ *	{@link Checkpoint} of them at regular intervals, which a later solve of the same instance resumes from: the
+ *	components that were searched completely keep their minimum set covers, and the component that was being searched
+ *	only searches the frontier of its search.</p>
+ *
+ *	<p>Solving can be limited by a time limit or a node limit in the options and stopped early through a
+ *	{@link CancellationToken}; the result is then the best set cover found so far and its optimality gap. A
+ *	{@link ProgressListener} in the options is told about every better set cover as soon as it is found, and
+ *	{@link SearchStatistics} in the options record the preprocessing, the nodes and prunes of the search and the
+ *	timeline of the improvements of every solve.</p>
+ *
+ *	<p>If the subsets of the instance have weights, the search minimizes the total weight of the cover instead of its
+ *	size, and so do the preprocessing, the heuristic and the lower bounds.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class SetCoverSolver {
+
+	/**
+	 *  The configuration of this solver
+	 */
+	private final SolverOptions options;
+
+	/**
+	 *  Creates a solver with the default options
+	 */
+	public SetCoverSolver() {
+		this(new SolverOptions());
+	}
+
+	/**
+	 *  Creates a solver with the given options, which are copied
+	 *
+	 *  @param options    The configuration of the solver
+	 */
+	public SetCoverSolver(SolverOptions options) {
+		if(options.getParallelism() > 1 && options.getSearchStrategy() != SearchStrategy.SUBSET_ORDER) {
+			throw new IllegalArgumentException("Only the " + SearchStrategy.SUBSET_ORDER
+					+ " strategy can search with more than one thread");
+		}
+		if(options.getCacheBytes() > 0 && options.getSearchStrategy() != SearchStrategy.SUBSET_ORDER) {
+			throw new IllegalArgumentException("Only the " + SearchStrategy.SUBSET_ORDER
+					+ " strategy can cache the bounds of subproblems");
+		}
+		if(options.getCheckpointFile() != null && (options.getSearchStrategy() != SearchStrategy.SUBSET_ORDER
+				|| options.getParallelism() > 1 || !options.getPortfolio().isEmpty()
+				|| options.getCoordinator() != null)) {
+			throw new IllegalArgumentException("Only the search of the " + SearchStrategy.SUBSET_ORDER
+					+ " strategy on the calling thread can be checkpointed");
+		}
+
+		this.options = new SolverOptions(options);
+	}
+
+	/**
+	 *  Finds a set cover of the given instance with the smallest total weight
+	 *
+	 *  @param problem    The instance to solve
+	 *
+	 *  @return The subsets of a minimum set cover (as indices into <code>problem</code>), its total weight and
+	 *          information about the search, or in heuristic-only mode the subsets of the cover found by the heuristic
+	 *
+	 *  @throws IllegalArgumentException    If some integer between 1 and <code>numToCover</code> is not contained in any
+	 *                                      subset, so that no set cover exists
+	 */
+	public SetCoverResult solve(SetCoverProblem problem) {
+		return solve(problem, new CancellationToken());
+	}
+
+	/**
+	 *  Finds a set cover of the given instance with the smallest total weight, unless the time limit or the node limit
+	 *  of the options is reached or the given token is cancelled first. The search is then stopped and the best set
+	 *  cover found so far is returned together with a lower bound, which is the largest estimate of the lower bounds
+	 *  at the root of the decision tree.
+	 *
+	 *  @param problem    The instance to solve
+	 *  @param cancellation    The token through which another thread can stop the search
+	 *
+	 *  @return The subsets of the best set cover found (as indices into <code>problem</code>), its total weight, the
+	 *          lower bound that its optimality gap is measured against and information about the search
+	 *
+	 *  @throws IllegalArgumentException    If some integer between 1 and <code>numToCover</code> is not contained in any
+	 *                                      subset, so that no set cover exists
+	 */
+	public SetCoverResult solve(SetCoverProblem problem, CancellationToken cancellation) {
+		return solve(problem, null, 0, cancellation);
+	}
+
+	/**
+	 *  Solves an instance as described by {@link #solve(SetCoverProblem, CancellationToken)}, starting from what is
+	 *  already known about it, for example from solving it before a few of its subsets changed. The given set cover
+	 *  is the initial optimal solution of the search (each component searches for a lighter cover of its elements than
+	 *  the subsets of the given cover in it), and if its total weight is not more than the given lower bound, it is
+	 *  returned as a minimum set cover without any search.
+	 *
+	 *  @param problem    The instance to solve
+	 *  @param initialCover    The indices of the subsets of a set cover of the instance, or <code>null</code> if none
+	 *                         is known
+	 *  @param lowerBound    A total weight that no set cover of the instance is known to be lighter than
+	 *                       (<code>0</code> if none is known)
+	 *  @param cancellation    The token through which another thread can stop the search
+	 *
+	 *  @return The subsets of the best set cover found (as indices into <code>problem</code>), its total weight, the
+	 *          lower bound that its optimality gap is measured against and information about the search
+	 *
+	 *  @throws IllegalArgumentException    If the initial cover is not a set cover of the instance, or no set cover
+	 *                                      exists
+	 */
+	public SetCoverResult solve(SetCoverProblem problem, int[] initialCover, long lowerBound,
+			CancellationToken cancellation) {
+		if(initialCover != null && !problem.isCover(initialCover)) {
+			throw new IllegalArgumentException("The initial cover " + Arrays.toString(initialCover)
+					+ " is not a set cover");
+		}
+
+		SearchStatistics statistics = options.getStatistics();
+		if(statistics == null) {
+			return solve(problem, initialCover, lowerBound, cancellation, null, 0);
+		}
+
+		long solveNumber = statistics.startSolve();
+		try {
+			return solve(problem, initialCover, lowerBound, cancellation, statistics, solveNumber);
+		} finally {
+			statistics.endSolve();
+		}
+	}
+
+	/**
+	 *  Solves an instance as described by {@link #solve(SetCoverProblem, int[], long, CancellationToken)}
+	 *
+	 *  @param problem    The instance to solve
+	 *  @param initialCover    The indices of the subsets of a set cover of the instance, or <code>null</code>
+	 *  @param knownBound    A total weight that no set cover of the instance is known to be lighter than
+	 *  @param cancellation    The token through which another thread can stop the search
+	 *  @param statistics    The statistics that the solve is recorded in, or <code>null</code>
+	 *  @param solveNumber    The number of the solve in the statistics
+	 *
+	 *  @return The best set cover found and information about the search
+	 */
+	private SetCoverResult solve(SetCoverProblem problem, int[] initialCover, long knownBound,
+			CancellationToken cancellation, SearchStatistics statistics, long solveNumber) {
+		long startTime = System.nanoTime();
+		if(initialCover != null && problem.getCost(initialCover) <= knownBound) {
+			long cost = problem.getCost(initialCover);
+			if(statistics != null) {
+				statistics.addImprovement(solveNumber, System.nanoTime() - startTime, cost);
+			}
+			return new SetCoverResult(initialCover, cost, cost, true, 0, Collections.emptyMap(),
+					System.nanoTime() - startTime);
+		}
+
+		SearchBudget budget = new SearchBudget(options.getTimeLimitMillis() * 1_000_000, options.getNodeLimit(),
+				cancellation);
+
+		//Preliminary Pruning: fixing the essential subsets and removing the dominated subsets and elements
+		Reduction reduction = Preprocessor.reduce(problem);
+		if(statistics != null) {
+			statistics.addReduction(reduction);
+		}
+		long fixedCost = problem.getCost(reduction.getFixedSubsets());
+
+		//No subset joins two connected components of the remaining instance, so each of them is solved on its own and
+		//the set cover consists of the fixed subsets and the covers of all components
+		List<CompactProblem> parts = options.isDecomposition() ? reduction.getProblem().splitComponents()
+				: List.of(reduction.getProblem());
+		if(statistics != null) {
+			statistics.addComponents(parts.size());
+		}
+		Component[] components = new Component[parts.size()];
+		long componentBounds = 0;
+		for(int i = 0; i < components.length; i++) {
+			components[i] = new Component(parts.get(i).permute(parts.get(i).orderOf(options.getSubsetOrder(),
+					options.getSeed())));
+			componentBounds += components[i].lowerBound;
+		}
+		long lowerBound = Math.max(fixedCost + componentBounds, knownBound);
+
+		//A set cover of the instance is known once every component has one, and it improves with every component
+		ProgressListener listener = options.getProgressListener();
+		boolean[][] bestSolutions = new boolean[components.length][];
+		long[] bestValues = new long[components.length];
+		for(int i = 0; i < components.length; i++) {
+			int index = i;
+			Incumbent.Listener improvements = null;
+			if(listener != null || statistics != null) {
+				improvements = (value, solution) -> {
+					synchronized(bestSolutions) {
+						bestSolutions[index] = solution;
+						bestValues[index] = value;
+						long cost = fixedCost;
+						for(int j = 0; j < components.length; j++) {
+							if(bestSolutions[j] == null) {
+								return;
+							}
+							cost += bestValues[j];
+						}
+
+						long elapsedNanos = System.nanoTime() - startTime;
+						if(statistics != null) {
+							statistics.addImprovement(solveNumber, elapsedNanos, cost);
+						}
+						if(listener != null) {
+							int[] cover = toCover(reduction, components, bestSolutions);
+							listener.improved(new SetCoverResult(cover, cost, Math.min(lowerBound, cost), false,
+									budget.getNumberOfNodes(), Collections.emptyMap(), elapsedNanos));
+						}
+					}
+				};
+			}
+			components[i].incumbent = new Incumbent(components[i].totalWeight + 1, improvements);
+		}
+
+		//The components that a checkpoint of an earlier solve has searched completely or partly are not searched again
+		Path checkpointFile = options.getCheckpointFile();
+		String digest = checkpointFile == null ? null : InstanceFingerprint.of(problem).getDigest();
+		if(checkpointFile != null && !options.isHeuristicOnly()) {
+			resume(checkpointFile, digest, components);
+		}
+
+		if(initialCover != null) {
+			boolean[] inCover = new boolean[problem.getNumOfSubsets()];
+			for(int i : initialCover) {
+				inCover[i] = true;
+			}
+			for(Component component : components) {
+				component.offer(inCover);
+			}
+		}
+
+		if(options.isWarmStart() || options.isHeuristicOnly()) {
+			long timeBudgetNanos = options.isHeuristicOnly()
+					? Math.min(options.getHeuristicTimeMillis() * 1_000_000, budget.getRemainingNanos()) : 0;
+			for(Component component : components) {
+				//Every component gets the share of the time of the heuristic that its elements make up
+				component.warmStart(reduction.getNumOfElements() == 0 ? 0 : (long) ((double) timeBudgetNanos
+						* component.numOfElements / reduction.getNumOfElements()));
+			}
+		}
+
+		//Reduced-cost fixing: the relaxation of each component either proves its initial optimal solution minimum or
+		//leaves out and fixes subsets before the search
+		if(options.isReducedCostFixing() && !options.isHeuristicOnly()) {
+			for(Component component : components) {
+				component.fixSubsets();
+			}
+		}
+
+		//Actual execution of the backtracking algorithm, unless the budget was used up before it could start
+		if(!options.isHeuristicOnly() && !budget.charge(0)) {
+			if(checkpointFile != null) {
+				Runnable save = () -> writeCheckpoint(checkpointFile, digest, components);
+				for(Component component : components) {
+					component.search(budget, statistics, save);
+				}
+			} else {
+				search(components, budget, statistics);
+			}
+		}
+
+		//A component that was searched to the end has a minimum set cover, and otherwise its lower bound still holds
+		boolean[][] solutions = new boolean[components.length][];
+		long provenBound = fixedCost;
+		long numberOfBacktrackCalls = 0;
+		Map<String, Long> prunesByBound = new LinkedHashMap<String, Long>();
+		for(int i = 0; i < components.length; i++) {
+			solutions[i] = components[i].getSolution();
+			long value = components[i].incumbent.getValue();
+			provenBound += components[i].exact ? value : Math.min(components[i].lowerBound, value);
+			synchronized(components[i]) {
+				numberOfBacktrackCalls += components[i].numberOfBacktrackCalls;
+				components[i].prunesByBound.forEach((name, prunes) -> prunesByBound.merge(name, prunes, Long::sum));
+			}
+		}
+
+		provenBound = Math.max(provenBound, knownBound);
+
+		int[] cover = toCover(reduction, components, solutions);
+		long cost = problem.getCost(cover);
+		boolean optimal = !options.isHeuristicOnly() && cost <= provenBound;
+
+		return new SetCoverResult(cover, cost, optimal ? cost : Math.min(provenBound, cost), optimal,
+				numberOfBacktrackCalls, prunesByBound, System.nanoTime() - startTime);
+	}
+
+	/**
+	 *  Restores the components of a solve from its checkpoint, if the checkpoint file exists
+	 *
+	 *  @param file    The checkpoint file
+	 *  @param digest    The digest of the instance
+	 *  @param components    The components of the remaining instance
+	 *
+	 *  @throws IllegalArgumentException    If the checkpoint was written for another instance or other options
+	 *  @throws UncheckedIOException    If the checkpoint file cannot be read
+	 */
+	private static void resume(Path file, String digest, Component[] components) {
+		Checkpoint checkpoint;
+		try {
+			checkpoint = Checkpoint.read(file);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if(checkpoint == null) {
+			return;
+		}
+
+		if(!checkpoint.digest.equals(digest) || checkpoint.parts.length != components.length) {
+			throw new IllegalArgumentException("The checkpoint " + file + " was written for another instance");
+		}
+		for(int i = 0; i < components.length; i++) {
+			if(checkpoint.parts[i].hash != components[i].hash()) {
+				throw new IllegalArgumentException("The checkpoint " + file
+						+ " was written with another order of the subsets");
+			}
+		}
+		for(int i = 0; i < components.length; i++) {
+			components[i].restore(checkpoint.parts[i]);
+		}
+	}
+
+	/**
+	 *  Writes a checkpoint of the components of a solve
+	 *
+	 *  @param file    The checkpoint file
+	 *  @param digest    The digest of the instance
+	 *  @param components    The components of the remaining instance
+	 *
+	 *  @throws UncheckedIOException    If the checkpoint file cannot be written
+	 */
+	private static void writeCheckpoint(Path file, String digest, Component[] components) {
+		Checkpoint.Part[] parts = new Checkpoint.Part[components.length];
+		for(int i = 0; i < components.length; i++) {
+			parts[i] = components[i].snapshot();
+		}
+
+		try {
+			new Checkpoint(digest, parts).write(file);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 *  Determines a lower bound on the total weight of any set cover of the remaining elements, before any subset has
+	 *  been decided
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param subsets    The elements of each subset
+	 *  @param weights    The weight of each subset
+	 *  @param lowerBounds    The lower bounds of the search
+	 *
+	 *  @return The largest estimate of the lower bounds, and at least the smallest weight if an element is left
+	 */
+	private static long rootBound(int numOfElements, int[][] subsets, long[] weights, LowerBound[] lowerBounds) {
+		if(numOfElements == 0) {
+			return 0;
+		}
+
+		long bound = Long.MAX_VALUE;
+		for(long weight : weights) {
+			bound = Math.min(bound, weight);
+		}
+
+		BitsetCoverage coverage = new BitsetCoverage(numOfElements, subsets, weights);
+		for(LowerBound lowerBound : lowerBounds) {
+			bound = Math.max(bound, lowerBound.estimate(coverage, 0));
+		}
+
+		return bound;
+	}
+
+	/**
+	 *  Converts solutions of the components of the remaining instance into a set cover of the original instance
+	 *
+	 *  @param reduction    The reduction of the original instance
+	 *  @param components    The components of the remaining instance
+	 *  @param solutions    The boolean at each index of the solution of each component represents whether the
+	 *                      corresponding subset of the component is included
+	 *
+	 *  @return The fixed subsets followed by the included subsets of each component, as indices into the original
+	 *          instance
+	 */
+	private static int[] toCover(Reduction reduction, Component[] components, boolean[][] solutions) {
+		int size = reduction.getNumOfFixedSubsets();
+		for(boolean[] solution : solutions) {
+			size += GreedyHeuristic.size(solution);
+		}
+
+		int[] cover = Arrays.copyOf(reduction.getFixedSubsets(), size);
+		size = reduction.getNumOfFixedSubsets();
+		for(int i = 0; i < components.length; i++) {
+			for(int j = 0; j < solutions[i].length; j++) {
+				if(solutions[i][j]) {
+					cover[size] = components[i].remaining.getOriginalIndex(j);
+					size++;
+				}
+			}
+		}
+
+		return cover;
+	}
+
+	/**
+	 *  Searches the components of the remaining instance one after the other, or with more than one thread all at the
+	 *  same time on a single pool, which every {@link ParallelSearch} of a component splits its tasks on. The
+	 *  components that are searched at the same time share the byte budget of the transposition tables. With a
+	 *  portfolio, the variants race on every component one after the other, each on a thread of its own, and with a
+	 *  coordinator, its workers search every component one after the other.
+	 *
+	 *  @param components    The components
+	 *  @param budget    The budget that stops the search early
+	 *  @param statistics    The statistics that the nodes and prunes are recorded in, or <code>null</code>
+	 */
+	private void search(Component[] components, SearchBudget budget, SearchStatistics statistics) {
+		if(options.getCoordinator() != null) {
+			for(Component component : components) {
+				component.distribute(options.getCoordinator(), budget);
+			}
+			return;
+		}
+
+		if(!options.getPortfolio().isEmpty()) {
+			ExecutorService executor = Executors.newFixedThreadPool(options.getPortfolio().size());
+			try {
+				for(Component component : components) {
+					component.race(executor, budget, statistics);
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+			return;
+		}
+
+		if(options.getParallelism() == 1) {
+			for(Component component : components) {
+				component.search(null, budget, statistics, options.getCacheBytes());
+			}
+			return;
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(options.getParallelism());
+		try {
+			List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+			for(Component component : components) {
+				tasks.add(pool.submit(() -> component.search(pool, budget, statistics,
+						options.getCacheBytes() / components.length)));
+			}
+			for(ForkJoinTask<?> task : tasks) {
+				task.join();
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 *	A connected component of the remaining instance of a solve, with its subsets in the order in which they are
+	 *	searched, its lower bounds and its own current optimal solution
+	 */
+	private final class Component {
+
+		/**
+		 *  The component, in the order in which it is searched
+		 */
+		private final CompactProblem remaining;
+		/**
+		 *  The number of elements to cover
+		 */
+		private final int numOfElements;
+		/**
+		 *  The elements of each subset
+		 */
+		private final int[][] subsets;
+		/**
+		 *  The weight of each subset
+		 */
+		private final long[] weights;
+		/**
+		 *  The total weight of all subsets
+		 */
+		private final long totalWeight;
+
+		/**
+		 *  The factories of the lower bounds of the options, of which those of a {@link LagrangianBound} pass it the
+		 *  relaxation of the component
+		 */
+		private final List<LowerBound.Factory> boundFactories;
+		/**
+		 *  The lower bounds of the search
+		 */
+		private final LowerBound[] lowerBounds;
+		/**
+		 *  The relaxation of the component, which is optimized once for every {@link LagrangianBound} of its searches
+		 *  and for reduced-cost fixing, or <code>null</code> before either needs it (guarded by the component)
+		 */
+		private LagrangianRelaxation relaxation;
+		/**
+		 *  The lower bound on the total weight of any set cover of the component
+		 */
+		private long lowerBound;
+
+		/**
+		 *  The elements of each subset as the search sees them, without the elements of the subsets that reduced-cost
+		 *  fixing has left out
+		 */
+		private int[][] searchSubsets;
+		/**
+		 *  The subsets that every set cover lighter than the initial optimal solution includes
+		 */
+		private final boolean[] necessarySubsets;
+
+		/**
+		 *  The current optimal solution, which the solver creates before the heuristic or the search offers a solution
+		 */
+		private Incumbent incumbent;
+
+		/**
+		 *  The number of nodes of the decision tree that were visited (guarded by the component)
+		 */
+		private long numberOfBacktrackCalls;
+		/**
+		 *  The number of branches disregarded by each lower bound, by the name of the bound (guarded by the component)
+		 */
+		private final Map<String, Long> prunesByBound = new LinkedHashMap<String, Long>();
+		/**
+		 *  Whether the search has ended without being stopped, so that the current optimal solution is minimum
+		 */
+		private boolean exact;
+
+		/**
+		 *  The nodes whose subtrees are still to be searched after the node being searched, in order, or
+		 *  <code>null</code> if the search of the component has not started (only with a checkpoint file)
+		 */
+		private Deque<Node> frontier;
+		/**
+		 *  The node whose subtree is being searched, or <code>null</code>
+		 */
+		private Node currentNode;
+		/**
+		 *  The search of the node being searched, or <code>null</code>
+		 */
+		private BitsetSearch currentSearch;
+		/**
+		 *  The frontier that the search of the node being searched has last reported, or <code>null</code> if it has not
+		 *  reported any
+		 */
+		private List<Node> currentFrontier;
+
+		/**
+		 *  Creates the lower bounds of a component and determines their estimate before any subset has been decided
+		 *
+		 *  @param remaining    The component, in the order in which it is searched
+		 */
+		private Component(CompactProblem remaining) {
+			this.remaining = remaining;
+			this.numOfElements = remaining.getNumOfElements();
+			this.subsets = remaining.toSubsetArrays();
+			this.weights = new long[subsets.length];
+			long totalWeight = 0;
+			for(int i = 0; i < weights.length; i++) {
+				weights[i] = remaining.getWeight(i);
+				totalWeight += weights[i];
+			}
+			this.totalWeight = totalWeight;
+
+			this.boundFactories = boundFactories(options.getLowerBounds());
+			this.lowerBounds = new LowerBound[boundFactories.size()];
+			for(int i = 0; i < lowerBounds.length; i++) {
+				lowerBounds[i] = boundFactories.get(i).create(numOfElements, subsets, weights);
+			}
+			this.lowerBound = rootBound(numOfElements, subsets, weights, lowerBounds);
+			if(options.getPortfolio().isEmpty()) {
+				for(LowerBound bound : lowerBounds) {
+					prunesByBound.merge(bound.getName(), 0L, Long::sum);
+				}
+			}
+
+			//The reduction has already fixed every subset that is necessary in any set cover
+			this.searchSubsets = subsets;
+			this.necessarySubsets = new boolean[subsets.length];
+		}
+
+		/**
+		 *  Replaces the factories that create a {@link LagrangianBound} by a factory that passes it the relaxation of
+		 *  the component, whose multipliers hold for any order of its subsets. A {@link LagrangianBound} that is
+		 *  created without a relaxation only optimizes its own when it first estimates, so the factories are told
+		 *  apart by the bound that each of them creates.
+		 *
+		 *  @param factories    The factories of the lower bounds of some options
+		 *
+		 *  @return The factories of the same lower bounds
+		 */
+		private List<LowerBound.Factory> boundFactories(List<LowerBound.Factory> factories) {
+			List<LowerBound.Factory> result = new ArrayList<LowerBound.Factory>(factories);
+			for(int i = 0; i < result.size(); i++) {
+				if(result.get(i).create(numOfElements, subsets, weights) instanceof LagrangianBound) {
+					result.set(i, (numOfElements, subsets, weights) -> new LagrangianBound(numOfElements, subsets,
+							weights, relaxation()));
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 *  Optimizes the relaxation of the component the first time that it is needed, against the current optimal
+		 *  solution if there is one and otherwise against the cover found by a {@link GreedyHeuristic}
+		 *
+		 *  @return The relaxation of the component
+		 */
+		private synchronized LagrangianRelaxation relaxation() {
+			if(relaxation == null) {
+				relaxation = incumbent == null || incumbent.getSolution() == null
+						? LagrangianBound.optimize(numOfElements, subsets, weights)
+						: LagrangianRelaxation.optimize(numOfElements, subsets, weights, incumbent.getValue());
+			}
+
+			return relaxation;
+		}
+
+		/**
+		 *  Offers the cover found by a {@link GreedyHeuristic} as the initial optimal solution
+		 *
+		 *  @param timeBudgetNanos    The number of nanoseconds that the heuristic spends perturbing its cover
+		 */
+		private void warmStart(long timeBudgetNanos) {
+			GreedyHeuristic heuristic = new GreedyHeuristic(numOfElements, subsets, weights);
+			boolean[] solution = heuristic.solve(timeBudgetNanos, options.getSeed());
+			incumbent.offer(heuristic.cost(solution), solution);
+		}
+
+		/**
+		 *  Offers the subsets of a set cover of the original instance that are in the component as the optimal
+		 *  solution, together with the lightest subset of every element that they leave uncovered (the set cover may
+		 *  contain subsets that the preprocessing removed because another subset dominates them)
+		 *
+		 *  @param cover    The boolean at each index represents whether the subset of the original instance at that
+		 *                  index is in the set cover
+		 */
+		private void offer(boolean[] cover) {
+			boolean[] solution = new boolean[subsets.length];
+			boolean[] covered = new boolean[numOfElements];
+			for(int i = 0; i < subsets.length; i++) {
+				if(cover[remaining.getOriginalIndex(i)]) {
+					solution[i] = true;
+					for(int element : subsets[i]) {
+						covered[element] = true;
+					}
+				}
+			}
+
+			int[] lightestSubsets = new int[numOfElements];
+			Arrays.fill(lightestSubsets, -1);
+			for(int i = 0; i < subsets.length; i++) {
+				for(int element : subsets[i]) {
+					if(!covered[element] && (lightestSubsets[element] < 0
+							|| weights[i] < weights[lightestSubsets[element]])) {
+						lightestSubsets[element] = i;
+					}
+				}
+			}
+			for(int element = 0; element < numOfElements; element++) {
+				if(!covered[element]) {
+					solution[lightestSubsets[element]] = true;
+				}
+			}
+			long value = 0;
+			for(int i = 0; i < subsets.length; i++) {
+				if(solution[i]) {
+					value += weights[i];
+				}
+			}
+
+			incumbent.offer(value, solution);
+		}
+
+		/**
+		 *  Raises the lower bound to the value of the {@link LagrangianRelaxation} of the component, which is only
+		 *  optimized here (against the current optimal solution) unless a {@link LagrangianBound} has needed it
+		 *  already. If that proves the current optimal solution minimum, the search is skipped,
+		 *  and otherwise the subsets that every lighter set cover excludes lose their elements for the search (so that
+		 *  the indices of the solutions stay the same) and the subsets that every lighter set cover includes are
+		 *  fixed.
+		 */
+		private void fixSubsets() {
+			if(exact) {
+				return;
+			}
+
+			long upperBound = incumbent.getValue();
+			LagrangianRelaxation relaxation = relaxation();
+			lowerBound = Math.max(lowerBound, Math.min(relaxation.getLowerBound(), upperBound));
+			if(relaxation.getLowerBound() >= upperBound) {
+				exact = true;
+				return;
+			}
+
+			searchSubsets = subsets.clone();
+			for(int i = 0; i < subsets.length; i++) {
+				if(relaxation.isExcluded(i, upperBound)) {
+					searchSubsets[i] = new int[0];
+				} else if(relaxation.isIncluded(i, upperBound)) {
+					necessarySubsets[i] = true;
+				}
+			}
+		}
+
+		/**
+		 *  Searches the decision tree of the component with the search strategy of the options, unless the relaxation
+		 *  has already proven the current optimal solution minimum
+		 *
+		 *  @param pool    The pool that a {@link ParallelSearch} splits its tasks on, or <code>null</code> to search on
+		 *                 the calling thread
+		 *  @param budget    The budget that stops the search early
+		 *  @param statistics    The statistics that the nodes and prunes are recorded in, or <code>null</code>
+		 *  @param cacheBytes    The number of bytes that the transposition tables of the search may take up
+		 */
+		private void search(ForkJoinPool pool, SearchBudget budget, SearchStatistics statistics, long cacheBytes) {
+			if(exact) {
+				return;
+			}
+
+			if(pool != null) {
+				ParallelSearch search = new ParallelSearch(numOfElements, searchSubsets, weights, necessarySubsets,
+						boundFactories, options.getSplitDepth(), incumbent, budget, statistics, cacheBytes);
+				search.run(pool);
+				if(statistics != null) {
+					for(TranspositionTable table : search.getTranspositionTables()) {
+						statistics.addTable(table);
+					}
+				}
+
+				long[] numberOfPrunes = new long[lowerBounds.length];
+				for(int i = 0; i < lowerBounds.length; i++) {
+					numberOfPrunes[i] = search.getNumberOfPrunes(i);
+				}
+				record(lowerBounds, search.getNumberOfBacktrackCalls(), numberOfPrunes);
+			} else {
+				search(options.getSearchStrategy(), searchSubsets, weights, necessarySubsets, lowerBounds, incumbent,
+						budget, statistics, cacheBytes);
+			}
+
+			exact = !budget.isExhausted();
+		}
+
+		/**
+		 *  Searches the decision tree of the component on the calling thread, starting with the frontier restored from
+		 *  a checkpoint, and saves a checkpoint whenever the interval of the options has passed, when the search stops
+		 *  early and when the component has been searched completely. Each node of the frontier is searched by a
+		 *  search of its own, which keeps reporting its own frontier.
+		 *
+		 *  @param budget    The budget that stops the search early
+		 *  @param statistics    The statistics that the nodes and prunes are recorded in, or <code>null</code>
+		 *  @param save    Writes a checkpoint of every component of the solve
+		 */
+		private void search(SearchBudget budget, SearchStatistics statistics, Runnable save) {
+			if(exact) {
+				return;
+			}
+
+			if(frontier == null) {
+				frontier = new ArrayDeque<Node>();
+				frontier.add(new Node(new boolean[0], -1));
+			}
+			long cacheBytes = options.getCacheBytes();
+			TranspositionTable table = cacheBytes < TranspositionTable.minimumBytes(numOfElements) ? null
+					: new TranspositionTable(numOfElements, searchSubsets.length, cacheBytes);
+			//The subsets are packed once, and the search of every node gets a fresh state that shares them
+			BitsetCoverage coverage = new BitsetCoverage(numOfElements, searchSubsets, weights);
+			while(!frontier.isEmpty() && !budget.isExhausted()) {
+				currentNode = frontier.poll();
+				SearchStatistics.Recorder recorder = statistics == null ? null : statistics.newRecorder();
+				currentSearch = new BitsetSearch(coverage.newState(), necessarySubsets, lowerBounds, incumbent,
+						budget, recorder, table);
+				currentSearch.setFrontierListener((prefixes, indices) -> {
+					currentFrontier = new ArrayList<Node>();
+					for(int i = 0; i < indices.length; i++) {
+						currentFrontier.add(new Node(prefixes[i], indices[i]));
+					}
+					save.run();
+				}, options.getCheckpointIntervalMillis() * 1_000_000);
+				currentSearch.descend(currentNode.prefix, currentNode.k);
+				currentSearch.backtrack(currentNode.k);
+				if(recorder != null) {
+					recorder.flush();
+				}
+
+				//The nodes since the last check of the search have not been charged yet
+				budget.charge(currentSearch.getNumberOfBacktrackCalls() & (SearchBudget.CHECK_INTERVAL - 1));
+				long[] numberOfPrunes = new long[lowerBounds.length];
+				for(int i = 0; i < lowerBounds.length; i++) {
+					numberOfPrunes[i] = currentSearch.getNumberOfPrunes(i);
+				}
+				record(lowerBounds, currentSearch.getNumberOfBacktrackCalls(), numberOfPrunes);
+
+				//A stopped search has reported its frontier, and without a report its whole node is still to be searched
+				if(currentSearch.isStopped()) {
+					List<Node> rest = currentFrontier == null ? List.of(currentNode) : currentFrontier;
+					for(int i = rest.size() - 1; i >= 0; i--) {
+						frontier.addFirst(rest.get(i));
+					}
+				}
+				currentNode = null;
+				currentSearch = null;
+				currentFrontier = null;
+			}
+			if(statistics != null && table != null) {
+				statistics.addTable(table);
+			}
+
+			exact = frontier.isEmpty();
+			save.run();
+		}
+
+		/**
+		 *  Computes a hash of the subsets of the component in the order in which they are searched, which identifies
+		 *  the component in a checkpoint
+		 *
+		 *  @return The hash
+		 */
+		private int hash() {
+			return 31 * Arrays.deepHashCode(subsets) + Arrays.hashCode(weights);
+		}
+
+		/**
+		 *  Takes a snapshot of the component for a checkpoint
+		 *
+		 *  @return The snapshot
+		 */
+		private Checkpoint.Part snapshot() {
+			Checkpoint.Part part = new Checkpoint.Part(hash(), exact ? Checkpoint.DONE
+					: frontier == null ? Checkpoint.NOT_STARTED : Checkpoint.IN_PROGRESS);
+			synchronized(this) {
+				part.numberOfBacktrackCalls = numberOfBacktrackCalls;
+				part.prunesByBound.putAll(prunesByBound);
+			}
+			if(currentSearch != null) {
+				part.numberOfBacktrackCalls += currentSearch.getNumberOfBacktrackCalls();
+				for(int i = 0; i < lowerBounds.length; i++) {
+					part.prunesByBound.merge(lowerBounds[i].getName(), currentSearch.getNumberOfPrunes(i), Long::sum);
+				}
+			}
+
+			part.solution = incumbent.getSolution();
+			part.value = incumbent.getValue();
+
+			if(part.state == Checkpoint.IN_PROGRESS) {
+				List<Node> nodes = new ArrayList<Node>();
+				if(currentFrontier != null) {
+					nodes.addAll(currentFrontier);
+				} else if(currentNode != null) {
+					nodes.add(currentNode);
+				}
+				nodes.addAll(frontier);
+
+				part.prefixes = new boolean[nodes.size()][];
+				part.indices = new int[nodes.size()];
+				for(int i = 0; i < nodes.size(); i++) {
+					part.prefixes[i] = nodes.get(i).prefix;
+					part.indices[i] = nodes.get(i).k;
+				}
+			}
+
+			return part;
+		}
+
+		/**
+		 *  Restores the current optimal solution, the nodes and prunes and the frontier of the component from its
+		 *  snapshot in a checkpoint
+		 *
+		 *  @param part    The snapshot
+		 *
+		 *  @throws IllegalArgumentException    If the snapshot does not fit the component
+		 */
+		private void restore(Checkpoint.Part part) {
+			if(part.solution != null) {
+				if(part.solution.length != subsets.length) {
+					throw new IllegalArgumentException("The checkpoint has a solution of " + part.solution.length
+							+ " subsets instead of " + subsets.length);
+				}
+				long value = 0;
+				for(int i = 0; i < subsets.length; i++) {
+					if(part.solution[i]) {
+						value += weights[i];
+					}
+				}
+				incumbent.offer(value, part.solution);
+			}
+
+			synchronized(this) {
+				numberOfBacktrackCalls += part.numberOfBacktrackCalls;
+				part.prunesByBound.forEach((name, prunes) -> prunesByBound.merge(name, prunes, Long::sum));
+			}
+
+			if(part.state == Checkpoint.DONE && part.solution != null) {
+				exact = true;
+			} else if(part.state == Checkpoint.IN_PROGRESS) {
+				frontier = new ArrayDeque<Node>();
+				for(int i = 0; i < part.indices.length; i++) {
+					if(part.indices[i] < -1 || part.indices[i] >= subsets.length) {
+						throw new IllegalArgumentException("The checkpoint has a node at index " + part.indices[i]);
+					}
+					frontier.add(new Node(part.prefixes[i], part.indices[i]));
+				}
+			}
+		}
+
+		/**
+		 *  Searches the decision tree of the component with the worker processes of a coordinator, unless the
+		 *  relaxation has already proven the current optimal solution minimum
+		 *
+		 *  @param coordinator    The coordinator
+		 *  @param budget    The budget that stops the search early
+		 */
+		private void distribute(SearchCoordinator coordinator, SearchBudget budget) {
+			if(exact) {
+				return;
+			}
+
+			List<String> names = new ArrayList<String>();
+			for(LowerBound bound : lowerBounds) {
+				names.add(bound.getName());
+			}
+			DistributedSearch search = new DistributedSearch(numOfElements, searchSubsets, weights, necessarySubsets,
+					names, incumbent, budget, options.getCacheBytes());
+			search.run(coordinator);
+
+			long[] numberOfPrunes = new long[lowerBounds.length];
+			for(int i = 0; i < lowerBounds.length; i++) {
+				numberOfPrunes[i] = search.getNumberOfPrunes(i);
+			}
+			record(lowerBounds, search.getNumberOfBacktrackCalls(), numberOfPrunes);
+			exact = !budget.isExhausted() && !search.isStopped();
+		}
+
+		/**
+		 *  Searches the decision tree of the component, in some order of its subsets, on the calling thread
+		 *
+		 *  @param strategy    The search strategy
+		 *  @param searchSubsets    The elements of each subset as the search sees them
+		 *  @param weights    The weight of each subset
+		 *  @param necessarySubsets    The subsets that every lighter set cover includes
+		 *  @param lowerBounds    The lower bounds of the search, created for the same order of the subsets
+		 *  @param incumbent    The current optimal solution in the same order of the subsets
+		 *  @param budget    The budget that stops the search early
+		 *  @param statistics    The statistics that the nodes and prunes are recorded in, or <code>null</code>
+		 *  @param cacheBytes    The number of bytes that the transposition table of the search may take up
+		 */
+		private void search(SearchStrategy strategy, int[][] searchSubsets, long[] weights, boolean[] necessarySubsets,
+				LowerBound[] lowerBounds, Incumbent incumbent, SearchBudget budget, SearchStatistics statistics,
+				long cacheBytes) {
+			SearchStatistics.Recorder recorder = statistics == null ? null : statistics.newRecorder();
+			long[] numberOfPrunes = new long[lowerBounds.length];
+			long numberOfBacktrackCalls;
+			if(strategy == SearchStrategy.ELEMENT_BRANCHING) {
+				ElementBranchingSearch search = new ElementBranchingSearch(numOfElements, searchSubsets, weights,
+						necessarySubsets, lowerBounds, incumbent, budget, recorder);
+				search.run();
+				for(int i = 0; i < lowerBounds.length; i++) {
+					numberOfPrunes[i] = search.getNumberOfPrunes(i);
+				}
+				numberOfBacktrackCalls = search.getNumberOfBacktrackCalls();
+			} else {
+				TranspositionTable table = cacheBytes < TranspositionTable.minimumBytes(numOfElements) ? null
+						: new TranspositionTable(numOfElements, searchSubsets.length, cacheBytes);
+				BitsetSearch search = new BitsetSearch(new BitsetCoverage(numOfElements, searchSubsets, weights),
+						necessarySubsets, lowerBounds, incumbent, budget, recorder, table);
+				search.backtrack(-1);
+				if(statistics != null && table != null) {
+					statistics.addTable(table);
+				}
+				for(int i = 0; i < lowerBounds.length; i++) {
+					numberOfPrunes[i] = search.getNumberOfPrunes(i);
+				}
+				numberOfBacktrackCalls = search.getNumberOfBacktrackCalls();
+			}
+			if(recorder != null) {
+				recorder.flush();
+			}
+
+			record(lowerBounds, numberOfBacktrackCalls, numberOfPrunes);
+		}
+
+		/**
+		 *  Adds the nodes and prunes of a search to those of the component
+		 *
+		 *  @param lowerBounds    The lower bounds of the search
+		 *  @param numberOfBacktrackCalls    The number of nodes that the search visited
+		 *  @param numberOfPrunes    The number of branches disregarded by the lower bound at the same index
+		 */
+		private synchronized void record(LowerBound[] lowerBounds, long numberOfBacktrackCalls,
+				long[] numberOfPrunes) {
+			this.numberOfBacktrackCalls += numberOfBacktrackCalls;
+			for(int i = 0; i < lowerBounds.length; i++) {
+				prunesByBound.merge(lowerBounds[i].getName(), numberOfPrunes[i], Long::sum);
+			}
+		}
+
+		/**
+		 *  Races the variants of the portfolio on the component, each on a thread of the executor, until one of them
+		 *  has searched its whole decision tree (which cancels the others) or the budget is exhausted. The variants
+		 *  share the current optimal solution, so each one prunes with the best set cover that any of them has found.
+		 *
+		 *  @param executor    The executor that has a thread for every variant
+		 *  @param budget    The budget that stops the race early
+		 *  @param statistics    The statistics that the nodes and prunes are recorded in, or <code>null</code>
+		 */
+		private void race(ExecutorService executor, SearchBudget budget, SearchStatistics statistics) {
+			if(exact) {
+				return;
+			}
+
+			CancellationToken finished = new CancellationToken();
+			SearchBudget raceBudget = new SearchBudget(budget, finished);
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for(SolverOptions variant : options.getPortfolio()) {
+				futures.add(executor.submit(() -> runVariant(variant, raceBudget, finished, statistics)));
+			}
+			try {
+				for(Future<?> future : futures) {
+					future.get();
+				}
+			} catch(InterruptedException e) {
+				finished.cancel();
+				Thread.currentThread().interrupt();
+			} catch(ExecutionException e) {
+				finished.cancel();
+				if(e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		/**
+		 *  Searches the component with the subset order, lower bounds, search strategy and cache of a variant, and
+		 *  ends the race if the variant searches its whole decision tree
+		 *
+		 *  @param variant    The options of the variant
+		 *  @param raceBudget    The budget of the race
+		 *  @param finished    The token that ends the race
+		 *  @param statistics    The statistics that the nodes and prunes are recorded in, or <code>null</code>
+		 */
+		private void runVariant(SolverOptions variant, SearchBudget raceBudget, CancellationToken finished,
+				SearchStatistics statistics) {
+			int[] order = remaining.orderOf(variant.getSubsetOrder(), variant.getSeed());
+			int[][] variantSubsets = new int[order.length][];
+			long[] variantWeights = new long[order.length];
+			boolean[] variantNecessarySubsets = new boolean[order.length];
+			for(int j = 0; j < order.length; j++) {
+				variantSubsets[j] = searchSubsets[order[j]];
+				variantWeights[j] = weights[order[j]];
+				variantNecessarySubsets[j] = necessarySubsets[order[j]];
+			}
+
+			List<LowerBound.Factory> factories = boundFactories(variant.getLowerBounds());
+			LowerBound[] variantBounds = new LowerBound[factories.size()];
+			for(int i = 0; i < variantBounds.length; i++) {
+				variantBounds[i] = factories.get(i).create(numOfElements, variantSubsets, variantWeights);
+			}
+
+			search(variant.getSearchStrategy(), variantSubsets, variantWeights, variantNecessarySubsets, variantBounds,
+					new VariantIncumbent(incumbent, order), raceBudget, statistics, variant.getCacheBytes());
+
+			if(!raceBudget.isExhausted()) {
+				synchronized(this) {
+					exact = true;
+				}
+				finished.cancel();
+			}
+		}
+
+		/**
+		 *  @return The current optimal solution, or the cover found by a {@link GreedyHeuristic} if the search was
+		 *          stopped before it found any set cover
+		 */
+		private boolean[] getSolution() {
+			if(incumbent.getSolution() == null) {
+				GreedyHeuristic heuristic = new GreedyHeuristic(numOfElements, subsets, weights);
+				boolean[] solution = heuristic.solve();
+				incumbent.offer(heuristic.cost(solution), solution);
+			}
+
+			return incumbent.getSolution();
+		}
+	}
+
+	/**
+	 *	A node of the decision tree of a component whose subtree is still to be searched
+	 */
+	private static final class Node {
+
+		/**
+		 *  The boolean value at each index up to <code>k</code> represents whether the corresponding subset is included
+		 */
+		private final boolean[] prefix;
+		/**
+		 *  The index of the last subset that is determined at the node
+		 */
+		private final int k;
+
+		/**
+		 *  Creates a node
+		 *
+		 *  @param prefix    The boolean value at each index up to <code>k</code> represents whether the corresponding
+		 *                   subset is included
+		 *  @param k    The index of the last subset that is determined at the node
+		 */
+		private Node(boolean[] prefix, int k) {
+			this.prefix = prefix;
+			this.k = k;
+		}
+	}
+
+	/**
+	 *	The current optimal solution of a component as a variant of a portfolio sees it, in the order of the subsets of
+	 *	the variant. Every solution is translated to the order of the component and offered to the shared solution.
+	 */
+	private static final class VariantIncumbent extends Incumbent {
+
+		/**
+		 *  The current optimal solution of the component
+		 */
+		private final Incumbent shared;
+		/**
+		 *  The index in the component of the subset at each index of the variant
+		 */
+		private final int[] order;
+
+		/**
+		 *  Creates the view of the current optimal solution of a component for a variant
+		 *
+		 *  @param shared    The current optimal solution of the component
+		 *  @param order    The index in the component of the subset at each index of the variant
+		 */
+		private VariantIncumbent(Incumbent shared, int[] order) {
+			super(shared.getValue());
+			this.shared = shared;
+			this.order = order;
+		}
+
+		@Override
+		public long getValue() {
+			return shared.getValue();
+		}
+
+		@Override
+		public boolean offer(long newValue, boolean[] newSolution) {
+			if(newValue >= shared.getValue()) {
+				return false;
+			}
+
+			boolean[] translated = new boolean[order.length];
+			for(int j = 0; j < order.length; j++) {
+				translated[order[j]] = newSolution[j];
+			}
+			return shared.offer(newValue, translated);
+		}
+
+		@Override
+		public boolean[] getSolution() {
+			boolean[] solution = shared.getSolution();
+			if(solution == null) {
+				return null;
+			}
+
+			boolean[] translated = new boolean[order.length];
+			for(int j = 0; j < order.length; j++) {
+				translated[j] = solution[order[j]];
+			}
+			return translated;
+		}
+	}
+}
@@ -0,0 +1,641 @@
+package main;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *	<p>The configuration of a {@link SetCoverSolver}. The setters return the options themselves so that they can be
+ *	chained. A solver copies the options it is created with, so changing them afterwards does not affect it.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public class SolverOptions {
+
+	/**
+	 *  The lower bounds that each search checks at every node, in order
+	 */
+	private List<LowerBound.Factory> lowerBounds = new ArrayList<LowerBound.Factory>();
+
+	/**
+	 *  The way in which the decision tree is searched
+	 */
+	private SearchStrategy searchStrategy = SearchStrategy.SUBSET_ORDER;
+
+	/**
+	 *  The order in which the subsets of the remaining instance are decided
+	 */
+	private SubsetOrder subsetOrder = SubsetOrder.FEWEST_OCCURRENCES;
+
+	/**
+	 *  The variants that race each other on every component of the remaining instance (none to search without a race)
+	 */
+	private List<SolverOptions> portfolio = new ArrayList<SolverOptions>();
+
+	/**
+	 *  The number of threads that search the decision tree (one to search it on the calling thread)
+	 */
+	private int parallelism = 1;
+
+	/**
+	 *  The number of times that a path of the decision tree is split into tasks by a parallel search
+	 */
+	private int splitDepth = 8;
+
+	/**
+	 *  Whether the connected components of the remaining instance are solved independently
+	 */
+	private boolean decomposition = true;
+
+	/**
+	 *  Whether a cover found by the {@link GreedyHeuristic} is used as the initial optimal solution of the search
+	 */
+	private boolean warmStart = true;
+
+	/**
+	 *  Whether subsets are fixed by their reduced costs in the {@link LagrangianRelaxation} before searching
+	 */
+	private boolean reducedCostFixing = true;
+
+	/**
+	 *  Whether only the {@link GreedyHeuristic} is run, without searching for a minimum set cover
+	 */
+	private boolean heuristicOnly = false;
+
+	/**
+	 *  The number of milliseconds that the {@link GreedyHeuristic} spends perturbing its cover
+	 */
+	private long heuristicTimeMillis = 0;
+
+	/**
+	 *  The seed of every random choice made while solving
+	 */
+	private long seed = 0;
+
+	/**
+	 *  The number of milliseconds after which the search stops with the best set cover found so far (<code>0</code>
+	 *  for no limit)
+	 */
+	private long timeLimitMillis = 0;
+
+	/**
+	 *  The number of nodes of the decision tree after which the search stops with the best set cover found so far
+	 *  (<code>0</code> for no limit)
+	 */
+	private long nodeLimit = 0;
+
+	/**
+	 *  The listener that receives every improvement of the best set cover, or <code>null</code>
+	 */
+	private ProgressListener progressListener;
+
+	/**
+	 *  The number of bytes that the transposition tables of a search may take up (<code>0</code> for none)
+	 */
+	private long cacheBytes = 0;
+
+	/**
+	 *  The statistics that every solve is recorded in, or <code>null</code>
+	 */
+	private SearchStatistics statistics;
+
+	/**
+	 *  The coordinator whose workers search the decision tree, or <code>null</code>
+	 */
+	private SearchCoordinator coordinator;
+
+	/**
+	 *  The file that the solve is checkpointed to and resumed from, or <code>null</code>
+	 */
+	private Path checkpointFile;
+
+	/**
+	 *  The number of milliseconds between two checkpoints of the search
+	 */
+	private long checkpointIntervalMillis = 5000;
+
+	/**
+	 *  Creates the default options, which check the {@link MaxCoverageBound}, then the {@link DisjointElementBound} and
+	 *  then (only at the nodes that the cheaper bounds could not disregard) the {@link LagrangianBound}
+	 */
+	public SolverOptions() {
+		lowerBounds.add((numOfElements, subsets, weights) -> new MaxCoverageBound());
+		lowerBounds.add(DisjointElementBound::new);
+		lowerBounds.add(LagrangianBound::new);
+	}
+
+	/**
+	 *  Creates a copy of the given options
+	 *
+	 *  @param options    The options to copy
+	 */
+	public SolverOptions(SolverOptions options) {
+		this.lowerBounds = new ArrayList<LowerBound.Factory>(options.lowerBounds);
+		this.searchStrategy = options.searchStrategy;
+		this.subsetOrder = options.subsetOrder;
+		this.portfolio = new ArrayList<SolverOptions>(options.portfolio);
+		this.parallelism = options.parallelism;
+		this.splitDepth = options.splitDepth;
+		this.decomposition = options.decomposition;
+		this.warmStart = options.warmStart;
+		this.reducedCostFixing = options.reducedCostFixing;
+		this.heuristicOnly = options.heuristicOnly;
+		this.heuristicTimeMillis = options.heuristicTimeMillis;
+		this.seed = options.seed;
+		this.timeLimitMillis = options.timeLimitMillis;
+		this.nodeLimit = options.nodeLimit;
+		this.progressListener = options.progressListener;
+		this.cacheBytes = options.cacheBytes;
+		this.statistics = options.statistics;
+		this.coordinator = options.coordinator;
+		this.checkpointFile = options.checkpointFile;
+		this.checkpointIntervalMillis = options.checkpointIntervalMillis;
+	}
+
+	/**
+	 *  @return The lower bounds that each search checks at every node, in order
+	 */
+	public List<LowerBound.Factory> getLowerBounds() {
+		return Collections.unmodifiableList(lowerBounds);
+	}
+
+	/**
+	 *  Sets the lower bounds that each search checks at every node
+	 *
+	 *  @param lowerBounds    The lower bounds, in the order in which they are checked (none to only disregard branches
+	 *                        that already use as many subsets as the current optimal solution)
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setLowerBounds(LowerBound.Factory... lowerBounds) {
+		this.lowerBounds = new ArrayList<LowerBound.Factory>(List.of(lowerBounds));
+		return this;
+	}
+
+	/**
+	 *  @return The way in which the decision tree is searched
+	 */
+	public SearchStrategy getSearchStrategy() {
+		return searchStrategy;
+	}
+
+	/**
+	 *  Sets the way in which the decision tree is searched
+	 *
+	 *  @param searchStrategy    The search strategy
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setSearchStrategy(SearchStrategy searchStrategy) {
+		if(searchStrategy == null) {
+			throw new IllegalArgumentException("The search strategy must not be null");
+		}
+
+		this.searchStrategy = searchStrategy;
+		return this;
+	}
+
+	/**
+	 *  @return The order in which the subsets of the remaining instance are decided
+	 */
+	public SubsetOrder getSubsetOrder() {
+		return subsetOrder;
+	}
+
+	/**
+	 *  Sets the order in which the subsets of the remaining instance are decided by the
+	 *  {@link SearchStrategy#SUBSET_ORDER} strategy (a random order is drawn from the seed)
+	 *
+	 *  @param subsetOrder    The order
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setSubsetOrder(SubsetOrder subsetOrder) {
+		if(subsetOrder == null) {
+			throw new IllegalArgumentException("The subset order must not be null");
+		}
+
+		this.subsetOrder = subsetOrder;
+		return this;
+	}
+
+	/**
+	 *  @return The variants that race each other on every component of the remaining instance, or an empty list if
+	 *          the components are searched without a race
+	 */
+	public List<SolverOptions> getPortfolio() {
+		return Collections.unmodifiableList(portfolio);
+	}
+
+	/**
+	 *  Sets the variants that race each other on every component of the remaining instance, each on a thread of its
+	 *  own. A variant searches with its own lower bounds, search strategy, subset order and seed (its other options
+	 *  are not used), all variants share the current optimal solution, and the race ends as soon as one of them has
+	 *  searched its whole decision tree. The options of the solver itself still determine the preprocessing, the warm
+	 *  start, the reduced-cost fixing and the limits of the solve, and the parallelism is then not used.
+	 *
+	 *  @param portfolio    The variants, which are copied (none to search without a race, which is the default)
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setPortfolio(SolverOptions... portfolio) {
+		this.portfolio = new ArrayList<SolverOptions>();
+		for(SolverOptions variant : portfolio) {
+			this.portfolio.add(new SolverOptions(variant));
+		}
+		return this;
+	}
+
+	/**
+	 *  Creates variants for {@link #setPortfolio(SolverOptions...)} that differ in their subset order, their lower
+	 *  bounds, their search strategy and their seed: the default options, the subsets with the most elements per unit
+	 *  of weight first, the element branching strategy, and then random subset orders with different seeds that
+	 *  alternate between the default lower bounds and only the cheaper bounds
+	 *
+	 *  @param numOfVariants    The number of variants
+	 *
+	 *  @return The variants
+	 *
+	 *  @throws IllegalArgumentException    If the number of variants is not positive
+	 */
+	public static SolverOptions[] defaultPortfolio(int numOfVariants) {
+		if(numOfVariants < 1) {
+			throw new IllegalArgumentException("The number of variants must be positive: " + numOfVariants);
+		}
+
+		SolverOptions[] variants = new SolverOptions[numOfVariants];
+		for(int i = 0; i < numOfVariants; i++) {
+			if(i == 0) {
+				variants[i] = new SolverOptions();
+			} else if(i == 1) {
+				variants[i] = new SolverOptions().setSubsetOrder(SubsetOrder.MOST_ELEMENTS_PER_WEIGHT);
+			} else if(i == 2) {
+				variants[i] = new SolverOptions().setSearchStrategy(SearchStrategy.ELEMENT_BRANCHING);
+			} else {
+				variants[i] = new SolverOptions().setSubsetOrder(SubsetOrder.RANDOM).setSeed(i);
+				if(i % 2 == 0) {
+					variants[i].setLowerBounds((numOfElements, subsets, weights) -> new MaxCoverageBound(),
+							DisjointElementBound::new);
+				}
+			}
+		}
+
+		return variants;
+	}
+
+	/**
+	 *  @return The number of threads that search the decision tree
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 *  Sets the number of threads that search the decision tree
+	 *
+	 *  @param parallelism    The number of threads (one to search on the calling thread). Only the
+	 *                        {@link SearchStrategy#SUBSET_ORDER} strategy can use more than one thread.
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setParallelism(int parallelism) {
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("The parallelism must be positive: " + parallelism);
+		}
+
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 *  @return The number of times that a path of the decision tree is split into tasks by a parallel search
+	 */
+	public int getSplitDepth() {
+		return splitDepth;
+	}
+
+	/**
+	 *  Sets the number of times that a path of the decision tree is split into tasks by a parallel search. A path is
+	 *  only split at a node where the subset can be both included and excluded, so there are at most
+	 *  <code>2^splitDepth</code> tasks.
+	 *
+	 *  @param splitDepth    The number of splits
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setSplitDepth(int splitDepth) {
+		if(splitDepth < 0) {
+			throw new IllegalArgumentException("The split depth must not be negative: " + splitDepth);
+		}
+
+		this.splitDepth = splitDepth;
+		return this;
+	}
+
+	/**
+	 *  @return Whether the connected components of the remaining instance are solved independently
+	 */
+	public boolean isDecomposition() {
+		return decomposition;
+	}
+
+	/**
+	 *  Sets whether the remaining instance is split into the connected components of its incidence graph after
+	 *  preprocessing, so that every component is searched on its own and the covers of the components are merged. With
+	 *  more than one thread, the components are searched at the same time.
+	 *
+	 *  @param decomposition    Whether to split the remaining instance into its components
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setDecomposition(boolean decomposition) {
+		this.decomposition = decomposition;
+		return this;
+	}
+
+	/**
+	 *  @return Whether a cover found by the {@link GreedyHeuristic} is used as the initial optimal solution of the
+	 *          search
+	 */
+	public boolean isWarmStart() {
+		return warmStart;
+	}
+
+	/**
+	 *  Sets whether a cover found by the {@link GreedyHeuristic} is used as the initial optimal solution of the search,
+	 *  instead of starting with one more subset than there are subsets
+	 *
+	 *  @param warmStart    Whether to use the heuristic before searching
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setWarmStart(boolean warmStart) {
+		this.warmStart = warmStart;
+		return this;
+	}
+
+	/**
+	 *  @return Whether subsets are fixed by their reduced costs in the {@link LagrangianRelaxation} before searching
+	 */
+	public boolean isReducedCostFixing() {
+		return reducedCostFixing;
+	}
+
+	/**
+	 *  Sets whether the {@link LagrangianRelaxation} of every component of the remaining instance is optimized against
+	 *  the initial optimal solution before searching. Its value then raises the lower bound of the component (the
+	 *  search is skipped when it reaches the weight of the initial optimal solution), and the subsets that every
+	 *  lighter set cover excludes or includes according to their reduced costs are left out of or fixed in the
+	 *  search.
+	 *
+	 *  @param reducedCostFixing    Whether to fix subsets by their reduced costs
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setReducedCostFixing(boolean reducedCostFixing) {
+		this.reducedCostFixing = reducedCostFixing;
+		return this;
+	}
+
+	/**
+	 *  @return Whether only the {@link GreedyHeuristic} is run, without searching for a minimum set cover
+	 */
+	public boolean isHeuristicOnly() {
+		return heuristicOnly;
+	}
+
+	/**
+	 *  Sets whether only the {@link GreedyHeuristic} is run. The result is then a set cover that is not proven to be
+	 *  minimum, which is useful for instances that are too large to search.
+	 *
+	 *  @param heuristicOnly    Whether to skip the search
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setHeuristicOnly(boolean heuristicOnly) {
+		this.heuristicOnly = heuristicOnly;
+		return this;
+	}
+
+	/**
+	 *  @return The number of milliseconds that the {@link GreedyHeuristic} spends perturbing its cover
+	 */
+	public long getHeuristicTimeMillis() {
+		return heuristicTimeMillis;
+	}
+
+	/**
+	 *  Sets the number of milliseconds that the {@link GreedyHeuristic} spends perturbing and improving its cover
+	 *  after building it
+	 *
+	 *  @param heuristicTimeMillis    The time budget (<code>0</code> to build and improve a single cover)
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setHeuristicTimeMillis(long heuristicTimeMillis) {
+		if(heuristicTimeMillis < 0) {
+			throw new IllegalArgumentException("The heuristic time must not be negative: " + heuristicTimeMillis);
+		}
+
+		this.heuristicTimeMillis = heuristicTimeMillis;
+		return this;
+	}
+
+	/**
+	 *  @return The seed of every random choice made while solving
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 *  Sets the seed of every random choice made while solving, so that solving the same instance with the same options
+	 *  makes the same choices
+	 *
+	 *  @param seed    The seed
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setSeed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 *  @return The number of milliseconds after which the search stops (<code>0</code> for no limit)
+	 */
+	public long getTimeLimitMillis() {
+		return timeLimitMillis;
+	}
+
+	/**
+	 *  Sets the number of milliseconds after which solving stops with the best set cover found so far, which is then
+	 *  not proven to be minimum. The time includes the preprocessing and the heuristic, whose own time budget is cut
+	 *  to the time that is left.
+	 *
+	 *  @param timeLimitMillis    The time limit (<code>0</code> for no limit)
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setTimeLimitMillis(long timeLimitMillis) {
+		if(timeLimitMillis < 0) {
+			throw new IllegalArgumentException("The time limit must not be negative: " + timeLimitMillis);
+		}
+
+		this.timeLimitMillis = timeLimitMillis;
+		return this;
+	}
+
+	/**
+	 *  @return The number of nodes of the decision tree after which the search stops (<code>0</code> for no limit)
+	 */
+	public long getNodeLimit() {
+		return nodeLimit;
+	}
+
+	/**
+	 *  Sets the number of nodes of the decision tree after which the search stops with the best set cover found so
+	 *  far. The limit is checked once every {@link SearchBudget#CHECK_INTERVAL} nodes of each search, so the search
+	 *  may visit a few more nodes. Unlike a time limit, a node limit gives the same result on every run of a
+	 *  single-threaded search.
+	 *
+	 *  @param nodeLimit    The node limit (<code>0</code> for no limit)
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setNodeLimit(long nodeLimit) {
+		if(nodeLimit < 0) {
+			throw new IllegalArgumentException("The node limit must not be negative: " + nodeLimit);
+		}
+
+		this.nodeLimit = nodeLimit;
+		return this;
+	}
+
+	/**
+	 *  @return The listener that receives every improvement of the best set cover, or <code>null</code> if there is
+	 *          none
+	 */
+	public ProgressListener getProgressListener() {
+		return progressListener;
+	}
+
+	/**
+	 *  Sets the listener that receives every improvement of the best set cover while solving
+	 *
+	 *  @param progressListener    The listener (<code>null</code> for none)
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setProgressListener(ProgressListener progressListener) {
+		this.progressListener = progressListener;
+		return this;
+	}
+
+	/**
+	 *  @return The number of bytes that the transposition tables of a search may take up (<code>0</code> if bounds of
+	 *          subproblems are not cached)
+	 */
+	public long getCacheBytes() {
+		return cacheBytes;
+	}
+
+	/**
+	 *  Sets the number of bytes that the {@link TranspositionTable}s of a search may take up. Every search of the
+	 *  {@link SearchStrategy#SUBSET_ORDER} strategy then caches the bounds it proves for subproblems and disregards a
+	 *  subproblem that it reaches again through another path if its bound shows that it cannot lead to a better
+	 *  solution. A parallel search divides the budget between its threads.
+	 *
+	 *  @param cacheBytes    The byte budget (<code>0</code> to not cache any bound, which is the default)
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setCacheBytes(long cacheBytes) {
+		if(cacheBytes < 0) {
+			throw new IllegalArgumentException("The cache size must not be negative: " + cacheBytes);
+		}
+
+		this.cacheBytes = cacheBytes;
+		return this;
+	}
+
+	/**
+	 *  @return The statistics that every solve is recorded in, or <code>null</code> if solves are not recorded
+	 */
+	public SearchStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 *  Sets the statistics that every solve is recorded in. The statistics are shared rather than copied, so several
+	 *  solvers can record their solves in the same statistics.
+	 *
+	 *  @param statistics    The statistics (<code>null</code> to not record anything, which is the default)
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setStatistics(SearchStatistics statistics) {
+		this.statistics = statistics;
+		return this;
+	}
+
+	/**
+	 *  @return The coordinator whose workers search the decision tree, or <code>null</code> if it is searched in this
+	 *          process
+	 */
+	public SearchCoordinator getCoordinator() {
+		return coordinator;
+	}
+
+	/**
+	 *  Sets the coordinator whose worker processes search the decision tree of every component with a
+	 *  {@link DistributedSearch}, one component after the other. The coordinator is shared rather than copied and
+	 *  takes precedence over the portfolio and the parallelism, and the workers always use the
+	 *  {@link SearchStrategy#SUBSET_ORDER} strategy.
+	 *
+	 *  @param coordinator    The coordinator (<code>null</code> to search in this process, which is the default)
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setCoordinator(SearchCoordinator coordinator) {
+		this.coordinator = coordinator;
+		return this;
+	}
+
+	/**
+	 *  @return The file that the solve is checkpointed to and resumed from, or <code>null</code> if it is not
+	 *          checkpointed
+	 */
+	public Path getCheckpointFile() {
+		return checkpointFile;
+	}
+
+	/**
+	 *  @return The number of milliseconds between two checkpoints of the search
+	 */
+	public long getCheckpointIntervalMillis() {
+		return checkpointIntervalMillis;
+	}
+
+	/**
+	 *  Sets the file that the solve is checkpointed to while it searches, and that a solve of the same instance with
+	 *  the same options resumes from if it exists. The search writes a checkpoint whenever the interval has passed,
+	 *  when it stops early and whenever a component has been searched completely. Only the search of the
+	 *  {@link SearchStrategy#SUBSET_ORDER} strategy on the calling thread can be checkpointed.
+	 *
+	 *  @param checkpointFile    The file (<code>null</code> to not checkpoint the solve, which is the default)
+	 *  @param intervalMillis    The number of milliseconds between two checkpoints of the search
+	 *
+	 *  @return These options
+	 */
+	public SolverOptions setCheckpoint(Path checkpointFile, long intervalMillis) {
+		if(intervalMillis <= 0) {
+			throw new IllegalArgumentException("The checkpoint interval must be positive: " + intervalMillis);
+		}
+
+		this.checkpointFile = checkpointFile;
+		this.checkpointIntervalMillis = intervalMillis;
+		return this;
+	}
+}
@@ -0,0 +1,27 @@
+package main;
+
+/**
+ *	<p>The orders in which a {@link SetCoverSolver} decides the subsets of the remaining instance (see
+ *	{@link CompactProblem#orderOf(SubsetOrder, long)}).</p>
+ *
+ *  @author Pratik Gurung
+ */
+public enum SubsetOrder {
+
+	/**
+	 *  Increasing fewest number of other subsets that contain an element of the subset, so that the subsets of the
+	 *  elements that are hardest to cover are decided first (the order of the preliminary pruning)
+	 */
+	FEWEST_OCCURRENCES,
+
+	/**
+	 *  Decreasing number of elements per unit of weight, so that the subsets that the greedy heuristic would choose
+	 *  are decided first
+	 */
+	MOST_ELEMENTS_PER_WEIGHT,
+
+	/**
+	 *  A random order drawn from the seed of the options
+	 */
+	RANDOM
+}
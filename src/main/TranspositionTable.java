@@ -0,0 +1,314 @@
+package main;
+
+/**
+ *	<p>A cache of lower bounds that a {@link BitsetSearch} has proven for the subproblems of its decision tree. A
+ *	subproblem is determined by the index <code>k</code> of the next subset to decide and the elements that are still
+ *	uncovered: every path of include and exclude decisions that reaches the same subproblem has the same subtree below
+ *	it, only with a different weight of the current solution. Once the search has finished the subtree of a
+ *	subproblem, no set cover in it is lighter than the current optimal solution, so the remaining subsets need at
+ *	least the weight of the current optimal solution minus the weight of the current solution. When the search reaches
+ *	the subproblem again through another path, the subtree is disregarded if the weight of the current solution plus
+ *	that bound is at least the weight of the (possibly improved) current optimal solution.</p>
+ *
+ *	<p>The table is set-associative with {@link #WAYS} entries per bucket, and the bucket of a subproblem is chosen by a
+ *	64-bit hash of <code>k</code> and the covered elements. Every entry also keeps the covered elements themselves, so
+ *	two subproblems with the same hash are never confused. When a bucket is full, an entry is evicted by the clock
+ *	algorithm: every lookup that finds an entry marks it as referenced, and the hand of the bucket skips (and unmarks)
+ *	referenced entries until it finds one that has not been referenced since the hand last passed it.</p>
+ *
+ *	<p>The number of buckets is the largest power of two whose entries fit into the byte budget given to the
+ *	constructor, and all entries are allocated up front in flat arrays, so the table never allocates while the search
+ *	runs. The table also counts its entries for every subset index, so looking up a subproblem at an index without any
+ *	entry costs a single array read. The numbers of lookups, hits, stores and evictions are counted for the hit rate. A
+ *	table must only be used by one thread.</p>
+ *
+ *  @author Pratik Gurung
+ */
+public final class TranspositionTable {
+
+	/**
+	 *  The number of entries in every bucket
+	 */
+	public static final int WAYS = 4;
+
+	/**
+	 *  The number of words of the covered elements of every entry
+	 */
+	private final int numOfWords;
+	/**
+	 *  The number of buckets minus one, which masks a hash to a bucket
+	 */
+	private final int bucketMask;
+
+	/**
+	 *  The hash of the subproblem of each entry
+	 */
+	private final long[] hashes;
+	/**
+	 *  The index of the next subset to decide in the subproblem of each entry plus one (<code>0</code> if the entry is
+	 *  empty)
+	 */
+	private final int[] subsetIndices;
+	/**
+	 *  The lower bound on the weight of the remaining subsets proven for each entry
+	 */
+	private final long[] bounds;
+	/**
+	 *  The covered elements of the subproblem of each entry, <code>numOfWords</code> words per entry
+	 */
+	private final long[] keys;
+	/**
+	 *  Whether each entry has been found since the hand of its bucket last passed it
+	 */
+	private final boolean[] referenced;
+	/**
+	 *  The way of each bucket that the clock hand points to
+	 */
+	private final byte[] hands;
+	/**
+	 *  The number of entries for each index of the next subset to decide, so that a lookup at an index without any
+	 *  entry does not have to touch the entries at all
+	 */
+	private final int[] entriesAtIndex;
+
+	/**
+	 *  The number of times that a subproblem was looked up
+	 */
+	private long numberOfLookups;
+	/**
+	 *  The number of lookups that found the subproblem
+	 */
+	private long numberOfHits;
+	/**
+	 *  The number of bounds that were stored
+	 */
+	private long numberOfStores;
+	/**
+	 *  The number of entries that were replaced by the entry of another subproblem
+	 */
+	private long numberOfEvictions;
+
+	/**
+	 *  Creates an empty table for subproblems of the given number of elements
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *  @param numOfSubsets    The number of subsets
+	 *  @param byteBudget    The number of bytes that the entries may take up
+	 *
+	 *  @throws IllegalArgumentException    If not even a single bucket fits into the byte budget
+	 */
+	public TranspositionTable(int numOfElements, int numOfSubsets, long byteBudget) {
+		this.numOfWords = BitsetCoverage.wordsFor(numOfElements);
+		long numOfBuckets = byteBudget / minimumBytes(numOfElements);
+		if(numOfBuckets < 1) {
+			throw new IllegalArgumentException("A budget of " + byteBudget + " bytes does not fit a single bucket of "
+					+ WAYS + " entries with " + numOfWords + " words each");
+		}
+
+		//The entries of the buckets are stored in arrays, whose length is an int
+		numOfBuckets = Math.min(Long.highestOneBit(numOfBuckets), Integer.highestOneBit(Integer.MAX_VALUE
+				/ (WAYS * Math.max(1, numOfWords))));
+		int numOfEntries = (int) numOfBuckets * WAYS;
+		this.bucketMask = (int) numOfBuckets - 1;
+		this.hashes = new long[numOfEntries];
+		this.subsetIndices = new int[numOfEntries];
+		this.bounds = new long[numOfEntries];
+		this.keys = new long[numOfEntries * numOfWords];
+		this.referenced = new boolean[numOfEntries];
+		this.hands = new byte[(int) numOfBuckets];
+		this.entriesAtIndex = new int[numOfSubsets];
+	}
+
+	/**
+	 *  Determines the number of bytes that an entry takes up
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *
+	 *  @return The number of bytes of the hash, subset index, bound, covered elements and reference flag of an entry
+	 */
+	public static long bytesPerEntry(int numOfElements) {
+		return 8 + 4 + 8 + 8L * BitsetCoverage.wordsFor(numOfElements) + 1;
+	}
+
+	/**
+	 *  Determines the smallest byte budget of a table
+	 *
+	 *  @param numOfElements    The number of elements to cover
+	 *
+	 *  @return The number of bytes of a single bucket of entries and its clock hand
+	 */
+	public static long minimumBytes(int numOfElements) {
+		return WAYS * bytesPerEntry(numOfElements) + 1;
+	}
+
+	/**
+	 *  Looks up the lower bound proven for a subproblem
+	 *
+	 *  @param k    The index of the next subset to decide
+	 *  @param coverage    The coverage state of the subproblem
+	 *
+	 *  @return The lower bound on the weight of the subsets from index <code>k</code> on that are needed to cover the
+	 *          uncovered elements, or <code>0</code> if no bound is known for the subproblem
+	 */
+	public long lookup(int k, BitsetCoverage coverage) {
+		numberOfLookups++;
+		if(entriesAtIndex[k] == 0) {
+			return 0;
+		}
+
+		long hash = hash(k, coverage);
+		int entry = find(hash, k, coverage);
+		if(entry < 0) {
+			return 0;
+		}
+
+		numberOfHits++;
+		referenced[entry] = true;
+		return bounds[entry];
+	}
+
+	/**
+	 *  Stores the lower bound proven for a subproblem, replacing a smaller bound of the same subproblem or evicting the
+	 *  entry of another subproblem if its bucket is full
+	 *
+	 *  @param k    The index of the next subset to decide
+	 *  @param coverage    The coverage state of the subproblem
+	 *  @param bound    The lower bound on the weight of the subsets from index <code>k</code> on that are needed to
+	 *                  cover the uncovered elements
+	 */
+	public void store(int k, BitsetCoverage coverage, long bound) {
+		numberOfStores++;
+		long hash = hash(k, coverage);
+		int entry = find(hash, k, coverage);
+		if(entry >= 0) {
+			bounds[entry] = Math.max(bounds[entry], bound);
+			return;
+		}
+
+		int bucket = (int) (hash ^ (hash >>> 32)) & bucketMask;
+		int first = bucket * WAYS;
+		entry = -1;
+		for(int way = 0; way < WAYS && entry < 0; way++) {
+			if(subsetIndices[first + way] == 0) {
+				entry = first + way;
+			}
+		}
+		if(entry < 0) {
+			int hand = hands[bucket];
+			while(referenced[first + hand]) {
+				referenced[first + hand] = false;
+				hand = (hand + 1) % WAYS;
+			}
+			entry = first + hand;
+			hands[bucket] = (byte) ((hand + 1) % WAYS);
+			entriesAtIndex[subsetIndices[entry] - 1]--;
+			numberOfEvictions++;
+		}
+		entriesAtIndex[k]++;
+
+		hashes[entry] = hash;
+		subsetIndices[entry] = k + 1;
+		bounds[entry] = bound;
+		referenced[entry] = false;
+		for(int i = 0; i < numOfWords; i++) {
+			keys[entry * numOfWords + i] = coverage.getCoveredWord(i);
+		}
+	}
+
+	/**
+	 *  Finds the entry of a subproblem
+	 *
+	 *  @param hash    The hash of the subproblem
+	 *  @param k    The index of the next subset to decide
+	 *  @param coverage    The coverage state of the subproblem
+	 *
+	 *  @return The index of the entry, or <code>-1</code> if the subproblem is not in the table
+	 */
+	private int find(long hash, int k, BitsetCoverage coverage) {
+		int first = ((int) (hash ^ (hash >>> 32)) & bucketMask) * WAYS;
+		for(int entry = first; entry < first + WAYS; entry++) {
+			if(hashes[entry] == hash && subsetIndices[entry] == k + 1 && hasKey(entry, coverage)) {
+				return entry;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 *  @param entry    The index of the entry
+	 *  @param coverage    The coverage state of a subproblem
+	 *
+	 *  @return <code>true</code> if the entry has the same covered elements as the coverage state, otherwise
+	 *          <code>false</code>
+	 */
+	private boolean hasKey(int entry, BitsetCoverage coverage) {
+		for(int i = 0; i < numOfWords; i++) {
+			if(keys[entry * numOfWords + i] != coverage.getCoveredWord(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 *  Hashes the index of the next subset to decide together with the covered elements
+	 *
+	 *  @param k    The index of the next subset to decide
+	 *  @param coverage    The coverage state of the subproblem
+	 *
+	 *  @return The hash
+	 */
+	private long hash(int k, BitsetCoverage coverage) {
+		long hash = k * 0x9E3779B97F4A7C15L;
+		for(int i = 0; i < numOfWords; i++) {
+			hash = (hash ^ coverage.getCoveredWord(i)) * 0xBF58476D1CE4E5B9L;
+			hash ^= hash >>> 31;
+		}
+
+		return hash;
+	}
+
+	/**
+	 *  @return The number of entries of the table
+	 */
+	public int getCapacity() {
+		return subsetIndices.length;
+	}
+
+	/**
+	 *  @return The number of times that a subproblem was looked up
+	 */
+	public long getNumberOfLookups() {
+		return numberOfLookups;
+	}
+
+	/**
+	 *  @return The number of lookups that found the subproblem
+	 */
+	public long getNumberOfHits() {
+		return numberOfHits;
+	}
+
+	/**
+	 *  @return The number of bounds that were stored
+	 */
+	public long getNumberOfStores() {
+		return numberOfStores;
+	}
+
+	/**
+	 *  @return The number of entries that were replaced by the entry of another subproblem
+	 */
+	public long getNumberOfEvictions() {
+		return numberOfEvictions;
+	}
+
+	/**
+	 *  @return The fraction of lookups that found the subproblem (<code>0</code> if there were no lookups)
+	 */
+	public double getHitRate() {
+		return numberOfLookups == 0 ? 0 : (double) numberOfHits / numberOfLookups;
+	}
+}
@@ -1,14 +1,64 @@
 package test;
 
+import main.BatchSolver;
+import main.BitsetCoverage;
+import main.BitsetSearch;
+import main.CancellationToken;
+import main.CompactProblem;
+import main.DisjointElementBound;
+import main.DistributedSearch;
+import main.IncrementalSolver;
+import main.Incumbent;
+import main.InstanceFingerprint;
+import main.InstanceGenerator;
+import main.InstanceReader;
+import main.LagrangianBound;
+import main.LagrangianRelaxation;
+import main.LowerBound;
+import main.MaxCoverageBound;
+import main.Preprocessor;
+import main.Reduction;
+import main.SearchBudget;
+import main.SearchCoordinator;
+import main.SearchStatistics;
+import main.SearchStrategy;
 import main.SetCover;
+import main.SetCoverProblem;
+import main.SetCoverResult;
+import main.SetCoverSolver;
+import main.SolverOptions;
+import main.SubsetOrder;
+import main.TranspositionTable;
 import org.junit.jupiter.api.Test;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 /**
@@ -24,7 +74,7 @@ public class SetCoverTest {
      *  and set of subsets defined by the data from the corresponding test file
      */
     final Map<String, Integer> testValues = Map.ofEntries(
-            Map.entry("s-x-12-6", 3),
+            Map.entry("s-X-12-6", 3),
             Map.entry("s-rg-8-10", 4),
             Map.entry("s-rg-31-15", 9),
             Map.entry("s-rg-40-20", 10),
@@ -81,6 +131,953 @@ public class SetCoverTest {
         return SetCover.opt;
     }
 
+    /**
+     *  Iterates through <code>testValues</code> and tests whether the bitset-based search defined in the
+     *  <code>main.BitsetSearch</code> class finds the same number of subsets as the value at each entry
+     */
+    @Test
+    public void testBitsetBacktrack() {
+        Iterator<Map.Entry<String, Integer>> iterator = testValues.entrySet().iterator();
+        while(iterator.hasNext()) {
+            Map.Entry<String, Integer> entry = iterator.next();
+            assertEquals(runBitsetBacktrack(entry.getKey()), entry.getValue());
+        }
+    }
+
+    /**
+     *  Runs the bitset-based backtracking algorithm on the data defined by the test file with the name
+     *  <code>fileName</code>
+     *
+     *  @param fileName    The name of the test file from which to extract data
+     *
+     *  @return The number of subsets in the minimum set cover given by the bitset-based backtracking algorithm when run
+     *          on the data extracted from the test file
+     */
+    public static Integer runBitsetBacktrack(String fileName) {
+        List<List<Integer>> input = readTestFile(fileName);
+
+        SetCover.removeUnnecessarySubsets(input);
+        SetCover.initializeNecessarySubsets(input);
+
+        BitsetSearch search = new BitsetSearch(BitsetCoverage.fromLists(SetCover.numToCover, input),
+                SetCover.necessarySubsets);
+        search.backtrack(-1);
+
+        return search.getOpt();
+    }
+
+    /**
+     *  Solves every test file at the same time with a single <code>main.SetCoverSolver</code> and tests whether each
+     *  solution is a set cover with the number of subsets defined by <code>testValues</code>
+     */
+    @Test
+    public void testSolver() throws Exception {
+        SetCoverSolver solver = new SetCoverSolver();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Map<String, SetCoverProblem> problems = new HashMap<String, SetCoverProblem>();
+            Map<String, Future<SetCoverResult>> results = new HashMap<String, Future<SetCoverResult>>();
+            for(String fileName : testValues.keySet()) {
+                SetCoverProblem problem = readTestProblem(fileName);
+                problems.put(fileName, problem);
+                results.put(fileName, executor.submit(() -> solver.solve(problem)));
+            }
+
+            for(Map.Entry<String, Integer> entry : testValues.entrySet()) {
+                SetCoverResult result = results.get(entry.getKey()).get();
+                assertEquals((int) entry.getValue(), result.getSize());
+                assertTrue(problems.get(entry.getKey()).isCover(result.getCover()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     *  Tests whether the solver finds a minimum set cover of every test file when only one of the lower bounds is used,
+     *  and whether that lower bound is the one that disregards branches
+     */
+    @Test
+    public void testLowerBounds() {
+        SetCoverSolver maxCoverage = new SetCoverSolver(new SolverOptions()
+                .setLowerBounds((numOfElements, subsets, weights) -> new MaxCoverageBound()));
+        SetCoverSolver disjointElements = new SetCoverSolver(new SolverOptions()
+                .setLowerBounds(DisjointElementBound::new));
+
+        for(Map.Entry<String, Integer> entry : testValues.entrySet()) {
+            SetCoverProblem problem = readTestProblem(entry.getKey());
+
+            SetCoverResult result = maxCoverage.solve(problem);
+            assertEquals((int) entry.getValue(), result.getSize());
+            assertEquals(Set.of("max-coverage"), result.getPrunesByBound().keySet());
+
+            result = disjointElements.solve(problem);
+            assertEquals((int) entry.getValue(), result.getSize());
+            assertEquals(Set.of("disjoint-elements"), result.getPrunesByBound().keySet());
+        }
+    }
+
+    /**
+     *  Tests whether the parallel search finds a minimum set cover with the same number of subsets as the sequential
+     *  search for every test file, for several split depths
+     */
+    @Test
+    public void testParallelSolver() {
+        for(int splitDepth : new int[] {0, 1, 4, 12}) {
+            SetCoverSolver solver = new SetCoverSolver(new SolverOptions().setParallelism(4).setSplitDepth(splitDepth));
+            for(Map.Entry<String, Integer> entry : testValues.entrySet()) {
+                SetCoverProblem problem = readTestProblem(entry.getKey());
+                SetCoverResult result = solver.solve(problem);
+                assertEquals((int) entry.getValue(), result.getSize());
+                assertTrue(problem.isCover(result.getCover()));
+            }
+        }
+    }
+
+    /**
+     *  Tests whether the element branching strategy finds a minimum set cover of every test file, both with the
+     *  default lower bounds and without any
+     */
+    @Test
+    public void testElementBranching() {
+        for(SolverOptions options : List.of(new SolverOptions(), new SolverOptions().setLowerBounds())) {
+            SetCoverSolver solver = new SetCoverSolver(options.setSearchStrategy(SearchStrategy.ELEMENT_BRANCHING));
+            for(Map.Entry<String, Integer> entry : testValues.entrySet()) {
+                SetCoverProblem problem = readTestProblem(entry.getKey());
+                SetCoverResult result = solver.solve(problem);
+                assertEquals((int) entry.getValue(), result.getSize());
+                assertTrue(problem.isCover(result.getCover()));
+            }
+        }
+    }
+
+    /**
+     *  Tests whether the heuristic-only mode finds a set cover of every test file that is not smaller than the minimum
+     *  set cover, and whether searching without the warm start still finds the minimum set cover
+     */
+    @Test
+    public void testHeuristic() {
+        SetCoverSolver heuristic = new SetCoverSolver(new SolverOptions().setHeuristicOnly(true)
+                .setHeuristicTimeMillis(10).setSeed(42));
+        SetCoverSolver coldStart = new SetCoverSolver(new SolverOptions().setWarmStart(false));
+
+        for(Map.Entry<String, Integer> entry : testValues.entrySet()) {
+            SetCoverProblem problem = readTestProblem(entry.getKey());
+
+            SetCoverResult result = heuristic.solve(problem);
+            assertTrue(problem.isCover(result.getCover()));
+            assertTrue(result.getSize() >= entry.getValue());
+            assertFalse(result.isOptimal());
+            assertEquals(0, result.getNumberOfBacktrackCalls());
+
+            result = coldStart.solve(problem);
+            assertEquals((int) entry.getValue(), result.getSize());
+            assertTrue(result.isOptimal());
+        }
+    }
+
+    /**
+     *  Tests whether the preprocessor removes dominated subsets and elements and fixes essential subsets until none of
+     *  the reductions applies, and whether it rejects an instance without a set cover
+     */
+    @Test
+    public void testPreprocessor() {
+        SetCoverProblem problem = new SetCoverProblem(6, new int[][] {
+                {1, 2}, {2, 3}, {1, 2, 3}, {4, 5}, {4, 6}, {5, 6}, {6}
+        });
+        Reduction reduction = Preprocessor.reduce(problem);
+
+        //{1, 2} and {2, 3} are dominated by {1, 2, 3}, which is then essential, and {6} is dominated by {4, 6}
+        assertArrayEquals(new int[] {2}, reduction.getFixedSubsets());
+        assertEquals(3, reduction.getNumOfSubsets());
+        assertEquals(3, reduction.getNumOfDominatedSubsets());
+        assertEquals(3, reduction.getNumOfElements());
+        assertEquals(2, new SetCoverSolver().solve(problem).getSize() - reduction.getNumOfFixedSubsets());
+
+        assertThrows(IllegalArgumentException.class, () -> Preprocessor.reduce(new SetCoverProblem(3, new int[][] {
+                {1}, {2}
+        })));
+    }
+
+    /**
+     *  Tests whether the fewest occurrence of each subset is determined without modifying the subsets, and whether the
+     *  compact problem model keeps every subset together with its metadata when it is reordered
+     */
+    @Test
+    public void testFewestOccurrences() {
+        List<List<Integer>> input = new ArrayList<List<Integer>>();
+        input.add(new ArrayList<Integer>(Arrays.asList(1, 2)));
+        input.add(new ArrayList<Integer>(Arrays.asList(2, 3)));
+        input.add(new ArrayList<Integer>(Arrays.asList(3)));
+
+        //The fewest occurrence is kept apart from the subsets, which are only reordered
+        assertArrayEquals(new int[] {0, 1, 1}, SetCover.trackFewestOccurrences(input));
+        SetCover.initializeNecessarySubsets(input);
+        assertEquals(Arrays.asList(1, 2), input.get(0));
+        assertEquals(Arrays.asList(2, 3), input.get(1));
+        assertEquals(Arrays.asList(3), input.get(2));
+        assertArrayEquals(new boolean[] {true, false, false}, SetCover.necessarySubsets);
+
+        CompactProblem remaining = CompactProblem.of(new int[] {1, 2, 3}, new int[][] {{0, 1}, {1, 2}, {2}},
+                new long[] {1, 1, 1}, new int[] {0, 1, 2}).permute(new int[] {2, 0, 1});
+        assertEquals(1, remaining.getSubsetSize(0));
+        assertEquals(2, remaining.getOriginalIndex(0));
+        assertEquals(0, remaining.getMinOccurrence(1));
+        assertArrayEquals(new int[] {1, 2}, remaining.toSubsetArrays()[2]);
+    }
+
+    /**
+     *  Tests whether the instance reader reads the same instances as <code>readTestFile</code>, reads the OR-Library
+     *  format, and rejects malformed input
+     */
+    @Test
+    public void testInstanceReader() throws IOException {
+        for(String fileName : testValues.keySet()) {
+            List<List<Integer>> input = readTestFile(fileName);
+            SetCoverProblem problem = readTestProblem(fileName);
+            assertEquals(SetCoverProblem.fromLists(SetCover.numToCover, input).toLists(), problem.toLists());
+            assertEquals(SetCover.numToCover, problem.getNumToCover());
+        }
+
+        //3 rows and 4 columns with their costs, then the columns that cover each row
+        String orLibrary = "3 4\n 1 1 1 1\n2\n 1 2\n2\n 2 3\n  1\n 4\n";
+        SetCoverProblem problem = InstanceReader.readOrLibrary(
+                new ByteArrayInputStream(orLibrary.getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(3, problem.getNumToCover());
+        assertEquals(4, problem.getNumOfSubsets());
+        assertArrayEquals(new int[] {1}, problem.getSubset(0));
+        assertArrayEquals(new int[] {1, 2}, problem.getSubset(1));
+        assertArrayEquals(new int[] {2}, problem.getSubset(2));
+        assertArrayEquals(new int[] {3}, problem.getSubset(3));
+        assertEquals(2, new SetCoverSolver().solve(problem).getSize());
+
+        //An empty line is an empty subset, and duplicates are removed
+        problem = InstanceReader.read(
+                new ByteArrayInputStream("3\r\n3\r\n3 1 3\r\n\r\n2".getBytes(StandardCharsets.US_ASCII)));
+        assertArrayEquals(new int[] {1, 3}, problem.getSubset(0));
+        assertEquals(0, problem.getSubsetSize(1));
+        assertArrayEquals(new int[] {2}, problem.getSubset(2));
+
+        assertThrows(IOException.class, () -> InstanceReader.read(
+                new ByteArrayInputStream("3\n2\n1 x\n2 3\n".getBytes(StandardCharsets.US_ASCII))));
+        assertThrows(IOException.class, () -> InstanceReader.read(
+                new ByteArrayInputStream("3\n2\n1 2\n".getBytes(StandardCharsets.US_ASCII))));
+
+        //Negative counts, integers out of range and costs that are not positive are malformed input as well
+        for(String input : List.of("3\n-1\n", "-3\n1\n1\n", "3\n1\n1 4\n")) {
+            assertThrows(IOException.class, () -> InstanceReader.read(
+                    new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))));
+        }
+        for(String input : List.of("1 -2\n", "-1 1\n1\n", "1 1\n0\n1 1\n")) {
+            assertThrows(IOException.class, () -> InstanceReader.readOrLibrary(
+                    new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))));
+        }
+    }
+
+    /**
+     *  Tests whether every search strategy minimizes the total weight instead of the number of subsets, compared with
+     *  checking every combination of subsets of small random instances, whether the preprocessor keeps a subset that is
+     *  contained in a heavier subset, and whether the costs of the OR-Library format become the weights
+     */
+    @Test
+    public void testWeighted() throws IOException {
+        //Two light subsets are better than the single heavy subset that covers everything
+        SetCoverProblem problem = new SetCoverProblem(4, new int[][] {
+                {1, 2, 3, 4}, {1, 2}, {3, 4}
+        }, new long[] {5, 2, 2});
+        SetCoverResult result = new SetCoverSolver().solve(problem);
+        assertArrayEquals(new int[] {1, 2}, Arrays.stream(result.getCover()).sorted().toArray());
+        assertEquals(4, result.getCost());
+        assertEquals(1, new SetCoverSolver().solve(SetCoverProblem.fromLists(4, problem.toLists())).getCost());
+
+        //{1, 2} is contained in {1, 2, 3} but is lighter, so it must survive the preprocessing
+        Reduction reduction = Preprocessor.reduce(new SetCoverProblem(3, new int[][] {
+                {1, 2, 3}, {1, 2}, {3}
+        }, new long[] {10, 1, 1}));
+        assertEquals(0, reduction.getNumOfFixedSubsets());
+        assertEquals(0, reduction.getNumOfDominatedSubsets());
+
+        List<SolverOptions> options = List.of(new SolverOptions(), new SolverOptions().setWarmStart(false),
+                new SolverOptions().setSearchStrategy(SearchStrategy.ELEMENT_BRANCHING),
+                new SolverOptions().setParallelism(4).setSplitDepth(2));
+        SetCoverSolver heuristic = new SetCoverSolver(new SolverOptions().setHeuristicOnly(true)
+                .setHeuristicTimeMillis(1).setSeed(42));
+        Random random = new Random(42);
+        for(int n = 0; n < 200; n++) {
+            int numToCover = 1 + random.nextInt(10);
+            int[][] subsets = new int[1 + random.nextInt(12)][];
+            long[] weights = new long[subsets.length];
+            for(int i = 0; i < subsets.length; i++) {
+                subsets[i] = random.ints(1 + random.nextInt(numToCover), 1, numToCover + 1).toArray();
+                weights[i] = 1 + random.nextInt(20);
+            }
+            subsets[0] = IntStream.rangeClosed(1, numToCover).toArray();
+            problem = new SetCoverProblem(numToCover, subsets, weights);
+
+            long optimum = bruteForceCost(problem);
+            for(SolverOptions option : options) {
+                result = new SetCoverSolver(option).solve(problem);
+                assertTrue(problem.isCover(result.getCover()));
+                assertEquals(optimum, result.getCost());
+                assertEquals(problem.getCost(result.getCover()), result.getCost());
+            }
+
+            result = heuristic.solve(problem);
+            assertTrue(problem.isCover(result.getCover()));
+            assertTrue(result.getCost() >= optimum);
+        }
+
+        //The cost of each column of the OR-Library format is the weight of its subset
+        String orLibrary = "2 3\n 3 1 1\n2\n 1 2\n2\n 1 3\n";
+        problem = InstanceReader.readOrLibrary(
+                new ByteArrayInputStream(orLibrary.getBytes(StandardCharsets.US_ASCII)));
+        assertFalse(problem.hasUnitWeights());
+        assertEquals(3, problem.getWeight(0));
+        assertEquals(2, new SetCoverSolver().solve(problem).getCost());
+
+        assertThrows(IllegalArgumentException.class, () -> new SetCoverProblem(1, new int[][] {{1}}, new long[] {0}));
+        assertThrows(IllegalArgumentException.class, () -> new SetCoverProblem(1, new int[][] {{1}}, new long[] {1, 1}));
+    }
+
+    /**
+     *  Tests whether a node limit, a time limit and a cancellation each stop the search on an instance that is too
+     *  large to search, with a set cover and an optimality gap, and whether the progress listener receives every
+     *  improvement of the best set cover
+     */
+    @Test
+    public void testAnytime() {
+        Random random = new Random(42);
+        int[][] subsets = new int[300][];
+        for(int i = 0; i < subsets.length; i++) {
+            subsets[i] = IntStream.concat(IntStream.of(1 + i % 150), random.ints(1 + random.nextInt(5), 1, 151))
+                    .toArray();
+        }
+        SetCoverProblem problem = new SetCoverProblem(150, subsets);
+        SolverOptions hard = new SolverOptions().setLowerBounds().setWarmStart(false);
+
+        for(SolverOptions options : List.of(new SolverOptions(hard), new SolverOptions(hard).setParallelism(4),
+                new SolverOptions(hard).setSearchStrategy(SearchStrategy.ELEMENT_BRANCHING))) {
+            SetCoverResult result = new SetCoverSolver(options.setNodeLimit(5000)).solve(problem);
+            assertTrue(problem.isCover(result.getCover()));
+            assertFalse(result.isOptimal());
+            assertTrue(result.getNumberOfBacktrackCalls() <= 5000 + 4 * SearchBudget.CHECK_INTERVAL);
+            assertTrue(result.getLowerBound() >= 1 && result.getLowerBound() <= result.getCost());
+            assertTrue(result.getGap() > 0 && result.getGap() < 1);
+        }
+
+        long startTime = System.nanoTime();
+        SetCoverResult result = new SetCoverSolver(new SolverOptions(hard).setTimeLimitMillis(50)).solve(problem);
+        assertTrue(System.nanoTime() - startTime < 2_000_000_000L);
+        assertTrue(problem.isCover(result.getCover()));
+        assertFalse(result.isOptimal());
+
+        //Cancelling before solving still gives a set cover, and cancelling from the listener stops the search
+        CancellationToken cancelled = new CancellationToken();
+        cancelled.cancel();
+        result = new SetCoverSolver(hard).solve(problem, cancelled);
+        assertTrue(problem.isCover(result.getCover()));
+        assertEquals(0, result.getNumberOfBacktrackCalls());
+
+        CancellationToken token = new CancellationToken();
+        List<Long> costs = new ArrayList<Long>();
+        result = new SetCoverSolver(new SolverOptions(hard).setProgressListener(improvement -> {
+            costs.add(improvement.getCost());
+            assertFalse(improvement.isOptimal());
+            token.cancel();
+        })).solve(problem, token);
+        assertTrue(problem.isCover(result.getCover()));
+        assertFalse(result.isOptimal());
+        assertEquals(result.getCost(), (long) costs.get(costs.size() - 1));
+        assertTrue(result.getNumberOfBacktrackCalls() <= 2 * SearchBudget.CHECK_INTERVAL);
+
+        //Without any limit, every improvement up to the minimum set cover is reported in order
+        for(String fileName : testValues.keySet()) {
+            problem = readTestProblem(fileName);
+            costs.clear();
+            result = new SetCoverSolver(new SolverOptions().setWarmStart(false)
+                    .setProgressListener(improvement -> costs.add(improvement.getCost()))).solve(problem);
+            assertTrue(result.isOptimal());
+            assertEquals((long) testValues.get(fileName), (long) costs.get(costs.size() - 1));
+            assertEquals(0.0, result.getGap());
+            for(int i = 1; i < costs.size(); i++) {
+                assertTrue(costs.get(i) < costs.get(i - 1));
+            }
+        }
+    }
+
+    /**
+     *  Tests whether the statistics count every node of every search strategy once, by depth, record the improvements
+     *  of every solve in order and can be read over JMX
+     */
+    @Test
+    public void testStatistics() throws Exception {
+        SearchStatistics statistics = new SearchStatistics();
+        long numberOfNodes = 0;
+        for(SolverOptions options : List.of(new SolverOptions(), new SolverOptions().setParallelism(4),
+                new SolverOptions().setSearchStrategy(SearchStrategy.ELEMENT_BRANCHING))) {
+            SetCoverSolver solver = new SetCoverSolver(options.setWarmStart(false).setStatistics(statistics));
+            for(Map.Entry<String, Integer> entry : testValues.entrySet()) {
+                SetCoverResult result = solver.solve(readTestProblem(entry.getKey()));
+                assertEquals((int) entry.getValue(), result.getSize());
+                numberOfNodes += result.getNumberOfBacktrackCalls();
+            }
+        }
+
+        assertEquals(3 * testValues.size(), statistics.getNumberOfSolves());
+        assertEquals(0, statistics.getNumberOfActiveSolves());
+        assertEquals(numberOfNodes, statistics.getNumberOfNodes());
+        assertEquals(numberOfNodes, Arrays.stream(statistics.getNodesByDepth()).sum());
+        assertEquals(3 * testValues.size(), statistics.getNodesByDepth()[0]);
+        assertTrue(statistics.getBoundPrunes() > 0 && statistics.getNotInterestingPrunes() > 0);
+        assertTrue(statistics.getNumberOfDominatedSubsets() > 0);
+
+        //Every solve starts without a set cover, so its first improvement is its first entry in the timeline
+        Map<Long, Long> lastCosts = new HashMap<Long, Long>();
+        for(SearchStatistics.Improvement improvement : statistics.getIncumbentTimeline()) {
+            Long lastCost = lastCosts.put(improvement.getSolve(), improvement.getCost());
+            assertTrue(lastCost == null || improvement.getCost() < lastCost);
+        }
+        assertEquals(3 * testValues.size(), lastCosts.size());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = statistics.register("testStatistics");
+        try {
+            assertEquals(numberOfNodes, (long) (Long) server.getAttribute(name, "NumberOfNodes"));
+            assertEquals(statistics.getIncumbentTimeline().size(),
+                    ((CompositeData[]) server.getAttribute(name, "IncumbentTimeline")).length);
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertEquals(0, statistics.getNumberOfNodes());
+            assertEquals(0, statistics.getIncumbentTimeline().size());
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    /**
+     *  Tests whether an instance is split into the connected components of its incidence graph, and whether an
+     *  instance made of several test files is solved component by component, one after the other and at the same time,
+     *  with the same minimum set cover as without splitting it
+     */
+    @Test
+    public void testDecomposition() {
+        CompactProblem compact = CompactProblem.of(new int[] {1, 2, 3, 4, 5},
+                new int[][] {{0, 2}, {1, 3}, {2}, {3}, {}}, new long[] {1, 2, 3, 4, 5}, new int[] {7, 8, 9, 10, 11});
+        List<CompactProblem> components = compact.splitComponents();
+        assertEquals(3, components.size());
+        assertArrayEquals(new int[] {1, 3}, new int[] {components.get(0).getElementValue(0),
+                components.get(0).getElementValue(1)});
+        assertArrayEquals(new int[] {8, 10}, new int[] {components.get(1).getOriginalIndex(0),
+                components.get(1).getOriginalIndex(1)});
+        assertEquals(2, components.get(1).getSubsetSize(0));
+        assertEquals(4L, components.get(1).getWeight(1));
+        assertEquals(0, components.get(2).getNumOfSubsets());
+        assertEquals(List.of(components.get(0)), components.get(0).splitComponents());
+
+        //The elements of every test file are shifted past the elements of the files before it
+        List<String> fileNames = List.of("s-rg-31-15", "s-k-20-35", "s-rg-40-20", "s-k-30-55");
+        List<int[]> subsets = new ArrayList<int[]>();
+        int numToCover = 0;
+        int expectedSize = 0;
+        for(String fileName : fileNames) {
+            SetCoverProblem part = readTestProblem(fileName);
+            for(int i = 0; i < part.getNumOfSubsets(); i++) {
+                int offset = numToCover;
+                subsets.add(Arrays.stream(part.getSubset(i)).map(element -> element + offset).toArray());
+            }
+            numToCover += part.getNumToCover();
+            expectedSize += testValues.get(fileName);
+        }
+        SetCoverProblem problem = new SetCoverProblem(numToCover, subsets.toArray(new int[0][]));
+
+        SearchStatistics statistics = new SearchStatistics();
+        List<Long> costs = Collections.synchronizedList(new ArrayList<Long>());
+        for(SolverOptions options : List.of(new SolverOptions(),
+                new SolverOptions().setParallelism(4).setProgressListener(result -> costs.add(result.getCost())),
+                new SolverOptions().setSearchStrategy(SearchStrategy.ELEMENT_BRANCHING),
+                new SolverOptions().setDecomposition(false))) {
+            SetCoverResult result = new SetCoverSolver(options.setStatistics(statistics)).solve(problem);
+            assertEquals(expectedSize, result.getSize());
+            assertTrue(result.isOptimal() && problem.isCover(result.getCover()));
+        }
+        assertEquals(3 * fileNames.size() + 1, statistics.getNumberOfComponents());
+
+        //The progress of the parallel solve starts once every component has a cover and improves with every component
+        for(int i = 1; i < costs.size(); i++) {
+            assertTrue(costs.get(i) < costs.get(i - 1));
+        }
+        assertEquals(expectedSize, (long) costs.get(costs.size() - 1));
+    }
+
+    /**
+     *  Tests whether the fingerprint of an instance ignores the order of its subsets, and whether a batch of files is
+     *  solved with one line of JSON per file, an error for a malformed or unsolvable file and a cached result for a
+     *  repeated instance
+     */
+    @Test
+    public void testBatchSolver() throws Exception {
+        SetCoverProblem problem = readTestProblem("s-k-30-55");
+        int[][] reversed = new int[problem.getNumOfSubsets()][];
+        for(int i = 0; i < reversed.length; i++) {
+            reversed[i] = problem.getSubset(reversed.length - 1 - i);
+        }
+        SetCoverProblem repeat = new SetCoverProblem(problem.getNumToCover(), reversed);
+        InstanceFingerprint fingerprint = InstanceFingerprint.of(problem);
+        assertEquals(fingerprint, InstanceFingerprint.of(repeat));
+        assertEquals(reversed.length - 1, fingerprint.fromCanonical(InstanceFingerprint.of(repeat).toCanonical(
+                new int[] {0}))[0]);
+        long[] weights = new long[reversed.length];
+        Arrays.fill(weights, 1);
+        weights[0] = 2;
+        assertFalse(fingerprint.equals(InstanceFingerprint.of(new SetCoverProblem(problem.getNumToCover(), reversed,
+                weights))));
+
+        Path directory = Files.createTempDirectory("batch");
+        try {
+            Files.copy(Paths.get("src/test/resources", "s-k-30-55"), directory.resolve("a"));
+            Files.copy(Paths.get("src/test/resources", "s-rg-40-20"), directory.resolve("b"));
+            Files.writeString(directory.resolve("c"), problem.getNumToCover() + "\n" + reversed.length + "\n"
+                    + Arrays.stream(reversed).map(subset -> Arrays.stream(subset).mapToObj(String::valueOf)
+                    .collect(Collectors.joining(" "))).collect(Collectors.joining("\n")) + "\n");
+            Files.writeString(directory.resolve("d"), "3\n1\n1 2\n");
+            Files.writeString(directory.resolve("e"), "3\n1\n1 x\n");
+
+            StringWriter output = new StringWriter();
+            try(BatchSolver batch = new BatchSolver(new SolverOptions(), 2, 2, 16)) {
+                assertEquals(5, batch.run(directory, false, output));
+                assertEquals(3, batch.getNumberOfSolves());
+                assertEquals(1, batch.getNumberOfCacheHits());
+                SetCoverResult hit = batch.solve(repeat);
+                assertEquals((int) testValues.get("s-k-30-55"), hit.getSize());
+                assertEquals(0, hit.getNumberOfBacktrackCalls());
+                assertEquals(2, batch.getNumberOfCacheHits());
+
+                //A failed solve is not cached, so its repeat is solved again
+                SetCoverProblem uncoverable = new SetCoverProblem(3, new int[][] {{1}, {2}});
+                assertThrows(IllegalArgumentException.class, () -> batch.solve(uncoverable));
+                assertThrows(IllegalArgumentException.class, () -> batch.solve(uncoverable));
+                assertEquals(5, batch.getNumberOfSolves());
+                assertEquals(2, batch.getNumberOfCacheHits());
+            }
+
+            Map<String, String> lines = new HashMap<String, String>();
+            for(String line : output.toString().split("\n")) {
+                lines.put(line.replaceAll(".*\"instance\":\"[^\"]*/([a-e])\".*", "$1"), line);
+            }
+            assertEquals(Set.of("a", "b", "c", "d", "e"), lines.keySet());
+            assertTrue(lines.get("b").contains("\"size\":" + testValues.get("s-rg-40-20") + ",")
+                    && lines.get("b").contains("\"optimal\":true"));
+            assertTrue(lines.get("d").contains("\"error\":") && lines.get("e").contains("\"error\":"));
+            assertTrue(lines.get("a").contains("\"cached\":true") != lines.get("c").contains("\"cached\":true"));
+            int[] cover = Arrays.stream(lines.get("c").replaceAll(".*\"cover\":\\[(.*)\\]}", "$1").split(","))
+                    .mapToInt(Integer::parseInt).toArray();
+            assertEquals((int) testValues.get("s-k-30-55"), cover.length);
+            assertTrue(repeat.isCover(cover));
+        } finally {
+            try(Stream<Path> files = Files.list(directory)) {
+                for(Path file : files.collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new BatchSolver(new SolverOptions(), 2, 1, 16));
+    }
+
+    /**
+     *  Tests whether an incremental solver finds the same minimum set cover as a solve from scratch after every change
+     *  of its subsets, and whether it returns the previous set cover without any search when a change cannot make it
+     *  worse
+     */
+    @Test
+    public void testIncrementalSolver() {
+        SetCoverProblem problem = readTestProblem("s-k-30-55");
+        IncrementalSolver incremental = new IncrementalSolver(problem);
+        SetCoverResult result = incremental.solve();
+        assertEquals((int) testValues.get("s-k-30-55"), result.getSize());
+
+        //Removing a subset that is not in the set cover keeps the set cover and its lower bound
+        int unused = IntStream.range(0, problem.getNumOfSubsets())
+                .filter(i -> Arrays.stream(incremental.solve().getCover()).noneMatch(j -> j == i)).findFirst().getAsInt();
+        incremental.removeSubset(unused);
+        result = incremental.solve();
+        assertTrue(result.isOptimal());
+        assertEquals(0, result.getNumberOfBacktrackCalls());
+        assertEquals((int) testValues.get("s-k-30-55"), result.getSize());
+
+        Random random = new Random(7);
+        SetCoverSolver solver = new SetCoverSolver();
+        for(int change = 0; change < 30; change++) {
+            int index = random.nextInt(incremental.getNumOfSubsets());
+            if(change % 3 == 0) {
+                int[] subset = incremental.getProblem().getSubset(index);
+                incremental.modifySubset(index, Arrays.copyOf(subset, Math.max(1, subset.length - 1)), 2);
+            } else if(change % 3 == 1) {
+                incremental.addSubset(random.ints(5, 1, problem.getNumToCover() + 1).toArray(), 1);
+            } else if(Arrays.stream(incremental.getProblem().getSubset(index))
+                    .allMatch(element -> incremental.getOccurrences(element) > 1)) {
+                incremental.removeSubset(index);
+            }
+
+            SetCoverProblem current = incremental.getProblem();
+            result = incremental.solve();
+            assertTrue(result.isOptimal() && current.isCover(result.getCover()));
+            assertEquals(solver.solve(current).getCost(), result.getCost());
+            assertEquals(result.getCost(), incremental.getLowerBound());
+        }
+
+        incremental.modifySubset(0, new int[] {1}, 1);
+        for(int i = incremental.getNumOfSubsets() - 1; i > 0; i--) {
+            incremental.removeSubset(i);
+        }
+        assertThrows(IllegalArgumentException.class, incremental::solve);
+        assertThrows(IllegalArgumentException.class, () -> incremental.addSubset(new int[] {0}, 1));
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(problem, new int[] {0}, 0,
+                new CancellationToken()));
+    }
+
+    /**
+     *  Tests whether the Lagrangian relaxation of every test file bounds its minimum set cover from below at least as
+     *  strongly as the other lower bounds, whether the solver finds a minimum set cover with only the Lagrangian bound
+     *  and with reduced-cost fixing, and whether fixing proves a weighted instance optimal without any search
+     */
+    @Test
+    public void testLagrangianBound() {
+        SetCoverSolver lagrangian = new SetCoverSolver(new SolverOptions().setLowerBounds(LagrangianBound::new)
+                .setReducedCostFixing(false));
+        SetCoverSolver fixing = new SetCoverSolver(new SolverOptions().setLowerBounds(DisjointElementBound::new));
+
+        for(Map.Entry<String, Integer> entry : testValues.entrySet()) {
+            SetCoverProblem problem = readTestProblem(entry.getKey());
+            int[][] subsets = IntStream.range(0, problem.getNumOfSubsets())
+                    .mapToObj(i -> Arrays.stream(problem.getSubset(i)).map(element -> element - 1).toArray())
+                    .toArray(int[][]::new);
+            long[] weights = BitsetCoverage.unitWeights(subsets.length);
+            BitsetCoverage coverage = new BitsetCoverage(problem.getNumToCover(), subsets, weights);
+
+            LagrangianRelaxation relaxation = LagrangianRelaxation.optimize(problem.getNumToCover(), subsets, weights,
+                    subsets.length);
+            assertTrue(relaxation.getLowerBound() <= entry.getValue());
+            assertTrue(relaxation.getLowerBound() >= new MaxCoverageBound().estimate(coverage, 0));
+            assertTrue(relaxation.getLowerBound() >= new DisjointElementBound(problem.getNumToCover(), subsets)
+                    .estimate(coverage, 0));
+            assertEquals(relaxation.getLowerBound(), new LagrangianBound(problem.getNumToCover(), subsets, weights,
+                    relaxation).estimate(coverage, 0));
+
+            SetCoverResult result = lagrangian.solve(problem);
+            assertEquals((int) entry.getValue(), result.getSize());
+            assertEquals(Set.of("lagrangian"), result.getPrunesByBound().keySet());
+
+            result = fixing.solve(problem);
+            assertEquals((int) entry.getValue(), result.getSize());
+            assertTrue(result.isOptimal());
+        }
+
+        Random random = new Random(2);
+        int[][] subsets = new int[120][];
+        long[] weights = new long[subsets.length];
+        for(int i = 0; i < subsets.length; i++) {
+            subsets[i] = IntStream.concat(IntStream.of(1 + i % 60), random.ints(2 + random.nextInt(6), 1, 61))
+                    .toArray();
+            weights[i] = 1 + random.nextInt(20);
+        }
+        SetCoverProblem problem = new SetCoverProblem(60, subsets, weights);
+        SetCoverResult result = new SetCoverSolver().solve(problem);
+        assertTrue(result.isOptimal() && problem.isCover(result.getCover()));
+        assertEquals(0, result.getNumberOfBacktrackCalls());
+        assertEquals(new SetCoverSolver(new SolverOptions().setReducedCostFixing(false)).solve(problem).getCost(),
+                result.getCost());
+
+        //With weights far above the absolute tolerance, the rounding errors must not round the bounds above the optimum
+        for(int i = 0; i < subsets.length; i++) {
+            weights[i] = weights[i] * 1_000_000_007L + random.nextInt(1000);
+        }
+        SetCoverProblem heavy = new SetCoverProblem(60, subsets, weights);
+        long cost = new SetCoverSolver(new SolverOptions().setLowerBounds(DisjointElementBound::new)
+                .setReducedCostFixing(false)).solve(heavy).getCost();
+        assertEquals(cost, new SetCoverSolver().solve(heavy).getCost());
+        assertTrue(LagrangianRelaxation.optimize(60, Arrays.stream(subsets).map(subset -> Arrays.stream(subset)
+                .map(element -> element - 1).toArray()).toArray(int[][]::new), weights, cost).getLowerBound() <= cost);
+    }
+
+    /**
+     *  Tests whether every family of generated instances is reproducible from its seed, has a set cover and is written
+     *  as the same instance that it generates in memory, whether the fixed-size and Zipf families have their shape, and
+     *  whether the solver finds the planted minimum set cover
+     */
+    @Test
+    public void testInstanceGenerator() throws IOException {
+        for(InstanceGenerator.Family family : InstanceGenerator.Family.values()) {
+            InstanceGenerator generator = new InstanceGenerator(family, 500, 800).setSubsetSize(3, 10).setSeed(11);
+            SetCoverProblem problem = generator.generate();
+            assertEquals(800, problem.getNumOfSubsets());
+            assertTrue(problem.isCover(IntStream.range(0, problem.getNumOfSubsets()).toArray()));
+            assertEquals(InstanceFingerprint.of(problem), InstanceFingerprint.of(generator.generate()));
+            assertFalse(InstanceFingerprint.of(problem).equals(InstanceFingerprint.of(generator.setSeed(12).generate())));
+
+            StringWriter writer = new StringWriter();
+            generator.setSeed(11).write(writer);
+            SetCoverProblem written = InstanceReader.read(
+                    new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)));
+            assertEquals(InstanceFingerprint.of(problem), InstanceFingerprint.of(written));
+        }
+
+        SetCoverProblem fixedSize = new InstanceGenerator(InstanceGenerator.Family.FIXED_SIZE, 20, 30)
+                .setSubsetSize(5, 5).generate();
+        for(int i = 0; i < 10; i++) {
+            assertEquals(5, fixedSize.getSubsetSize(i));
+        }
+        for(int i = 10; i < 30; i++) {
+            assertArrayEquals(new int[] {i - 9}, fixedSize.getSubset(i));
+        }
+
+        SetCoverProblem zipf = new InstanceGenerator(InstanceGenerator.Family.ZIPF, 1000, 1000).generate();
+        int[] occurrences = new int[1001];
+        for(int i = 0; i < zipf.getNumOfSubsets(); i++) {
+            for(int element : zipf.getSubset(i)) {
+                occurrences[element]++;
+            }
+        }
+        assertTrue(occurrences[1] > 10 * occurrences[1000]);
+
+        InstanceGenerator planted = new InstanceGenerator(InstanceGenerator.Family.PLANTED, 120, 300)
+                .setSubsetSize(2, 6).setSeed(5);
+        assertEquals(20, planted.getKnownOptimum());
+        assertEquals(-1, new InstanceGenerator(InstanceGenerator.Family.UNIFORM, 10, 10).getKnownOptimum());
+        assertEquals(planted.getKnownOptimum(), new SetCoverSolver().solve(planted.generate()).getSize());
+
+        assertThrows(IllegalArgumentException.class, () -> new InstanceGenerator(InstanceGenerator.Family.FIXED_SIZE,
+                10, 5));
+        assertThrows(IllegalArgumentException.class, () -> planted.setSubsetSize(3, 200));
+        assertThrows(IllegalArgumentException.class, () -> new InstanceGenerator(InstanceGenerator.Family.PLANTED,
+                120, 10).setSubsetSize(1, 6));
+        assertEquals(20, planted.getKnownOptimum());
+    }
+
+    /**
+     *  Tests whether a portfolio of variants that race on shared solutions and a random order of the subsets find the
+     *  minimum set covers, and whether a budget that is nested in another one stops when either is exhausted
+     */
+    @Test
+    public void testPortfolio() {
+        SetCoverSolver portfolio = new SetCoverSolver(new SolverOptions()
+                .setPortfolio(SolverOptions.defaultPortfolio(4)));
+        SetCoverSolver random = new SetCoverSolver(new SolverOptions().setSubsetOrder(SubsetOrder.RANDOM).setSeed(3));
+
+        for(Map.Entry<String, Integer> entry : testValues.entrySet()) {
+            SetCoverProblem problem = readTestProblem(entry.getKey());
+            SetCoverResult result = portfolio.solve(problem);
+            assertEquals((int) entry.getValue(), result.getSize());
+            assertTrue(result.isOptimal() && problem.isCover(result.getCover()));
+
+            result = random.solve(problem);
+            assertEquals((int) entry.getValue(), result.getSize());
+            assertTrue(result.isOptimal());
+        }
+
+        SearchBudget parent = new SearchBudget(0, 10, new CancellationToken());
+        CancellationToken token = new CancellationToken();
+        SearchBudget child = new SearchBudget(parent, token);
+        assertFalse(child.charge(5));
+        assertTrue(child.charge(5));
+        assertTrue(parent.isExhausted());
+
+        SearchBudget other = new SearchBudget(new SearchBudget(), token);
+        token.cancel();
+        assertTrue(other.charge(0));
+
+        assertThrows(IllegalArgumentException.class, () -> SolverOptions.defaultPortfolio(0));
+        assertThrows(IllegalArgumentException.class, () -> new SolverOptions().setSubsetOrder(null));
+    }
+
+    /**
+     *  Tests whether the subtrees that a search gives away by splits together with what it searches itself find the
+     *  minimum set covers, and whether worker processes of a coordinator find them with jobs split between them
+     */
+    @Test
+    public void testDistributedSearch() throws IOException {
+        for(String fileName : List.of("s-k-30-50", "s-k-35-65", "s-rg-31-15")) {
+            SetCoverProblem problem = readTestProblem(fileName);
+            int[][] subsets = IntStream.range(0, problem.getNumOfSubsets())
+                    .mapToObj(i -> Arrays.stream(problem.getSubset(i)).map(element -> element - 1).toArray())
+                    .toArray(int[][]::new);
+            BitsetCoverage coverage = new BitsetCoverage(problem.getNumToCover(), subsets);
+            Incumbent incumbent = new Incumbent(subsets.length + 1);
+            Deque<Map.Entry<boolean[], Integer>> jobs = new ArrayDeque<Map.Entry<boolean[], Integer>>();
+            jobs.add(Map.entry(new boolean[subsets.length], -1));
+            int numberOfJobs = 0;
+            while(!jobs.isEmpty()) {
+                Map.Entry<boolean[], Integer> job = jobs.poll();
+                BitsetSearch search = new BitsetSearch(coverage.newState(), new boolean[subsets.length],
+                        new LowerBound[] {new MaxCoverageBound()}, incumbent);
+                search.requestSplit((prefix, k) -> {
+                    if(prefix != null) {
+                        jobs.add(Map.entry(prefix, k));
+                    }
+                });
+                search.descend(job.getKey(), job.getValue());
+                search.backtrack(job.getValue());
+                numberOfJobs++;
+            }
+            assertEquals((long) testValues.get(fileName), incumbent.getValue());
+            assertTrue(numberOfJobs > 1);
+        }
+
+        try(SearchCoordinator coordinator = new SearchCoordinator(0)) {
+            coordinator.startLocalWorkers(2);
+            assertEquals(2, coordinator.getNumberOfWorkers());
+            SetCoverSolver solver = new SetCoverSolver(new SolverOptions().setCoordinator(coordinator)
+                    .setLowerBounds((numOfElements, subsets, weights) -> new MaxCoverageBound())
+                    .setReducedCostFixing(false).setWarmStart(false));
+            for(String fileName : List.of("s-k-30-50", "s-k-35-65", "s-rg-31-15", "s-X-12-6")) {
+                SetCoverProblem problem = readTestProblem(fileName);
+                SetCoverResult result = solver.solve(problem);
+                assertEquals((int) testValues.get(fileName), result.getSize());
+                assertTrue(result.isOptimal() && problem.isCover(result.getCover()));
+                assertTrue(result.getNumberOfBacktrackCalls() > 0);
+            }
+            assertTrue(coordinator.getNumberOfJobs() > 4);
+
+            assertThrows(IllegalArgumentException.class, () -> new DistributedSearch(1, new int[][] {{0}},
+                    new long[] {1}, new boolean[1], List.of("unknown"), new Incumbent(2), new SearchBudget(), 0));
+        }
+    }
+
+    /**
+     *  Tests whether solves that are stopped early and resumed from their checkpoint find the minimum set covers and
+     *  keep counting the nodes, and whether a checkpoint is rejected for another instance
+     */
+    @Test
+    public void testCheckpoint() throws IOException {
+        Path directory = Files.createTempDirectory("checkpoint");
+        Path file = directory.resolve("solve.ckpt");
+        try {
+            SolverOptions options = new SolverOptions().setNodeLimit(1000).setWarmStart(false)
+                    .setReducedCostFixing(false).setCheckpoint(file, 1);
+            for(String fileName : List.of("s-k-40-80", "s-rg-31-15", "s-X-12-6")) {
+                SetCoverProblem problem = readTestProblem(fileName);
+                Files.deleteIfExists(file);
+                SetCoverResult result = new SetCoverSolver(options).solve(problem);
+                int solves = 1;
+                while(!result.isOptimal()) {
+                    long nodes = result.getNumberOfBacktrackCalls();
+                    result = new SetCoverSolver(options).solve(problem);
+                    assertTrue(result.getNumberOfBacktrackCalls() > nodes);
+                    solves++;
+                }
+                assertEquals((int) testValues.get(fileName), result.getSize());
+                assertTrue(problem.isCover(result.getCover()));
+                if(fileName.equals("s-k-40-80")) {
+                    assertTrue(solves > 1);
+                }
+            }
+
+            SetCoverProblem other = readTestProblem("s-k-30-50");
+            assertThrows(IllegalArgumentException.class, () -> new SetCoverSolver(options).solve(other));
+            assertThrows(IllegalArgumentException.class, () -> new SetCoverSolver(new SolverOptions(options)
+                    .setParallelism(2)));
+            assertThrows(IllegalArgumentException.class, () -> new SolverOptions().setCheckpoint(file, 0));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     *  Tests whether the transposition table keeps, finds and evicts the bounds of subproblems, and whether searches
+     *  that disregard subproblems with it, even with a table of a single bucket, still find a minimum set cover
+     */
+    @Test
+    public void testTranspositionTable() {
+        int[][] subsets = new int[6][];
+        for(int i = 0; i < subsets.length; i++) {
+            subsets[i] = new int[] {i};
+        }
+        BitsetCoverage coverage = new BitsetCoverage(subsets.length, subsets);
+        TranspositionTable table = new TranspositionTable(subsets.length, subsets.length,
+                TranspositionTable.WAYS * TranspositionTable.bytesPerEntry(subsets.length) + 1);
+        assertEquals(TranspositionTable.WAYS, table.getCapacity());
+        table.store(0, coverage, 3);
+        table.store(0, coverage, 2);
+        assertEquals(3, table.lookup(0, coverage));
+        assertEquals(0, table.lookup(1, coverage));
+        int mark = coverage.mark();
+        coverage.include(0);
+        assertEquals(0, table.lookup(0, coverage));
+
+        //The entry that was found is referenced, so the clock evicts one of the others
+        for(int k = 1; k <= TranspositionTable.WAYS; k++) {
+            table.store(k, coverage, k);
+        }
+        assertEquals(1, table.getNumberOfEvictions());
+        assertEquals(1.0 / 3, table.getHitRate());
+        coverage.undo(mark);
+        assertEquals(3, table.lookup(0, coverage));
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(1, 1, 10));
+
+        SearchStatistics statistics = new SearchStatistics();
+        for(SolverOptions options : List.of(new SolverOptions().setLowerBounds().setCacheBytes(1 << 16),
+                new SolverOptions().setLowerBounds().setCacheBytes(256),
+                new SolverOptions().setCacheBytes(1 << 16).setParallelism(4).setSplitDepth(2))) {
+            SetCoverSolver solver = new SetCoverSolver(options.setWarmStart(false).setStatistics(statistics));
+            for(String fileName : List.of("s-rg-31-15", "s-rg-40-20", "s-k-20-35", "s-k-30-55", "s-k-35-65")) {
+                SetCoverResult result = solver.solve(readTestProblem(fileName));
+                assertEquals((int) testValues.get(fileName), result.getSize());
+            }
+        }
+        assertTrue(statistics.getTranspositionPrunes() > 0 && statistics.getCacheEvictions() > 0);
+        assertTrue(statistics.getCacheHitRate() > 0 && statistics.getCacheHitRate() < 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new SolverOptions().setCacheBytes(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SetCoverSolver(new SolverOptions().setCacheBytes(1 << 16)
+                .setSearchStrategy(SearchStrategy.ELEMENT_BRANCHING)));
+    }
+
+    /**
+     *  Tests whether a search whose decision tree is far deeper than a recursive traversal could go on a thread with a
+     *  small stack finds the minimum set cover
+     */
+    @Test
+    public void testDeepSearch() throws InterruptedException {
+        int numOfSubsets = 20000;
+        int[][] subsets = new int[numOfSubsets][];
+        for(int i = 0; i < numOfSubsets; i++) {
+            subsets[i] = new int[] {i};
+        }
+
+        BitsetSearch search = new BitsetSearch(new BitsetCoverage(numOfSubsets, subsets), new boolean[numOfSubsets],
+                new LowerBound[] {new MaxCoverageBound()});
+        Throwable[] error = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                search.backtrack(-1);
+            } catch(Throwable e) {
+                error[0] = e;
+            }
+        }, "deep-search", 256 * 1024);
+        thread.start();
+        thread.join();
+
+        assertNull(error[0]);
+        assertEquals(numOfSubsets, search.getOpt());
+        assertTrue(search.getFinalSolution()[numOfSubsets - 1]);
+    }
+
+    /**
+     *  Reads the instance defined by a test file
+     *
+     *  @param fileName    The name of the test file to be read
+     *
+     *  @return    The instance specified by the test file
+     */
+    public static SetCoverProblem readTestProblem(String fileName) {
+        try {
+            return InstanceReader.read(Paths.get("src/test/resources", fileName));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      *  Reads data from a test file
      *
@@ -113,4 +1110,28 @@ public class SetCoverTest {
 
         return null;
     }
+
+    /**
+     *  Determines the smallest total weight of a set cover by checking every combination of subsets
+     *
+     *  @param problem    An instance with fewer than 31 subsets
+     *
+     *  @return The total weight of a minimum set cover
+     */
+    private static long bruteForceCost(SetCoverProblem problem) {
+        long best = Long.MAX_VALUE;
+        for(int mask = 1; mask < 1 << problem.getNumOfSubsets(); mask++) {
+            int[] cover = new int[Integer.bitCount(mask)];
+            for(int i = 0, size = 0; i < problem.getNumOfSubsets(); i++) {
+                if((mask & (1 << i)) != 0) {
+                    cover[size++] = i;
+                }
+            }
+            if(problem.isCover(cover)) {
+                best = Math.min(best, problem.getCost(cover));
+            }
+        }
+
+        return best;
+    }
 }